@@ -0,0 +1,43 @@
+package frc.robot.benchmarks;
+
+import javax.inject.Singleton;
+
+import frc.robot.TuningConstants;
+import frc.robot.common.LoopProfiler;
+import frc.robot.common.MechanismManager;
+import frc.robot.common.robotprovider.*;
+import frc.robot.driver.ButtonMap;
+import frc.robot.driver.common.IButtonMap;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Injector;
+import com.google.inject.Provides;
+
+/**
+ * Module for the benchmarks, binding the real ButtonMap and mechanisms to mock electronics and a logger that
+ * discards everything, so that the measurements cover the robot's own logic rather than console or file output.
+ */
+public class BenchmarkModule extends AbstractModule
+{
+    @Override
+    protected void configure()
+    {
+        this.bind(IRobotProvider.class).to(BenchmarkProvider.class);
+        this.bind(ITimer.class).to(BenchmarkTimer.class);
+        this.bind(IButtonMap.class).to(ButtonMap.class);
+    }
+
+    @Singleton
+    @Provides
+    public MechanismManager getMechanismManager(Injector injector, LoopProfiler profiler)
+    {
+        return new MechanismManager(TuningConstants.GetActiveMechanisms(injector), profiler);
+    }
+
+    @Singleton
+    @Provides
+    public IDashboardLogger getLogger()
+    {
+        return new NullDashboardLogger();
+    }
+}
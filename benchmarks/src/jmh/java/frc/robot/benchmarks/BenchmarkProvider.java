@@ -0,0 +1,231 @@
+package frc.robot.benchmarks;
+
+import static org.mockito.Mockito.RETURNS_MOCKS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.HashMap;
+
+import javax.inject.Singleton;
+
+import frc.robot.common.robotprovider.*;
+import frc.robot.vision.VisionCalculations;
+
+/**
+ * Robot provider for the benchmarks.
+ *
+ * Unlike the TestProvider, every electronics object is a stub-only mock (so invocations are not recorded and the
+ * mocks don't grow over a long benchmark run), and every object that the robot needs to start up is provided (the
+ * camera, vision thread, choosers and so on are all mocks that do nothing).
+ *
+ * Note that each call to a mock still allocates a little (argument arrays, invocation objects), so the allocation
+ * rates reported for the full robot tick include that baseline.
+ */
+@Singleton
+public class BenchmarkProvider implements IRobotProvider
+{
+    private final HashMap<String, Object> electronics;
+    private final VisionCalculations visionCalculations;
+
+    public BenchmarkProvider()
+    {
+        this.electronics = new HashMap<String, Object>();
+        this.visionCalculations = new VisionCalculations();
+    }
+
+    @Override
+    public IAnalogInput getAnalogInput(int channel)
+    {
+        return this.get(IAnalogInput.class, channel);
+    }
+
+    @Override
+    public ITalonSRX getTalonSRX(int deviceNumber)
+    {
+        return this.get(ITalonSRX.class, deviceNumber);
+    }
+
+    @Override
+    public IVictorSPX getVictorSPX(int deviceNumber)
+    {
+        return this.get(IVictorSPX.class, deviceNumber);
+    }
+
+    @Override
+    public ISparkMax getSparkMax(int deviceID, SparkMaxMotorType motorType)
+    {
+        return this.get(ISparkMax.class, deviceID);
+    }
+
+    @Override
+    public ICompressor getCompressor()
+    {
+        return this.getCompressor(0);
+    }
+
+    @Override
+    public ICompressor getCompressor(int module)
+    {
+        return this.get(ICompressor.class, module);
+    }
+
+    @Override
+    public IDigitalInput getDigitalInput(int channel)
+    {
+        return this.get(IDigitalInput.class, channel);
+    }
+
+    @Override
+    public IDoubleSolenoid getDoubleSolenoid(int forwardChannel, int reverseChannel)
+    {
+        return this.getDoubleSolenoid(0, forwardChannel, reverseChannel);
+    }
+
+    @Override
+    public IDoubleSolenoid getDoubleSolenoid(int module, int forwardChannel, int reverseChannel)
+    {
+        return this.get(IDoubleSolenoid.class, module, forwardChannel);
+    }
+
+    @Override
+    public IEncoder getEncoder(int channelA, int channelB)
+    {
+        return this.get(IEncoder.class, channelA);
+    }
+
+    @Override
+    public IJoystick getJoystick(int port)
+    {
+        return this.get(IJoystick.class, port);
+    }
+
+    @Override
+    public IMotor getTalon(int channel)
+    {
+        return this.get(IMotor.class, channel);
+    }
+
+    @Override
+    public IMotor getVictor(int channel)
+    {
+        return this.get(IMotor.class, channel);
+    }
+
+    @Override
+    public IServo getServo(int channel)
+    {
+        return this.get(IServo.class, channel);
+    }
+
+    @Override
+    public IPowerDistributionPanel getPDP()
+    {
+        return this.getPDP(0);
+    }
+
+    @Override
+    public IPowerDistributionPanel getPDP(int module)
+    {
+        return this.get(IPowerDistributionPanel.class, module);
+    }
+
+    @Override
+    public IRelay getRelay(int channel)
+    {
+        return this.get(IRelay.class, channel);
+    }
+
+    @Override
+    public IRelay getRelay(int channel, RelayDirection direction)
+    {
+        return this.get(IRelay.class, channel);
+    }
+
+    @Override
+    public ISolenoid getSolenoid(int channel)
+    {
+        return this.getSolenoid(0, channel);
+    }
+
+    @Override
+    public ISolenoid getSolenoid(int module, int channel)
+    {
+        return this.get(ISolenoid.class, module, channel);
+    }
+
+    @Override
+    public INavx getNavx()
+    {
+        return this.get(INavx.class, 0);
+    }
+
+    @Override
+    public IVideoStream getMJPEGStream(String name, int width, int height)
+    {
+        return this.get(IVideoStream.class, name);
+    }
+
+    @Override
+    public IUsbCamera getUsbCamera(String name, int dev)
+    {
+        return this.get(IUsbCamera.class, name);
+    }
+
+    @Override
+    public IDriverStation getDriverStation()
+    {
+        return this.get(IDriverStation.class, 0);
+    }
+
+    @Override
+    public IOpenCVProvider getOpenCVProvider()
+    {
+        return this.get(IOpenCVProvider.class, 0);
+    }
+
+    @Override
+    public INetworkTableProvider getNetworkTableProvider()
+    {
+        return this.get(INetworkTableProvider.class, 0);
+    }
+
+    @Override
+    public VisionCalculations getVisionCalculations()
+    {
+        return this.visionCalculations;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> ISendableChooser<V> getSendableChooser()
+    {
+        return this.get(ISendableChooser.class, this.electronics.size());
+    }
+
+    /**
+     * Get the stub-only mock for the given type of electronics object and key, creating it the first time
+     * @param type of the electronics object
+     * @param keys identifying the electronics object (channel, module, etc.)
+     * @return the mock for the electronics object
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T get(Class<T> type, Object... keys)
+    {
+        StringBuilder builder = new StringBuilder(type.getSimpleName());
+        for (Object key : keys)
+        {
+            builder.append('.');
+            builder.append(key);
+        }
+
+        String name = builder.toString();
+        Object electronic = this.electronics.get(name);
+        if (electronic == null)
+        {
+            electronic = mock(type, withSettings().stubOnly().defaultAnswer(RETURNS_MOCKS));
+            this.electronics.put(name, electronic);
+        }
+
+        return (T)electronic;
+    }
+}
@@ -0,0 +1,56 @@
+package frc.robot.benchmarks;
+
+import javax.inject.Singleton;
+
+import frc.robot.common.robotprovider.ITimer;
+
+/**
+ * Timer for the benchmarks, based on System.nanoTime() so that reading it doesn't allocate.
+ */
+@Singleton
+public class BenchmarkTimer implements ITimer
+{
+    private static final double NanosPerSecond = 1000000000.0;
+
+    private boolean isRunning;
+    private long startTime;
+    private double accumulatedTime;
+
+    public BenchmarkTimer()
+    {
+        this.accumulatedTime = 0.0;
+        this.isRunning = false;
+    }
+
+    @Override
+    public void start()
+    {
+        this.isRunning = true;
+        this.startTime = System.nanoTime();
+    }
+
+    @Override
+    public double get()
+    {
+        if (!this.isRunning)
+        {
+            return this.accumulatedTime;
+        }
+
+        return this.accumulatedTime + (System.nanoTime() - this.startTime) / BenchmarkTimer.NanosPerSecond;
+    }
+
+    @Override
+    public void stop()
+    {
+        this.accumulatedTime = this.get();
+        this.isRunning = false;
+    }
+
+    @Override
+    public void reset()
+    {
+        this.accumulatedTime = 0.0;
+        this.startTime = System.nanoTime();
+    }
+}
@@ -0,0 +1,39 @@
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import frc.robot.CoreRobot;
+
+/**
+ * Benchmark for a full teleop loop of the robot (readSensors, driver update, mechanism updates, logger flush),
+ * with all of the real mechanisms running against mock electronics.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CoreRobotBenchmark
+{
+    private CoreRobot<BenchmarkModule> robot;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        this.robot = new CoreRobot<BenchmarkModule>(new BenchmarkModule());
+        this.robot.robotInit();
+        this.robot.teleopInit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        this.robot.disabledInit();
+    }
+
+    @Benchmark
+    public void teleopPeriodic()
+    {
+        this.robot.teleopPeriodic();
+    }
+}
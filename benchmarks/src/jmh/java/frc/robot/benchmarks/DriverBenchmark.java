@@ -0,0 +1,34 @@
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import frc.robot.driver.common.Driver;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+/**
+ * Benchmark for a teleop update of the Driver using the real ButtonMap, with the joysticks idle.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DriverBenchmark
+{
+    private Driver driver;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        Injector injector = Guice.createInjector(new BenchmarkModule());
+        this.driver = injector.getInstance(Driver.class);
+    }
+
+    @Benchmark
+    public void update()
+    {
+        this.driver.update();
+    }
+}
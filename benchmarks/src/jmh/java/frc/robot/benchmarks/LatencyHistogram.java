@@ -0,0 +1,124 @@
+package frc.robot.benchmarks;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Records latencies and reports their percentiles along with a histogram with power-of-two microsecond buckets.
+ */
+public class LatencyHistogram
+{
+    private static final double NanosPerMicro = 1000.0;
+    private static final int BarWidth = 40;
+
+    private final String name;
+
+    private long[] samples;
+    private int count;
+
+    /**
+     * Initializes a new LatencyHistogram
+     * @param name to use when reporting
+     */
+    public LatencyHistogram(String name)
+    {
+        this.name = name;
+        this.samples = new long[1024];
+        this.count = 0;
+    }
+
+    /**
+     * Record a latency
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos)
+    {
+        if (this.count == this.samples.length)
+        {
+            this.samples = Arrays.copyOf(this.samples, this.samples.length * 2);
+        }
+
+        this.samples[this.count++] = nanos;
+    }
+
+    /**
+     * Gets the number of recorded latencies
+     * @return the number of latencies
+     */
+    public int getCount()
+    {
+        return this.count;
+    }
+
+    /**
+     * Print the percentiles and histogram of the recorded latencies
+     * @param out to print to
+     */
+    public void print(PrintStream out)
+    {
+        if (this.count == 0)
+        {
+            out.println(String.format("%-10s no samples", this.name));
+            return;
+        }
+
+        long[] sorted = Arrays.copyOf(this.samples, this.count);
+        Arrays.sort(sorted);
+
+        long total = 0L;
+        for (long sample : sorted)
+        {
+            total += sample;
+        }
+
+        out.println(
+            String.format(
+                "%-10s n=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus max=%.1fus",
+                this.name,
+                this.count,
+                total / (double)this.count / LatencyHistogram.NanosPerMicro,
+                LatencyHistogram.percentile(sorted, 0.50) / LatencyHistogram.NanosPerMicro,
+                LatencyHistogram.percentile(sorted, 0.90) / LatencyHistogram.NanosPerMicro,
+                LatencyHistogram.percentile(sorted, 0.99) / LatencyHistogram.NanosPerMicro,
+                sorted[sorted.length - 1] / LatencyHistogram.NanosPerMicro));
+
+        // bucket i holds latencies of less than 2^i microseconds (and at least 2^(i-1))
+        int[] buckets = new int[64];
+        int lowest = buckets.length;
+        int highest = 0;
+        for (long sample : sorted)
+        {
+            long micros = (long)(sample / LatencyHistogram.NanosPerMicro);
+            int bucket = 64 - Long.numberOfLeadingZeros(micros);
+            buckets[bucket]++;
+            lowest = Math.min(lowest, bucket);
+            highest = Math.max(highest, bucket);
+        }
+
+        int largest = 0;
+        for (int bucket = lowest; bucket <= highest; bucket++)
+        {
+            largest = Math.max(largest, buckets[bucket]);
+        }
+
+        for (int bucket = lowest; bucket <= highest; bucket++)
+        {
+            int width = (int)Math.round(buckets[bucket] * (double)LatencyHistogram.BarWidth / largest);
+            char[] bar = new char[width];
+            Arrays.fill(bar, '#');
+            out.println(String.format("    < %8dus %6d %s", 1L << bucket, buckets[bucket], new String(bar)));
+        }
+    }
+
+    /**
+     * Gets the value at the percentile of the sorted samples (nearest rank)
+     * @param sorted samples
+     * @param percentile between 0 and 1
+     * @return the value at the percentile
+     */
+    private static long percentile(long[] sorted, double percentile)
+    {
+        int index = (int)Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
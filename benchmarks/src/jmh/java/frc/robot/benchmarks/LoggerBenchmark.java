@@ -0,0 +1,114 @@
+package frc.robot.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import frc.robot.common.robotprovider.CSVLogger;
+import frc.robot.common.robotprovider.IDashboardLogger;
+import frc.robot.common.robotprovider.ILogChannel;
+import frc.robot.common.robotprovider.MultiLogger;
+import frc.robot.common.robotprovider.NullDashboardLogger;
+
+/**
+ * Benchmark for logging a loop's worth of values through the CSVLogger (directly and through a MultiLogger),
+ * both through pre-registered channels and through the component/key lookups.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoggerBenchmark
+{
+    private static final String LogName = "bench";
+    private static final int KeyCount = 32;
+
+    private File file;
+    private CSVLogger csvLogger;
+    private IDashboardLogger multiLogger;
+    private String[] keys;
+    private ILogChannel[] csvChannels;
+    private ILogChannel[] multiChannels;
+    private double value;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        this.keys = new String[LoggerBenchmark.KeyCount];
+        String[] schema = new String[LoggerBenchmark.KeyCount];
+        for (int i = 0; i < LoggerBenchmark.KeyCount; i++)
+        {
+            this.keys[i] = "key" + i;
+            schema[i] = LoggerBenchmark.LogName + "." + this.keys[i];
+        }
+
+        this.file = File.createTempFile("benchmark", ".csv");
+        this.csvLogger = new CSVLogger(this.file.getAbsolutePath(), schema);
+        this.multiLogger = new MultiLogger(this.csvLogger, new NullDashboardLogger());
+
+        this.csvChannels = new ILogChannel[LoggerBenchmark.KeyCount];
+        this.multiChannels = new ILogChannel[LoggerBenchmark.KeyCount];
+        for (int i = 0; i < LoggerBenchmark.KeyCount; i++)
+        {
+            this.csvChannels[i] = this.csvLogger.getChannel(LoggerBenchmark.LogName, this.keys[i]);
+            this.multiChannels[i] = this.multiLogger.getChannel(LoggerBenchmark.LogName, this.keys[i]);
+        }
+
+        this.value = 0.0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        this.file.delete();
+    }
+
+    @Benchmark
+    public void csvChannels()
+    {
+        this.value += 0.1;
+        for (int i = 0; i < LoggerBenchmark.KeyCount; i++)
+        {
+            this.csvChannels[i].logNumber(this.value);
+        }
+
+        this.csvLogger.flush();
+    }
+
+    @Benchmark
+    public void csvKeys()
+    {
+        this.value += 0.1;
+        for (int i = 0; i < LoggerBenchmark.KeyCount; i++)
+        {
+            this.csvLogger.logNumber(LoggerBenchmark.LogName, this.keys[i], this.value);
+        }
+
+        this.csvLogger.flush();
+    }
+
+    @Benchmark
+    public void multiChannels()
+    {
+        this.value += 0.1;
+        for (int i = 0; i < LoggerBenchmark.KeyCount; i++)
+        {
+            this.multiChannels[i].logNumber(this.value);
+        }
+
+        this.multiLogger.flush();
+    }
+
+    @Benchmark
+    public void multiKeys()
+    {
+        this.value += 0.1;
+        for (int i = 0; i < LoggerBenchmark.KeyCount; i++)
+        {
+            this.multiLogger.logNumber(LoggerBenchmark.LogName, this.keys[i], this.value);
+        }
+
+        this.multiLogger.flush();
+    }
+}
@@ -0,0 +1,55 @@
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import frc.robot.common.PIDHandler;
+
+/**
+ * Benchmark for the PIDHandler calculations, tracking a slowly-moving measurement towards a fixed setpoint.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PIDHandlerBenchmark
+{
+    private static final double Setpoint = 1000.0;
+
+    private BenchmarkTimer timer;
+    private PIDHandler positionHandler;
+    private PIDHandler velocityHandler;
+    private double measuredValue;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        this.timer = new BenchmarkTimer();
+        this.timer.start();
+
+        this.positionHandler = new PIDHandler(0.1, 0.001, 0.01, 0.0, 1.0, -1.0, 1.0, this.timer);
+        this.velocityHandler = new PIDHandler(0.1, 0.001, 0.01, 0.5, 1.0, -1.0, 1.0, this.timer);
+        this.measuredValue = 0.0;
+    }
+
+    @Benchmark
+    public double calculatePosition()
+    {
+        this.measuredValue = (this.measuredValue + 1.0) % PIDHandlerBenchmark.Setpoint;
+        return this.positionHandler.calculatePosition(PIDHandlerBenchmark.Setpoint, this.measuredValue);
+    }
+
+    @Benchmark
+    public double calculateVelocity()
+    {
+        this.measuredValue = (this.measuredValue + 1.0) % PIDHandlerBenchmark.Setpoint;
+        return this.velocityHandler.calculateVelocity(PIDHandlerBenchmark.Setpoint, this.measuredValue);
+    }
+
+    @Benchmark
+    public double calculateVelocityByTicks()
+    {
+        this.measuredValue = (this.measuredValue + 1.0) % PIDHandlerBenchmark.Setpoint;
+        return this.velocityHandler.calculateVelocityByTicks(PIDHandlerBenchmark.Setpoint, this.measuredValue);
+    }
+}
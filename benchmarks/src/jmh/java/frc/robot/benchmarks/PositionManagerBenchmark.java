@@ -0,0 +1,35 @@
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import frc.robot.mechanisms.PositionManager;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+/**
+ * Benchmark for the PositionManager odometry/navx update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PositionManagerBenchmark
+{
+    private PositionManager positionManager;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        Injector injector = Guice.createInjector(new BenchmarkModule());
+        this.positionManager = injector.getInstance(PositionManager.class);
+    }
+
+    @Benchmark
+    public double readSensors()
+    {
+        this.positionManager.readSensors();
+        return this.positionManager.getOdometryAngle();
+    }
+}
@@ -0,0 +1,99 @@
+package frc.robot.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.opencv.core.RotatedRect;
+
+import frc.robot.common.robotprovider.IOpenCVProvider;
+import frc.robot.common.robotprovider.IRotatedRect;
+import frc.robot.common.robotprovider.OpenCVProvider;
+import frc.robot.common.robotprovider.RotatedRectWrapper;
+import frc.robot.vision.RectanglePair;
+import frc.robot.vision.VisionCalculations;
+import frc.robot.vision.common.RotatedRectValues;
+import frc.robot.vision.common.VisionResult;
+
+/**
+ * Benchmark for the vision target grouping and pairing, using a fixed set of vision-target-like rectangles
+ * (two rows of alternating left/right tape strips with some malformed noise).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VisionCalculationsBenchmark
+{
+    @Param({ "4", "16" })
+    public int targetCount;
+
+    private VisionCalculations visionCalculations;
+    private IOpenCVProvider openCVProvider;
+    private List<IRotatedRect> rectangles;
+    private RotatedRectValues rectangleValues;
+    private Set<IRotatedRect> row;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        Random random = new Random(1318);
+
+        this.visionCalculations = new VisionCalculations();
+        this.openCVProvider = new OpenCVProvider();
+        this.rectangles = new ArrayList<IRotatedRect>();
+        this.row = new HashSet<IRotatedRect>();
+        for (int i = 0; i < this.targetCount; i++)
+        {
+            double centerX = 20.0 + i * 300.0 / this.targetCount;
+            double centerY = (i % 4 < 2 ? 60.0 : 180.0) + random.nextDouble() * 10.0;
+
+            // left strips are tilted between -90 and -45 degrees, right strips between -45 and 0 degrees
+            double angle = i % 2 == 0 ? -75.0 : -15.0;
+            IRotatedRect rect = new RotatedRectWrapper(new RotatedRect(new double[] { centerX, centerY, 10.0, 28.0, angle }));
+            this.rectangles.add(rect);
+            if (centerY < 120.0)
+            {
+                this.row.add(rect);
+            }
+
+            // add some noise that should be rejected for its aspect ratio
+            this.rectangles.add(new RotatedRectWrapper(new RotatedRect(new double[] { centerX, centerY + 40.0, 40.0, 2.0, 0.0 })));
+        }
+
+        double[] values = new double[5 * this.rectangles.size()];
+        for (int i = 0; i < this.rectangles.size(); i++)
+        {
+            System.arraycopy(this.rectangles.get(i).getRawValues(), 0, values, 5 * i, 5);
+        }
+
+        this.rectangleValues = new RotatedRectValues(values, this.rectangles.size());
+    }
+
+    @Benchmark
+    public List<Set<IRotatedRect>> groupRotatedRect()
+    {
+        return this.visionCalculations.groupRotatedRect(this.rectangles);
+    }
+
+    @Benchmark
+    public List<RectanglePair> pairRectangles()
+    {
+        return this.visionCalculations.pairRectangles(this.row);
+    }
+
+    @Benchmark
+    public RectanglePair findPreferredPair()
+    {
+        return this.visionCalculations.findPreferredPair(this.rectangles, VisionResult.LOW_TARGET, 160.0, Double.MAX_VALUE);
+    }
+
+    @Benchmark
+    public RectanglePair findPreferredPairFromValues()
+    {
+        return this.visionCalculations.findPreferredPair(this.openCVProvider, this.rectangleValues, VisionResult.LOW_TARGET, 160.0, Double.MAX_VALUE);
+    }
+}
@@ -0,0 +1,365 @@
+package frc.robot.benchmarks;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.opencv.core.Mat;
+import org.opencv.core.Size;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+import org.opencv.videoio.VideoCapture;
+
+import frc.robot.common.robotprovider.*;
+import frc.robot.vision.VisionConstants;
+import frc.robot.vision.common.IPipelinedVisionPipeline;
+import frc.robot.vision.common.VisionProcessingState;
+import frc.robot.vision.pipelines.*;
+
+/**
+ * Offline replay of recorded frames through a vision pipeline.
+ *
+ * Loads a directory of frames (such as those saved with VisionConstants.DEBUG_SAVE_FRAMES) or a video file into
+ * memory, and then runs them through the pipeline as fast as possible, reporting the frame rate, a latency histogram
+ * for the whole pipeline and for each stage of pipelines that are split into stages, and how stable the outputs are
+ * from frame to frame and from pass to pass.
+ *
+ * Run with: gradlew :benchmarks:visionReplay -Pframes=(directory or video) -Ppipeline=(pipeline class) -Ppasses=(count)
+ */
+public class VisionReplay
+{
+    private static final String DefaultFramesPath = "../fauxbot_ui/src/test/resources/frc.robot.vision.pipelines";
+    private static final String DefaultPipeline = "HSVDockingCenterRectanglePipeline";
+    private static final int DefaultPasses = 5;
+
+    private final ICentroidVisionPipeline pipeline;
+    private final ITimer timer;
+
+    private final LatencyHistogram totalLatency;
+    private final LatencyHistogram captureLatency;
+    private final LatencyHistogram thresholdLatency;
+    private final LatencyHistogram geometryLatency;
+
+    // outputs of the first recorded pass (NaN when there was no output), and how many later outputs differed
+    private final double[] centerX;
+    private final double[] measuredAngleX;
+    private final double[] distance;
+    private int mismatchedOutputs;
+
+    /**
+     * Initializes a new VisionReplay
+     * @param pipeline to replay the frames through
+     * @param timer used by the pipeline
+     * @param frameCount the number of frames in each pass
+     */
+    public VisionReplay(ICentroidVisionPipeline pipeline, ITimer timer, int frameCount)
+    {
+        this.pipeline = pipeline;
+        this.timer = timer;
+
+        this.totalLatency = new LatencyHistogram("total");
+        this.captureLatency = new LatencyHistogram("capture");
+        this.thresholdLatency = new LatencyHistogram("threshold");
+        this.geometryLatency = new LatencyHistogram("geometry");
+
+        this.centerX = new double[frameCount];
+        this.measuredAngleX = new double[frameCount];
+        this.distance = new double[frameCount];
+        this.mismatchedOutputs = 0;
+    }
+
+    public static void main(String[] args)
+    {
+        String framesPath = args.length > 0 ? args[0] : VisionReplay.DefaultFramesPath;
+        String pipelineName = args.length > 1 ? args[1] : VisionReplay.DefaultPipeline;
+        int passes = args.length > 2 ? Integer.parseInt(args[2]) : VisionReplay.DefaultPasses;
+
+        FauxbotProvider provider = new FauxbotProvider(new SimulationClock(), new FauxbotSensorManager(), new FauxbotActuatorManager(), new FauxbotJoystickManager());
+        List<IMat> frames = VisionReplay.loadFrames(framesPath);
+        if (frames.isEmpty())
+        {
+            throw new IllegalArgumentException("no frames found at " + framesPath);
+        }
+
+        BenchmarkTimer timer = new BenchmarkTimer();
+        timer.start();
+
+        ICentroidVisionPipeline pipeline = VisionReplay.createPipeline(pipelineName, timer, provider);
+        pipeline.setStreamMode(false);
+
+        VisionReplay replay = new VisionReplay(pipeline, timer, frames.size());
+
+        // one pass to warm up the JIT before recording anything
+        replay.runPass(frames, -1);
+
+        long start = System.nanoTime();
+        for (int pass = 0; pass < passes; pass++)
+        {
+            replay.runPass(frames, pass);
+        }
+
+        long elapsed = System.nanoTime() - start;
+
+        PrintStream out = System.out;
+        out.println(String.format("%s: %d frames from %s, %d passes", pipelineName, frames.size(), framesPath, passes));
+        out.println(String.format("fps=%.1f", (frames.size() * (double)passes) / (elapsed / 1000000000.0)));
+        replay.printReport(out);
+    }
+
+    /**
+     * Run each of the frames through the pipeline, starting from a freshly-enabled pipeline
+     * @param frames to process
+     * @param pass index of the recorded pass, or -1 to not record anything
+     */
+    public void runPass(List<IMat> frames, int pass)
+    {
+        // disabling the pipeline for a frame resets any tracking state from the previous pass
+        this.pipeline.setMode(VisionProcessingState.Disabled);
+        this.pipeline.process(frames.get(0));
+        this.pipeline.setMode(VisionProcessingState.ActiveRocket);
+
+        for (int i = 0; i < frames.size(); i++)
+        {
+            IMat frame = frames.get(i);
+            if (pass < 0)
+            {
+                this.pipeline.process(frame);
+                continue;
+            }
+
+            if (this.pipeline instanceof IPipelinedVisionPipeline<?>)
+            {
+                this.processStages((IPipelinedVisionPipeline<?>)this.pipeline, frame);
+            }
+            else
+            {
+                long startTime = System.nanoTime();
+                this.pipeline.process(frame);
+                this.totalLatency.record(System.nanoTime() - startTime);
+            }
+
+            this.recordOutputs(i, pass);
+        }
+    }
+
+    /**
+     * Print the latency histograms and output stability
+     * @param out to print to
+     */
+    public void printReport(PrintStream out)
+    {
+        this.totalLatency.print(out);
+        if (this.pipeline instanceof IPipelinedVisionPipeline<?>)
+        {
+            this.captureLatency.print(out);
+            this.thresholdLatency.print(out);
+            this.geometryLatency.print(out);
+        }
+
+        int detections = 0;
+        int toggles = 0;
+        int consecutive = 0;
+        double totalAngleDelta = 0.0;
+        double maxAngleDelta = 0.0;
+        double totalDistanceDelta = 0.0;
+        double maxDistanceDelta = 0.0;
+        for (int i = 0; i < this.centerX.length; i++)
+        {
+            boolean detected = !Double.isNaN(this.centerX[i]);
+            if (detected)
+            {
+                detections++;
+            }
+
+            if (i == 0)
+            {
+                continue;
+            }
+
+            boolean previouslyDetected = !Double.isNaN(this.centerX[i - 1]);
+            if (detected != previouslyDetected)
+            {
+                toggles++;
+            }
+            else if (detected &&
+                !Double.isNaN(this.measuredAngleX[i]) && !Double.isNaN(this.measuredAngleX[i - 1]) &&
+                !Double.isNaN(this.distance[i]) && !Double.isNaN(this.distance[i - 1]))
+            {
+                double angleDelta = Math.abs(this.measuredAngleX[i] - this.measuredAngleX[i - 1]);
+                double distanceDelta = Math.abs(this.distance[i] - this.distance[i - 1]);
+                totalAngleDelta += angleDelta;
+                totalDistanceDelta += distanceDelta;
+                maxAngleDelta = Math.max(maxAngleDelta, angleDelta);
+                maxDistanceDelta = Math.max(maxDistanceDelta, distanceDelta);
+                consecutive++;
+            }
+        }
+
+        out.println(
+            String.format(
+                "detected=%d/%d (%.1f%%) toggles=%d",
+                detections,
+                this.centerX.length,
+                100.0 * detections / this.centerX.length,
+                toggles));
+        if (consecutive > 0)
+        {
+            out.println(
+                String.format(
+                    "frame-to-frame mAngle delta mean=%.3f max=%.3f, dist delta mean=%.3f max=%.3f",
+                    totalAngleDelta / consecutive,
+                    maxAngleDelta,
+                    totalDistanceDelta / consecutive,
+                    maxDistanceDelta));
+        }
+
+        out.println(String.format("outputs that differed from the first pass=%d", this.mismatchedOutputs));
+    }
+
+    /**
+     * Run a frame through each of the stages of the pipeline, timing each of them
+     * @param stagedPipeline to run
+     * @param frame to process
+     */
+    private <T> void processStages(IPipelinedVisionPipeline<T> stagedPipeline, IMat frame)
+    {
+        long startTime = System.nanoTime();
+        double captureTime = this.timer.get();
+        boolean shouldProcess = stagedPipeline.capture(frame);
+        long capturedTime = System.nanoTime();
+        this.captureLatency.record(capturedTime - startTime);
+        if (!shouldProcess)
+        {
+            this.totalLatency.record(capturedTime - startTime);
+            return;
+        }
+
+        T thresholdOutput = stagedPipeline.threshold(frame);
+        long thresholdedTime = System.nanoTime();
+        this.thresholdLatency.record(thresholdedTime - capturedTime);
+
+        stagedPipeline.calculate(thresholdOutput, captureTime);
+        long calculatedTime = System.nanoTime();
+        this.geometryLatency.record(calculatedTime - thresholdedTime);
+        this.totalLatency.record(calculatedTime - startTime);
+    }
+
+    /**
+     * Record the outputs of the pipeline for the frame, or compare them to the first pass
+     * @param frameIndex of the frame
+     * @param pass index of the pass
+     */
+    private void recordOutputs(int frameIndex, int pass)
+    {
+        IPoint center = this.pipeline.getCenter();
+        double centerX = center != null ? center.getX() : Double.NaN;
+        Double measuredAngleX = this.pipeline.getMeasuredAngleX();
+        double angle = measuredAngleX != null ? measuredAngleX : Double.NaN;
+        Double robotDistance = this.pipeline.getRobotDistance();
+        double distance = robotDistance != null ? robotDistance : Double.NaN;
+        if (pass == 0)
+        {
+            this.centerX[frameIndex] = centerX;
+            this.measuredAngleX[frameIndex] = angle;
+            this.distance[frameIndex] = distance;
+        }
+        else if (Double.compare(centerX, this.centerX[frameIndex]) != 0 ||
+            Double.compare(angle, this.measuredAngleX[frameIndex]) != 0 ||
+            Double.compare(distance, this.distance[frameIndex]) != 0)
+        {
+            this.mismatchedOutputs++;
+        }
+    }
+
+    /**
+     * Create the pipeline with the given class name
+     * @param name of the pipeline class
+     * @param timer for the pipeline to use
+     * @param provider for the pipeline to use
+     * @return the pipeline
+     */
+    private static ICentroidVisionPipeline createPipeline(String name, ITimer timer, IRobotProvider provider)
+    {
+        switch (name)
+        {
+            case "HSVCenterPipeline":
+                return new HSVCenterPipeline(timer, provider, VisionConstants.SHOULD_UNDISTORT);
+
+            case "HSVDockingCenterPipeline":
+                return new HSVDockingCenterPipeline(timer, provider, VisionConstants.SHOULD_UNDISTORT);
+
+            case "HSVDockingCenterRectanglePipeline":
+                return new HSVDockingCenterRectanglePipeline(timer, provider, VisionConstants.SHOULD_UNDISTORT);
+
+            case "Vision2019ApproachAndDockPipeline":
+                return new Vision2019ApproachAndDockPipeline(timer, provider, VisionConstants.SHOULD_UNDISTORT);
+
+            default:
+                throw new IllegalArgumentException("unknown pipeline " + name);
+        }
+    }
+
+    /**
+     * Load all of the frames from a directory of images or a video file, resized to the camera's resolution
+     * @param path of the directory or video
+     * @return the frames
+     */
+    private static List<IMat> loadFrames(String path)
+    {
+        List<Mat> images = new ArrayList<Mat>();
+        File file = new File(path);
+        if (file.isDirectory())
+        {
+            File[] files = file.listFiles(
+                (directory, name) ->
+                {
+                    // skip the intermediate images that the pipelines save alongside each frame
+                    String lowerName = name.toLowerCase();
+                    return (lowerName.endsWith(".jpg") || lowerName.endsWith(".jpeg") || lowerName.endsWith(".png")) &&
+                        !lowerName.contains(".hsvfiltered") &&
+                        !lowerName.contains(".undistorted");
+                });
+
+            // sort shorter names first so that numbered frames (image9, image10) are replayed in order
+            Arrays.sort(files, Comparator.comparingInt((File f) -> f.getName().length()).thenComparing(File::getName));
+            for (File image : files)
+            {
+                images.add(Imgcodecs.imread(image.getPath()));
+            }
+        }
+        else
+        {
+            VideoCapture capture = new VideoCapture(path);
+            Mat image = new Mat();
+            while (capture.read(image))
+            {
+                images.add(image.clone());
+            }
+
+            capture.release();
+        }
+
+        Size cameraSize = new Size(VisionConstants.LIFECAM_CAMERA_RESOLUTION_X, VisionConstants.LIFECAM_CAMERA_RESOLUTION_Y);
+        List<IMat> frames = new ArrayList<IMat>(images.size());
+        for (Mat image : images)
+        {
+            if (image.empty())
+            {
+                continue;
+            }
+
+            if (image.cols() != VisionConstants.LIFECAM_CAMERA_RESOLUTION_X ||
+                image.rows() != VisionConstants.LIFECAM_CAMERA_RESOLUTION_Y)
+            {
+                Imgproc.resize(image, image, cameraSize);
+            }
+
+            frames.add(new MatWrapper(image));
+        }
+
+        return frames;
+    }
+}
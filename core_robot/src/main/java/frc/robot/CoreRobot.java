@@ -1,5 +1,6 @@
 package frc.robot;
 
+import frc.robot.common.LoopProfiler;
 import frc.robot.common.MechanismManager;
 import frc.robot.common.robotprovider.IDashboardLogger;
 import frc.robot.common.robotprovider.ITimer;
@@ -39,6 +40,14 @@ public class CoreRobot<T extends AbstractModule>
     private ITimer timer;
     private boolean timerStarted;
 
+    // Loop profiling
+    private LoopProfiler profiler;
+    private int readSensorsChannel;
+    private int driverChannel;
+    private int updateChannel;
+    private int flushChannel;
+    private int loopChannel;
+
     public CoreRobot(T module)
     {
         this.module = module;
@@ -51,6 +60,14 @@ public class CoreRobot<T extends AbstractModule>
      */
     public void robotInit()
     {
+        // create profiler
+        this.profiler = this.getInjector().getInstance(LoopProfiler.class);
+        this.readSensorsChannel = this.profiler.addChannel("readSensors");
+        this.driverChannel = this.profiler.addChannel("driver");
+        this.updateChannel = this.profiler.addChannel("update");
+        this.flushChannel = this.profiler.addChannel("flush");
+        this.loopChannel = this.profiler.addChannel("loop");
+
         // create mechanisms
         this.mechanisms = this.getInjector().getInstance(MechanismManager.class);
         this.logger = this.getInjector().getInstance(IDashboardLogger.class);
@@ -84,6 +101,12 @@ public class CoreRobot<T extends AbstractModule>
             this.mechanisms.stop();
         }
 
+        if (this.profiler != null)
+        {
+            // start each mode with fresh loop timing percentiles and overrun counts
+            this.profiler.reset();
+        }
+
         this.logger.logString(CoreRobot.LogName, "state", "Disabled");
     }
 
@@ -139,6 +162,15 @@ public class CoreRobot<T extends AbstractModule>
         this.generalPeriodic();
     }
 
+    /**
+     * Retrieves the driver, once the robot has been initialized
+     * @return the driver for this robot
+     */
+    public Driver getDriver()
+    {
+        return this.driver;
+    }
+
     /**
      * Lazily initializes and retrieves the injector.
      * @return the injector to use for this robot
@@ -173,14 +205,36 @@ public class CoreRobot<T extends AbstractModule>
      */
     private void generalPeriodic()
     {
+        long loopStartTime = System.nanoTime();
+
+        // publish any summaries requested by the previous loop, so that they are included in this loop's flush
+        this.profiler.beginLoop();
+
         this.mechanisms.readSensors();
 
+        long driverStartTime = System.nanoTime();
+        this.profiler.record(this.readSensorsChannel, driverStartTime - loopStartTime);
+
         this.driver.update();
 
+        long updateStartTime = System.nanoTime();
+        this.profiler.record(this.driverChannel, updateStartTime - driverStartTime);
+
         // run each mechanism
         this.mechanisms.update();
 
+        long updateEndTime = System.nanoTime();
+        this.profiler.record(this.updateChannel, updateEndTime - updateStartTime);
+
         this.logger.logNumber(CoreRobot.LogName, "time", this.timer.get());
+
+        long flushStartTime = System.nanoTime();
         this.logger.flush();
+
+        // the loop's total includes the flush, as the synchronous loggers do their I/O there
+        long loopEndTime = System.nanoTime();
+        this.profiler.record(this.flushChannel, loopEndTime - flushStartTime);
+        this.profiler.record(this.loopChannel, loopEndTime - loopStartTime);
+        this.profiler.endLoop(loopEndTime - loopStartTime);
     }
 }
@@ -35,6 +35,20 @@ public class TuningConstants
         return mechanismList;
     }
 
+    //================================================== Loop Profiling ==============================================================
+
+    public static final boolean LOOP_PROFILER_ENABLED = true;
+    public static final int LOOP_PROFILER_SAMPLE_COUNT = 250; // 5 seconds of loops at 50Hz
+    public static final long LOOP_PROFILER_OVERRUN_NANOS = 20000000L; // 20ms TimedRobot period
+    public static final int LOOP_PROFILER_PUBLISH_FREQUENCY = 50; // publish once per second at 50Hz
+
+    //================================================== Logging ==============================================================
+
+    public static final int SMARTDASHBOARD_DEFAULT_PUBLISH_PERIOD = 1; // publish changes every loop
+    public static final double SMARTDASHBOARD_DEFAULT_DEADBAND = 0.0; // publish any change
+    public static final int SMARTDASHBOARD_VISION_FPS_PUBLISH_PERIOD = 25; // twice per second at 50Hz
+    public static final double SMARTDASHBOARD_VISION_FPS_DEADBAND = 0.5;
+
     //================================================== Autonomous ==============================================================
 
     public static final boolean CANCEL_AUTONOMOUS_ROUTINE_ON_DISABLE = true;
@@ -42,6 +56,7 @@ public class TuningConstants
     public static final double DRIVETRAIN_POSITIONAL_ACCEPTABLE_DELTA = 1.0;
 
     // Acceptable vision centering range values in degrees
+    public static final boolean VISION_LATENCY_COMPENSATION_ENABLED = true; // project vision measurements forward by how the robot has moved since the frame was captured
     public static final double MAX_VISION_CENTERING_RANGE_DEGREES = 5.0;
 
     // Navx Turn Constants
@@ -158,6 +173,9 @@ public class TuningConstants
     public static final double DRIVETRAIN_PATH_LEFT_HEADING_CORRECTION = 0.0;
     public static final double DRIVETRAIN_PATH_LEFT_MAX_VELOCITY_INCHES_PER_SECOND = 10.0 * TuningConstants.DRIVETRAIN_VELOCITY_PID_LEFT_KS * HardwareConstants.DRIVETRAIN_LEFT_PULSE_DISTANCE; // gets the max speed in inches per second (ticks per 100ms times inches per tick times 10)
 
+    // Path following
+    public static final double DRIVETRAIN_PATH_TIMESTEP = 0.01; // time in seconds between the steps of a path
+
     // Position PID (right)
     // --------- NEEDS 2019 UPDATE ---------
     public static final double DRIVETRAIN_POSITION_PID_RIGHT_KP = 0.0002;
@@ -208,6 +226,7 @@ public class TuningConstants
     public static final boolean DRIVETRAIN_SIMPLE_MODE_SQUARING = false;
 
     public static final double DRIVETRAIN_ENCODER_ODOMETRY_ANGLE_CORRECTION = 1.0; // account for turning weirdness (any degree offset in the angle)
+    public static final int POSITION_HISTORY_LENGTH = 25; // poses to keep for latency compensation (half a second at 50Hz)
 
     //================================================== Elevator ==============================================================
 
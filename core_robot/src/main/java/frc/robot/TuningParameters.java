@@ -0,0 +1,101 @@
+package frc.robot;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Tuning values that can be changed for a single robot without rebuilding, such as when sweeping over gains in simulation.
+ * 
+ * Each parameter starts out with its value from TuningConstants, so a robot whose parameters are never changed behaves
+ * exactly as if it used TuningConstants directly.
+ */
+@Singleton
+public class TuningParameters
+{
+    public enum Parameter
+    {
+        // Navx Turn
+        MAX_NAVX_TURN_RANGE_DEGREES(TuningConstants.MAX_NAVX_TURN_RANGE_DEGREES),
+        MAX_NAVX_FAST_TURN_RANGE_DEGREES(TuningConstants.MAX_NAVX_FAST_TURN_RANGE_DEGREES),
+        NAVX_TURN_COMPLETE_CURRENT_VELOCITY_DELTA(TuningConstants.NAVX_TURN_COMPLETE_CURRENT_VELOCITY_DELTA),
+        NAVX_TURN_COMPLETE_DESIRED_VELOCITY_DELTA(TuningConstants.NAVX_TURN_COMPLETE_DESIRED_VELOCITY_DELTA),
+        NAVX_TURN_PID_KP(TuningConstants.NAVX_TURN_PID_KP),
+        NAVX_TURN_PID_KI(TuningConstants.NAVX_TURN_PID_KI),
+        NAVX_TURN_PID_KD(TuningConstants.NAVX_TURN_PID_KD),
+        NAVX_TURN_PID_KF(TuningConstants.NAVX_TURN_PID_KF),
+        NAVX_FAST_TURN_PID_KP(TuningConstants.NAVX_FAST_TURN_PID_KP),
+        NAVX_FAST_TURN_PID_KI(TuningConstants.NAVX_FAST_TURN_PID_KI),
+        NAVX_FAST_TURN_PID_KD(TuningConstants.NAVX_FAST_TURN_PID_KD),
+        NAVX_FAST_TURN_PID_KF(TuningConstants.NAVX_FAST_TURN_PID_KF),
+
+        // DriveTrain path following
+        DRIVETRAIN_PATH_TIMESTEP(TuningConstants.DRIVETRAIN_PATH_TIMESTEP),
+        DRIVETRAIN_PATH_PID_RIGHT_KP(TuningConstants.DRIVETRAIN_PATH_PID_RIGHT_KP),
+        DRIVETRAIN_PATH_PID_RIGHT_KI(TuningConstants.DRIVETRAIN_PATH_PID_RIGHT_KI),
+        DRIVETRAIN_PATH_PID_RIGHT_KD(TuningConstants.DRIVETRAIN_PATH_PID_RIGHT_KD),
+        DRIVETRAIN_PATH_PID_RIGHT_KF(TuningConstants.DRIVETRAIN_PATH_PID_RIGHT_KF),
+        DRIVETRAIN_PATH_PID_LEFT_KP(TuningConstants.DRIVETRAIN_PATH_PID_LEFT_KP),
+        DRIVETRAIN_PATH_PID_LEFT_KI(TuningConstants.DRIVETRAIN_PATH_PID_LEFT_KI),
+        DRIVETRAIN_PATH_PID_LEFT_KD(TuningConstants.DRIVETRAIN_PATH_PID_LEFT_KD),
+        DRIVETRAIN_PATH_PID_LEFT_KF(TuningConstants.DRIVETRAIN_PATH_PID_LEFT_KF),
+
+        // DriveTrain positional mode
+        DRIVETRAIN_POSITION_PID_RIGHT_KP(TuningConstants.DRIVETRAIN_POSITION_PID_RIGHT_KP),
+        DRIVETRAIN_POSITION_PID_RIGHT_KI(TuningConstants.DRIVETRAIN_POSITION_PID_RIGHT_KI),
+        DRIVETRAIN_POSITION_PID_RIGHT_KD(TuningConstants.DRIVETRAIN_POSITION_PID_RIGHT_KD),
+        DRIVETRAIN_POSITION_PID_RIGHT_KF(TuningConstants.DRIVETRAIN_POSITION_PID_RIGHT_KF),
+        DRIVETRAIN_POSITION_PID_LEFT_KP(TuningConstants.DRIVETRAIN_POSITION_PID_LEFT_KP),
+        DRIVETRAIN_POSITION_PID_LEFT_KI(TuningConstants.DRIVETRAIN_POSITION_PID_LEFT_KI),
+        DRIVETRAIN_POSITION_PID_LEFT_KD(TuningConstants.DRIVETRAIN_POSITION_PID_LEFT_KD),
+        DRIVETRAIN_POSITION_PID_LEFT_KF(TuningConstants.DRIVETRAIN_POSITION_PID_LEFT_KF);
+
+        private final double defaultValue;
+
+        private Parameter(double defaultValue)
+        {
+            this.defaultValue = defaultValue;
+        }
+
+        public double getDefaultValue()
+        {
+            return this.defaultValue;
+        }
+    }
+
+    private static final Parameter[] Parameters = Parameter.values();
+
+    private final double[] values;
+
+    /**
+     * Initializes a new TuningParameters with the values from TuningConstants
+     */
+    @Inject
+    public TuningParameters()
+    {
+        this.values = new double[TuningParameters.Parameters.length];
+        for (int i = 0; i < TuningParameters.Parameters.length; i++)
+        {
+            this.values[i] = TuningParameters.Parameters[i].getDefaultValue();
+        }
+    }
+
+    /**
+     * Gets the current value of a parameter
+     * @param parameter to get
+     * @return the value of the parameter
+     */
+    public double get(Parameter parameter)
+    {
+        return this.values[parameter.ordinal()];
+    }
+
+    /**
+     * Sets the value of a parameter, which will be used by anything that reads it afterwards
+     * @param parameter to set
+     * @param value to use
+     */
+    public void set(Parameter parameter, double value)
+    {
+        this.values[parameter.ordinal()] = value;
+    }
+}
@@ -40,6 +40,17 @@ public class FlagBase
         return (this.value & other.value) == other.value;
     }
 
+    /**
+     * Checks whether the intersection of this and the mask has the other flag, without creating the intersection
+     * @param mask to intersect with
+     * @param other flag to check for
+     * @return true if all of the bits of other are set in both this and the mask
+     */
+    public boolean hasFlagWithin(FlagBase mask, FlagBase other)
+    {
+        return (this.value & mask.value & other.value) == other.value;
+    }
+
     protected static int Union(FlagBase... flags)
     {
         if (flags == null || flags.length == 0)
@@ -0,0 +1,235 @@
+package frc.robot.common;
+
+import java.util.Arrays;
+
+import frc.robot.TuningConstants;
+import frc.robot.common.robotprovider.IDashboardLogger;
+import frc.robot.common.robotprovider.ILogChannel;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Loop profiler.
+ * Records nanosecond timings for named channels (loop phases, individual mechanisms) into preallocated ring
+ * buffers, and periodically publishes the rolling p50/p99/max for each channel along with the count of loops
+ * that overran the loop budget.
+ *
+ * A loop's total includes the flush of the logger, so the summaries are published at the start of the following loop
+ * (by beginLoop) in order to be included in that loop's flush.
+ *
+ * All allocation happens when channels are registered at startup, so beginLoop/record/endLoop are allocation-free.
+ *
+ */
+@Singleton
+public class LoopProfiler
+{
+    private static final String LogName = "prof";
+    private static final double NanosPerMillisecond = 1000000.0;
+
+    private final IDashboardLogger logger;
+    private final boolean enabled;
+    private final int sampleCount;
+    private final long overrunNanos;
+    private final int publishFrequency;
+
+    private final long[] scratch;
+    private final ILogChannel overrunsChannel;
+
+    private ILogChannel[] p50Channels;
+    private ILogChannel[] p99Channels;
+    private ILogChannel[] maxChannels;
+    private long[][] samples;
+    private int[] sampleIndex;
+    private int[] samplesRecorded;
+    private int channelCount;
+
+    private int loopsSincePublish;
+    private boolean publishPending;
+    private int overrunCount;
+
+    /**
+     * Initializes a new LoopProfiler
+     * @param logger to publish the timing summaries to
+     */
+    @Inject
+    public LoopProfiler(IDashboardLogger logger)
+    {
+        this(
+            logger,
+            TuningConstants.LOOP_PROFILER_ENABLED,
+            TuningConstants.LOOP_PROFILER_SAMPLE_COUNT,
+            TuningConstants.LOOP_PROFILER_OVERRUN_NANOS,
+            TuningConstants.LOOP_PROFILER_PUBLISH_FREQUENCY);
+    }
+
+    /**
+     * Initializes a new LoopProfiler
+     * @param logger to publish the timing summaries to
+     * @param enabled whether we should record timings at all
+     * @param sampleCount the number of samples to keep per channel
+     * @param overrunNanos the loop budget above which a loop is considered an overrun
+     * @param publishFrequency the number of loops between each publish
+     */
+    public LoopProfiler(IDashboardLogger logger, boolean enabled, int sampleCount, long overrunNanos, int publishFrequency)
+    {
+        this.logger = logger;
+        this.enabled = enabled;
+        this.sampleCount = sampleCount;
+        this.overrunNanos = overrunNanos;
+        this.publishFrequency = publishFrequency;
+
+        this.scratch = new long[sampleCount];
+        this.overrunsChannel = logger.getChannel(LoopProfiler.LogName, "overruns");
+
+        this.p50Channels = new ILogChannel[0];
+        this.p99Channels = new ILogChannel[0];
+        this.maxChannels = new ILogChannel[0];
+        this.samples = new long[0][];
+        this.sampleIndex = new int[0];
+        this.samplesRecorded = new int[0];
+        this.channelCount = 0;
+
+        this.loopsSincePublish = 0;
+        this.publishPending = false;
+        this.overrunCount = 0;
+    }
+
+    /**
+     * Gets a value indicating whether timings should be recorded
+     * @return true if the profiler is enabled
+     */
+    public boolean isEnabled()
+    {
+        return this.enabled;
+    }
+
+    /**
+     * Register a new channel to record timings for.  This should only be called during initialization.
+     * @param name of the channel (e.g. "loop", "DriveTrainMechanism.update")
+     * @return the channel index to use when recording
+     */
+    public int addChannel(String name)
+    {
+        int channel = this.channelCount++;
+
+        this.p50Channels = Arrays.copyOf(this.p50Channels, this.channelCount);
+        this.p99Channels = Arrays.copyOf(this.p99Channels, this.channelCount);
+        this.maxChannels = Arrays.copyOf(this.maxChannels, this.channelCount);
+        this.samples = Arrays.copyOf(this.samples, this.channelCount);
+        this.sampleIndex = Arrays.copyOf(this.sampleIndex, this.channelCount);
+        this.samplesRecorded = Arrays.copyOf(this.samplesRecorded, this.channelCount);
+
+        this.p50Channels[channel] = this.logger.getChannel(LoopProfiler.LogName, name + ".p50");
+        this.p99Channels[channel] = this.logger.getChannel(LoopProfiler.LogName, name + ".p99");
+        this.maxChannels[channel] = this.logger.getChannel(LoopProfiler.LogName, name + ".max");
+        this.samples[channel] = new long[this.sampleCount];
+
+        return channel;
+    }
+
+    /**
+     * Record a timing for the provided channel
+     * @param channel index returned from addChannel
+     * @param elapsedNanos the time spent, in nanoseconds
+     */
+    public void record(int channel, long elapsedNanos)
+    {
+        if (!this.enabled)
+        {
+            return;
+        }
+
+        int index = this.sampleIndex[channel];
+        this.samples[channel][index] = elapsedNanos;
+        this.sampleIndex[channel] = (index + 1) % this.sampleCount;
+        if (this.samplesRecorded[channel] < this.sampleCount)
+        {
+            this.samplesRecorded[channel]++;
+        }
+    }
+
+    /**
+     * Mark the start of a loop, publishing the summaries if the previous loop asked for them
+     */
+    public void beginLoop()
+    {
+        if (this.publishPending)
+        {
+            this.publishPending = false;
+            this.publish();
+        }
+    }
+
+    /**
+     * Mark the end of a loop, checking it against the loop budget and scheduling a publish when appropriate
+     * @param loopNanos the total time spent in the loop (including the flush), in nanoseconds
+     */
+    public void endLoop(long loopNanos)
+    {
+        if (!this.enabled)
+        {
+            return;
+        }
+
+        if (loopNanos > this.overrunNanos)
+        {
+            this.overrunCount++;
+        }
+
+        if (++this.loopsSincePublish >= this.publishFrequency)
+        {
+            this.loopsSincePublish = 0;
+            this.publishPending = true;
+        }
+    }
+
+    /**
+     * Gets the number of loops that have exceeded the loop budget
+     * @return the number of overruns
+     */
+    public int getOverrunCount()
+    {
+        return this.overrunCount;
+    }
+
+    /**
+     * Clear all recorded samples and the overrun count
+     */
+    public void reset()
+    {
+        for (int channel = 0; channel < this.channelCount; channel++)
+        {
+            this.sampleIndex[channel] = 0;
+            this.samplesRecorded[channel] = 0;
+        }
+
+        this.loopsSincePublish = 0;
+        this.publishPending = false;
+        this.overrunCount = 0;
+    }
+
+    /**
+     * Publish the rolling p50/p99/max for each channel (in milliseconds) and the overrun count
+     */
+    private void publish()
+    {
+        for (int channel = 0; channel < this.channelCount; channel++)
+        {
+            int count = this.samplesRecorded[channel];
+            if (count == 0)
+            {
+                continue;
+            }
+
+            System.arraycopy(this.samples[channel], 0, this.scratch, 0, count);
+            Arrays.sort(this.scratch, 0, count);
+
+            this.p50Channels[channel].logNumber(this.scratch[(count - 1) * 50 / 100] / LoopProfiler.NanosPerMillisecond);
+            this.p99Channels[channel].logNumber(this.scratch[(count - 1) * 99 / 100] / LoopProfiler.NanosPerMillisecond);
+            this.maxChannels[channel].logNumber(this.scratch[count - 1] / LoopProfiler.NanosPerMillisecond);
+        }
+
+        this.overrunsChannel.logInteger(this.overrunCount);
+    }
+}
@@ -9,19 +9,37 @@ public class MechanismManager implements IMechanism
 {
     public final List<IMechanism> mechanismList;
 
-    public MechanismManager(List<IMechanism> mechanismList)
+    private final IMechanism[] mechanisms;
+    private final LoopProfiler profiler;
+    private final int[] readSensorsChannels;
+    private final int[] updateChannels;
+
+    public MechanismManager(List<IMechanism> mechanismList, LoopProfiler profiler)
     {
         this.mechanismList = mechanismList;
+        this.mechanisms = mechanismList.toArray(new IMechanism[mechanismList.size()]);
+
+        this.profiler = profiler;
+        this.readSensorsChannels = new int[this.mechanisms.length];
+        this.updateChannels = new int[this.mechanisms.length];
+        for (int i = 0; i < this.mechanisms.length; i++)
+        {
+            String mechanismName = this.mechanisms[i].getClass().getSimpleName();
+            this.readSensorsChannels[i] = profiler.addChannel(mechanismName + ".readSensors");
+            this.updateChannels[i] = profiler.addChannel(mechanismName + ".update");
+        }
     }
 
     @Override
     public void readSensors()
     {
-        for (IMechanism mechanism : this.mechanismList)
+        boolean profile = this.profiler.isEnabled();
+        for (int i = 0; i < this.mechanisms.length; i++)
         {
+            long startTime = profile ? System.nanoTime() : 0L;
             try
             {
-                mechanism.readSensors();
+                this.mechanisms[i].readSensors();
             }
             catch (Exception ex)
             {
@@ -31,17 +49,24 @@ public class MechanismManager implements IMechanism
                     throw ex;
                 }
             }
+
+            if (profile)
+            {
+                this.profiler.record(this.readSensorsChannels[i], System.nanoTime() - startTime);
+            }
         }
     }
 
     @Override
     public void update()
     {
-        for (IMechanism mechanism : this.mechanismList)
+        boolean profile = this.profiler.isEnabled();
+        for (int i = 0; i < this.mechanisms.length; i++)
         {
+            long startTime = profile ? System.nanoTime() : 0L;
             try
             {
-                mechanism.update();
+                this.mechanisms[i].update();
             }
             catch (Exception ex)
             {
@@ -51,6 +76,11 @@ public class MechanismManager implements IMechanism
                     throw ex;
                 }
             }
+
+            if (profile)
+            {
+                this.profiler.record(this.updateChannels[i], System.nanoTime() - startTime);
+            }
         }
     }
 
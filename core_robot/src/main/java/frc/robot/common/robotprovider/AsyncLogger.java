@@ -0,0 +1,700 @@
+package frc.robot.common.robotprovider;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logger decorator that moves the actual logging work off of the calling thread.
+ *
+ * Values are stored as primitives until flush(), which copies the values logged since the last flush into the
+ * next frame of a preallocated single-producer/single-consumer ring buffer.  A low-priority background thread
+ * replays each frame into the wrapped logger and flushes it, so slow output (console, USB storage) never stalls
+ * the control loop.  If the writer falls behind and the ring is full, the frame is dropped and counted, and the count
+ * is logged (under "al") with the next frame that is handed off.
+ *
+ * All of the logging methods and flush() must be called from the same thread.
+ *
+ */
+public class AsyncLogger implements IDashboardLogger
+{
+    private static final int DefaultFrameCapacity = 64;
+    private static final int DefaultSlotCapacity = 128;
+    private static final long WriterIdleNanos = 5000000L;
+    private static final String LogName = "al";
+
+    private static final byte TypeBoolean = 1;
+    private static final byte TypeNumber = 2;
+    private static final byte TypeNullableNumber = 3;
+    private static final byte TypeNullNumber = 4;
+    private static final byte TypeInteger = 5;
+    private static final byte TypePoint = 6;
+    private static final byte TypeNullPoint = 7;
+    private static final byte TypeString = 8;
+
+    private final IDashboardLogger logger;
+    private final Thread writerThread;
+
+    private final HashMap<String, HashMap<String, Integer>> slotMap;
+
+    // slot information (written by the caller, read by the writer)
+    private String[] slotComponents;
+    private String[] slotKeys;
+    private int slotCount;
+
+    // values logged since the last flush
+    private byte[] valueTypes;
+    private long[] values;
+    private long[] secondaryValues;
+    private String[] stringValues;
+    private boolean[] dirty;
+    private int[] dirtySlots;
+    private int dirtyCount;
+
+    // ring buffer of frames - the caller owns frames from tail onwards, the writer owns frames from head to tail
+    private final AsyncFrame[] frames;
+    private volatile long head;
+    private volatile long tail;
+    private volatile boolean running;
+    private volatile int droppedFrames;
+
+    // dropped frame count as of the last frame that logged it (only used by the caller)
+    private final int droppedFramesSlot;
+    private int loggedDroppedFrames;
+
+    // wrapped logger channels and point scratch (only used by the writer)
+    private ILogChannel[] channels;
+    private final LoggedPoint point;
+
+    /**
+     * Initializes a new instance of the AsyncLogger class.
+     * @param logger to write to from the background thread
+     */
+    public AsyncLogger(IDashboardLogger logger)
+    {
+        this(logger, AsyncLogger.DefaultFrameCapacity);
+    }
+
+    /**
+     * Initializes a new instance of the AsyncLogger class.
+     * @param logger to write to from the background thread
+     * @param frameCapacity the number of frames that can be waiting for the writer before frames are dropped
+     */
+    public AsyncLogger(IDashboardLogger logger, int frameCapacity)
+    {
+        this.logger = logger;
+
+        this.slotMap = new HashMap<String, HashMap<String, Integer>>();
+        this.slotComponents = new String[AsyncLogger.DefaultSlotCapacity];
+        this.slotKeys = new String[AsyncLogger.DefaultSlotCapacity];
+        this.slotCount = 0;
+
+        this.valueTypes = new byte[AsyncLogger.DefaultSlotCapacity];
+        this.values = new long[AsyncLogger.DefaultSlotCapacity];
+        this.secondaryValues = new long[AsyncLogger.DefaultSlotCapacity];
+        this.stringValues = new String[AsyncLogger.DefaultSlotCapacity];
+        this.dirty = new boolean[AsyncLogger.DefaultSlotCapacity];
+        this.dirtySlots = new int[AsyncLogger.DefaultSlotCapacity];
+        this.dirtyCount = 0;
+
+        this.frames = new AsyncFrame[frameCapacity];
+        for (int i = 0; i < frameCapacity; i++)
+        {
+            this.frames[i] = new AsyncFrame(AsyncLogger.DefaultSlotCapacity);
+        }
+
+        this.head = 0;
+        this.tail = 0;
+        this.running = true;
+        this.droppedFrames = 0;
+        this.droppedFramesSlot = this.getSlot(AsyncLogger.LogName, "droppedFrames");
+        this.loggedDroppedFrames = 0;
+
+        this.channels = new ILogChannel[AsyncLogger.DefaultSlotCapacity];
+        this.point = new LoggedPoint();
+
+        this.writerThread = new Thread(this::runWriter, "AsyncLogger");
+        this.writerThread.setDaemon(true);
+        this.writerThread.setPriority(Thread.MIN_PRIORITY);
+        this.writerThread.start();
+    }
+
+    /**
+     * Write a boolean to the log
+     * @param component to log for
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBoolean(String component, String key, boolean value)
+    {
+        this.setValue(this.getSlot(component, key), AsyncLogger.TypeBoolean, value ? 1L : 0L, 0L, null);
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param component to log for
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(String component, String key, double value)
+    {
+        this.setValue(this.getSlot(component, key), AsyncLogger.TypeNumber, Double.doubleToRawLongBits(value), 0L, null);
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param component to log for
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(String component, String key, Double value)
+    {
+        this.setNullableNumber(this.getSlot(component, key), value);
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param component to log for
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(String component, String key, int value)
+    {
+        this.setValue(this.getSlot(component, key), AsyncLogger.TypeInteger, value, 0L, null);
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param component to log for
+     * @param key to write to
+     * @param value to write
+     * @param formatString to use
+     */
+    @Override
+    public void logInteger(String component, String key, int value, String formatString)
+    {
+        this.setValue(this.getSlot(component, key), AsyncLogger.TypeInteger, value, 0L, formatString);
+    }
+
+    /**
+     * Write a point (x,y or N/A) to the log
+     * @param component to log for
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logPoint(String component, String key, IPoint value)
+    {
+        this.setPoint(this.getSlot(component, key), value);
+    }
+
+    /**
+     * Write a string to the log
+     * @param component to log for
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logString(String component, String key, String value)
+    {
+        this.setValue(this.getSlot(component, key), AsyncLogger.TypeString, 0L, 0L, value);
+    }
+
+    /**
+     * Get a channel for repeatedly logging to the same component/key, interning its slot once
+     * @param component to log for
+     * @param key to write to
+     * @return channel for logging values
+     */
+    @Override
+    public ILogChannel getChannel(String component, String key)
+    {
+        return new AsyncLogChannel(this.getSlot(component, key));
+    }
+
+    /**
+     * Copy the values logged since the last flush into the next frame and hand it off to the writer thread
+     */
+    @Override
+    public void flush()
+    {
+        this.logCounts();
+
+        long tail = this.tail;
+        if (tail - this.head >= this.frames.length)
+        {
+            // writer is still busy with all of the other frames, so we have nowhere to put this frame
+            this.droppedFrames++;
+            this.clearValues();
+
+            // the count was cleared along with the rest of the frame, so log it again with the next frame
+            this.loggedDroppedFrames = -1;
+            return;
+        }
+
+        AsyncFrame frame = this.frames[(int)(tail % this.frames.length)];
+        frame.ensureCapacity(this.dirtyCount);
+        for (int i = 0; i < this.dirtyCount; i++)
+        {
+            int slot = this.dirtySlots[i];
+            frame.slots[i] = slot;
+            frame.valueTypes[i] = this.valueTypes[slot];
+            frame.values[i] = this.values[slot];
+            frame.secondaryValues[i] = this.secondaryValues[slot];
+            frame.stringValues[i] = this.stringValues[slot];
+        }
+
+        frame.count = this.dirtyCount;
+        frame.slotComponents = this.slotComponents;
+        frame.slotKeys = this.slotKeys;
+
+        this.clearValues();
+
+        // publishing the new tail makes the frame contents visible to the writer
+        this.tail = tail + 1;
+        LockSupport.unpark(this.writerThread);
+    }
+
+    /**
+     * Add a sendable chooser to the smart dashboard
+     */
+    @Override
+    public <V> void addChooser(String name, ISendableChooser<V> chooser)
+    {
+        this.logger.addChooser(name, chooser);
+    }
+
+    /**
+     * Gets the number of frames that have been dropped because the writer couldn't keep up
+     * @return the number of dropped frames
+     */
+    public int getDroppedFrameCount()
+    {
+        return this.droppedFrames;
+    }
+
+    /**
+     * Write out any remaining frames and stop the writer thread
+     */
+    public void close()
+    {
+        this.running = false;
+        LockSupport.unpark(this.writerThread);
+
+        try
+        {
+            this.writerThread.join();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get the slot for the component/key pair, interning it if this is the first time we've seen it
+     * @param component to log for
+     * @param key to write to
+     * @return slot index
+     */
+    private int getSlot(String component, String key)
+    {
+        HashMap<String, Integer> componentSlots = this.slotMap.get(component);
+        if (componentSlots == null)
+        {
+            componentSlots = new HashMap<String, Integer>();
+            this.slotMap.put(component, componentSlots);
+        }
+
+        Integer slot = componentSlots.get(key);
+        if (slot == null)
+        {
+            slot = this.addSlot(component, key);
+            componentSlots.put(key, slot);
+        }
+
+        return slot;
+    }
+
+    /**
+     * Add a new slot for the component/key pair, growing the slot arrays as needed
+     * @param component to log for
+     * @param key to write to
+     * @return slot index
+     */
+    private int addSlot(String component, String key)
+    {
+        int slot = this.slotCount++;
+        if (slot >= this.slotKeys.length)
+        {
+            // the writer may still be reading frames that reference the old name arrays, so copy rather than reuse
+            int newCapacity = this.slotKeys.length * 2;
+            this.slotComponents = Arrays.copyOf(this.slotComponents, newCapacity);
+            this.slotKeys = Arrays.copyOf(this.slotKeys, newCapacity);
+            this.valueTypes = Arrays.copyOf(this.valueTypes, newCapacity);
+            this.values = Arrays.copyOf(this.values, newCapacity);
+            this.secondaryValues = Arrays.copyOf(this.secondaryValues, newCapacity);
+            this.stringValues = Arrays.copyOf(this.stringValues, newCapacity);
+            this.dirty = Arrays.copyOf(this.dirty, newCapacity);
+            this.dirtySlots = Arrays.copyOf(this.dirtySlots, newCapacity);
+        }
+
+        this.slotComponents[slot] = component;
+        this.slotKeys[slot] = key;
+        return slot;
+    }
+
+    /**
+     * Record a nullable number for the slot for the next frame
+     */
+    private void setNullableNumber(int slot, Double value)
+    {
+        if (value == null)
+        {
+            this.setValue(slot, AsyncLogger.TypeNullNumber, 0L, 0L, null);
+        }
+        else
+        {
+            this.setValue(slot, AsyncLogger.TypeNullableNumber, Double.doubleToRawLongBits(value), 0L, null);
+        }
+    }
+
+    /**
+     * Record a point for the slot for the next frame
+     */
+    private void setPoint(int slot, IPoint value)
+    {
+        if (value == null)
+        {
+            this.setValue(slot, AsyncLogger.TypeNullPoint, 0L, 0L, null);
+        }
+        else
+        {
+            this.setValue(
+                slot,
+                AsyncLogger.TypePoint,
+                Double.doubleToRawLongBits(value.getX()),
+                Double.doubleToRawLongBits(value.getY()),
+                null);
+        }
+    }
+
+    /**
+     * Record the value for the slot for the next frame
+     */
+    private void setValue(int slot, byte valueType, long value, long secondaryValue, String stringValue)
+    {
+        this.valueTypes[slot] = valueType;
+        this.values[slot] = value;
+        this.secondaryValues[slot] = secondaryValue;
+        this.stringValues[slot] = stringValue;
+        if (!this.dirty[slot])
+        {
+            this.dirty[slot] = true;
+            this.dirtySlots[this.dirtyCount++] = slot;
+        }
+    }
+
+    /**
+     * Log the dropped frame count whenever it has changed, as part of the next frame
+     */
+    private void logCounts()
+    {
+        int droppedFrames = this.droppedFrames;
+        if (droppedFrames != this.loggedDroppedFrames)
+        {
+            this.loggedDroppedFrames = droppedFrames;
+            this.setValue(this.droppedFramesSlot, AsyncLogger.TypeInteger, droppedFrames, 0L, null);
+        }
+    }
+
+    /**
+     * Clear the values logged since the last flush
+     */
+    private void clearValues()
+    {
+        for (int i = 0; i < this.dirtyCount; i++)
+        {
+            int slot = this.dirtySlots[i];
+            this.dirty[slot] = false;
+            this.stringValues[slot] = null;
+        }
+
+        this.dirtyCount = 0;
+    }
+
+    /**
+     * Writer thread loop - replays each frame into the wrapped logger, parking while the ring is empty
+     */
+    private void runWriter()
+    {
+        while (true)
+        {
+            long head = this.head;
+            if (head == this.tail)
+            {
+                if (!this.running)
+                {
+                    return;
+                }
+
+                LockSupport.parkNanos(this, AsyncLogger.WriterIdleNanos);
+                continue;
+            }
+
+            AsyncFrame frame = this.frames[(int)(head % this.frames.length)];
+            try
+            {
+                this.writeFrame(frame);
+                this.logger.flush();
+            }
+            catch (Exception ex)
+            {
+                System.out.println("Encountered exception while writing log frame: " + ex.toString());
+            }
+
+            frame.clear();
+
+            // publishing the new head hands the frame back to the caller
+            this.head = head + 1;
+        }
+    }
+
+    /**
+     * Replay the values in the frame into the wrapped logger
+     * @param frame to write
+     */
+    private void writeFrame(AsyncFrame frame)
+    {
+        for (int i = 0; i < frame.count; i++)
+        {
+            int slot = frame.slots[i];
+            ILogChannel channel = this.getWriterChannel(frame, slot);
+            long value = frame.values[i];
+            switch (frame.valueTypes[i])
+            {
+                case AsyncLogger.TypeBoolean:
+                    channel.logBoolean(value != 0L);
+                    break;
+
+                case AsyncLogger.TypeNumber:
+                    channel.logNumber(Double.longBitsToDouble(value));
+                    break;
+
+                case AsyncLogger.TypeNullableNumber:
+                    channel.logNumber(Double.valueOf(Double.longBitsToDouble(value)));
+                    break;
+
+                case AsyncLogger.TypeNullNumber:
+                    channel.logNumber((Double)null);
+                    break;
+
+                case AsyncLogger.TypeInteger:
+                    if (frame.stringValues[i] != null)
+                    {
+                        this.logger.logInteger(frame.slotComponents[slot], frame.slotKeys[slot], (int)value, frame.stringValues[i]);
+                    }
+                    else
+                    {
+                        channel.logInteger((int)value);
+                    }
+
+                    break;
+
+                case AsyncLogger.TypePoint:
+                    this.point.x = Double.longBitsToDouble(value);
+                    this.point.y = Double.longBitsToDouble(frame.secondaryValues[i]);
+                    channel.logPoint(this.point);
+                    break;
+
+                case AsyncLogger.TypeNullPoint:
+                    channel.logPoint(null);
+                    break;
+
+                case AsyncLogger.TypeString:
+                    channel.logString(frame.stringValues[i]);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Get the wrapped logger's channel for the slot, creating it the first time the slot is written
+     * @param frame that references the slot
+     * @param slot index
+     * @return channel of the wrapped logger
+     */
+    private ILogChannel getWriterChannel(AsyncFrame frame, int slot)
+    {
+        if (slot >= this.channels.length)
+        {
+            this.channels = Arrays.copyOf(this.channels, Math.max(slot + 1, this.channels.length * 2));
+        }
+
+        ILogChannel channel = this.channels[slot];
+        if (channel == null)
+        {
+            channel = this.logger.getChannel(frame.slotComponents[slot], frame.slotKeys[slot]);
+            this.channels[slot] = channel;
+        }
+
+        return channel;
+    }
+
+    /**
+     * A single frame of the ring buffer, holding the values logged between two flushes
+     */
+    private static class AsyncFrame
+    {
+        private int count;
+        private int[] slots;
+        private byte[] valueTypes;
+        private long[] values;
+        private long[] secondaryValues;
+        private String[] stringValues;
+        private String[] slotComponents;
+        private String[] slotKeys;
+
+        AsyncFrame(int capacity)
+        {
+            this.count = 0;
+            this.slots = new int[capacity];
+            this.valueTypes = new byte[capacity];
+            this.values = new long[capacity];
+            this.secondaryValues = new long[capacity];
+            this.stringValues = new String[capacity];
+        }
+
+        /**
+         * Grow the frame so that it can hold the provided number of values (only called by the owner of the frame)
+         * @param capacity required
+         */
+        void ensureCapacity(int capacity)
+        {
+            if (capacity > this.slots.length)
+            {
+                int newCapacity = Math.max(capacity, this.slots.length * 2);
+                this.slots = Arrays.copyOf(this.slots, newCapacity);
+                this.valueTypes = Arrays.copyOf(this.valueTypes, newCapacity);
+                this.values = Arrays.copyOf(this.values, newCapacity);
+                this.secondaryValues = Arrays.copyOf(this.secondaryValues, newCapacity);
+                this.stringValues = Arrays.copyOf(this.stringValues, newCapacity);
+            }
+        }
+
+        /**
+         * Release references held by the frame
+         */
+        void clear()
+        {
+            for (int i = 0; i < this.count; i++)
+            {
+                this.stringValues[i] = null;
+            }
+
+            this.count = 0;
+        }
+    }
+
+    /**
+     * Simple point used by the writer to pass logged points to the wrapped logger
+     */
+    private static class LoggedPoint implements IPoint
+    {
+        private double x;
+        private double y;
+
+        @Override
+        public double getX()
+        {
+            return this.x;
+        }
+
+        @Override
+        public double getY()
+        {
+            return this.y;
+        }
+
+        @Override
+        public void set(double[] vals)
+        {
+            this.x = vals.length > 0 ? vals[0] : 0.0;
+            this.y = vals.length > 1 ? vals[1] : 0.0;
+        }
+
+        @Override
+        public IPoint clone()
+        {
+            LoggedPoint point = new LoggedPoint();
+            point.x = this.x;
+            point.y = this.y;
+            return point;
+        }
+
+        @Override
+        public double dot(IPoint p)
+        {
+            return this.x * p.getX() + this.y * p.getY();
+        }
+
+        @Override
+        public boolean inside(IRect r)
+        {
+            return r.contains(this);
+        }
+    }
+
+    /**
+     * Log channel that records values for a pre-interned slot
+     */
+    private class AsyncLogChannel implements ILogChannel
+    {
+        private final int slot;
+
+        AsyncLogChannel(int slot)
+        {
+            this.slot = slot;
+        }
+
+        @Override
+        public void logBoolean(boolean value)
+        {
+            AsyncLogger.this.setValue(this.slot, AsyncLogger.TypeBoolean, value ? 1L : 0L, 0L, null);
+        }
+
+        @Override
+        public void logNumber(double value)
+        {
+            AsyncLogger.this.setValue(this.slot, AsyncLogger.TypeNumber, Double.doubleToRawLongBits(value), 0L, null);
+        }
+
+        @Override
+        public void logNumber(Double value)
+        {
+            AsyncLogger.this.setNullableNumber(this.slot, value);
+        }
+
+        @Override
+        public void logInteger(int value)
+        {
+            AsyncLogger.this.setValue(this.slot, AsyncLogger.TypeInteger, value, 0L, null);
+        }
+
+        @Override
+        public void logPoint(IPoint value)
+        {
+            AsyncLogger.this.setPoint(this.slot, value);
+        }
+
+        @Override
+        public void logString(String value)
+        {
+            AsyncLogger.this.setValue(this.slot, AsyncLogger.TypeString, 0L, 0L, value);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package frc.robot.common.robotprovider;
+
+/**
+ * Constants describing the binary telemetry log format written by BinaryLogger.
+ *
+ * All values are big-endian.  A file starts with a header (MAGIC as an int, VERSION as a short), and is followed
+ * by a sequence of records, each starting with a record type byte:
+ * - RECORD_SCHEMA: short slot, short component length, component chars, short key length, key chars
+ *     (chars are written as 2-byte UTF-16 code units)
+ * - RECORD_FRAME: long timestamp (nanoseconds since the log was opened), short entry count, then each entry:
+ *     short slot, byte value type, value payload
+ *
+ * Value payloads:
+ * - VALUE_NULL: (none)
+ * - VALUE_BOOLEAN: byte (0 or 1)
+ * - VALUE_DOUBLE: double
+ * - VALUE_INTEGER: int
+ * - VALUE_STRING: short length, chars
+ * - VALUE_POINT: double x, double y
+ *
+ * A schema record for a slot is always written before the first frame that references that slot.
+ *
+ */
+public class BinaryLogFormat
+{
+    public static final int MAGIC = 0x4952534C; // "IRSL"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 6;
+
+    public static final byte RECORD_SCHEMA = 1;
+    public static final byte RECORD_FRAME = 2;
+
+    public static final byte VALUE_NULL = 0;
+    public static final byte VALUE_BOOLEAN = 1;
+    public static final byte VALUE_DOUBLE = 2;
+    public static final byte VALUE_INTEGER = 3;
+    public static final byte VALUE_STRING = 4;
+    public static final byte VALUE_POINT = 5;
+
+    public static final int FRAME_HEADER_SIZE = 11; // record type, timestamp, entry count
+    public static final int ENTRY_HEADER_SIZE = 3; // slot, value type
+}
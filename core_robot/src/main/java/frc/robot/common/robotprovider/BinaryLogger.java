@@ -0,0 +1,766 @@
+package frc.robot.common.robotprovider;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Logger that writes a compact binary record of the logged values for each loop (see BinaryLogFormat).
+ *
+ * Each component/key pair is interned into an integer slot the first time it is logged, and values are stored
+ * as primitives until flush() encodes them into a frame.  Frames are written into one of two direct buffers,
+ * and a background thread drains the full buffer to the file, so nothing is allocated or written to disk on the
+ * calling thread once all of the keys have been seen.  If the writer falls behind and there isn't room for a
+ * frame, the frame is dropped and counted rather than stalling the caller.  Frames that are larger than a buffer and
+ * failed writes are counted too, and all three counts are logged (under "bl") so that a lossy log says so itself.
+ *
+ */
+public class BinaryLogger implements IDashboardLogger
+{
+    private static final int DefaultBufferSize = 64 * 1024;
+    private static final int MinimumBufferSize = 1024;
+    private static final int DefaultSlotCapacity = 128;
+    private static final String LogName = "bl";
+
+    private final FileChannel channel;
+    private final long startTime;
+    private final Thread writerThread;
+
+    private final HashMap<String, HashMap<String, Integer>> slotMap;
+
+    // slot information
+    private String[] slotComponents;
+    private String[] slotKeys;
+    private int slotCount;
+    private int schemaWrittenCount;
+
+    // values logged since the last flush
+    private byte[] valueTypes;
+    private long[] values;
+    private long[] secondaryValues;
+    private String[] stringValues;
+    private boolean[] dirty;
+    private int[] dirtySlots;
+    private int dirtyCount;
+
+    // buffers
+    private final Object bufferLock;
+    private ByteBuffer activeBuffer;
+    private ByteBuffer spareBuffer;
+    private ByteBuffer pendingBuffer;
+    private boolean running;
+
+    private final int droppedFramesSlot;
+    private final int oversizedFramesSlot;
+    private final int writeErrorsSlot;
+
+    private int droppedFrames;
+    private int oversizedFrames;
+    private volatile int writeErrors;
+    private int loggedDroppedFrames;
+    private int loggedOversizedFrames;
+    private int loggedWriteErrors;
+
+    /**
+     * Initializes a new instance of the BinaryLogger class.
+     * @param fileName to write to
+     * @throws IOException
+     */
+    public BinaryLogger(String fileName) throws IOException
+    {
+        this(fileName, BinaryLogger.DefaultBufferSize);
+    }
+
+    /**
+     * Initializes a new instance of the BinaryLogger class.
+     * @param fileName to write to
+     * @param bufferSize to use for each of the two buffers, which must hold the schema and frame of a whole loop
+     * @throws IOException
+     */
+    public BinaryLogger(String fileName, int bufferSize) throws IOException
+    {
+        if (bufferSize < BinaryLogger.MinimumBufferSize)
+        {
+            throw new IllegalArgumentException("bufferSize must be at least " + BinaryLogger.MinimumBufferSize + " bytes, but was " + bufferSize);
+        }
+
+        this.channel = FileChannel.open(
+            Paths.get(fileName),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+
+        this.startTime = System.nanoTime();
+
+        this.slotMap = new HashMap<String, HashMap<String, Integer>>();
+        this.slotComponents = new String[BinaryLogger.DefaultSlotCapacity];
+        this.slotKeys = new String[BinaryLogger.DefaultSlotCapacity];
+        this.slotCount = 0;
+        this.schemaWrittenCount = 0;
+
+        this.valueTypes = new byte[BinaryLogger.DefaultSlotCapacity];
+        this.values = new long[BinaryLogger.DefaultSlotCapacity];
+        this.secondaryValues = new long[BinaryLogger.DefaultSlotCapacity];
+        this.stringValues = new String[BinaryLogger.DefaultSlotCapacity];
+        this.dirty = new boolean[BinaryLogger.DefaultSlotCapacity];
+        this.dirtySlots = new int[BinaryLogger.DefaultSlotCapacity];
+        this.dirtyCount = 0;
+
+        this.bufferLock = new Object();
+        this.activeBuffer = ByteBuffer.allocateDirect(bufferSize);
+        this.spareBuffer = ByteBuffer.allocateDirect(bufferSize);
+        this.pendingBuffer = null;
+        this.running = true;
+
+        this.droppedFrames = 0;
+        this.oversizedFrames = 0;
+        this.writeErrors = 0;
+        this.loggedDroppedFrames = 0;
+        this.loggedOversizedFrames = 0;
+        this.loggedWriteErrors = 0;
+        this.droppedFramesSlot = this.getSlot(BinaryLogger.LogName, "droppedFrames");
+        this.oversizedFramesSlot = this.getSlot(BinaryLogger.LogName, "oversizedFrames");
+        this.writeErrorsSlot = this.getSlot(BinaryLogger.LogName, "writeErrors");
+
+        this.activeBuffer.putInt(BinaryLogFormat.MAGIC);
+        this.activeBuffer.putShort(BinaryLogFormat.VERSION);
+
+        this.writerThread = new Thread(this::runWriter, "BinaryLogger");
+        this.writerThread.setDaemon(true);
+        this.writerThread.setPriority(Thread.MIN_PRIORITY);
+        this.writerThread.start();
+    }
+
+    /**
+     * Write a boolean to the log
+     * @param component to log for
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBoolean(String component, String key, boolean value)
+    {
+        int slot = this.getSlot(component, key);
+        this.setValue(slot, BinaryLogFormat.VALUE_BOOLEAN, value ? 1L : 0L, 0L, null);
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param component to log for
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(String component, String key, double value)
+    {
+        int slot = this.getSlot(component, key);
+        this.setValue(slot, BinaryLogFormat.VALUE_DOUBLE, Double.doubleToRawLongBits(value), 0L, null);
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param component to log for
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(String component, String key, Double value)
+    {
+        int slot = this.getSlot(component, key);
+        if (value == null)
+        {
+            this.setValue(slot, BinaryLogFormat.VALUE_NULL, 0L, 0L, null);
+        }
+        else
+        {
+            this.setValue(slot, BinaryLogFormat.VALUE_DOUBLE, Double.doubleToRawLongBits(value), 0L, null);
+        }
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param component to log for
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(String component, String key, int value)
+    {
+        int slot = this.getSlot(component, key);
+        this.setValue(slot, BinaryLogFormat.VALUE_INTEGER, value, 0L, null);
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param component to log for
+     * @param key to write to
+     * @param value to write
+     * @param formatString to use (ignored, as the raw value is logged)
+     */
+    @Override
+    public void logInteger(String component, String key, int value, String formatString)
+    {
+        this.logInteger(component, key, value);
+    }
+
+    /**
+     * Write a point (x,y or N/A) to the log
+     * @param component to log for
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logPoint(String component, String key, IPoint value)
+    {
+        int slot = this.getSlot(component, key);
+        if (value == null)
+        {
+            this.setValue(slot, BinaryLogFormat.VALUE_NULL, 0L, 0L, null);
+        }
+        else
+        {
+            this.setValue(
+                slot,
+                BinaryLogFormat.VALUE_POINT,
+                Double.doubleToRawLongBits(value.getX()),
+                Double.doubleToRawLongBits(value.getY()),
+                null);
+        }
+    }
+
+    /**
+     * Write a string to the log
+     * @param component to log for
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logString(String component, String key, String value)
+    {
+        int slot = this.getSlot(component, key);
+        if (value == null)
+        {
+            this.setValue(slot, BinaryLogFormat.VALUE_NULL, 0L, 0L, null);
+        }
+        else
+        {
+            this.setValue(slot, BinaryLogFormat.VALUE_STRING, 0L, 0L, value);
+        }
+    }
+
+    /**
+     * Get a channel for repeatedly logging to the same component/key, interning its slot once
+     * @param component to log for
+     * @param key to write to
+     * @return channel for logging values
+     */
+    @Override
+    public ILogChannel getChannel(String component, String key)
+    {
+        return new BinaryLogChannel(this.getSlot(component, key));
+    }
+
+    /**
+     * Encode the values logged since the last flush as a frame, and hand the buffer off to the writer thread
+     */
+    @Override
+    public void flush()
+    {
+        long timestamp = System.nanoTime() - this.startTime;
+
+        this.logCounts();
+
+        int requiredSize = this.getPendingSchemaSize() + this.getFrameSize();
+        if (requiredSize > this.activeBuffer.capacity() - BinaryLogFormat.HEADER_SIZE)
+        {
+            // this frame could never fit in a buffer, so rather than dropping it on every flush, log that it was too big
+            this.oversizedFrames++;
+            this.clearValues();
+            this.relogCounts();
+            return;
+        }
+
+        if (this.activeBuffer.remaining() < requiredSize)
+        {
+            this.tryHandOff();
+            if (this.activeBuffer.remaining() < requiredSize)
+            {
+                // writer is still busy with the other buffer, so we have nowhere to put this frame
+                this.droppedFrames++;
+                this.clearValues();
+                this.relogCounts();
+                return;
+            }
+        }
+
+        ByteBuffer buffer = this.activeBuffer;
+        for (; this.schemaWrittenCount < this.slotCount; this.schemaWrittenCount++)
+        {
+            int slot = this.schemaWrittenCount;
+            buffer.put(BinaryLogFormat.RECORD_SCHEMA);
+            buffer.putShort((short)slot);
+            BinaryLogger.putString(buffer, this.slotComponents[slot]);
+            BinaryLogger.putString(buffer, this.slotKeys[slot]);
+        }
+
+        buffer.put(BinaryLogFormat.RECORD_FRAME);
+        buffer.putLong(timestamp);
+        buffer.putShort((short)this.dirtyCount);
+        for (int i = 0; i < this.dirtyCount; i++)
+        {
+            int slot = this.dirtySlots[i];
+            byte valueType = this.valueTypes[slot];
+            buffer.putShort((short)slot);
+            buffer.put(valueType);
+            switch (valueType)
+            {
+                case BinaryLogFormat.VALUE_BOOLEAN:
+                    buffer.put((byte)this.values[slot]);
+                    break;
+
+                case BinaryLogFormat.VALUE_DOUBLE:
+                    buffer.putLong(this.values[slot]);
+                    break;
+
+                case BinaryLogFormat.VALUE_INTEGER:
+                    buffer.putInt((int)this.values[slot]);
+                    break;
+
+                case BinaryLogFormat.VALUE_STRING:
+                    BinaryLogger.putString(buffer, this.stringValues[slot]);
+                    break;
+
+                case BinaryLogFormat.VALUE_POINT:
+                    buffer.putLong(this.values[slot]);
+                    buffer.putLong(this.secondaryValues[slot]);
+                    break;
+
+                case BinaryLogFormat.VALUE_NULL:
+                default:
+                    break;
+            }
+        }
+
+        this.clearValues();
+        this.tryHandOff();
+    }
+
+    /**
+     * Add a sendable chooser to the smart dashboard
+     */
+    @Override
+    public <V> void addChooser(String name, ISendableChooser<V> chooser)
+    {
+    }
+
+    /**
+     * Gets the number of frames that have been dropped because the writer couldn't keep up
+     * @return the number of dropped frames
+     */
+    public int getDroppedFrameCount()
+    {
+        return this.droppedFrames;
+    }
+
+    /**
+     * Gets the number of frames that have been dropped because they (with any new schema) were larger than a buffer
+     * @return the number of oversized frames
+     */
+    public int getOversizedFrameCount()
+    {
+        return this.oversizedFrames;
+    }
+
+    /**
+     * Gets the number of buffers that the writer thread failed to write to the file (e.g. because the disk is full)
+     * @return the number of write errors
+     */
+    public int getWriteErrorCount()
+    {
+        return this.writeErrors;
+    }
+
+    /**
+     * Write out any remaining data, stop the writer thread and close the file
+     * @throws IOException
+     */
+    public void close() throws IOException
+    {
+        synchronized (this.bufferLock)
+        {
+            while (this.pendingBuffer != null)
+            {
+                try
+                {
+                    this.bufferLock.wait();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            this.running = false;
+            this.bufferLock.notifyAll();
+        }
+
+        try
+        {
+            this.writerThread.join();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        this.activeBuffer.flip();
+        while (this.activeBuffer.hasRemaining())
+        {
+            this.channel.write(this.activeBuffer);
+        }
+
+        this.activeBuffer.clear();
+        this.channel.close();
+    }
+
+    /**
+     * Get the slot for the component/key pair, interning it if this is the first time we've seen it
+     * @param component to log for
+     * @param key to write to
+     * @return slot index
+     */
+    private int getSlot(String component, String key)
+    {
+        HashMap<String, Integer> componentSlots = this.slotMap.get(component);
+        if (componentSlots == null)
+        {
+            componentSlots = new HashMap<String, Integer>();
+            this.slotMap.put(component, componentSlots);
+        }
+
+        Integer slot = componentSlots.get(key);
+        if (slot == null)
+        {
+            slot = this.addSlot(component, key);
+            componentSlots.put(key, slot);
+        }
+
+        return slot;
+    }
+
+    /**
+     * Add a new slot for the component/key pair, growing the slot arrays as needed
+     * @param component to log for
+     * @param key to write to
+     * @return slot index
+     */
+    private int addSlot(String component, String key)
+    {
+        int slot = this.slotCount++;
+        if (slot >= this.slotKeys.length)
+        {
+            int newCapacity = this.slotKeys.length * 2;
+            this.slotComponents = Arrays.copyOf(this.slotComponents, newCapacity);
+            this.slotKeys = Arrays.copyOf(this.slotKeys, newCapacity);
+            this.valueTypes = Arrays.copyOf(this.valueTypes, newCapacity);
+            this.values = Arrays.copyOf(this.values, newCapacity);
+            this.secondaryValues = Arrays.copyOf(this.secondaryValues, newCapacity);
+            this.stringValues = Arrays.copyOf(this.stringValues, newCapacity);
+            this.dirty = Arrays.copyOf(this.dirty, newCapacity);
+            this.dirtySlots = Arrays.copyOf(this.dirtySlots, newCapacity);
+        }
+
+        this.slotComponents[slot] = component;
+        this.slotKeys[slot] = key;
+        return slot;
+    }
+
+    /**
+     * Record the value for the slot for the next frame
+     */
+    private void setValue(int slot, byte valueType, long value, long secondaryValue, String stringValue)
+    {
+        this.valueTypes[slot] = valueType;
+        this.values[slot] = value;
+        this.secondaryValues[slot] = secondaryValue;
+        this.stringValues[slot] = stringValue;
+        if (!this.dirty[slot])
+        {
+            this.dirty[slot] = true;
+            this.dirtySlots[this.dirtyCount++] = slot;
+        }
+    }
+
+    /**
+     * Log the dropped frame and write error counts whenever they have changed, as part of the next frame
+     */
+    private void logCounts()
+    {
+        if (this.droppedFrames != this.loggedDroppedFrames)
+        {
+            this.loggedDroppedFrames = this.droppedFrames;
+            this.setValue(this.droppedFramesSlot, BinaryLogFormat.VALUE_INTEGER, this.droppedFrames, 0L, null);
+        }
+
+        if (this.oversizedFrames != this.loggedOversizedFrames)
+        {
+            this.loggedOversizedFrames = this.oversizedFrames;
+            this.setValue(this.oversizedFramesSlot, BinaryLogFormat.VALUE_INTEGER, this.oversizedFrames, 0L, null);
+        }
+
+        int writeErrors = this.writeErrors;
+        if (writeErrors != this.loggedWriteErrors)
+        {
+            this.loggedWriteErrors = writeErrors;
+            this.setValue(this.writeErrorsSlot, BinaryLogFormat.VALUE_INTEGER, writeErrors, 0L, null);
+        }
+    }
+
+    /**
+     * Log the counts again with the next frame, as they were cleared along with the values of a dropped frame
+     */
+    private void relogCounts()
+    {
+        this.loggedDroppedFrames = -1;
+        this.loggedOversizedFrames = -1;
+        this.loggedWriteErrors = -1;
+    }
+
+    /**
+     * Clear the values logged since the last flush
+     */
+    private void clearValues()
+    {
+        for (int i = 0; i < this.dirtyCount; i++)
+        {
+            int slot = this.dirtySlots[i];
+            this.dirty[slot] = false;
+            this.stringValues[slot] = null;
+        }
+
+        this.dirtyCount = 0;
+    }
+
+    /**
+     * Calculate the number of bytes required for schema records that haven't been written yet
+     * @return size in bytes
+     */
+    private int getPendingSchemaSize()
+    {
+        int size = 0;
+        for (int slot = this.schemaWrittenCount; slot < this.slotCount; slot++)
+        {
+            size += 7 + 2 * (this.slotComponents[slot].length() + this.slotKeys[slot].length());
+        }
+
+        return size;
+    }
+
+    /**
+     * Calculate the number of bytes required for the current frame
+     * @return size in bytes
+     */
+    private int getFrameSize()
+    {
+        int size = BinaryLogFormat.FRAME_HEADER_SIZE;
+        for (int i = 0; i < this.dirtyCount; i++)
+        {
+            int slot = this.dirtySlots[i];
+            size += BinaryLogFormat.ENTRY_HEADER_SIZE;
+            switch (this.valueTypes[slot])
+            {
+                case BinaryLogFormat.VALUE_BOOLEAN:
+                    size += 1;
+                    break;
+
+                case BinaryLogFormat.VALUE_DOUBLE:
+                    size += 8;
+                    break;
+
+                case BinaryLogFormat.VALUE_INTEGER:
+                    size += 4;
+                    break;
+
+                case BinaryLogFormat.VALUE_STRING:
+                    size += 2 + 2 * this.stringValues[slot].length();
+                    break;
+
+                case BinaryLogFormat.VALUE_POINT:
+                    size += 16;
+                    break;
+
+                case BinaryLogFormat.VALUE_NULL:
+                default:
+                    break;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Give the active buffer to the writer thread if it is idle, taking the spare buffer in its place
+     */
+    private void tryHandOff()
+    {
+        synchronized (this.bufferLock)
+        {
+            if (this.pendingBuffer == null && this.spareBuffer != null && this.activeBuffer.position() > 0)
+            {
+                this.pendingBuffer = this.activeBuffer;
+                this.activeBuffer = this.spareBuffer;
+                this.spareBuffer = null;
+                this.bufferLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writer thread loop - waits for a pending buffer and drains it to the file
+     */
+    private void runWriter()
+    {
+        while (true)
+        {
+            ByteBuffer buffer;
+            synchronized (this.bufferLock)
+            {
+                while (this.pendingBuffer == null && this.running)
+                {
+                    try
+                    {
+                        this.bufferLock.wait();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        return;
+                    }
+                }
+
+                if (this.pendingBuffer == null)
+                {
+                    return;
+                }
+
+                buffer = this.pendingBuffer;
+            }
+
+            buffer.flip();
+            try
+            {
+                while (buffer.hasRemaining())
+                {
+                    this.channel.write(buffer);
+                }
+            }
+            catch (IOException e)
+            {
+                // the buffer's contents are lost, so count it (only this thread writes the count)
+                this.writeErrors++;
+            }
+
+            buffer.clear();
+            synchronized (this.bufferLock)
+            {
+                this.spareBuffer = buffer;
+                this.pendingBuffer = null;
+                this.bufferLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Write a string as a length followed by its UTF-16 code units
+     * @param buffer to write to
+     * @param value to write
+     */
+    private static void putString(ByteBuffer buffer, String value)
+    {
+        int length = value.length();
+        buffer.putShort((short)length);
+        for (int i = 0; i < length; i++)
+        {
+            buffer.putChar(value.charAt(i));
+        }
+    }
+
+    /**
+     * Log channel that writes directly to its slot
+     */
+    private class BinaryLogChannel implements ILogChannel
+    {
+        private final int slot;
+
+        BinaryLogChannel(int slot)
+        {
+            this.slot = slot;
+        }
+
+        @Override
+        public void logBoolean(boolean value)
+        {
+            BinaryLogger.this.setValue(this.slot, BinaryLogFormat.VALUE_BOOLEAN, value ? 1L : 0L, 0L, null);
+        }
+
+        @Override
+        public void logNumber(double value)
+        {
+            BinaryLogger.this.setValue(this.slot, BinaryLogFormat.VALUE_DOUBLE, Double.doubleToRawLongBits(value), 0L, null);
+        }
+
+        @Override
+        public void logNumber(Double value)
+        {
+            if (value == null)
+            {
+                BinaryLogger.this.setValue(this.slot, BinaryLogFormat.VALUE_NULL, 0L, 0L, null);
+            }
+            else
+            {
+                BinaryLogger.this.setValue(this.slot, BinaryLogFormat.VALUE_DOUBLE, Double.doubleToRawLongBits(value), 0L, null);
+            }
+        }
+
+        @Override
+        public void logInteger(int value)
+        {
+            BinaryLogger.this.setValue(this.slot, BinaryLogFormat.VALUE_INTEGER, value, 0L, null);
+        }
+
+        @Override
+        public void logPoint(IPoint value)
+        {
+            if (value == null)
+            {
+                BinaryLogger.this.setValue(this.slot, BinaryLogFormat.VALUE_NULL, 0L, 0L, null);
+            }
+            else
+            {
+                BinaryLogger.this.setValue(
+                    this.slot,
+                    BinaryLogFormat.VALUE_POINT,
+                    Double.doubleToRawLongBits(value.getX()),
+                    Double.doubleToRawLongBits(value.getY()),
+                    null);
+            }
+        }
+
+        @Override
+        public void logString(String value)
+        {
+            if (value == null)
+            {
+                BinaryLogger.this.setValue(this.slot, BinaryLogFormat.VALUE_NULL, 0L, 0L, null);
+            }
+            else
+            {
+                BinaryLogger.this.setValue(this.slot, BinaryLogFormat.VALUE_STRING, 0L, 0L, value);
+            }
+        }
+    }
+}
@@ -49,6 +49,19 @@ public class CSVLogger extends StringLogger implements IDashboardLogger
         }
     }
 
+    /**
+     * Get a channel for repeatedly logging to the same component/key, resolving its column once
+     * @param component to log for
+     * @param key to write to
+     * @return channel for logging values
+     */
+    @Override
+    public ILogChannel getChannel(String component, String key)
+    {
+        String logKey = String.format("%s.%s", component, key);
+        return new CSVLogChannel(this.schema.indexOf(logKey));
+    }
+
     /**
      * Flush the output stream, if appropriate..
      */
@@ -81,4 +94,26 @@ public class CSVLogger extends StringLogger implements IDashboardLogger
 
         this.values = new String[this.schema.size()];
     }
+
+    /**
+     * Log channel that writes directly to its column (or nowhere, if the key isn't in the schema)
+     */
+    private class CSVLogChannel extends StringLogChannel
+    {
+        private final int index;
+
+        CSVLogChannel(int index)
+        {
+            this.index = index;
+        }
+
+        @Override
+        public void logString(String value)
+        {
+            if (this.index >= 0)
+            {
+                CSVLogger.this.values[this.index] = value;
+            }
+        }
+    }
 }
@@ -59,6 +59,15 @@ public interface IDashboardLogger
      */
     void logString(String component, String key, String value);
 
+    /**
+     * Get a channel for repeatedly logging to the same component/key without re-resolving it on every call.
+     * This should be called during initialization, not every loop.
+     * @param component to log for
+     * @param key to write to
+     * @return channel for logging values
+     */
+    ILogChannel getChannel(String component, String key);
+
     /**
      * Flush the output stream, if appropriate..
      */
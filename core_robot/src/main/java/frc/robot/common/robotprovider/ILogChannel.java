@@ -0,0 +1,45 @@
+package frc.robot.common.robotprovider;
+
+/**
+ * A pre-registered component/key pair that values can be repeatedly logged to, obtained from
+ * IDashboardLogger.getChannel().  Loggers can resolve the component/key once when the channel is created,
+ * so that logging through the channel doesn't need to build or look up any strings.
+ */
+public interface ILogChannel
+{
+    /**
+     * Write a boolean to the smart dashboard
+     * @param value to write
+     */
+    void logBoolean(boolean value);
+
+    /**
+     * Write a number (double) to the smart dashboard
+     * @param value to write
+     */
+    void logNumber(double value);
+
+    /**
+     * Write a number (double) to the smart dashboard
+     * @param value to write
+     */
+    void logNumber(Double value);
+
+    /**
+     * Write a number (integer) to the smart dashboard
+     * @param value to write
+     */
+    void logInteger(int value);
+
+    /**
+     * Write a point (x,y or N/A) to the smart dashboard
+     * @param value to write
+     */
+    void logPoint(IPoint value);
+
+    /**
+     * Write a string to the smart dashboard
+     * @param value to write
+     */
+    void logString(String value);
+}
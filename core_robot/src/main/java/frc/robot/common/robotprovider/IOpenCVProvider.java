@@ -17,6 +17,25 @@ public interface IOpenCVProvider
     IRect boundingRect(IMatOfPoint contour);
     IMoments moments(IMatOfPoint contour);
     void findContours(IMat frame, List<IMatOfPoint> contours, IMat unused, int retrExternal, int chainApproxTc89Kcos);
+    void findContours(IMat frame, List<IMatOfPoint> contours, IMat unused, int retrExternal, int chainApproxTc89Kcos, IPoint offset);
+
+    /**
+     * Find the contours in the frame and measure them in one batch, without creating a wrapper for each contour.
+     * Contours are written in the order they are found, skipping any with an area below minContourArea, until the
+     * areas buffer is full.
+     * @param frame in which to look for contours
+     * @param mode contour retrieval mode (e.g. RETR_EXTERNAL)
+     * @param method contour approximation method (e.g. CHAIN_APPROX_TC89_KCOS)
+     * @param offset to add to every contour point, or null for none
+     * @param minContourArea is the minimum contour area allowable
+     * @param areas to write the area of each contour into, one value per contour
+     * @param boundingRects to write the bounding rect of each contour into as (x, y, width, height), or null to skip
+     * @param minAreaRects to write the minimum-area rotated rect of each contour into as (centerX, centerY, width, height, angle), or null to skip
+     * @return the number of contours at least minContourArea in size, which may be more than the buffers hold
+     */
+    int findContourShapes(IMat frame, int mode, int method, IPoint offset, double minContourArea, double[] areas, double[] boundingRects, double[] minAreaRects);
+    IRotatedRect newRotatedRect(double centerX, double centerY, double width, double height, double angle);
+    void resize(IMat src, IMat dst, ISize dsize, double fx, double fy, int interpolation);
     void cvtColor(IMat sourceBGR, IMat frame, int imgprocColorBgr2hsv);
     void inRange(IMat sourceHSV, IScalar lowerBound, IScalar upperBound, IMat frame);
     void initUndistortRectifyMap(IMat intrinsicMatrix, IMat distCoeffs, IMat r, IMat newCameraMatrix, ISize size, int cvType, IMat mapX, IMat mapY);
@@ -0,0 +1,61 @@
+package frc.robot.common.robotprovider;
+
+/**
+ * Log channel that simply forwards each value to its logger along with the component and key.
+ * Used by loggers that don't have anything to gain by resolving the component/key ahead of time.
+ */
+public class LogChannel implements ILogChannel
+{
+    private final IDashboardLogger logger;
+    private final String component;
+    private final String key;
+
+    /**
+     * Initializes a new instance of the LogChannel class
+     * @param logger to log to
+     * @param component to log for
+     * @param key to write to
+     */
+    public LogChannel(IDashboardLogger logger, String component, String key)
+    {
+        this.logger = logger;
+        this.component = component;
+        this.key = key;
+    }
+
+    @Override
+    public void logBoolean(boolean value)
+    {
+        this.logger.logBoolean(this.component, this.key, value);
+    }
+
+    @Override
+    public void logNumber(double value)
+    {
+        this.logger.logNumber(this.component, this.key, value);
+    }
+
+    @Override
+    public void logNumber(Double value)
+    {
+        this.logger.logNumber(this.component, this.key, value);
+    }
+
+    @Override
+    public void logInteger(int value)
+    {
+        this.logger.logInteger(this.component, this.key, value);
+    }
+
+    @Override
+    public void logPoint(IPoint value)
+    {
+        this.logger.logPoint(this.component, this.key, value);
+    }
+
+    @Override
+    public void logString(String value)
+    {
+        this.logger.logString(this.component, this.key, value);
+    }
+}
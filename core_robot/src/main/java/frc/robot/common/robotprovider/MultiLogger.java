@@ -119,6 +119,24 @@ public class MultiLogger implements IDashboardLogger
         }
     }
 
+    /**
+     * Get a channel for repeatedly logging to the same component/key, which fans out to a channel from each logger
+     * @param component to log for
+     * @param key to write to
+     * @return channel for logging values
+     */
+    @Override
+    public ILogChannel getChannel(String component, String key)
+    {
+        ILogChannel[] channels = new ILogChannel[this.loggers.length];
+        for (int i = 0; i < this.loggers.length; i++)
+        {
+            channels[i] = this.loggers[i].getChannel(component, key);
+        }
+
+        return new MultiLogChannel(channels);
+    }
+
     /**
      * Flush the output stream, if appropriate..
      */
@@ -142,4 +160,71 @@ public class MultiLogger implements IDashboardLogger
             logger.addChooser(name, chooser);
         }
     }
+
+    /**
+     * Log channel that writes each value to the channels of all of the loggers
+     */
+    private static class MultiLogChannel implements ILogChannel
+    {
+        private final ILogChannel[] channels;
+
+        MultiLogChannel(ILogChannel[] channels)
+        {
+            this.channels = channels;
+        }
+
+        @Override
+        public void logBoolean(boolean value)
+        {
+            for (ILogChannel channel : this.channels)
+            {
+                channel.logBoolean(value);
+            }
+        }
+
+        @Override
+        public void logNumber(double value)
+        {
+            for (ILogChannel channel : this.channels)
+            {
+                channel.logNumber(value);
+            }
+        }
+
+        @Override
+        public void logNumber(Double value)
+        {
+            for (ILogChannel channel : this.channels)
+            {
+                channel.logNumber(value);
+            }
+        }
+
+        @Override
+        public void logInteger(int value)
+        {
+            for (ILogChannel channel : this.channels)
+            {
+                channel.logInteger(value);
+            }
+        }
+
+        @Override
+        public void logPoint(IPoint value)
+        {
+            for (ILogChannel channel : this.channels)
+            {
+                channel.logPoint(value);
+            }
+        }
+
+        @Override
+        public void logString(String value)
+        {
+            for (ILogChannel channel : this.channels)
+            {
+                channel.logString(value);
+            }
+        }
+    }
 }
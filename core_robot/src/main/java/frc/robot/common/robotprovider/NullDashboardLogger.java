@@ -0,0 +1,88 @@
+package frc.robot.common.robotprovider;
+
+/**
+ * Logger that discards everything that is logged to it, for benchmarks and headless simulation runs.
+ */
+public class NullDashboardLogger implements IDashboardLogger, ILogChannel
+{
+    @Override
+    public void logBoolean(String component, String key, boolean value)
+    {
+    }
+
+    @Override
+    public void logNumber(String component, String key, double value)
+    {
+    }
+
+    @Override
+    public void logNumber(String component, String key, Double value)
+    {
+    }
+
+    @Override
+    public void logInteger(String component, String key, int value)
+    {
+    }
+
+    @Override
+    public void logInteger(String component, String key, int value, String formatString)
+    {
+    }
+
+    @Override
+    public void logPoint(String component, String key, IPoint value)
+    {
+    }
+
+    @Override
+    public void logString(String component, String key, String value)
+    {
+    }
+
+    @Override
+    public ILogChannel getChannel(String component, String key)
+    {
+        return this;
+    }
+
+    @Override
+    public void flush()
+    {
+    }
+
+    @Override
+    public <V> void addChooser(String name, ISendableChooser<V> chooser)
+    {
+    }
+
+    @Override
+    public void logBoolean(boolean value)
+    {
+    }
+
+    @Override
+    public void logNumber(double value)
+    {
+    }
+
+    @Override
+    public void logNumber(Double value)
+    {
+    }
+
+    @Override
+    public void logInteger(int value)
+    {
+    }
+
+    @Override
+    public void logPoint(IPoint value)
+    {
+    }
+
+    @Override
+    public void logString(String value)
+    {
+    }
+}
@@ -0,0 +1,70 @@
+package frc.robot.common.robotprovider;
+
+/**
+ * Log channel that converts each value to a string, matching the conversions used by StringLogger.
+ */
+public abstract class StringLogChannel implements ILogChannel
+{
+    /**
+     * Write a string to the smart dashboard
+     * @param value to write
+     */
+    @Override
+    public abstract void logString(String value);
+
+    /**
+     * Write a boolean to the smart dashboard
+     * @param value to write
+     */
+    @Override
+    public void logBoolean(boolean value)
+    {
+        this.logString(String.valueOf(value));
+    }
+
+    /**
+     * Write a number (double) to the smart dashboard
+     * @param value to write
+     */
+    @Override
+    public void logNumber(double value)
+    {
+        this.logString(String.valueOf(value));
+    }
+
+    /**
+     * Write a number (double) to the smart dashboard
+     * @param value to write
+     */
+    @Override
+    public void logNumber(Double value)
+    {
+        this.logString(String.valueOf(value));
+    }
+
+    /**
+     * Write a number (integer) to the smart dashboard
+     * @param value to write
+     */
+    @Override
+    public void logInteger(int value)
+    {
+        this.logString(String.valueOf(value));
+    }
+
+    /**
+     * Write a point (x,y or N/A) to the smart dashboard
+     * @param value to write
+     */
+    @Override
+    public void logPoint(IPoint value)
+    {
+        String valueString = "N/A";
+        if (value != null)
+        {
+            valueString = String.format("(%f, %f)", value.getX(), value.getY());
+        }
+
+        this.logString(valueString);
+    }
+}
@@ -89,6 +89,18 @@ public abstract class StringLogger implements IDashboardLogger
         this.logString(component, key, valueString);
     }
 
+    /**
+     * Get a channel for repeatedly logging to the same component/key
+     * @param component to log for
+     * @param key to write to
+     * @return channel for logging values
+     */
+    @Override
+    public ILogChannel getChannel(String component, String key)
+    {
+        return new LogChannel(this, component, key);
+    }
+
     /**
      * Flush the output stream, if appropriate..
      */
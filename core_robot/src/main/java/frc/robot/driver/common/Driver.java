@@ -1,13 +1,9 @@
 package frc.robot.driver.common;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.BitSet;
 
 import frc.robot.ElectronicsConstants;
 import frc.robot.TuningConstants;
-import frc.robot.common.SetHelper;
 import frc.robot.common.robotprovider.*;
 import frc.robot.driver.*;
 import frc.robot.driver.common.descriptions.*;
@@ -23,17 +19,58 @@ import com.google.inject.Injector;
 public class Driver
 {
     private static final String LogName = "driver";
+    private static final MacroOperation[] MacroOperations = MacroOperation.values();
+
+    // the kinds of input that an operation can be bound to
+    private static final byte AxisBinding = 0;
+    private static final byte ButtonBinding = 1;
+    private static final byte PovBinding = 2;
+    private static final byte AxisRangeBinding = 3;
+    private static final byte NoButtonBinding = 4;
 
     private final IDashboardLogger logger;
 
     protected final Injector injector;
-    protected final Map<IOperation, OperationState> operationStateMap;
-    
-    private final IJoystick joystickDriver;
-    private final IJoystick joystickCoDriver;
-
-    private final Map<Shift, ShiftDescription> shiftMap;
-    private final Map<MacroOperation, IMacroOperationState> macroStateMap;
+    protected final OperationStateTable operationStates;
+    private final BitSet modifiedOperations;
+
+    // joysticks are sampled once per update, and only the operations bound to user input are checked (grouped by
+    // joystick), using a flat table of their bindings that is compiled from the button map at startup
+    private final JoystickSample joystickDriver;
+    private final JoystickSample joystickCoDriver;
+    private int bindingCount;
+    private int[] bindingOperations;
+    private byte[] bindingKinds;
+    private JoystickSample[] bindingJoysticks;
+    private int[] bindingInputs;
+    private int[] bindingPovValues;
+    private double[] bindingMins;
+    private double[] bindingMaxes;
+    private double[] bindingScales;
+    private AnalogOperationState[] bindingAnalogStates;
+    private DigitalOperationState[] bindingDigitalStates;
+
+    private final ShiftDescription[] shiftSchema;
+    private final Shift[] shiftCombinations;
+    // whether each binding is ignored due to its shifts, indexed by the combination of active shift buttons
+    private boolean[][] shiftBlockedBindings;
+    // macro states and the operations each macro cancels, indexed by macro operation ordinal
+    private final IMacroOperationState[] macroStates;
+    private final BitSet[] macroCancelOperations;
+
+    // scratch sets of macro operation ordinals and operation indices reused every update
+    private final BitSet previouslyActiveMacroOperations;
+    private final BitSet activeMacroOperations;
+    private final BitSet newMacroOperations;
+    private final BitSet macroOperationsToCancel;
+    private final BitSet coveredOperations;
+    private final BitSet overlappingOperations;
+    private final BitSet newCoveredOperations;
+    private final BitSet newOverlappingOperations;
+    private final BitSet scratchOperations;
+
+    private final BitSet loggedActiveMacroOperations;
+    private String activeMacrosString;
 
     private final AutonomousRoutineSelector routineSelector;
     private IControlTask autonomousTask;
@@ -54,67 +91,64 @@ public class Driver
         this.logger = logger;
         this.injector = injector;
 
-        AnalogOperationDescription[] analogOperationSchema = buttonMap.getAnalogOperationSchema();
-        DigitalOperationDescription[] digitalOperationSchema = buttonMap.getDigitalOperationSchema();
+        this.operationStates = new OperationStateTable(
+            buttonMap.getAnalogOperationSchema(),
+            buttonMap.getDigitalOperationSchema());
+        this.modifiedOperations = new BitSet(this.operationStates.size());
 
-        DigitalOperation[] digitalOperations = DigitalOperation.values();
-        AnalogOperation[] analogOperations = AnalogOperation.values();
+        this.routineSelector = injector.getInstance(AutonomousRoutineSelector.class);
 
-        this.operationStateMap = new HashMap<IOperation, OperationState>(analogOperations.length + digitalOperations.length);
-        for (DigitalOperationDescription description : digitalOperationSchema)
-        {
-            this.operationStateMap.put(description.getOperation(), new DigitalOperationState(description));
-        }
+        this.joystickDriver = new JoystickSample(provider.getJoystick(ElectronicsConstants.JOYSTICK_DRIVER_PORT));
+        this.joystickCoDriver = new JoystickSample(provider.getJoystick(ElectronicsConstants.JOYSTICK_CO_DRIVER_PORT));
 
-        for (DigitalOperation operation : digitalOperations)
+        // precompute the union of shifts for every combination of active shift buttons, indexed by the bitmask of
+        // which shift descriptions are active, so that we don't need to create a new Shift each update
+        this.shiftSchema = buttonMap.getShiftSchema();
+        this.shiftCombinations = new Shift[1 << this.shiftSchema.length];
+        for (int combination = 0; combination < this.shiftCombinations.length; combination++)
         {
-            if (!this.operationStateMap.containsKey(operation))
+            Shift[] shifts = new Shift[this.shiftSchema.length];
+            for (int i = 0; i < this.shiftSchema.length; i++)
             {
-                this.operationStateMap.put(
-                    operation,
-                    new DigitalOperationState(new DigitalOperationDescription(operation)));
+                if ((combination & (1 << i)) != 0)
+                {
+                    shifts[i] = this.shiftSchema[i].getShift();
+                }
             }
-        }
 
-        for (AnalogOperationDescription description : analogOperationSchema)
-        {
-            this.operationStateMap.put(description.getOperation(), new AnalogOperationState(description));
+            this.shiftCombinations[combination] = Shift.Union(shifts);
         }
 
-        for (AnalogOperation operation : analogOperations)
-        {
-            if (!this.operationStateMap.containsKey(operation))
-            {
-                this.operationStateMap.put(
-                    operation,
-                    new AnalogOperationState(new AnalogOperationDescription(operation)));
-            }
-        }
-
-        this.routineSelector = injector.getInstance(AutonomousRoutineSelector.class);
+        this.compileInputBindings(buttonMap);
 
-        this.joystickDriver = provider.getJoystick(ElectronicsConstants.JOYSTICK_DRIVER_PORT);
-        this.joystickCoDriver = provider.getJoystick(ElectronicsConstants.JOYSTICK_CO_DRIVER_PORT);
-
-        ShiftDescription[] shiftSchema = buttonMap.getShiftSchema();
-        this.shiftMap = new HashMap<Shift, ShiftDescription>();
-        for (ShiftDescription description : shiftSchema)
-        {
-            this.shiftMap.put(description.getShift(), description);
-        }
-
-        this.macroStateMap = new HashMap<MacroOperation, IMacroOperationState>();
+        int macroCount = Driver.MacroOperations.length;
+        int operationCount = this.operationStates.size();
+        this.macroStates = new IMacroOperationState[macroCount];
+        this.macroCancelOperations = new BitSet[macroCount];
         MacroOperationDescription[] macroSchema = buttonMap.getMacroOperationSchema();
         for (MacroOperationDescription description : macroSchema)
         {
-            this.macroStateMap.put(
+            this.setMacroState(
                 description.getOperation(),
                 new MacroOperationState(
                     description,
-                    this.operationStateMap,
+                    this.operationStates,
                     this.injector));
         }
 
+        this.previouslyActiveMacroOperations = new BitSet(macroCount);
+        this.activeMacroOperations = new BitSet(macroCount);
+        this.newMacroOperations = new BitSet(macroCount);
+        this.macroOperationsToCancel = new BitSet(macroCount);
+        this.coveredOperations = new BitSet(operationCount);
+        this.overlappingOperations = new BitSet(operationCount);
+        this.newCoveredOperations = new BitSet(operationCount);
+        this.newOverlappingOperations = new BitSet(operationCount);
+        this.scratchOperations = new BitSet(operationCount);
+
+        this.loggedActiveMacroOperations = new BitSet(macroCount);
+        this.activeMacrosString = "";
+
         ButtonMapVerifier.Verify(buttonMap);
 
         this.isAutonomous = false;
@@ -132,6 +166,26 @@ public class Driver
         return this.isAutonomous;
     }
 
+    /**
+     * Checks whether the autonomous routine has been started and is still running
+     * @return true if the autonomous routine is active
+     */
+    public boolean isAutonomousRoutineActive()
+    {
+        IMacroOperationState autonomousState = this.macroStates[MacroOperation.AutonomousRoutine.ordinal()];
+        return autonomousState != null && autonomousState.getIsActive();
+    }
+
+    /**
+     * Checks whether the autonomous routine ran to completion, rather than being canceled or interrupted
+     * @return true if the autonomous routine has completed
+     */
+    public boolean hasAutonomousRoutineCompleted()
+    {
+        IMacroOperationState autonomousState = this.macroStates[MacroOperation.AutonomousRoutine.ordinal()];
+        return autonomousState instanceof AutonomousOperationState && ((AutonomousOperationState)autonomousState).getHasCompleted();
+    }
+
     /**
      * Tell the driver that some time has passed
      */
@@ -140,72 +194,68 @@ public class Driver
         this.logger.logBoolean(Driver.LogName, "isAuto", this.isAutonomous);
 
         // keep track of macros that were running before we checked user input...
-        Set<MacroOperation> previouslyActiveMacroOperations = new HashSet<MacroOperation>();
-        for (MacroOperation macroOperation : this.macroStateMap.keySet())
+        this.previouslyActiveMacroOperations.clear();
+        for (int i = 0; i < this.macroStates.length; i++)
         {
-            IMacroOperationState macroState = this.macroStateMap.get(macroOperation);
-            if (macroState.getIsActive())
+            IMacroOperationState macroState = this.macroStates[i];
+            if (macroState != null && macroState.getIsActive())
             {
-                previouslyActiveMacroOperations.add(macroOperation);
+                this.previouslyActiveMacroOperations.set(i);
             }
         }
 
+        // sample each joystick once for all of the shifts and operations...
+        this.joystickDriver.sample();
+        this.joystickCoDriver.sample();
+
         // check inputs and update shifts based on it...
-        int shiftIndex = 0;
-        Shift[] activeShiftList = new Shift[this.shiftMap.size()];
-        for (Shift shift : this.shiftMap.keySet())
+        int activeShiftCombination = 0;
+        for (int i = 0; i < this.shiftSchema.length; i++)
         {
-            ShiftDescription shiftDescription = this.shiftMap.get(shift);
-            if (shiftDescription.checkInput(this.joystickDriver, this.joystickCoDriver))
+            if (this.shiftSchema[i].checkInput(this.joystickDriver, this.joystickCoDriver))
             {
-                activeShiftList[shiftIndex++] = shift;
+                activeShiftCombination |= 1 << i;
             }
         }
 
-        Shift activeShifts = Shift.Union(activeShiftList);
+        Shift activeShifts = this.shiftCombinations[activeShiftCombination];
 
-        // check user inputs for various operations (non-macro) and keep track of:
-        // operations that were interrupted already, and operations that were modified by user input in this update
-        Set<IOperation> modifiedOperations = new HashSet<IOperation>();
-        Set<IOperation> interruptedOperations = new HashSet<IOperation>();
-        for (IOperation operation : this.operationStateMap.keySet())
+        // check user inputs for various operations (non-macro) and keep track of operations that were modified by user input in this update
+        this.modifiedOperations.clear();
+        boolean[] shiftBlocked = this.shiftBlockedBindings[activeShiftCombination];
+        for (int binding = 0; binding < this.bindingCount; binding++)
         {
-            OperationState opState = this.operationStateMap.get(operation);
-            boolean receivedInput = opState.checkInput(this.joystickDriver, this.joystickCoDriver, activeShifts);
-            if (receivedInput)
+            if (this.checkBinding(binding, shiftBlocked[binding]))
             {
-                modifiedOperations.add(operation);
-            }
-
-            if (this.operationStateMap.get(operation).getIsInterrupted())
-            {
-                interruptedOperations.add(operation);
+                this.modifiedOperations.set(this.bindingOperations[binding]);
             }
         }
 
         // check user inputs for various macro operations
-        // also keep track of modified and active macro operations, and how macro operations and operations link together
-        Set<MacroOperation> activeMacroOperations = new HashSet<MacroOperation>();
-        Map<IOperation, Set<MacroOperation>> activeMacroOperationMap = new HashMap<IOperation, Set<MacroOperation>>();
-        for (MacroOperation macroOperation : this.macroStateMap.keySet())
+        // also keep track of active and newly-active macro operations, and which operations are covered by more than one of them
+        this.activeMacroOperations.clear();
+        this.coveredOperations.clear();
+        this.overlappingOperations.clear();
+        this.newCoveredOperations.clear();
+        this.newOverlappingOperations.clear();
+        for (int i = 0; i < this.macroStates.length; i++)
         {
-            IMacroOperationState macroState = this.macroStateMap.get(macroOperation);
-            macroState.checkInput(this.joystickDriver, this.joystickCoDriver, activeShifts);
+            IMacroOperationState macroState = this.macroStates[i];
+            if (macroState == null)
+            {
+                continue;
+            }
 
+            macroState.checkInput(this.joystickDriver, this.joystickCoDriver, activeShifts);
             if (macroState.getIsActive())
             {
-                activeMacroOperations.add(macroOperation);
+                this.activeMacroOperations.set(i);
 
-                for (IOperation affectedOperation : macroState.getMacroCancelOperations())
+                BitSet cancelOperations = this.macroCancelOperations[i];
+                Driver.accumulateOverlap(cancelOperations, this.coveredOperations, this.overlappingOperations, this.scratchOperations);
+                if (!this.previouslyActiveMacroOperations.get(i))
                 {
-                    Set<MacroOperation> relevantMacroOperations = activeMacroOperationMap.get(affectedOperation);
-                    if (relevantMacroOperations == null)
-                    {
-                        relevantMacroOperations = new HashSet<MacroOperation>();
-                        activeMacroOperationMap.put(affectedOperation, relevantMacroOperations);
-                    }
-
-                    relevantMacroOperations.add(macroOperation);
+                    Driver.accumulateOverlap(cancelOperations, this.newCoveredOperations, this.newOverlappingOperations, this.scratchOperations);
                 }
             }
         }
@@ -214,58 +264,73 @@ public class Driver
         // 1. have not been usurped by a user action
         // 2. have not been usurped by a new macro (i.e. that was started in this round)
         // 3. are new macros that do not overlap with other new macros
-        Set<MacroOperation> macroOperationsToCancel = new HashSet<MacroOperation>();
-        for (IOperation operation : activeMacroOperationMap.keySet())
+        this.macroOperationsToCancel.clear();
+        for (int i = this.activeMacroOperations.nextSetBit(0); i >= 0; i = this.activeMacroOperations.nextSetBit(i + 1))
         {
-            Set<MacroOperation> relevantMacroOperations = activeMacroOperationMap.get(operation);
-            if (modifiedOperations.contains(operation))
+            BitSet cancelOperations = this.macroCancelOperations[i];
+            if (cancelOperations.intersects(this.modifiedOperations))
             {
                 // disobeys rule #1:
                 // (macro usurped by user action)
-                macroOperationsToCancel.addAll(relevantMacroOperations);
+                this.macroOperationsToCancel.set(i);
             }
-            else if (relevantMacroOperations.size() > 1)
+            else if (cancelOperations.intersects(this.newOverlappingOperations))
             {
-                Set<MacroOperation> newRelevantMacroOperations = SetHelper.<MacroOperation>RelativeComplement(previouslyActiveMacroOperations, relevantMacroOperations);
-                if (newRelevantMacroOperations.size() > 1)
-                {
-                    // disobeys rule #3:
-                    // (there are 2 or more active macros that weren't previously active)
-                    macroOperationsToCancel.addAll(relevantMacroOperations);
-                }
-                else
-                {
-                    // some disobey rule #2 (remove only those that were previously active, and not the 1 that is newly active...)
-                    macroOperationsToCancel.addAll(SetHelper.<MacroOperation>RelativeComplement(newRelevantMacroOperations, relevantMacroOperations));
-                }
+                // disobeys rule #3:
+                // (there are 2 or more active macros that weren't previously active sharing an operation)
+                this.macroOperationsToCancel.set(i);
+            }
+            else if (this.previouslyActiveMacroOperations.get(i) && cancelOperations.intersects(this.overlappingOperations))
+            {
+                // disobeys rule #2:
+                // (a previously active macro shares an operation with another active macro)
+                this.macroOperationsToCancel.set(i);
             }
         }
 
         // cancel macros that didn't follow the rules list above
-        for (MacroOperation macroOperationToCancel : macroOperationsToCancel)
+        for (int i = this.macroOperationsToCancel.nextSetBit(0); i >= 0; i = this.macroOperationsToCancel.nextSetBit(i + 1))
         {
-            this.macroStateMap.get(macroOperationToCancel).setIsInterrupted(true);
-            activeMacroOperations.remove(macroOperationToCancel);
+            this.macroStates[i].setIsInterrupted(true);
         }
 
+        this.activeMacroOperations.andNot(this.macroOperationsToCancel);
+
         // first, run all of the inactive macros (to clear any old interrupts)...
-        Set<MacroOperation> inactiveMacroOperations = SetHelper.<MacroOperation>RelativeComplement(activeMacroOperations, this.macroStateMap.keySet());
-        for (MacroOperation macroOperation : inactiveMacroOperations)
+        for (int i = 0; i < this.macroStates.length; i++)
         {
-            this.macroStateMap.get(macroOperation).run();
+            if (this.macroStates[i] != null && !this.activeMacroOperations.get(i))
+            {
+                this.macroStates[i].run();
+            }
         }
 
         // second, run all of the active macros (which could add interrupts that were cleared in the previous phase)...
-        // while we're doing that, grab the names of the macros for logging
-        int i = 0;
-        String[] macroStrings = new String[activeMacroOperations.size()];
-        for (MacroOperation macroOperation : activeMacroOperations)
+        for (int i = this.activeMacroOperations.nextSetBit(0); i >= 0; i = this.activeMacroOperations.nextSetBit(i + 1))
         {
-            macroStrings[i++] = macroOperation.toString();
-            this.macroStateMap.get(macroOperation).run();
+            this.macroStates[i].run();
         }
 
-        this.logger.logString(Driver.LogName, "activeMacros", String.join(", ", macroStrings));
+        // only rebuild the names of the active macros for logging when the set of active macros changes
+        if (!this.activeMacroOperations.equals(this.loggedActiveMacroOperations))
+        {
+            StringBuilder builder = new StringBuilder();
+            for (int i = this.activeMacroOperations.nextSetBit(0); i >= 0; i = this.activeMacroOperations.nextSetBit(i + 1))
+            {
+                if (builder.length() > 0)
+                {
+                    builder.append(", ");
+                }
+
+                builder.append(Driver.MacroOperations[i].toString());
+            }
+
+            this.activeMacrosString = builder.toString();
+            this.loggedActiveMacroOperations.clear();
+            this.loggedActiveMacroOperations.or(this.activeMacroOperations);
+        }
+
+        this.logger.logString(Driver.LogName, "activeMacros", this.activeMacrosString);
     }
 
     /**
@@ -275,22 +340,24 @@ public class Driver
     {
         this.isAutonomous = false;
 
-        if (TuningConstants.CANCEL_AUTONOMOUS_ROUTINE_ON_DISABLE &&
-            this.macroStateMap.containsKey(MacroOperation.AutonomousRoutine))
+        if (TuningConstants.CANCEL_AUTONOMOUS_ROUTINE_ON_DISABLE)
         {
-            this.macroStateMap.remove(MacroOperation.AutonomousRoutine);
+            this.setMacroState(MacroOperation.AutonomousRoutine, null);
         }
 
         // cancel all interruption of buttons:
-        for (OperationState state : this.operationStateMap.values())
+        for (int i = 0; i < this.operationStates.size(); i++)
         {
-            state.setIsInterrupted(false);
+            this.operationStates.get(i).setIsInterrupted(false);
         }
 
         // cancel all ongoing macros:
-        for (IMacroOperationState macroOperationState : this.macroStateMap.values())
+        for (IMacroOperationState macroOperationState : this.macroStates)
         {
-            macroOperationState.cancel();
+            if (macroOperationState != null)
+            {
+                macroOperationState.cancel();
+            }
         }
     }
 
@@ -298,16 +365,10 @@ public class Driver
     {
         this.isAutonomous = true;
         this.autonomousTask = this.routineSelector.selectRoutine();
-        this.autonomousTask.initialize(this.operationStateMap, injector);
-        if (!TuningConstants.CANCEL_AUTONOMOUS_ROUTINE_ON_DISABLE &&
-            this.macroStateMap.containsKey(MacroOperation.AutonomousRoutine))
-        {
-            this.macroStateMap.remove(MacroOperation.AutonomousRoutine);
-        }
-
-        this.macroStateMap.put(
+        this.autonomousTask.initialize(this.operationStates, injector);
+        this.setMacroState(
             MacroOperation.AutonomousRoutine,
-            new AutonomousOperationState(this.autonomousTask, this.operationStateMap));
+            new AutonomousOperationState(this.autonomousTask, this.operationStates));
     }
 
     /**
@@ -317,40 +378,301 @@ public class Driver
      */
     public boolean getDigital(DigitalOperation digitalOperation)
     {
-        OperationState state = this.operationStateMap.get(digitalOperation);
-        if (!(state instanceof DigitalOperationState))
+        return this.operationStates.getDigitalState(digitalOperation).getState();
+    }
+
+    /**
+     * Get a double between -1.0 and 1.0 indicating the current value of the analog operation
+     * @param analogOperation to get
+     * @return the current value of the analog operation
+     */
+    public double getAnalog(AnalogOperation analogOperation)
+    {
+        return this.operationStates.getAnalogState(analogOperation).getState();
+    }
+
+    /**
+     * Check the input that the operation is bound to, using the joysticks' samples for this update
+     * @param binding index of the binding to check
+     * @param shiftBlocked whether the active shifts mean that the binding should be ignored
+     * @return true if there was any active user input that triggered a state change
+     */
+    private boolean checkBinding(int binding, boolean shiftBlocked)
+    {
+        JoystickSample joystick = this.bindingJoysticks[binding];
+        switch (this.bindingKinds[binding])
+        {
+            case Driver.AxisBinding:
+                if (shiftBlocked)
+                {
+                    return false;
+                }
+
+                // bindingScales holds the inversion and the dead zone's scaling, which are fixed per binding
+                double value = joystick.getAxis(this.bindingInputs[binding]);
+                double deadZone = this.bindingMins[binding];
+                if (value < deadZone && value > -deadZone)
+                {
+                    value = 0.0;
+                }
+                else
+                {
+                    value = (value - Math.copySign(deadZone, value)) * this.bindingScales[binding];
+                }
+
+                return this.bindingAnalogStates[binding].updateInput(value);
+
+            case Driver.ButtonBinding:
+                return this.bindingDigitalStates[binding].updateInput(!shiftBlocked && joystick.getRawButton(this.bindingInputs[binding]));
+
+            case Driver.PovBinding:
+                return this.bindingDigitalStates[binding].updateInput(!shiftBlocked && joystick.getPOV() == this.bindingPovValues[binding]);
+
+            case Driver.AxisRangeBinding:
+                if (shiftBlocked)
+                {
+                    return this.bindingDigitalStates[binding].updateInput(false);
+                }
+
+                double axisValue = joystick.getAxis(this.bindingInputs[binding]);
+                return this.bindingDigitalStates[binding].updateInput(axisValue >= this.bindingMins[binding] && axisValue <= this.bindingMaxes[binding]);
+
+            case Driver.NoButtonBinding:
+            default:
+                return this.bindingDigitalStates[binding].updateInput(false);
+        }
+    }
+
+    /**
+     * Register every button, axis and POV used by the button map with the joystick sample that it is bound to, and
+     * compile the operations that are bound to user input into a flat table of bindings, grouped by joystick
+     * @param buttonMap describing the bindings of the operations to user input
+     */
+    private void compileInputBindings(IButtonMap buttonMap)
+    {
+        for (ShiftDescription description : buttonMap.getShiftSchema())
         {
-            if (TuningConstants.THROW_EXCEPTIONS)
+            JoystickSample joystick = this.getJoystickSample(description.getUserInputDevice());
+            if (joystick != null)
             {
-                throw new RuntimeException("not a digital operation!");
+                joystick.addButton(description.getUserInputDeviceButton());
+                joystick.addAxis(description.getUserInputDeviceAxis());
             }
+        }
 
-            return false;
+        for (MacroOperationDescription description : buttonMap.getMacroOperationSchema())
+        {
+            JoystickSample joystick = this.getJoystickSample(description.getUserInputDevice());
+            if (joystick != null)
+            {
+                joystick.addButton(description.getUserInputDeviceButton());
+                joystick.addAxis(description.getUserInputDeviceAxis());
+            }
         }
 
-        DigitalOperationState digitalState = (DigitalOperationState)state;
-        return digitalState.getState();
+        int maxBindings = this.operationStates.size();
+        this.bindingCount = 0;
+        this.bindingOperations = new int[maxBindings];
+        this.bindingKinds = new byte[maxBindings];
+        this.bindingJoysticks = new JoystickSample[maxBindings];
+        this.bindingInputs = new int[maxBindings];
+        this.bindingPovValues = new int[maxBindings];
+        this.bindingMins = new double[maxBindings];
+        this.bindingMaxes = new double[maxBindings];
+        this.bindingScales = new double[maxBindings];
+        this.bindingAnalogStates = new AnalogOperationState[maxBindings];
+        this.bindingDigitalStates = new DigitalOperationState[maxBindings];
+        this.shiftBlockedBindings = new boolean[this.shiftCombinations.length][maxBindings];
+
+        for (UserInputDevice userInputDevice : UserInputDevice.values())
+        {
+            if (userInputDevice == UserInputDevice.None)
+            {
+                continue;
+            }
+
+            JoystickSample joystick = this.getJoystickSample(userInputDevice);
+            if (joystick == null)
+            {
+                // only joysticks are supported as user input devices
+                if (TuningConstants.THROW_EXCEPTIONS && Driver.isDeviceUsed(buttonMap, userInputDevice))
+                {
+                    throw new RuntimeException("Unexpected user input device " + userInputDevice.toString());
+                }
+
+                continue;
+            }
+
+            for (AnalogOperationDescription description : buttonMap.getAnalogOperationSchema())
+            {
+                AnalogAxis axis = description.getUserInputDeviceAxis();
+                if (description.getUserInputDevice() != userInputDevice || axis == null)
+                {
+                    continue;
+                }
+
+                joystick.addAxis(axis);
+
+                AnalogOperation operation = description.getOperation();
+                int binding = this.addBinding(this.operationStates.indexOf(operation), Driver.AxisBinding, joystick, description);
+                this.bindingInputs[binding] = axis.Value;
+                this.bindingMins[binding] = description.getDeadZone();
+                this.bindingScales[binding] = (description.getShouldInvert() ? -1.0 : 1.0) / (1.0 - description.getDeadZone());
+                this.bindingAnalogStates[binding] = this.operationStates.getAnalogState(operation);
+            }
+
+            for (DigitalOperationDescription description : buttonMap.getDigitalOperationSchema())
+            {
+                if (description.getUserInputDevice() != userInputDevice)
+                {
+                    continue;
+                }
+
+                UserInputDeviceButton button = description.getUserInputDeviceButton();
+                joystick.addButton(button);
+
+                byte kind;
+                if (button == UserInputDeviceButton.POV)
+                {
+                    kind = Driver.PovBinding;
+                }
+                else if (button == UserInputDeviceButton.ANALOG_AXIS_RANGE)
+                {
+                    kind = Driver.AxisRangeBinding;
+                    joystick.addAxis(description.getUserInputDeviceAxis());
+                }
+                else if (button != UserInputDeviceButton.NONE)
+                {
+                    kind = Driver.ButtonBinding;
+                }
+                else
+                {
+                    kind = Driver.NoButtonBinding;
+                }
+
+                DigitalOperation operation = description.getOperation();
+                int binding = this.addBinding(this.operationStates.indexOf(operation), kind, joystick, description);
+                this.bindingInputs[binding] = kind == Driver.AxisRangeBinding ? description.getUserInputDeviceAxis().Value : button.Value;
+                this.bindingPovValues[binding] = description.getUserInputDevicePovValue();
+                this.bindingMins[binding] = description.getUserInputDeviceRangeMin();
+                this.bindingMaxes[binding] = description.getUserInputDeviceRangeMax();
+                this.bindingDigitalStates[binding] = this.operationStates.getDigitalState(operation);
+            }
+        }
     }
 
     /**
-     * Get a double between -1.0 and 1.0 indicating the current value of the analog operation
-     * @param analogOperation to get
-     * @return the current value of the analog operation
+     * Add a binding to the table, working out which combinations of active shift buttons mean that it is ignored
+     * @param operationIndex of the operation in the operation state table
+     * @param kind of input that the operation is bound to
+     * @param joystick that the operation is bound to
+     * @param description of the operation
+     * @return the index of the new binding
      */
-    public double getAnalog(AnalogOperation analogOperation)
+    private int addBinding(int operationIndex, byte kind, JoystickSample joystick, OperationDescription<?> description)
     {
-        OperationState state = this.operationStateMap.get(analogOperation);
-        if (!(state instanceof AnalogOperationState))
+        int binding = this.bindingCount++;
+        this.bindingOperations[binding] = operationIndex;
+        this.bindingKinds[binding] = kind;
+        this.bindingJoysticks[binding] = joystick;
+
+        Shift relevantShifts = description.getRelevantShifts();
+        Shift requiredShifts = description.getRequiredShifts();
+        if (relevantShifts != null && requiredShifts != null)
         {
-            if (TuningConstants.THROW_EXCEPTIONS)
+            for (int combination = 0; combination < this.shiftCombinations.length; combination++)
             {
-                throw new RuntimeException("not an analog operation!");
+                this.shiftBlockedBindings[combination][binding] = this.shiftCombinations[combination].hasFlagWithin(relevantShifts, requiredShifts);
             }
+        }
+
+        return binding;
+    }
 
-            return 0.0;
+    /**
+     * Checks whether any analog or digital operation is bound to the user input device
+     * @param buttonMap describing the bindings of the operations to user input
+     * @param userInputDevice to look for
+     * @return true if an operation is bound to the device
+     */
+    private static boolean isDeviceUsed(IButtonMap buttonMap, UserInputDevice userInputDevice)
+    {
+        for (AnalogOperationDescription description : buttonMap.getAnalogOperationSchema())
+        {
+            if (description.getUserInputDevice() == userInputDevice)
+            {
+                return true;
+            }
         }
 
-        AnalogOperationState analogState = (AnalogOperationState)state;
-        return analogState.getState();
+        for (DigitalOperationDescription description : buttonMap.getDigitalOperationSchema())
+        {
+            if (description.getUserInputDevice() == userInputDevice)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Get the joystick sample for the user input device
+     * @param userInputDevice to get the joystick sample for
+     * @return the joystick sample, or null if the device isn't a joystick
+     */
+    private JoystickSample getJoystickSample(UserInputDevice userInputDevice)
+    {
+        switch (userInputDevice)
+        {
+            case Driver:
+                return this.joystickDriver;
+
+            case CoDriver:
+                return this.joystickCoDriver;
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Set (or clear) the state for a macro operation, and precompute the set of operations that it cancels
+     * @param macroOperation to set the state for
+     * @param macroState to use, or null to remove the macro operation
+     */
+    private void setMacroState(MacroOperation macroOperation, IMacroOperationState macroState)
+    {
+        int ordinal = macroOperation.ordinal();
+        this.macroStates[ordinal] = macroState;
+        if (macroState == null)
+        {
+            this.macroCancelOperations[ordinal] = null;
+            return;
+        }
+
+        BitSet cancelOperations = new BitSet(this.operationStates.size());
+        for (IOperation operation : macroState.getMacroCancelOperations())
+        {
+            cancelOperations.set(this.operationStates.indexOf(operation));
+        }
+
+        this.macroCancelOperations[ordinal] = cancelOperations;
+    }
+
+    /**
+     * Add a macro's operations to the covered set, recording any operations that were already covered as overlapping
+     * @param operations covered by the macro
+     * @param covered operations covered by any of the macros so far
+     * @param overlapping operations covered by more than one of the macros so far
+     * @param scratch set to use for the intersection
+     */
+    private static void accumulateOverlap(BitSet operations, BitSet covered, BitSet overlapping, BitSet scratch)
+    {
+        scratch.clear();
+        scratch.or(covered);
+        scratch.and(operations);
+        overlapping.or(scratch);
+        covered.or(operations);
     }
 }
@@ -0,0 +1,177 @@
+package frc.robot.driver.common;
+
+import java.util.Arrays;
+
+import frc.robot.TuningConstants;
+import frc.robot.common.robotprovider.IJoystick;
+
+/**
+ * A once-per-loop sample of the inputs of a joystick.
+ *
+ * The buttons, axes and POV that are bound in the button map are registered at startup, and then each of them is
+ * read from the joystick exactly once per loop when sample() is called.  The operation states then read the sampled
+ * values, rather than each of them going to the joystick separately.
+ *
+ */
+public class JoystickSample implements IJoystick
+{
+    private final IJoystick joystick;
+
+    private int[] buttons;
+    private boolean[] buttonValues;
+    private int[] axes;
+    private double[] axisValues;
+    private boolean usesPov;
+    private int pov;
+
+    /**
+     * Initializes a new JoystickSample
+     * @param joystick to sample
+     */
+    public JoystickSample(IJoystick joystick)
+    {
+        this.joystick = joystick;
+
+        this.buttons = new int[0];
+        this.buttonValues = new boolean[0];
+        this.axes = new int[0];
+        this.axisValues = new double[0];
+        this.usesPov = false;
+        this.pov = -1;
+    }
+
+    /**
+     * Register a button that should be sampled.  This should only be called during initialization.
+     * @param button to sample (POV registers the POV hat, NONE and ANALOG_AXIS_RANGE register nothing)
+     */
+    public void addButton(UserInputDeviceButton button)
+    {
+        if (button == UserInputDeviceButton.POV)
+        {
+            this.usesPov = true;
+            return;
+        }
+
+        if (button == UserInputDeviceButton.NONE || button == UserInputDeviceButton.ANALOG_AXIS_RANGE)
+        {
+            return;
+        }
+
+        int value = button.Value;
+        for (int existing : this.buttons)
+        {
+            if (existing == value)
+            {
+                return;
+            }
+        }
+
+        this.buttons = Arrays.copyOf(this.buttons, this.buttons.length + 1);
+        this.buttons[this.buttons.length - 1] = value;
+        if (value >= this.buttonValues.length)
+        {
+            this.buttonValues = Arrays.copyOf(this.buttonValues, value + 1);
+        }
+    }
+
+    /**
+     * Register an axis that should be sampled.  This should only be called during initialization.
+     * @param axis to sample (NONE registers nothing)
+     */
+    public void addAxis(AnalogAxis axis)
+    {
+        if (axis == null || axis == AnalogAxis.NONE)
+        {
+            return;
+        }
+
+        int value = axis.Value;
+        for (int existing : this.axes)
+        {
+            if (existing == value)
+            {
+                return;
+            }
+        }
+
+        this.axes = Arrays.copyOf(this.axes, this.axes.length + 1);
+        this.axes[this.axes.length - 1] = value;
+        if (value >= this.axisValues.length)
+        {
+            this.axisValues = Arrays.copyOf(this.axisValues, value + 1);
+        }
+    }
+
+    /**
+     * Read each of the registered buttons, axes and POV from the joystick
+     */
+    public void sample()
+    {
+        for (int button : this.buttons)
+        {
+            this.buttonValues[button] = this.joystick.getRawButton(button);
+        }
+
+        for (int axis : this.axes)
+        {
+            this.axisValues[axis] = this.joystick.getAxis(axis);
+        }
+
+        if (this.usesPov)
+        {
+            this.pov = this.joystick.getPOV();
+        }
+    }
+
+    /**
+     * Get the sampled value of the axis
+     * @param relevantAxis to get
+     * @return the value of the axis when it was last sampled
+     */
+    @Override
+    public double getAxis(int relevantAxis)
+    {
+        if (relevantAxis < 0 || relevantAxis >= this.axisValues.length)
+        {
+            if (TuningConstants.THROW_EXCEPTIONS)
+            {
+                throw new RuntimeException("axis " + relevantAxis + " was not registered for sampling");
+            }
+
+            return 0.0;
+        }
+
+        return this.axisValues[relevantAxis];
+    }
+
+    /**
+     * Get the sampled value of the POV hat
+     * @return the value of the POV when it was last sampled
+     */
+    @Override
+    public int getPOV()
+    {
+        return this.pov;
+    }
+
+    /**
+     * Get the sampled value of the button
+     * @param value of the button to get
+     * @return whether the button was pressed when it was last sampled
+     */
+    @Override
+    public boolean getRawButton(int value)
+    {
+        if (value < 0 || value >= this.buttonValues.length)
+        {
+            if (TuningConstants.THROW_EXCEPTIONS)
+            {
+                throw new RuntimeException("button " + value + " was not registered for sampling");
+            }
+
+            return false;
+        }
+
+        return this.buttonValues[value];
+    }
+}
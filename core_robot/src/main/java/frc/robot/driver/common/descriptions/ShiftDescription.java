@@ -74,6 +74,11 @@ public class ShiftDescription
         return this.userInputDevicePovValue;
     }
 
+    public AnalogAxis getUserInputDeviceAxis()
+    {
+        return this.userInputDeviceAxis;
+    }
+
     public boolean checkInput(IJoystick driver, IJoystick coDriver)
     {
         IJoystick relevantJoystick;
@@ -72,8 +72,7 @@ public class AnalogOperationState extends OperationState
         Shift requiredShifts = description.getRequiredShifts();
         if (relevantShifts != null && requiredShifts != null)
         {
-            Shift relevantActiveShifts = Shift.Intersect(relevantShifts, activeShifts);
-            if (relevantActiveShifts.hasFlag(requiredShifts))
+            if (activeShifts.hasFlagWithin(relevantShifts, requiredShifts))
             {
                 return false;
             }
@@ -104,7 +103,6 @@ public class AnalogOperationState extends OperationState
         }
 
         double newValue;
-        double oldValue = this.currentValue;
         if (relevantJoystick != null)
         {
             relevantAxis = description.getUserInputDeviceAxis();
@@ -128,6 +126,17 @@ public class AnalogOperationState extends OperationState
             newValue = 0.0;
         }
 
+        return this.updateInput(newValue);
+    }
+
+    /**
+     * Update the state of the operation with the input that it is bound to, as checked by the driver
+     * @param newValue of the bound axis, already inverted and adjusted for the dead zone
+     * @return true if there was any active user input that triggered a state change
+     */
+    public boolean updateInput(double newValue)
+    {
+        double oldValue = this.currentValue;
         this.currentValue = newValue;
         return this.currentValue != oldValue;
     }
@@ -1,8 +1,5 @@
 package frc.robot.driver.common.states;
 
-import java.util.Map;
-import java.util.Set;
-
 import frc.robot.common.robotprovider.IJoystick;
 import frc.robot.driver.IOperation;
 import frc.robot.driver.Shift;
@@ -14,27 +11,29 @@ import frc.robot.driver.common.IControlTask;
  */
 public class AutonomousOperationState extends OperationState implements IMacroOperationState
 {
-    private final Map<IOperation, OperationState> operationStateMap;
+    private final OperationStateTable operationStates;
 
     private IControlTask task;
 
     private boolean hasBegun;
     private boolean shouldEnd;
     private boolean hasEnded;
+    private boolean hasCompleted;
     private boolean isInterrupted;
 
     public AutonomousOperationState(
         IControlTask task,
-        Map<IOperation, OperationState> operationStateMap)
+        OperationStateTable operationStates)
     {
         super(null);
 
-        this.operationStateMap = operationStateMap;
+        this.operationStates = operationStates;
         this.task = task;
 
         this.hasBegun = false;
         this.shouldEnd = false;
         this.hasEnded = false;
+        this.hasCompleted = false;
         this.isInterrupted = false;
     }
 
@@ -78,9 +77,7 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
 
     public IOperation[] getAffectedOperations()
     {
-        Set<IOperation> keys = this.operationStateMap.keySet();
-        IOperation[] keyArray = new IOperation[keys.size()];
-        return (IOperation[])keys.toArray(keyArray);
+        return this.operationStates.getOperations();
     }
 
     public boolean getIsActive()
@@ -88,13 +85,22 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
         return !this.hasEnded;
     }
 
+    /**
+     * Gets whether the task ran to completion, rather than being canceled or interrupted
+     * @return true if the task completed
+     */
+    public boolean getHasCompleted()
+    {
+        return this.hasCompleted;
+    }
+
     public void run()
     {
         if (this.shouldEnd)
         {
             for (IOperation operation : this.getAffectedOperations())
             {
-                this.operationStateMap.get(operation).setIsInterrupted(false);
+                this.operationStates.get(operation).setIsInterrupted(false);
             }
 
             this.shouldEnd = false;
@@ -113,7 +119,7 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
 
                 for (IOperation operation : this.getAffectedOperations())
                 {
-                    this.operationStateMap.get(operation).setIsInterrupted(false);
+                    this.operationStates.get(operation).setIsInterrupted(false);
                 }
 
                 return;
@@ -123,7 +129,7 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
             {
                 for (IOperation operation : this.getAffectedOperations())
                 {
-                    this.operationStateMap.get(operation).setIsInterrupted(true);
+                    this.operationStates.get(operation).setIsInterrupted(true);
                 }
 
                 // if we haven't begun, begin
@@ -138,6 +144,7 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
                 if (complete)
                 {
                     this.task.end();
+                    this.hasCompleted = true;
                 }
                 else
                 {
@@ -162,7 +169,7 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
 
         for (IOperation operation : this.getAffectedOperations())
         {
-            this.operationStateMap.get(operation).setIsInterrupted(false);
+            this.operationStates.get(operation).setIsInterrupted(false);
         }
     }
 }
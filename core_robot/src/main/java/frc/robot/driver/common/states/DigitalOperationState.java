@@ -98,8 +98,7 @@ public class DigitalOperationState extends OperationState
         Shift requiredShifts = description.getRequiredShifts();
         if (relevantShifts != null && requiredShifts != null)
         {
-            Shift relevantActiveShifts = Shift.Intersect(relevantShifts, activeShifts);
-            if (relevantActiveShifts.hasFlag(requiredShifts))
+            if (activeShifts.hasFlagWithin(relevantShifts, requiredShifts))
             {
                 this.button.updateState(false);
                 return false;
@@ -163,6 +162,16 @@ public class DigitalOperationState extends OperationState
             buttonPressed = false;
         }
 
+        return this.updateInput(buttonPressed);
+    }
+
+    /**
+     * Update the state of the operation with the input that it is bound to, as checked by the driver
+     * @param buttonPressed whether the bound button is pressed (false if the active shifts mean that it is ignored)
+     * @return true if there was any active user input that triggered a state change
+     */
+    public boolean updateInput(boolean buttonPressed)
+    {
         this.button.updateState(buttonPressed);
         return buttonPressed;
     }
@@ -1,7 +1,5 @@
 package frc.robot.driver.common.states;
 
-import java.util.Map;
-
 import frc.robot.TuningConstants;
 import frc.robot.common.robotprovider.IJoystick;
 import frc.robot.driver.IOperation;
@@ -24,19 +22,19 @@ import com.google.inject.Injector;
 public class MacroOperationState extends OperationState implements IMacroOperationState
 {
     private final IButton button;
-    private final Map<IOperation, OperationState> operationStateMap;
+    private final OperationStateTable operationStates;
     private final Injector injector;
 
     private IControlTask task;
 
     public MacroOperationState(
         MacroOperationDescription description,
-        Map<IOperation, OperationState> operationStateMap,
+        OperationStateTable operationStates,
         Injector injector)
     {
         super(description);
 
-        this.operationStateMap = operationStateMap;
+        this.operationStates = operationStates;
         this.injector = injector;
 
         switch (description.getButtonType())
@@ -112,8 +110,7 @@ public class MacroOperationState extends OperationState implements IMacroOperati
         Shift requiredShifts = description.getRequiredShifts();
         if (relevantShifts != null && requiredShifts != null)
         {
-            Shift relevantActiveShifts = Shift.Intersect(relevantShifts, activeShifts);
-            if (relevantActiveShifts.hasFlag(requiredShifts))
+            if (activeShifts.hasFlagWithin(relevantShifts, requiredShifts))
             {
                 this.button.updateState(false);
                 return false;
@@ -204,12 +201,12 @@ public class MacroOperationState extends OperationState implements IMacroOperati
             {
                 for (IOperation operation : this.getAffectedOperations())
                 {
-                    this.operationStateMap.get(operation).setIsInterrupted(true);
+                    this.operationStates.get(operation).setIsInterrupted(true);
                 }
 
                 // start task
                 this.task = ((MacroOperationDescription)this.getDescription()).constructTask();
-                this.task.initialize(this.operationStateMap, this.injector);
+                this.task.initialize(this.operationStates, this.injector);
                 this.task.begin();
             }
 
@@ -234,7 +231,7 @@ public class MacroOperationState extends OperationState implements IMacroOperati
                 {
                     for (IOperation operation : this.getAffectedOperations())
                     {
-                        this.operationStateMap.get(operation).setIsInterrupted(false);
+                        this.operationStates.get(operation).setIsInterrupted(false);
                     }
                 }
             }
@@ -251,7 +248,7 @@ public class MacroOperationState extends OperationState implements IMacroOperati
 
             for (IOperation operation : this.getAffectedOperations())
             {
-                this.operationStateMap.get(operation).setIsInterrupted(false);
+                this.operationStates.get(operation).setIsInterrupted(false);
             }
         }
     }
@@ -6,6 +6,7 @@ import frc.robot.driver.Shift;
 import frc.robot.driver.common.descriptions.AnalogOperationDescription;
 import frc.robot.driver.common.descriptions.DigitalOperationDescription;
 import frc.robot.driver.common.descriptions.OperationDescription;
+import frc.robot.driver.common.descriptions.UserInputDevice;
 
 /**
  * The state of a current operation.
@@ -25,6 +26,15 @@ public abstract class OperationState implements IOperationState
         return this.description;
     }
 
+    /**
+     * Gets the user input device that the operation is bound to
+     * @return the user input device
+     */
+    public UserInputDevice getUserInputDevice()
+    {
+        return this.description.getUserInputDevice();
+    }
+
     /**
      * Sets whether the current operation is being interrupted by a macro
      * @param enable value of true indicates that we are interrupted
@@ -0,0 +1,178 @@
+package frc.robot.driver.common.states;
+
+import frc.robot.TuningConstants;
+import frc.robot.driver.AnalogOperation;
+import frc.robot.driver.DigitalOperation;
+import frc.robot.driver.IOperation;
+import frc.robot.driver.common.descriptions.AnalogOperationDescription;
+import frc.robot.driver.common.descriptions.DigitalOperationDescription;
+
+/**
+ * Dense table of the current states of all of the analog and digital operations.
+ *
+ * Every operation has a fixed index based on its ordinal - analog operations come first, followed by digital
+ * operations - so states can be looked up and iterated without hashing, and sets of operations can be tracked
+ * as bitsets of those indices.
+ *
+ */
+public class OperationStateTable
+{
+    private static final AnalogOperation[] AnalogOperations = AnalogOperation.values();
+    private static final DigitalOperation[] DigitalOperations = DigitalOperation.values();
+
+    private final AnalogOperationState[] analogStates;
+    private final DigitalOperationState[] digitalStates;
+    private final OperationState[] states;
+    private final IOperation[] operations;
+
+    /**
+     * Initializes a new OperationStateTable
+     * @param analogOperationSchema describing the analog operations that are bound to user input
+     * @param digitalOperationSchema describing the digital operations that are bound to user input
+     */
+    public OperationStateTable(
+        AnalogOperationDescription[] analogOperationSchema,
+        DigitalOperationDescription[] digitalOperationSchema)
+    {
+        int analogCount = OperationStateTable.AnalogOperations.length;
+        int digitalCount = OperationStateTable.DigitalOperations.length;
+
+        this.analogStates = new AnalogOperationState[analogCount];
+        this.digitalStates = new DigitalOperationState[digitalCount];
+        this.states = new OperationState[analogCount + digitalCount];
+        this.operations = new IOperation[analogCount + digitalCount];
+
+        for (AnalogOperationDescription description : analogOperationSchema)
+        {
+            this.analogStates[description.getOperation().ordinal()] = new AnalogOperationState(description);
+        }
+
+        for (DigitalOperationDescription description : digitalOperationSchema)
+        {
+            this.digitalStates[description.getOperation().ordinal()] = new DigitalOperationState(description);
+        }
+
+        for (AnalogOperation operation : OperationStateTable.AnalogOperations)
+        {
+            int ordinal = operation.ordinal();
+            if (this.analogStates[ordinal] == null)
+            {
+                this.analogStates[ordinal] = new AnalogOperationState(new AnalogOperationDescription(operation));
+            }
+
+            this.states[ordinal] = this.analogStates[ordinal];
+            this.operations[ordinal] = operation;
+        }
+
+        for (DigitalOperation operation : OperationStateTable.DigitalOperations)
+        {
+            int ordinal = operation.ordinal();
+            if (this.digitalStates[ordinal] == null)
+            {
+                this.digitalStates[ordinal] = new DigitalOperationState(new DigitalOperationDescription(operation));
+            }
+
+            this.states[analogCount + ordinal] = this.digitalStates[ordinal];
+            this.operations[analogCount + ordinal] = operation;
+        }
+    }
+
+    /**
+     * Gets the number of operations in the table
+     * @return the number of operations
+     */
+    public int size()
+    {
+        return this.states.length;
+    }
+
+    /**
+     * Gets the index of the operation within the table
+     * @param operation to look up
+     * @return the index of the operation, or -1 if it isn't an analog or digital operation
+     */
+    public int indexOf(IOperation operation)
+    {
+        if (operation instanceof AnalogOperation)
+        {
+            return ((AnalogOperation)operation).ordinal();
+        }
+
+        if (operation instanceof DigitalOperation)
+        {
+            return this.analogStates.length + ((DigitalOperation)operation).ordinal();
+        }
+
+        if (TuningConstants.THROW_EXCEPTIONS)
+        {
+            throw new RuntimeException("unknown type of operation " + operation);
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the operation at the index within the table
+     * @param index of the operation
+     * @return the operation
+     */
+    public IOperation getOperation(int index)
+    {
+        return this.operations[index];
+    }
+
+    /**
+     * Gets all of the operations in the table, in index order.  The returned array must not be modified.
+     * @return the operations
+     */
+    public IOperation[] getOperations()
+    {
+        return this.operations;
+    }
+
+    /**
+     * Gets the state at the index within the table
+     * @param index of the operation
+     * @return the state of the operation
+     */
+    public OperationState get(int index)
+    {
+        return this.states[index];
+    }
+
+    /**
+     * Gets the state of the operation
+     * @param operation to look up
+     * @return the state of the operation
+     */
+    public OperationState get(IOperation operation)
+    {
+        int index = this.indexOf(operation);
+        if (index < 0)
+        {
+            return null;
+        }
+
+        return this.states[index];
+    }
+
+    /**
+     * Gets the state of the analog operation
+     * @param operation to look up
+     * @return the state of the analog operation
+     */
+    public AnalogOperationState getAnalogState(AnalogOperation operation)
+    {
+        return this.analogStates[operation.ordinal()];
+    }
+
+    /**
+     * Gets the state of the digital operation
+     * @param operation to look up
+     * @return the state of the digital operation
+     */
+    public DigitalOperationState getDigitalState(DigitalOperation operation)
+    {
+        return this.digitalStates[operation.ordinal()];
+    }
+}
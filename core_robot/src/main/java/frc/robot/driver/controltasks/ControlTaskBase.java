@@ -1,31 +1,26 @@
 package frc.robot.driver.controltasks;
 
-import java.util.Map;
-
 import frc.robot.driver.AnalogOperation;
 import frc.robot.driver.DigitalOperation;
-import frc.robot.driver.IOperation;
 import frc.robot.driver.common.IControlTask;
-import frc.robot.driver.common.states.AnalogOperationState;
-import frc.robot.driver.common.states.DigitalOperationState;
-import frc.robot.driver.common.states.OperationState;
+import frc.robot.driver.common.states.OperationStateTable;
 
 import com.google.inject.Injector;
 
 public abstract class ControlTaskBase implements IControlTask
 {
-    private Map<IOperation, OperationState> operationStateMap;
+    private OperationStateTable operationStates;
     private Injector injector;
 
     /**
-     * Initialize the task with the mapping of operations to states
-     * @param operationStateMap indicating the mapping of an operation to its current state
+     * Initialize the task with the table of operation states
+     * @param operationStates indicating the current state of each operation
      * @param components to utilize for making any decisions
      */
     @Override
-    public void initialize(Map<IOperation, OperationState> operationStateMap, Injector injector)
+    public void initialize(OperationStateTable operationStates, Injector injector)
     {
-        this.operationStateMap = operationStateMap;
+        this.operationStates = operationStates;
         this.injector = injector;
     }
 
@@ -76,8 +71,7 @@ public abstract class ControlTaskBase implements IControlTask
      */
     protected void setAnalogOperationState(AnalogOperation operation, double value)
     {
-        OperationState operationState = this.operationStateMap.get(operation);
-        ((AnalogOperationState)operationState).setInterruptState(value);
+        this.operationStates.getAnalogState(operation).setInterruptState(value);
     }
 
     /**
@@ -87,8 +81,7 @@ public abstract class ControlTaskBase implements IControlTask
      */
     protected void setDigitalOperationState(DigitalOperation operation, boolean value)
     {
-        OperationState operationState = this.operationStateMap.get(operation);
-        ((DigitalOperationState)operationState).setInterruptState(value);
+        this.operationStates.getDigitalState(operation).setInterruptState(value);
     }
 
     /**
@@ -98,8 +91,7 @@ public abstract class ControlTaskBase implements IControlTask
      */
     protected double getAnalogOperationState(AnalogOperation operation)
     {
-        OperationState operationState = this.operationStateMap.get(operation);
-        return ((AnalogOperationState)operationState).getState();
+        return this.operationStates.getAnalogState(operation).getState();
     }
 
     /**
@@ -109,8 +101,7 @@ public abstract class ControlTaskBase implements IControlTask
      */
     protected boolean getDigitalOperationState(DigitalOperation operation)
     {
-        OperationState operationState = this.operationStateMap.get(operation);
-        return ((DigitalOperationState)operationState).getState();
+        return this.operationStates.getDigitalState(operation).getState();
     }
 
     /**
@@ -123,11 +114,11 @@ public abstract class ControlTaskBase implements IControlTask
     }
 
     /**
-     * Gets the Operation State Map
-     * @return the operation state map
+     * Gets the Operation State Table
+     * @return the operation state table
      */
-    protected Map<IOperation, OperationState> getOperationStateMap()
+    protected OperationStateTable getOperationStates()
     {
-        return this.operationStateMap;
+        return this.operationStates;
     }
 }
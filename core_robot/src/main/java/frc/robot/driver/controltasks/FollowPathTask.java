@@ -3,6 +3,7 @@ package frc.robot.driver.controltasks;
 import java.util.List;
 
 import frc.robot.HardwareConstants;
+import frc.robot.TuningParameters;
 import frc.robot.common.robotprovider.*;
 import frc.robot.driver.AnalogOperation;
 import frc.robot.driver.DigitalOperation;
@@ -14,7 +15,6 @@ import frc.robot.mechanisms.PositionManager;
 
 public class FollowPathTask extends ControlTaskBase implements IControlTask
 {
-    private static final double Timestep = 0.01;
     private final String pathName;
 
     protected ITimer timer;
@@ -26,6 +26,7 @@ public class FollowPathTask extends ControlTaskBase implements IControlTask
 
     private PositionManager positionManager;
     private List<PathStep> path;
+    private double timestep;
     private double duration;
 
     /**
@@ -54,7 +55,8 @@ public class FollowPathTask extends ControlTaskBase implements IControlTask
 
         PathManager pathManager = this.getInjector().getInstance(PathManager.class);
         this.path = pathManager.getPath(this.pathName);
-        this.duration = this.path.size() * FollowPathTask.Timestep;
+        this.timestep = this.getInjector().getInstance(TuningParameters.class).get(TuningParameters.Parameter.DRIVETRAIN_PATH_TIMESTEP);
+        this.duration = this.path.size() * this.timestep;
 
         this.setDigitalOperationState(DigitalOperation.DriveTrainUsePathMode, true);
         this.setAnalogOperationState(AnalogOperation.DriveTrainLeftPosition, this.startLeftPosition);
@@ -76,7 +78,7 @@ public class FollowPathTask extends ControlTaskBase implements IControlTask
             elapsedTime = this.duration;
         }
 
-        double currentIndex = Math.floor(elapsedTime / FollowPathTask.Timestep);
+        double currentIndex = Math.floor(elapsedTime / this.timestep);
         if (currentIndex >= this.path.size())
         {
             currentIndex = this.path.size() - 1;
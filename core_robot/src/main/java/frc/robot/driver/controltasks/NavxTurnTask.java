@@ -1,6 +1,8 @@
 package frc.robot.driver.controltasks;
 
 import frc.robot.TuningConstants;
+import frc.robot.TuningParameters;
+import frc.robot.TuningParameters.Parameter;
 import frc.robot.common.Helpers;
 import frc.robot.common.PIDHandler;
 import frc.robot.common.robotprovider.ITimer;
@@ -21,6 +23,7 @@ public class NavxTurnTask extends ControlTaskBase implements IControlTask
     private final boolean relativeMode;
     private final boolean fastMode;
 
+    private TuningParameters parameters;
     private PIDHandler turnPidHandler;
     private PositionManager pManager;
     private DriveTrainMechanism dt;
@@ -100,6 +103,7 @@ public class NavxTurnTask extends ControlTaskBase implements IControlTask
         this.pManager = this.getInjector().getInstance(PositionManager.class);
         this.dt = this.getInjector().getInstance(DriveTrainMechanism.class);
         this.timer = this.getInjector().getInstance(ITimer.class);
+        this.parameters = this.getInjector().getInstance(TuningParameters.class);
 
         this.turnPidHandler = this.createTurnHandler();
         if (this.relativeMode)
@@ -181,8 +185,8 @@ public class NavxTurnTask extends ControlTaskBase implements IControlTask
         }
 
         double centerAngleDifference = Math.abs(currentMeasuredAngle - currentDesiredAngle);
-        if ((!this.fastMode && centerAngleDifference > TuningConstants.MAX_NAVX_TURN_RANGE_DEGREES) ||
-            (this.fastMode && centerAngleDifference > TuningConstants.MAX_NAVX_FAST_TURN_RANGE_DEGREES))
+        if ((!this.fastMode && centerAngleDifference > this.parameters.get(Parameter.MAX_NAVX_TURN_RANGE_DEGREES)) ||
+            (this.fastMode && centerAngleDifference > this.parameters.get(Parameter.MAX_NAVX_FAST_TURN_RANGE_DEGREES)))
         {
             return false;
         }
@@ -194,8 +198,8 @@ public class NavxTurnTask extends ControlTaskBase implements IControlTask
         else
         {
             // If desired and current turn velocity are near 0, complete this task. Otherwise, use timer.
-            if (Helpers.WithinDelta(currentTurnVelocity, 0.0, TuningConstants.NAVX_TURN_COMPLETE_CURRENT_VELOCITY_DELTA)
-                && Helpers.WithinDelta(this.desiredTurnVelocity, 0.0, TuningConstants.NAVX_TURN_COMPLETE_DESIRED_VELOCITY_DELTA))
+            if (Helpers.WithinDelta(currentTurnVelocity, 0.0, this.parameters.get(Parameter.NAVX_TURN_COMPLETE_CURRENT_VELOCITY_DELTA))
+                && Helpers.WithinDelta(this.desiredTurnVelocity, 0.0, this.parameters.get(Parameter.NAVX_TURN_COMPLETE_DESIRED_VELOCITY_DELTA)))
             {
                 return true;
             }
@@ -219,10 +223,10 @@ public class NavxTurnTask extends ControlTaskBase implements IControlTask
     protected PIDHandler createTurnHandler()
     {
         return new PIDHandler(
-            this.fastMode ? TuningConstants.NAVX_FAST_TURN_PID_KP : TuningConstants.NAVX_TURN_PID_KP,
-            this.fastMode ? TuningConstants.NAVX_FAST_TURN_PID_KI : TuningConstants.NAVX_TURN_PID_KI,
-            this.fastMode ? TuningConstants.NAVX_FAST_TURN_PID_KD : TuningConstants.NAVX_TURN_PID_KD,
-            this.fastMode ? TuningConstants.NAVX_FAST_TURN_PID_KF : TuningConstants.NAVX_TURN_PID_KF,
+            this.parameters.get(this.fastMode ? Parameter.NAVX_FAST_TURN_PID_KP : Parameter.NAVX_TURN_PID_KP),
+            this.parameters.get(this.fastMode ? Parameter.NAVX_FAST_TURN_PID_KI : Parameter.NAVX_TURN_PID_KI),
+            this.parameters.get(this.fastMode ? Parameter.NAVX_FAST_TURN_PID_KD : Parameter.NAVX_TURN_PID_KD),
+            this.parameters.get(this.fastMode ? Parameter.NAVX_FAST_TURN_PID_KF : Parameter.NAVX_TURN_PID_KF),
             this.fastMode ? TuningConstants.NAVX_FAST_TURN_PID_KS : TuningConstants.NAVX_TURN_PID_KS,
             this.fastMode ? TuningConstants.NAVX_FAST_TURN_PID_MIN : TuningConstants.NAVX_TURN_PID_MIN,
             this.fastMode ? TuningConstants.NAVX_FAST_TURN_PID_MAX : TuningConstants.NAVX_TURN_PID_MAX,
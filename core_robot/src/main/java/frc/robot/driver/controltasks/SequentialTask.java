@@ -2,12 +2,10 @@ package frc.robot.driver.controltasks;
 
 import java.util.Arrays;
 import java.util.LinkedList;
-import java.util.Map;
 import java.util.Queue;
 
-import frc.robot.driver.IOperation;
 import frc.robot.driver.common.IControlTask;
-import frc.robot.driver.common.states.OperationState;
+import frc.robot.driver.common.states.OperationStateTable;
 
 import com.google.inject.Injector;
 
@@ -43,17 +41,17 @@ public class SequentialTask extends ControlTaskBase implements IControlTask
     }
 
     /**
-     * Initialize the task with the mapping of operations to states
-     * @param operationStateMap indicating the mapping of an operation to its current state
+     * Initialize the task with the table of operation states
+     * @param operationStates indicating the current state of each operation
      * @param injector used to retrieve the components to utilize for making any decisions
      */
     @Override
-    public void initialize(Map<IOperation, OperationState> operationStateMap, Injector injector)
+    public void initialize(OperationStateTable operationStates, Injector injector)
     {
-        super.initialize(operationStateMap, injector);
+        super.initialize(operationStates, injector);
         for (IControlTask task : this.orderedTasks)
         {
-            task.initialize(operationStateMap, injector);
+            task.initialize(operationStates, injector);
         }
     }
 
@@ -15,6 +15,7 @@ import frc.robot.common.robotprovider.TalonSRXLimitSwitchStatus;
 import frc.robot.common.robotprovider.ITimer;
 import frc.robot.common.robotprovider.IVictorSPX;
 import frc.robot.common.robotprovider.IDashboardLogger;
+import frc.robot.common.robotprovider.ILogChannel;
 import frc.robot.common.robotprovider.IDigitalInput;
 import frc.robot.driver.common.Driver;
 import frc.robot.common.robotprovider.IRobotProvider;
@@ -28,7 +29,18 @@ public class ClimberMechanism implements IMechanism
 
     private final ITimer timer;
 
-    private final IDashboardLogger logger;
+    private final ILogChannel armsVelocityChannel;
+    private final ILogChannel armsErrorChannel;
+    private final ILogChannel armsPositionChannel;
+    private final ILogChannel armsForwardLimitSwitchStatusChannel;
+    private final ILogChannel armsReverseLimitSwitchStatusChannel;
+    private final ILogChannel camVelocityChannel;
+    private final ILogChannel camErrorChannel;
+    private final ILogChannel camPositionChannel;
+    private final ILogChannel camLimitSwitchStatusChannel;
+    private final ILogChannel climbedHeightStatusChannel;
+    private final ILogChannel desiredArmsPositionChannel;
+    private final ILogChannel desiredCamPositionChannel;
 
     private final ITalonSRX climberArmsMotorMaster;
     private final ITalonSRX climberCamMotorMaster;
@@ -58,7 +70,18 @@ public class ClimberMechanism implements IMechanism
     @Inject 
     public ClimberMechanism(IDashboardLogger logger, IRobotProvider provider, ITimer timer)
     {
-        this.logger = logger;
+        this.armsVelocityChannel = logger.getChannel(ClimberMechanism.logName, "armsVelocity");
+        this.armsErrorChannel = logger.getChannel(ClimberMechanism.logName, "armsError");
+        this.armsPositionChannel = logger.getChannel(ClimberMechanism.logName, "armsPosition");
+        this.armsForwardLimitSwitchStatusChannel = logger.getChannel(ClimberMechanism.logName, "armsForwardLimitSwitchStatus");
+        this.armsReverseLimitSwitchStatusChannel = logger.getChannel(ClimberMechanism.logName, "armsReverseLimitSwitchStatus");
+        this.camVelocityChannel = logger.getChannel(ClimberMechanism.logName, "camVelocity");
+        this.camErrorChannel = logger.getChannel(ClimberMechanism.logName, "camError");
+        this.camPositionChannel = logger.getChannel(ClimberMechanism.logName, "camPosition");
+        this.camLimitSwitchStatusChannel = logger.getChannel(ClimberMechanism.logName, "camLimitSwitchStatus");
+        this.climbedHeightStatusChannel = logger.getChannel(ClimberMechanism.logName, "climbedHeightStatus");
+        this.desiredArmsPositionChannel = logger.getChannel(ClimberMechanism.logName, "desiredArmsPosition");
+        this.desiredCamPositionChannel = logger.getChannel(ClimberMechanism.logName, "desiredCamPosition");
         this.timer = timer;
 
         this.climberArmsMotorMaster = provider.getTalonSRX(ElectronicsConstants.CLIMBER_ARMS_MOTOR_MASTER_CAN_ID);
@@ -243,17 +266,17 @@ public class ClimberMechanism implements IMechanism
 
         this.climbedHeightStatus = !this.climberHeightSensor.get();
 
-        this.logger.logNumber(ClimberMechanism.logName, "armsVelocity", this.armsVelocity);
-        this.logger.logNumber(ClimberMechanism.logName, "armsError", this.armsError);
-        this.logger.logNumber(ClimberMechanism.logName, "armsPosition", this.armsPosition);
-        this.logger.logBoolean(ClimberMechanism.logName, "armsForwardLimitSwitchStatus", this.armsForwardLimitSwitchStatus);
-        this.logger.logBoolean(ClimberMechanism.logName, "armsReverseLimitSwitchStatus", this.armsReverseLimitSwitchStatus);
-
-        this.logger.logNumber(ClimberMechanism.logName, "camVelocity", this.camVelocity);
-        this.logger.logNumber(ClimberMechanism.logName, "camError", this.camError);
-        this.logger.logNumber(ClimberMechanism.logName, "camPosition", this.camPosition);
-        this.logger.logBoolean(ClimberMechanism.logName, "camLimitSwitchStatus", this.camLimitSwitchStatus);
-        this.logger.logBoolean(ClimberMechanism.logName, "climbedHeightStatus", this.climbedHeightStatus);
+        this.armsVelocityChannel.logNumber(this.armsVelocity);
+        this.armsErrorChannel.logNumber(this.armsError);
+        this.armsPositionChannel.logNumber(this.armsPosition);
+        this.armsForwardLimitSwitchStatusChannel.logBoolean(this.armsForwardLimitSwitchStatus);
+        this.armsReverseLimitSwitchStatusChannel.logBoolean(this.armsReverseLimitSwitchStatus);
+
+        this.camVelocityChannel.logNumber(this.camVelocity);
+        this.camErrorChannel.logNumber(this.camError);
+        this.camPositionChannel.logNumber(this.camPosition);
+        this.camLimitSwitchStatusChannel.logBoolean(this.camLimitSwitchStatus);
+        this.climbedHeightStatusChannel.logBoolean(this.climbedHeightStatus);
     }
 
     @Override
@@ -280,7 +303,7 @@ public class ClimberMechanism implements IMechanism
                 this.climberArmsMotorMaster.setPosition(TuningConstants.CLIMBER_ARMS_POSITION_MAX);
             }
 
-            this.logger.logNumber(ClimberMechanism.logName, "desiredArmsPosition", this.desiredArmsPosition);
+            this.desiredArmsPositionChannel.logNumber(this.desiredArmsPosition);
             this.climberArmsMotorMaster.setControlMode(TalonSRXControlMode.PercentOutput);
             if (forceArmsForward && !this.armsForwardLimitSwitchStatus)
             {
@@ -321,7 +344,7 @@ public class ClimberMechanism implements IMechanism
                 this.desiredArmsPosition -= deltaPosition;
             }
 
-            this.logger.logNumber(ClimberMechanism.logName, "desiredArmsPosition", this.desiredArmsPosition);
+            this.desiredArmsPositionChannel.logNumber(this.desiredArmsPosition);
             if (TuningConstants.CLIMBER_ARMS_USE_MOTION_MAGIC)
             {
                 this.climberArmsMotorMaster.setControlMode(TalonSRXControlMode.MotionMagicPosition);   
@@ -345,7 +368,7 @@ public class ClimberMechanism implements IMechanism
                 this.climberCamMotorMaster.reset();
             }
 
-            this.logger.logNumber(ClimberMechanism.logName, "desiredCamPosition", this.desiredCamPosition);
+            this.desiredCamPositionChannel.logNumber(this.desiredCamPosition);
             this.climberCamMotorMaster.setControlMode(TalonSRXControlMode.PercentOutput);
             if (forceCamForward)
             {
@@ -391,7 +414,7 @@ public class ClimberMechanism implements IMechanism
                 this.desiredCamPosition -= deltaPosition;
             }
 
-            this.logger.logNumber(ClimberMechanism.logName, "desiredCamPosition", this.desiredCamPosition);
+            this.desiredCamPositionChannel.logNumber(this.desiredCamPosition);
             if (TuningConstants.CLIMBER_CAM_USE_MOTION_MAGIC)
             {
                 this.climberCamMotorMaster.setControlMode(TalonSRXControlMode.MotionMagicPosition);   
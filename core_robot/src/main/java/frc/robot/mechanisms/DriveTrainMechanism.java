@@ -5,10 +5,13 @@ import javax.inject.Singleton;
 import frc.robot.ElectronicsConstants;
 import frc.robot.HardwareConstants;
 import frc.robot.TuningConstants;
+import frc.robot.TuningParameters;
+import frc.robot.TuningParameters.Parameter;
 import frc.robot.common.Helpers;
 import frc.robot.common.IMechanism;
 import frc.robot.common.PIDHandler;
 import frc.robot.common.robotprovider.IDashboardLogger;
+import frc.robot.common.robotprovider.ILogChannel;
 import frc.robot.common.robotprovider.IRobotProvider;
 import frc.robot.common.robotprovider.ITalonSRX;
 import frc.robot.common.robotprovider.ITimer;
@@ -39,8 +42,23 @@ public class DriveTrainMechanism implements IMechanism
     private static final double POWERLEVEL_MIN = -1.0;
     private static final double POWERLEVEL_MAX = 1.0;
 
-    private final IDashboardLogger logger;
+    private final ILogChannel leftVelocityChannel;
+    private final ILogChannel leftErrorChannel;
+    private final ILogChannel leftTicksChannel;
+    private final ILogChannel rightVelocityChannel;
+    private final ILogChannel rightErrorChannel;
+    private final ILogChannel rightTicksChannel;
+    private final ILogChannel leftVelocityGoalChannel;
+    private final ILogChannel rightVelocityGoalChannel;
+    private final ILogChannel leftVelocityPathGoalChannel;
+    private final ILogChannel rightVelocityPathGoalChannel;
+    private final ILogChannel leftPositionPathGoalChannel;
+    private final ILogChannel rightPositionPathGoalChannel;
+    private final ILogChannel leftPositionGoalChannel;
+    private final ILogChannel rightPositionGoalChannel;
+
     private final ITimer timer;
+    private final TuningParameters parameters;
 
     private final ITalonSRX leftMotor;
     private final ITalonSRX rightMotor;
@@ -68,15 +86,31 @@ public class DriveTrainMechanism implements IMechanism
      * @param logger to use
      * @param provider for obtaining electronics objects
      * @param timer to use
+     * @param parameters to use for the PID gains
      */
     @Inject
     public DriveTrainMechanism(
         IDashboardLogger logger,
         IRobotProvider provider,
-        ITimer timer)
+        ITimer timer,
+        TuningParameters parameters)
     {
-        this.logger = logger;
+        this.leftVelocityChannel = logger.getChannel(DriveTrainMechanism.LogName, "leftVelocity");
+        this.leftErrorChannel = logger.getChannel(DriveTrainMechanism.LogName, "leftError");
+        this.leftTicksChannel = logger.getChannel(DriveTrainMechanism.LogName, "leftTicks");
+        this.rightVelocityChannel = logger.getChannel(DriveTrainMechanism.LogName, "rightVelocity");
+        this.rightErrorChannel = logger.getChannel(DriveTrainMechanism.LogName, "rightError");
+        this.rightTicksChannel = logger.getChannel(DriveTrainMechanism.LogName, "rightTicks");
+        this.leftVelocityGoalChannel = logger.getChannel(DriveTrainMechanism.LogName, "leftVelocityGoal");
+        this.rightVelocityGoalChannel = logger.getChannel(DriveTrainMechanism.LogName, "rightVelocityGoal");
+        this.leftVelocityPathGoalChannel = logger.getChannel(DriveTrainMechanism.LogName, "leftVelocityPathGoal");
+        this.rightVelocityPathGoalChannel = logger.getChannel(DriveTrainMechanism.LogName, "rightVelocityPathGoal");
+        this.leftPositionPathGoalChannel = logger.getChannel(DriveTrainMechanism.LogName, "leftPositionPathGoal");
+        this.rightPositionPathGoalChannel = logger.getChannel(DriveTrainMechanism.LogName, "rightPositionPathGoal");
+        this.leftPositionGoalChannel = logger.getChannel(DriveTrainMechanism.LogName, "leftPositionGoal");
+        this.rightPositionGoalChannel = logger.getChannel(DriveTrainMechanism.LogName, "rightPositionGoal");
         this.timer = timer;
+        this.parameters = parameters;
 
         this.leftMotor = provider.getTalonSRX(ElectronicsConstants.DRIVETRAIN_LEFT_MASTER_CAN_ID);
         this.leftMotor.setNeutralMode(MotorNeutralMode.Brake);
@@ -236,12 +270,12 @@ public class DriveTrainMechanism implements IMechanism
         this.leftError = this.leftMotor.getError();
         this.rightError = this.rightMotor.getError();
 
-        this.logger.logNumber(DriveTrainMechanism.LogName, "leftVelocity", this.leftVelocity);
-        this.logger.logNumber(DriveTrainMechanism.LogName, "leftError", this.leftError);
-        this.logger.logNumber(DriveTrainMechanism.LogName, "leftTicks", this.leftPosition);
-        this.logger.logNumber(DriveTrainMechanism.LogName, "rightVelocity", this.rightVelocity);
-        this.logger.logNumber(DriveTrainMechanism.LogName, "rightError", this.rightError);
-        this.logger.logNumber(DriveTrainMechanism.LogName, "rightTicks", this.rightPosition);
+        this.leftVelocityChannel.logNumber(this.leftVelocity);
+        this.leftErrorChannel.logNumber(this.leftError);
+        this.leftTicksChannel.logNumber(this.leftPosition);
+        this.rightVelocityChannel.logNumber(this.rightVelocity);
+        this.rightErrorChannel.logNumber(this.rightError);
+        this.rightTicksChannel.logNumber(this.rightPosition);
     }
 
     /**
@@ -302,8 +336,8 @@ public class DriveTrainMechanism implements IMechanism
         double leftSetpoint = setpoint.getLeft();
         double rightSetpoint = setpoint.getRight();
 
-        this.logger.logNumber(DriveTrainMechanism.LogName, "leftVelocityGoal", leftSetpoint);
-        this.logger.logNumber(DriveTrainMechanism.LogName, "rightVelocityGoal", rightSetpoint);
+        this.leftVelocityGoalChannel.logNumber(leftSetpoint);
+        this.rightVelocityGoalChannel.logNumber(rightSetpoint);
 
         // apply the setpoints to the motors
         this.leftMotor.set(leftSetpoint);
@@ -351,19 +385,19 @@ public class DriveTrainMechanism implements IMechanism
             if (this.usePathMode)
             {
                 this.leftPID = new PIDHandler(
-                    TuningConstants.DRIVETRAIN_PATH_PID_LEFT_KP,
-                    TuningConstants.DRIVETRAIN_PATH_PID_LEFT_KI,
-                    TuningConstants.DRIVETRAIN_PATH_PID_LEFT_KD,
-                    TuningConstants.DRIVETRAIN_PATH_PID_LEFT_KF,
+                    this.parameters.get(Parameter.DRIVETRAIN_PATH_PID_LEFT_KP),
+                    this.parameters.get(Parameter.DRIVETRAIN_PATH_PID_LEFT_KI),
+                    this.parameters.get(Parameter.DRIVETRAIN_PATH_PID_LEFT_KD),
+                    this.parameters.get(Parameter.DRIVETRAIN_PATH_PID_LEFT_KF),
                     1.0,
                     -TuningConstants.DRIVETRAIN_PATH_MAX_POWER_LEVEL,
                     TuningConstants.DRIVETRAIN_PATH_MAX_POWER_LEVEL,
                     this.timer);
                 this.rightPID = new PIDHandler(
-                    TuningConstants.DRIVETRAIN_PATH_PID_RIGHT_KP,
-                    TuningConstants.DRIVETRAIN_PATH_PID_RIGHT_KI,
-                    TuningConstants.DRIVETRAIN_PATH_PID_RIGHT_KD,
-                    TuningConstants.DRIVETRAIN_PATH_PID_RIGHT_KF,
+                    this.parameters.get(Parameter.DRIVETRAIN_PATH_PID_RIGHT_KP),
+                    this.parameters.get(Parameter.DRIVETRAIN_PATH_PID_RIGHT_KI),
+                    this.parameters.get(Parameter.DRIVETRAIN_PATH_PID_RIGHT_KD),
+                    this.parameters.get(Parameter.DRIVETRAIN_PATH_PID_RIGHT_KF),
                     1.0,
                     -TuningConstants.DRIVETRAIN_PATH_MAX_POWER_LEVEL,
                     TuningConstants.DRIVETRAIN_PATH_MAX_POWER_LEVEL,
@@ -395,19 +429,19 @@ public class DriveTrainMechanism implements IMechanism
                 else
                 {
                     this.leftPID = new PIDHandler(
-                        TuningConstants.DRIVETRAIN_POSITION_PID_LEFT_KP,
-                        TuningConstants.DRIVETRAIN_POSITION_PID_LEFT_KI,
-                        TuningConstants.DRIVETRAIN_POSITION_PID_LEFT_KD,
-                        TuningConstants.DRIVETRAIN_POSITION_PID_LEFT_KF,
+                        this.parameters.get(Parameter.DRIVETRAIN_POSITION_PID_LEFT_KP),
+                        this.parameters.get(Parameter.DRIVETRAIN_POSITION_PID_LEFT_KI),
+                        this.parameters.get(Parameter.DRIVETRAIN_POSITION_PID_LEFT_KD),
+                        this.parameters.get(Parameter.DRIVETRAIN_POSITION_PID_LEFT_KF),
                         1.0,
                         -TuningConstants.DRIVETRAIN_POSITIONAL_MAX_POWER_LEVEL,
                         TuningConstants.DRIVETRAIN_POSITIONAL_MAX_POWER_LEVEL,
                         this.timer);
                     this.rightPID = new PIDHandler(
-                        TuningConstants.DRIVETRAIN_POSITION_PID_RIGHT_KP,
-                        TuningConstants.DRIVETRAIN_POSITION_PID_RIGHT_KI,
-                        TuningConstants.DRIVETRAIN_POSITION_PID_RIGHT_KD,
-                        TuningConstants.DRIVETRAIN_POSITION_PID_RIGHT_KF,
+                        this.parameters.get(Parameter.DRIVETRAIN_POSITION_PID_RIGHT_KP),
+                        this.parameters.get(Parameter.DRIVETRAIN_POSITION_PID_RIGHT_KI),
+                        this.parameters.get(Parameter.DRIVETRAIN_POSITION_PID_RIGHT_KD),
+                        this.parameters.get(Parameter.DRIVETRAIN_POSITION_PID_RIGHT_KF),
                         1.0,
                         -TuningConstants.DRIVETRAIN_POSITIONAL_MAX_POWER_LEVEL,
                         TuningConstants.DRIVETRAIN_POSITIONAL_MAX_POWER_LEVEL,
@@ -533,8 +567,8 @@ public class DriveTrainMechanism implements IMechanism
         leftVelocityGoal /= TuningConstants.DRIVETRAIN_PATH_LEFT_MAX_VELOCITY_INCHES_PER_SECOND;
         rightVelocityGoal /= TuningConstants.DRIVETRAIN_PATH_RIGHT_MAX_VELOCITY_INCHES_PER_SECOND;
 
-        this.logger.logNumber(DriveTrainMechanism.LogName, "leftVelocityPathGoal", leftVelocityGoal);
-        this.logger.logNumber(DriveTrainMechanism.LogName, "rightVelocityPathGoal", rightVelocityGoal);
+        this.leftVelocityPathGoalChannel.logNumber(leftVelocityGoal);
+        this.rightVelocityPathGoalChannel.logNumber(rightVelocityGoal);
 
         // add in velocity as a type of feed-forward
         double leftGoal = leftVelocityGoal * TuningConstants.DRIVETRAIN_PATH_PID_LEFT_KV;
@@ -573,10 +607,10 @@ public class DriveTrainMechanism implements IMechanism
         leftVelocityGoal /= TuningConstants.DRIVETRAIN_PATH_LEFT_MAX_VELOCITY_INCHES_PER_SECOND;
         rightVelocityGoal /= TuningConstants.DRIVETRAIN_PATH_RIGHT_MAX_VELOCITY_INCHES_PER_SECOND;
 
-        this.logger.logNumber(DriveTrainMechanism.LogName, "leftPositionPathGoal", leftPositionGoal);
-        this.logger.logNumber(DriveTrainMechanism.LogName, "rightPositionPathGoal", rightPositionGoal);
-        this.logger.logNumber(DriveTrainMechanism.LogName, "leftVelocityPathGoal", leftVelocityGoal);
-        this.logger.logNumber(DriveTrainMechanism.LogName, "rightVelocityPathGoal", rightVelocityGoal);
+        this.leftPositionPathGoalChannel.logNumber(leftPositionGoal);
+        this.rightPositionPathGoalChannel.logNumber(rightPositionGoal);
+        this.leftVelocityPathGoalChannel.logNumber(leftVelocityGoal);
+        this.rightVelocityPathGoalChannel.logNumber(rightVelocityGoal);
 
         // use positional PID to get the relevant value
         double leftGoal = this.leftPID.calculatePosition(leftPositionGoal, this.leftPosition);
@@ -634,8 +668,8 @@ public class DriveTrainMechanism implements IMechanism
         double leftPositionGoal = this.driver.getAnalog(AnalogOperation.DriveTrainLeftPosition);
         double rightPositionGoal = this.driver.getAnalog(AnalogOperation.DriveTrainRightPosition);
 
-        this.logger.logNumber(DriveTrainMechanism.LogName, "leftPositionGoal", leftPositionGoal);
-        this.logger.logNumber(DriveTrainMechanism.LogName, "rightPositionGoal", rightPositionGoal);
+        this.leftPositionGoalChannel.logNumber(leftPositionGoal);
+        this.rightPositionGoalChannel.logNumber(rightPositionGoal);
 
         double leftPower;
         double rightPower;
@@ -15,6 +15,7 @@ import frc.robot.common.robotprovider.TalonSRXFeedbackDevice;
 import frc.robot.common.robotprovider.ITimer;
 import frc.robot.common.robotprovider.IVictorSPX;
 import frc.robot.common.robotprovider.IDashboardLogger;
+import frc.robot.common.robotprovider.ILogChannel;
 import frc.robot.driver.common.Driver;
 import frc.robot.common.robotprovider.IRobotProvider;
 import frc.robot.common.robotprovider.MotorNeutralMode;
@@ -27,7 +28,13 @@ public class ElevatorMechanism implements IMechanism
     private static final int pidSlotId = 0;
 
     private final ITimer timer;
-    private final IDashboardLogger logger;
+    private final ILogChannel elevatorVelocityChannel;
+    private final ILogChannel elevatorErrorChannel;
+    private final ILogChannel elevatorPositionChannel;
+    private final ILogChannel elevatorHeightChannel;
+    private final ILogChannel elevatorReverseLimitSwitchChannel;
+    private final ILogChannel elevatorForwardLimitSwitchChannel;
+    private final ILogChannel desiredHeightChannel;
 
     private final ITalonSRX elevatorMotorMaster;
     private final TalonSRXControlMode pidControlMode;
@@ -47,7 +54,13 @@ public class ElevatorMechanism implements IMechanism
     @Inject
     public ElevatorMechanism(IDashboardLogger logger, IRobotProvider provider, ITimer timer) 
     {
-        this.logger = logger;
+        this.elevatorVelocityChannel = logger.getChannel(ElevatorMechanism.logName, "elevatorVelocity");
+        this.elevatorErrorChannel = logger.getChannel(ElevatorMechanism.logName, "elevatorError");
+        this.elevatorPositionChannel = logger.getChannel(ElevatorMechanism.logName, "elevatorPosition");
+        this.elevatorHeightChannel = logger.getChannel(ElevatorMechanism.logName, "elevatorHeight");
+        this.elevatorReverseLimitSwitchChannel = logger.getChannel(ElevatorMechanism.logName, "elevatorReverseLimitSwitch");
+        this.elevatorForwardLimitSwitchChannel = logger.getChannel(ElevatorMechanism.logName, "elevatorForwardLimitSwitch");
+        this.desiredHeightChannel = logger.getChannel(ElevatorMechanism.logName, "desiredHeight");
         this.timer = timer;
 
         this.pidControlMode = TuningConstants.ELEVATOR_USE_MOTION_MAGIC
@@ -160,12 +173,12 @@ public class ElevatorMechanism implements IMechanism
         this.elevatorForwardLimitSwitchStatus = limitSwitchStatus.isForwardClosed;
         this.elevatorReverseLimitSwitchStatus = limitSwitchStatus.isReverseClosed;
 
-        this.logger.logNumber(ElevatorMechanism.logName, "elevatorVelocity", this.elevatorVelocity);
-        this.logger.logNumber(ElevatorMechanism.logName, "elevatorError", this.elevatorError);
-        this.logger.logNumber(ElevatorMechanism.logName, "elevatorPosition", this.elevatorPosition);
-        this.logger.logNumber(ElevatorMechanism.logName, "elevatorHeight", this.elevatorHeight);
-        this.logger.logBoolean(ElevatorMechanism.logName, "elevatorReverseLimitSwitch", this.elevatorReverseLimitSwitchStatus);
-        this.logger.logBoolean(ElevatorMechanism.logName, "elevatorForwardLimitSwitch", this.elevatorForwardLimitSwitchStatus);
+        this.elevatorVelocityChannel.logNumber(this.elevatorVelocity);
+        this.elevatorErrorChannel.logNumber(this.elevatorError);
+        this.elevatorPositionChannel.logNumber(this.elevatorPosition);
+        this.elevatorHeightChannel.logNumber(this.elevatorHeight);
+        this.elevatorReverseLimitSwitchChannel.logBoolean(this.elevatorReverseLimitSwitchStatus);
+        this.elevatorForwardLimitSwitchChannel.logBoolean(this.elevatorForwardLimitSwitchStatus);
     }
 
     @Override
@@ -185,7 +198,7 @@ public class ElevatorMechanism implements IMechanism
                 this.elevatorMotorMaster.reset();
             }
 
-            this.logger.logNumber(ElevatorMechanism.logName, "desiredHeight", this.desiredHeight);
+            this.desiredHeightChannel.logNumber(this.desiredHeight);
             this.elevatorMotorMaster.setControlMode(TalonSRXControlMode.PercentOutput);
             if (forceUp && !this.elevatorForwardLimitSwitchStatus)
             {
@@ -268,7 +281,7 @@ public class ElevatorMechanism implements IMechanism
                                     TuningConstants.ELEVATOR_BOTTOM_POSITION,
                                     HardwareConstants.ELEVATOR_MAX_HEIGHT);
 
-            this.logger.logNumber(ElevatorMechanism.logName, "desiredHeight", this.desiredHeight);
+            this.desiredHeightChannel.logNumber(this.desiredHeight);
             this.elevatorMotorMaster.setControlMode(this.pidControlMode);
             this.elevatorMotorMaster.set(this.desiredHeight / HardwareConstants.ELEVATOR_PULSE_DISTANCE);
         }
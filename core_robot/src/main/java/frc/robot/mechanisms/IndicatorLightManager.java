@@ -4,6 +4,7 @@ import frc.robot.*;
 import frc.robot.common.*;
 import frc.robot.common.robotprovider.*;
 import frc.robot.driver.common.Driver;
+import frc.robot.vision.VisionSample;
 import frc.robot.vision.common.VisionProcessingState;
 
 import com.google.inject.Inject;
@@ -82,16 +83,17 @@ public class IndicatorLightManager implements IMechanism
     @Override
     public void update()
     {
+        VisionSample visionSample = this.visionManager != null ? this.visionManager.getLatestSample() : null;
         if (this.grabberMechanism.isHatchMode() &&
-            this.visionManager != null &&
+            visionSample != null &&
             this.visionManager.getState() != VisionProcessingState.Disabled &&
-            this.visionManager.getCenter() != null)
+            visionSample.getCenter() != null)
         {
-            if (this.visionManager.getMeasuredDistance() > TuningConstants.INDICATOR_LIGHT_VISION_CONSIDERATION_DISTANCE_RANGE)
+            if (visionSample.getDistanceFromRobot() > TuningConstants.INDICATOR_LIGHT_VISION_CONSIDERATION_DISTANCE_RANGE)
             {
                 this.visionMode = LightMode.Off;
             }
-            else if (Math.abs(this.visionManager.getMeasuredAngle() - this.visionManager.getDesiredAngle()) < TuningConstants.INDICATOR_LIGHT_VISION_ACCEPTABLE_ANGLE_RANGE)
+            else if (Math.abs(visionSample.getMeasuredAngleX() - visionSample.getDesiredAngleX()) < TuningConstants.INDICATOR_LIGHT_VISION_ACCEPTABLE_ANGLE_RANGE)
             {
                 this.visionMode = LightMode.On;
             }
@@ -15,13 +15,26 @@ import com.google.inject.Singleton;
  * This class maintains the approximate current location and orientation of the robot relative to its starting point.
  * This uses Jim's differential odometry algorithm. In the future we can consider adding other sensors to help correct for error.
  * 
+ * A short history of timestamped headings and distances is also kept, so that measurements that were taken a little
+ * while ago (such as vision frames) can be projected forward to account for how the robot has moved since then.
+ * 
  */
 @Singleton
 public class PositionManager implements IMechanism
 {
     private final static String LogName = "pos";
 
-    private final IDashboardLogger logger;
+    private final ILogChannel odomAngleChannel;
+    private final ILogChannel odomXChannel;
+    private final ILogChannel odomYChannel;
+    private final ILogChannel navxConnectedChannel;
+    private final ILogChannel navxAngleChannel;
+    private final ILogChannel navxXChannel;
+    private final ILogChannel navxYChannel;
+    private final ILogChannel navxZChannel;
+    private final ILogChannel startAngleChannel;
+
+    private final ITimer timer;
     private final DriveTrainMechanism driveTrainMechanism;
     private final INavx navx;
 
@@ -45,19 +58,42 @@ public class PositionManager implements IMechanism
     private double prevLeftDistance;
     private double prevRightDistance;
 
+    // total distance traveled (average of left and right), and heading without wrapping around
+    private double odometryDistance;
+    private double odometryHeading;
+
+    // ring buffer of recent poses, oldest to newest ending just before historyIndex
+    private final double[] historyTimes;
+    private final double[] historyNavxAngles;
+    private final double[] historyOdometryHeadings;
+    private final double[] historyOdometryDistances;
+    private int historyIndex;
+    private int historyCount;
+
     /**
      * Initializes a new PositionManager
      * @param logger to use
+     * @param timer to use to timestamp the pose history
      * @param provider for obtaining electronics objects
      * @param driveTrainMechanism for drivetrain reference
      */
     @Inject
     public PositionManager(
         IDashboardLogger logger,
+        ITimer timer,
         IRobotProvider provider,
         DriveTrainMechanism driveTrainMechanism)
     {
-        this.logger = logger;
+        this.odomAngleChannel = logger.getChannel(PositionManager.LogName, "odom_angle");
+        this.odomXChannel = logger.getChannel(PositionManager.LogName, "odom_x");
+        this.odomYChannel = logger.getChannel(PositionManager.LogName, "odom_y");
+        this.navxConnectedChannel = logger.getChannel(PositionManager.LogName, "navx_connected");
+        this.navxAngleChannel = logger.getChannel(PositionManager.LogName, "navx_angle");
+        this.navxXChannel = logger.getChannel(PositionManager.LogName, "navx_x");
+        this.navxYChannel = logger.getChannel(PositionManager.LogName, "navx_y");
+        this.navxZChannel = logger.getChannel(PositionManager.LogName, "navx_z");
+        this.startAngleChannel = logger.getChannel(PositionManager.LogName, "start_angle");
+        this.timer = timer;
         this.driveTrainMechanism = driveTrainMechanism;
         this.navx = provider.getNavx();
         this.driver = null;
@@ -76,6 +112,16 @@ public class PositionManager implements IMechanism
 
         this.prevLeftDistance = 0.0;
         this.prevRightDistance = 0.0;
+
+        this.odometryDistance = 0.0;
+        this.odometryHeading = 0.0;
+
+        this.historyTimes = new double[TuningConstants.POSITION_HISTORY_LENGTH];
+        this.historyNavxAngles = new double[TuningConstants.POSITION_HISTORY_LENGTH];
+        this.historyOdometryHeadings = new double[TuningConstants.POSITION_HISTORY_LENGTH];
+        this.historyOdometryDistances = new double[TuningConstants.POSITION_HISTORY_LENGTH];
+        this.historyIndex = 0;
+        this.historyCount = 0;
     }
 
     /**
@@ -123,6 +169,8 @@ public class PositionManager implements IMechanism
         this.odometryY += averagePositionChange * Math.sin(angleR);
 
         this.odometryAngle = (angleR * 360 / (2 * Math.PI)) % 360;
+        this.odometryHeading = angleR * 360 / (2 * Math.PI);
+        this.odometryDistance += averagePositionChange;
 
         // record distance for next time
         this.prevLeftDistance = leftDistance;
@@ -135,16 +183,27 @@ public class PositionManager implements IMechanism
         this.navxY = this.navx.getDisplacementY() * 100.0;
         this.navxZ = this.navx.getDisplacementZ() * 100.0;
 
+        // record the pose in the history
+        this.historyTimes[this.historyIndex] = this.timer.get();
+        this.historyNavxAngles[this.historyIndex] = this.navxAngle;
+        this.historyOdometryHeadings[this.historyIndex] = this.odometryHeading;
+        this.historyOdometryDistances[this.historyIndex] = this.odometryDistance;
+        this.historyIndex = (this.historyIndex + 1) % this.historyTimes.length;
+        if (this.historyCount < this.historyTimes.length)
+        {
+            this.historyCount++;
+        }
+
         // log the current position and orientation
-        this.logger.logNumber(PositionManager.LogName, "odom_angle", this.odometryAngle);
-        this.logger.logNumber(PositionManager.LogName, "odom_x", this.odometryX);
-        this.logger.logNumber(PositionManager.LogName, "odom_y", this.odometryY);
-        this.logger.logBoolean(PositionManager.LogName, "navx_connected", this.navxIsConnected);
-        this.logger.logNumber(PositionManager.LogName, "navx_angle", this.navxAngle);
-        this.logger.logNumber(PositionManager.LogName, "navx_x", this.navxX);
-        this.logger.logNumber(PositionManager.LogName, "navx_y", this.navxY);
-        this.logger.logNumber(PositionManager.LogName, "navx_z", this.navxZ);
-        this.logger.logNumber(PositionManager.LogName, "start_angle", this.startAngle);
+        this.odomAngleChannel.logNumber(this.odometryAngle);
+        this.odomXChannel.logNumber(this.odometryX);
+        this.odomYChannel.logNumber(this.odometryY);
+        this.navxConnectedChannel.logBoolean(this.navxIsConnected);
+        this.navxAngleChannel.logNumber(this.navxAngle);
+        this.navxXChannel.logNumber(this.navxX);
+        this.navxYChannel.logNumber(this.navxY);
+        this.navxZChannel.logNumber(this.navxZ);
+        this.startAngleChannel.logNumber(this.startAngle);
     }
 
     /**
@@ -241,6 +300,27 @@ public class PositionManager implements IMechanism
         return this.navxZ;
     }
 
+    /**
+     * Retrieve how far the robot has turned since a recent time, using the navx if it is connected
+     * @param time to measure from (times older than the history use the oldest recorded pose)
+     * @return the change in angle in degrees (clockwise positive)
+     */
+    public double getHeadingChangeSince(double time)
+    {
+        double[] headings = this.navxIsConnected ? this.historyNavxAngles : this.historyOdometryHeadings;
+        return this.getHistoryChangeSince(headings, time);
+    }
+
+    /**
+     * Retrieve how far the robot has driven since a recent time
+     * @param time to measure from (times older than the history use the oldest recorded pose)
+     * @return the distance traveled (forward positive)
+     */
+    public double getDistanceTraveledSince(double time)
+    {
+        return this.getHistoryChangeSince(this.historyOdometryDistances, time);
+    }
+
     /**
      * reset the position manager so it considers the current location to be "0"
      */
@@ -259,7 +339,52 @@ public class PositionManager implements IMechanism
         this.prevLeftDistance = 0.0;
         this.prevRightDistance = 0.0;
 
+        this.odometryDistance = 0.0;
+        this.odometryHeading = 0.0;
+
+        this.historyIndex = 0;
+        this.historyCount = 0;
+
         this.navx.reset();
         this.navx.resetDisplacement();
     }
+
+    /**
+     * Calculate the change in a value in the history between a recent time and the newest recorded pose,
+     * interpolating between the recorded poses on either side of the time.
+     * @param values in the history
+     * @param time to measure from
+     * @return the change in the value
+     */
+    private double getHistoryChangeSince(double[] values, double time)
+    {
+        if (this.historyCount == 0)
+        {
+            return 0.0;
+        }
+
+        int length = this.historyTimes.length;
+        int newest = (this.historyIndex + length - 1) % length;
+        if (time >= this.historyTimes[newest])
+        {
+            return 0.0;
+        }
+
+        int index = newest;
+        for (int i = 1; i < this.historyCount; i++)
+        {
+            int older = (index + length - 1) % length;
+            if (this.historyTimes[older] <= time)
+            {
+                double span = this.historyTimes[index] - this.historyTimes[older];
+                double ratio = span > 0.0 ? (time - this.historyTimes[older]) / span : 1.0;
+                double value = values[older] + (values[index] - values[older]) * ratio;
+                return values[newest] - value;
+            }
+
+            index = older;
+        }
+
+        return values[newest] - values[index];
+    }
 }
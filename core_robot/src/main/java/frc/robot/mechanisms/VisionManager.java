@@ -11,6 +11,9 @@ import frc.robot.vision.*;
 import frc.robot.vision.common.*;
 import frc.robot.vision.pipelines.*;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicStampedReference;
+
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
@@ -25,116 +28,200 @@ public class VisionManager implements IMechanism, IVisionListener<ICentroidVisio
 {
     private final static String LogName = "vision";
 
-    private final IDashboardLogger logger;
+    private final ILogChannel centerChannel;
+    private final ILogChannel fpsChannel;
+    private final ILogChannel distChannel;
+    private final ILogChannel dAngleChannel;
+    private final ILogChannel mAngleChannel;
+    private final ILogChannel pixelsChannel;
+    private final ILogChannel droppedChannel;
+    private final ILogChannel droppedWritesChannel;
+    private final ILogChannel latencyChannel;
+    private final ILogChannel compensatedDistChannel;
+    private final ILogChannel compensatedMAngleChannel;
+    private final ILogChannel cameraFpsChannel;
+    private final ILogChannel throughputChannel;
+
     private final ITimer timer;
     private final IMotor ringLight;
     private final GrabberMechanism grabberMechanism;
-
-    private final Object visionLock;
+    private final PositionManager positionManager;
+    private final LoopProfiler profiler;
 
     private final IUsbCamera camera;
     private final Thread visionThread;
     private final ICentroidVisionPipeline visionPipeline;
+    private final PipelinedVisionExecutor<RotatedRectValues> visionExecutor;
+    private final VisionFrameRateGovernor fpsGovernor;
 
     private Driver driver;
     private VisionProcessingState currentState;
+    private int cameraFps;
 
-    private IPoint center;
+    // only incremented by the thread that publishes samples
+    private volatile long processedFrameCount;
 
-    private Double desiredAngleX;
-    private Double measuredAngleX;
-    private Double distanceFromRobot;
+    // published by the vision thread as a single reference, so readers see outputs from the same frame without locking.
+    // the stamp is the generation of the processing state, which changes whenever the state does, so that a frame that
+    // was checked against the old state can't publish over the sample that the new state started with
+    private final AtomicStampedReference<VisionSample> latestSample;
 
-    private double lastMeasuredFps;
+    // only used by the thread that publishes samples
+    private final int[] publishGeneration;
+
+    // the sample used for the current loop, with measurements projected forward to when the sensors were read
+    private VisionSample loopSample;
+    private Double compensatedMeasuredAngleX;
+    private Double compensatedDistanceFromRobot;
 
     /**
      * Initializes a new VisionManager
      * @param logger to use
      * @param timer to use
      * @param provider for obtaining electronics objects
+     * @param grabberMechanism for grabber reference
+     * @param positionManager for projecting vision measurements forward to the current time
+     * @param profiler for checking whether the control loop is overrunning its budget
      */
     @Inject
     public VisionManager(
         IDashboardLogger logger,
         ITimer timer,
         IRobotProvider provider,
-        GrabberMechanism grabberMechanism)
+        GrabberMechanism grabberMechanism,
+        PositionManager positionManager,
+        LoopProfiler profiler)
     {
-        this.logger = logger;
+        this.centerChannel = logger.getChannel(VisionManager.LogName, "center");
+        this.fpsChannel = logger.getChannel(VisionManager.LogName, "fps");
+        this.distChannel = logger.getChannel(VisionManager.LogName, "dist");
+        this.dAngleChannel = logger.getChannel(VisionManager.LogName, "dAngle");
+        this.mAngleChannel = logger.getChannel(VisionManager.LogName, "mAngle");
+        this.pixelsChannel = logger.getChannel(VisionManager.LogName, "pixels");
+        this.droppedChannel = logger.getChannel(VisionManager.LogName, "dropped");
+        this.droppedWritesChannel = logger.getChannel(VisionManager.LogName, "droppedWrites");
+        this.latencyChannel = logger.getChannel(VisionManager.LogName, "latency");
+        this.compensatedDistChannel = logger.getChannel(VisionManager.LogName, "dist_comp");
+        this.compensatedMAngleChannel = logger.getChannel(VisionManager.LogName, "mAngle_comp");
+        this.cameraFpsChannel = logger.getChannel(VisionManager.LogName, "cameraFps");
+        this.throughputChannel = logger.getChannel(VisionManager.LogName, "throughput");
         this.timer = timer;
         this.ringLight = provider.getTalon(ElectronicsConstants.VISION_RING_LIGHT_PWM_CHANNEL);
         this.grabberMechanism = grabberMechanism;
+        this.positionManager = positionManager;
+        this.profiler = profiler;
 
-        this.visionLock = new Object();
+        if (VisionConstants.FPS_GOVERNOR_ENABLED)
+        {
+            this.fpsGovernor = new VisionFrameRateGovernor(
+                VisionConstants.FPS_GOVERNOR_LEVELS,
+                VisionConstants.FPS_GOVERNOR_IDLE_FPS,
+                VisionConstants.FPS_GOVERNOR_STANDBY_FPS,
+                VisionConstants.FPS_GOVERNOR_ACTIVE_FPS,
+                VisionConstants.FPS_GOVERNOR_EVALUATION_PERIOD,
+                VisionConstants.FPS_GOVERNOR_OVERRUN_THRESHOLD,
+                VisionConstants.FPS_GOVERNOR_THROUGHPUT_HEADROOM,
+                VisionConstants.FPS_GOVERNOR_RECOVERY_PERIODS);
+            this.cameraFps = this.fpsGovernor.getFps();
+        }
+        else
+        {
+            this.fpsGovernor = null;
+            this.cameraFps = VisionConstants.LIFECAM_CAMERA_FPS;
+        }
 
         this.camera = provider.getUsbCamera("usb0", 0);
         this.camera.setResolution(VisionConstants.LIFECAM_CAMERA_RESOLUTION_X, VisionConstants.LIFECAM_CAMERA_RESOLUTION_Y);
 
         this.camera.setExposureAuto();
         this.camera.setBrightness(VisionConstants.LIFECAM_CAMERA_OPERATOR_BRIGHTNESS);
-        this.camera.setFPS(VisionConstants.LIFECAM_CAMERA_FPS);
+        this.camera.setFPS(this.cameraFps);
 
-        this.visionPipeline = new HSVDockingCenterRectanglePipeline(this.timer, provider, VisionConstants.SHOULD_UNDISTORT);
-        this.visionThread = this.camera.createVisionThread(this, this.visionPipeline);
-        this.visionThread.start();
+        HSVDockingCenterRectanglePipeline pipeline = new HSVDockingCenterRectanglePipeline(this.timer, provider, VisionConstants.SHOULD_UNDISTORT);
+        this.visionPipeline = pipeline;
+        if (VisionConstants.PIPELINED_VISION_ENABLED)
+        {
+            // the camera's thread only captures frames, and the executor reports each result as soon as it is ready
+            this.visionExecutor = new PipelinedVisionExecutor<RotatedRectValues>(
+                this.timer,
+                provider.getOpenCVProvider(),
+                pipeline,
+                () -> this.copyPipelineOutputs(pipeline),
+                VisionConstants.PIPELINED_VISION_FRAME_BUFFERS,
+                VisionConstants.LIFECAM_CAMERA_RESOLUTION_X,
+                VisionConstants.LIFECAM_CAMERA_RESOLUTION_Y);
+            this.visionThread = this.camera.createVisionThread((PipelinedVisionExecutor<RotatedRectValues> executor) -> {}, this.visionExecutor);
+            this.visionExecutor.start();
+        }
+        else
+        {
+            this.visionExecutor = null;
+            this.visionThread = this.camera.createVisionThread(this, this.visionPipeline);
+        }
 
         this.driver = null;
         this.currentState = VisionProcessingState.Disabled;
+        this.processedFrameCount = 0;
 
-        this.center = null;
-        this.desiredAngleX = null;
-        this.measuredAngleX = null;
-        this.distanceFromRobot = null;
+        this.latestSample = new AtomicStampedReference<VisionSample>(VisionSample.Empty, 0);
+        this.publishGeneration = new int[1];
+        this.loopSample = VisionSample.Empty;
+        this.compensatedMeasuredAngleX = null;
+        this.compensatedDistanceFromRobot = null;
 
-        this.lastMeasuredFps = 0.0;
+        this.visionThread.start();
+    }
+
+    /**
+     * Gets the outputs of the vision pipeline for the most recently processed frame
+     * @return the latest sample
+     */
+    public VisionSample getLatestSample()
+    {
+        return this.latestSample.getReference();
     }
 
     public IPoint getCenter()
     {
-        synchronized (this.visionLock)
-        {
-            return this.center;
-        }
+        return this.loopSample.getCenter();
     }
 
     public VisionProcessingState getState()
     {
-        synchronized (this.visionLock)
-        {
-            return this.currentState;
-        }
+        return this.currentState;
     }
 
+    /**
+     * Gets the measured angle to the target, adjusted for how far the robot has turned since the frame was captured
+     * @return the measured angle in degrees, or null if there is no target
+     */
     public Double getMeasuredAngle()
     {
-        synchronized (this.visionLock)
-        {
-            return this.measuredAngleX;
-        }
+        return this.compensatedMeasuredAngleX;
     }
 
     public Double getDesiredAngle()
     {
-        synchronized (this.visionLock)
-        {
-            return this.desiredAngleX;
-        }
+        return this.loopSample.getDesiredAngleX();
     }
 
+    /**
+     * Gets the distance to the target, adjusted for how far the robot has driven since the frame was captured
+     * @return the distance, or null if there is no target
+     */
     public Double getMeasuredDistance()
     {
-        synchronized (this.visionLock)
-        {
-            return this.distanceFromRobot;
-        }
+        return this.compensatedDistanceFromRobot;
     }
 
     public double getLastMeasuredFps()
     {
-        synchronized (this.visionLock)
-        {
-            return this.lastMeasuredFps;
-        }
+        return this.loopSample.getFps();
+    }
+
+    public int getLastProcessedPixelCount()
+    {
+        return this.loopSample.getProcessedPixelCount();
     }
 
     /**
@@ -143,17 +230,43 @@ public class VisionManager implements IMechanism, IVisionListener<ICentroidVisio
     @Override
     public void readSensors()
     {
-        IPoint center = this.getCenter();
-        Double fps = this.getLastMeasuredFps();
-        Double dist = this.getMeasuredDistance();
-        Double dAngle = this.getDesiredAngle();
-        Double mAngle = this.getMeasuredAngle();
-
-        this.logger.logPoint(VisionManager.LogName, "center", center);
-        this.logger.logNumber(VisionManager.LogName, "fps", fps);
-        this.logger.logNumber(VisionManager.LogName, "dist", dist);
-        this.logger.logNumber(VisionManager.LogName, "dAngle", dAngle);
-        this.logger.logNumber(VisionManager.LogName, "mAngle", mAngle);
+        VisionSample sample = this.latestSample.getReference();
+        int dropped = this.visionExecutor != null ? (int)this.visionExecutor.getDroppedFrameCount() : 0;
+
+        // the position manager has already read its sensors, so project the measurements forward to now
+        Double measuredAngleX = sample.getMeasuredAngleX();
+        Double distanceFromRobot = sample.getDistanceFromRobot();
+        if (TuningConstants.VISION_LATENCY_COMPENSATION_ENABLED)
+        {
+            double captureTime = sample.getCaptureTime();
+            if (measuredAngleX != null)
+            {
+                measuredAngleX = measuredAngleX - this.positionManager.getHeadingChangeSince(captureTime);
+            }
+
+            if (distanceFromRobot != null)
+            {
+                distanceFromRobot = distanceFromRobot - this.positionManager.getDistanceTraveledSince(captureTime);
+            }
+        }
+
+        this.loopSample = sample;
+        this.compensatedMeasuredAngleX = measuredAngleX;
+        this.compensatedDistanceFromRobot = distanceFromRobot;
+
+        this.centerChannel.logPoint(sample.getCenter());
+        this.fpsChannel.logNumber(sample.getFps());
+        this.distChannel.logNumber(sample.getDistanceFromRobot());
+        this.dAngleChannel.logNumber(sample.getDesiredAngleX());
+        this.mAngleChannel.logNumber(sample.getMeasuredAngleX());
+        this.pixelsChannel.logInteger(sample.getProcessedPixelCount());
+        this.droppedChannel.logInteger(dropped);
+        this.droppedWritesChannel.logInteger((int)this.visionPipeline.getDroppedFrameWriteCount());
+        this.latencyChannel.logNumber(sample.getLatency());
+        this.compensatedDistChannel.logNumber(distanceFromRobot);
+        this.compensatedMAngleChannel.logNumber(measuredAngleX);
+        this.cameraFpsChannel.logInteger(this.cameraFps);
+        this.throughputChannel.logNumber(this.fpsGovernor != null ? this.fpsGovernor.getLastThroughput() : null);
     }
 
     @Override
@@ -206,6 +319,22 @@ public class VisionManager implements IMechanism, IVisionListener<ICentroidVisio
         }
 
         this.visionPipeline.setGamePiece(gamePiece);
+
+        if (this.fpsGovernor != null)
+        {
+            // the centering tasks hold their enable operation for as long as they are using the results
+            boolean hasConsumer =
+                this.driver.getDigital(DigitalOperation.VisionEnableCargoShip) ||
+                this.driver.getDigital(DigitalOperation.VisionEnableRocket);
+
+            this.setCameraFps(
+                this.fpsGovernor.update(
+                    this.currentState != VisionProcessingState.Disabled,
+                    hasConsumer,
+                    this.processedFrameCount,
+                    this.profiler.getOverrunCount(),
+                    this.timer.get()));
+        }
     }
 
     @Override
@@ -215,14 +344,24 @@ public class VisionManager implements IMechanism, IVisionListener<ICentroidVisio
         this.visionPipeline.setMode(VisionProcessingState.Disabled);
         this.visionPipeline.setStreamMode(true);
         this.currentState = VisionProcessingState.Disabled;
+        if (this.fpsGovernor != null)
+        {
+            this.fpsGovernor.reset();
+            this.setCameraFps(this.fpsGovernor.getFps());
+        }
 
-        this.center = null;
-
-        this.desiredAngleX = null;
-        this.measuredAngleX = null;
-        this.distanceFromRobot = null;
+        this.clearSamples();
+    }
 
-        this.lastMeasuredFps = 0.0;
+    /**
+     * Stop the vision processing threads, for when the robot is being discarded (e.g. at the end of a simulated run)
+     */
+    public void shutdown()
+    {
+        if (this.visionExecutor != null)
+        {
+            this.visionExecutor.stop();
+        }
     }
 
     @Override
@@ -241,27 +380,28 @@ public class VisionManager implements IMechanism, IVisionListener<ICentroidVisio
     @Override
     public void copyPipelineOutputs(ICentroidVisionPipeline pipeline)
     {
-        synchronized (this.visionLock)
-        {
-            if (pipeline.isActive())
-            {
-                this.center = pipeline.getCenter();
-
-                this.desiredAngleX = pipeline.getDesiredAngleX();
-                this.measuredAngleX = pipeline.getMeasuredAngleX();
-                this.distanceFromRobot = pipeline.getRobotDistance();
+        this.processedFrameCount++;
 
-                this.lastMeasuredFps = pipeline.getFps();
-            }
-            else
-            {
-                this.center = null;
-                this.desiredAngleX = null;
-                this.measuredAngleX = null;
-                this.distanceFromRobot = null;
-                this.lastMeasuredFps = 0.0;
-            }
+        // read the generation before checking the pipeline's state, and only publish if the state hasn't changed since
+        VisionSample previousSample = this.latestSample.get(this.publishGeneration);
+        int generation = this.publishGeneration[0];
+        if (!pipeline.isActive())
+        {
+            this.latestSample.compareAndSet(previousSample, VisionSample.Empty, generation, generation);
+            return;
         }
+
+        VisionSample sample = new VisionSample(
+            pipeline.getCaptureTime(),
+            this.timer.get(),
+            pipeline.getCenter(),
+            pipeline.getMeasuredAngleX(),
+            pipeline.getDesiredAngleX(),
+            pipeline.getRobotDistance(),
+            pipeline.getFps(),
+            pipeline.getProcessedPixelCount());
+
+        this.latestSample.compareAndSet(previousSample, sample, generation, generation);
     }
 
     private void changeState(VisionProcessingState desiredState)
@@ -273,18 +413,53 @@ public class VisionManager implements IMechanism, IVisionListener<ICentroidVisio
         {
             this.camera.setExposureManual(VisionConstants.LIFECAM_CAMERA_VISION_EXPOSURE);
             this.camera.setBrightness(VisionConstants.LIFECAM_CAMERA_VISION_BRIGHTNESS);
-            this.camera.setFPS(VisionConstants.LIFECAM_CAMERA_FPS);
         }
         else
         {
             this.camera.setExposureAuto();
             this.camera.setBrightness(VisionConstants.LIFECAM_CAMERA_OPERATOR_BRIGHTNESS);
+        }
+
+        if (this.fpsGovernor == null)
+        {
             this.camera.setFPS(VisionConstants.LIFECAM_CAMERA_FPS);
         }
 
         this.ringLight.set(hsvMode ? VisionConstants.RING_LIGHT_ON : VisionConstants.RING_LIGHT_OFF);
         this.visionPipeline.setMode(desiredState);
+        if (desiredState == VisionProcessingState.Disabled)
+        {
+            // the pipeline stops processing frames once it is disabled, so nothing else would replace the last sample
+            // (and a frame that is still in flight can't publish over this one, as the generation has changed)
+            this.clearSamples();
+        }
+        else
+        {
+            // the previous state's sample doesn't apply to the new one, and its frames in flight mustn't publish either
+            this.latestSample.set(VisionSample.Empty, this.latestSample.getStamp() + 1);
+        }
 
         this.currentState = desiredState;
     }
+
+    /**
+     * Clear the vision samples, starting a new generation so that frames checked against the previous processing
+     * state are not published
+     */
+    private void clearSamples()
+    {
+        this.latestSample.set(VisionSample.Empty, this.latestSample.getStamp() + 1);
+        this.loopSample = VisionSample.Empty;
+        this.compensatedMeasuredAngleX = null;
+        this.compensatedDistanceFromRobot = null;
+    }
+
+    private void setCameraFps(int fps)
+    {
+        if (fps != this.cameraFps)
+        {
+            this.camera.setFPS(fps);
+            this.cameraFps = fps;
+        }
+    }
 }
@@ -18,6 +18,16 @@ public class RectanglePair
         this.center = null;
     }
 
+    public IRotatedRect getLeft()
+    {
+        return this.left;
+    }
+
+    public IRotatedRect getRight()
+    {
+        return this.right;
+    }
+
     public IPoint getCenter()
     {
         if (this.center == null)
@@ -50,12 +60,34 @@ public class RectanglePair
 
     public double getMeasuredAngleX()
     {
-        return Math.atan(this.getXOffset() / VisionConstants.LIFECAM_CAMERA_FOCAL_LENGTH_X) * VisionConstants.RADIANS_TO_ANGLE - VisionConstants.DOCKING_CAMERA_HORIZONTAL_MOUNTING_ANGLE;
+        return RectanglePair.getMeasuredAngleX(this.getX());
     }
 
     public double getMeasuredAngleY()
     {
-        return Math.atan(this.getYOffset() / VisionConstants.LIFECAM_CAMERA_FOCAL_LENGTH_Y) * VisionConstants.RADIANS_TO_ANGLE;
+        return RectanglePair.getMeasuredAngleY(this.getY());
+    }
+
+    /**
+     * Calculate the horizontal angle to a point in the frame
+     * @param x coordinate of the point
+     * @return the measured angle in degrees
+     */
+    static double getMeasuredAngleX(double x)
+    {
+        double xOffset = x - VisionConstants.LIFECAM_CAMERA_CENTER_WIDTH;
+        return Math.atan(xOffset / VisionConstants.LIFECAM_CAMERA_FOCAL_LENGTH_X) * VisionConstants.RADIANS_TO_ANGLE - VisionConstants.DOCKING_CAMERA_HORIZONTAL_MOUNTING_ANGLE;
+    }
+
+    /**
+     * Calculate the vertical angle to a point in the frame
+     * @param y coordinate of the point
+     * @return the measured angle in degrees
+     */
+    static double getMeasuredAngleY(double y)
+    {
+        double yOffset = VisionConstants.LIFECAM_CAMERA_CENTER_HEIGHT - y;
+        return Math.atan(yOffset / VisionConstants.LIFECAM_CAMERA_FOCAL_LENGTH_Y) * VisionConstants.RADIANS_TO_ANGLE;
     }
 
     private IRotatedRect getPreferredRect()
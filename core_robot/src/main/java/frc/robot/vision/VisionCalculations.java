@@ -2,57 +2,373 @@ package frc.robot.vision;
 
 import frc.robot.GamePiece;
 import frc.robot.common.robotprovider.*;
+import frc.robot.vision.common.RotatedRectValues;
 import frc.robot.vision.common.VisionProcessingState;
 import frc.robot.vision.common.VisionResult;
 
 import java.util.*;
 
+/**
+ * Calculations for finding the vision targets among the rectangles found in a frame.
+ *
+ * groupRotatedRect() and findPreferredPair() work on primitive arrays that are reused from frame to frame, so an
+ * instance must only be used by one thread at a time.
+ */
 public class VisionCalculations
 {
     private static double EPS = 0.01;
 
+    private static final double RowHeight = 30.0; // rectangles whose centers are within this many pixels vertically of a row's first rectangle are in that row
+    private static final int SortIndexBits = 24; // bits of each sort key that hold the index of the rectangle
+    private static final double SortKeyScale = 4096.0; // fractions of a pixel to keep when sorting by X
+
+    // buffers for grouping and pairing, indexed by valid rectangle, row or bucket and grown as needed
+    private int[] rectIndex;
+    private double[] rectX;
+    private double[] rectY;
+    private double[] rectAngle;
+    private int[] rectRow;
+    private double[] rowY;
+    private int[] rowNextInBucket;
+    private int[] bucketFirstRow;
+    private long[] sortKeys;
+
+    // the valid rectangles picked by the last call to pickPair(), or -1 for none
+    private int pickedLeft;
+    private int pickedRight;
+
     public VisionCalculations()
     {
+        this.ensureCapacity(16);
+        this.bucketFirstRow = new int[16];
     }
 
     public List<Set<IRotatedRect>> groupRotatedRect(List<IRotatedRect> rotatedRect)
     {
+        int count = this.groupRows(rotatedRect);
+
+        // each row keeps its rectangles in the order they were added, so that its first rectangle is the one the row is based on
         List<Set<IRotatedRect>> rows = new ArrayList<Set<IRotatedRect>>();
-        for (IRotatedRect rect : rotatedRect)
+        for (int i = 0; i < count; i++)
+        {
+            int row = this.rectRow[i];
+            if (row == rows.size())
+            {
+                rows.add(new LinkedHashSet<IRotatedRect>());
+            }
+
+            rows.get(row).add(rotatedRect.get(this.rectIndex[i]));
+        }
+
+        return rows;
+    }
+
+    /**
+     * Find the pair of target rectangles that is closest to the center of the frame within the chosen row, without
+     * allocating anything other than the result.  This is equivalent to groupRotatedRect(), pickRow(),
+     * pairRectangles() and pickPreferredPair() in sequence.
+     * @param rotatedRect the rectangles found in the frame
+     * @param visionResult which row of targets to pick
+     * @param centerWidth the X coordinate of the center of the frame
+     * @param maxDistance the furthest distance from the robot to consider a pair
+     * @return the preferred pair, or null if no pair was found
+     */
+    public RectanglePair findPreferredPair(List<IRotatedRect> rotatedRect, VisionResult visionResult, double centerWidth, double maxDistance)
+    {
+        int count = this.groupRows(rotatedRect);
+        if (!this.pickPair(count, visionResult, centerWidth, maxDistance))
+        {
+            return null;
+        }
+
+        return new RectanglePair(
+            this.pickedLeft != -1 ? rotatedRect.get(this.rectIndex[this.pickedLeft]) : null,
+            this.pickedRight != -1 ? rotatedRect.get(this.rectIndex[this.pickedRight]) : null);
+    }
+
+    /**
+     * Find the pair of target rectangles that is closest to the center of the frame within the chosen row, working
+     * directly on the packed values of the rectangles so that only the rectangles of the chosen pair are created.
+     * This is equivalent to findPreferredPair() with a rotated rect for each of the values.
+     * @param provider to use to create the rotated rects of the chosen pair
+     * @param rotatedRects the values of the rectangles found in the frame
+     * @param visionResult which row of targets to pick
+     * @param centerWidth the X coordinate of the center of the frame
+     * @param maxDistance the furthest distance from the robot to consider a pair
+     * @return the preferred pair, or null if no pair was found
+     */
+    public RectanglePair findPreferredPair(IOpenCVProvider provider, RotatedRectValues rotatedRects, VisionResult visionResult, double centerWidth, double maxDistance)
+    {
+        int count = this.groupRows(rotatedRects);
+        if (!this.pickPair(count, visionResult, centerWidth, maxDistance))
+        {
+            return null;
+        }
+
+        return new RectanglePair(
+            this.pickedLeft != -1 ? rotatedRects.toRotatedRect(provider, this.rectIndex[this.pickedLeft]) : null,
+            this.pickedRight != -1 ? rotatedRects.toRotatedRect(provider, this.rectIndex[this.pickedRight]) : null);
+    }
+
+    /**
+     * Pick the row and the pair within it from the grouped rectangles in the buffers, recording the picked rectangles
+     * in pickedLeft and pickedRight
+     * @param count the number of well-formed rectangles in the buffers
+     * @param visionResult which row of targets to pick
+     * @param centerWidth the X coordinate of the center of the frame
+     * @param maxDistance the furthest distance from the robot to consider a pair
+     * @return true if a pair was found
+     */
+    private boolean pickPair(int count, VisionResult visionResult, double centerWidth, double maxDistance)
+    {
+        this.pickedLeft = -1;
+        this.pickedRight = -1;
+        if (count == 0)
+        {
+            return false;
+        }
+
+        // pick the row (the highest for high targets, otherwise the lowest) based on each row's first rectangle
+        int rowCount = 0;
+        for (int i = 0; i < count; i++)
         {
-            boolean added = false;
+            rowCount = Math.max(rowCount, this.rectRow[i] + 1);
+        }
 
-            // skip malformed rectangles
-            // reject rectangles that are malformed compared to the expected aspect ration of 5.5/2.0
-            if (rect.getAspectRatio() > 5.0 || rect.getAspectRatio() < 1.0)
+        int pickedRow = 0;
+        for (int row = 1; row < rowCount; row++)
+        {
+            if (VisionResult.HIGH_TARGET.equals(visionResult) ?
+                this.rowY[row] < this.rowY[pickedRow] :
+                this.rowY[row] > this.rowY[pickedRow])
             {
-                continue;
+                pickedRow = row;
             }
+        }
 
-            // put the rectangle in a row
-            for (Set<IRotatedRect> row : rows)
+        // like pickRow(), when there are multiple rows only pick one that is above Double.MIN_VALUE (for low targets)
+        // or below Double.MAX_VALUE (for high targets)
+        if (rowCount > 1 &&
+            (VisionResult.HIGH_TARGET.equals(visionResult) ?
+                !(this.rowY[pickedRow] < Double.MAX_VALUE) :
+                !(this.rowY[pickedRow] > Double.MIN_VALUE)))
+        {
+            return false;
+        }
+
+        // sort the rectangles in the row by their center X, keeping the index of each rectangle in the low bits
+        int rowLength = 0;
+        for (int i = 0; i < count; i++)
+        {
+            if (this.rectRow[i] == pickedRow)
+            {
+                this.sortKeys[rowLength++] = (Math.round(this.rectX[i] * VisionCalculations.SortKeyScale) << VisionCalculations.SortIndexBits) | i;
+            }
+        }
+
+        Arrays.sort(this.sortKeys, 0, rowLength);
+
+        // pair each left rectangle with the right rectangle after it, and keep the best pair
+        int indexMask = (1 << VisionCalculations.SortIndexBits) - 1;
+        int bestLeft = -1;
+        int bestRight = -1;
+        double minAngleFromCenter = Double.MAX_VALUE;
+        int left = -1;
+        for (int i = 0; i <= rowLength; i++)
+        {
+            int pairLeft;
+            int pairRight;
+            if (i == rowLength)
             {
-                IRotatedRect compare = row.stream().findFirst().get();
-                if (Math.abs(rect.getCenter().getY() - compare.getCenter().getY()) < 30)
+                if (left == -1)
                 {
-                    row.add(rect);
-                    added = true;
                     break;
                 }
+
+                // unpaired rectangle?  may be near the edge of the viewport...
+                pairLeft = left;
+                pairRight = -1;
             }
+            else
+            {
+                int current = (int)(this.sortKeys[i] & indexMask);
+                if (this.isLeft(this.rectAngle[current]))
+                {
+                    int previousLeft = left;
+                    left = current;
+                    if (previousLeft == -1)
+                    {
+                        continue;
+                    }
 
-            if (added)
+                    // multiple lefts in a row?  right may be obscured...
+                    pairLeft = previousLeft;
+                    pairRight = -1;
+                }
+                else
+                {
+                    pairLeft = left;
+                    pairRight = current;
+                    left = -1;
+                }
+            }
+
+            int preferred = pairLeft != -1 ? pairLeft : pairRight;
+            double angleFromCenter = Math.abs(centerWidth - this.rectX[preferred]);
+            double distance = this.getDistanceFromRobot(
+                RectanglePair.getMeasuredAngleX(this.rectX[preferred]),
+                RectanglePair.getMeasuredAngleY(this.rectY[preferred]));
+            if (distance <= maxDistance &&
+                angleFromCenter < minAngleFromCenter)
+            {
+                minAngleFromCenter = angleFromCenter;
+                bestLeft = pairLeft;
+                bestRight = pairRight;
+            }
+        }
+
+        this.pickedLeft = bestLeft;
+        this.pickedRight = bestRight;
+        return bestLeft != -1 || bestRight != -1;
+    }
+
+    /**
+     * Copy the well-formed rectangles into the buffers and group them into rows
+     * @param rotatedRect the rectangles found in the frame
+     * @return the number of well-formed rectangles in the buffers
+     */
+    private int groupRows(List<IRotatedRect> rotatedRect)
+    {
+        this.ensureCapacity(rotatedRect.size());
+
+        int count = 0;
+        double maxY = 0.0;
+        for (int i = 0; i < rotatedRect.size(); i++)
+        {
+            IRotatedRect rect = rotatedRect.get(i);
+
+            // reject rectangles that are malformed compared to the expected aspect ratio of 5.5/2.0
+            double aspectRatio = rect.getAspectRatio();
+            if (aspectRatio > 5.0 || aspectRatio < 1.0)
             {
                 continue;
             }
 
-            // no row exists, create a new row
-            Set<IRotatedRect> row = new HashSet<IRotatedRect>();
-            row.add(rect);
-            rows.add(row);
+            double[] values = rect.getRawValues();
+            this.rectIndex[count] = i;
+            this.rectX[count] = values[0];
+            this.rectY[count] = values[1];
+            this.rectAngle[count] = values[4];
+            maxY = Math.max(maxY, values[1]);
+            count++;
         }
 
-        return rows;
+        this.groupBufferedRows(count, maxY);
+        return count;
+    }
+
+    /**
+     * Copy the well-formed rectangles into the buffers and group them into rows
+     * @param rotatedRects the values of the rectangles found in the frame
+     * @return the number of well-formed rectangles in the buffers
+     */
+    private int groupRows(RotatedRectValues rotatedRects)
+    {
+        this.ensureCapacity(rotatedRects.getCount());
+
+        int count = 0;
+        double maxY = 0.0;
+        for (int i = 0; i < rotatedRects.getCount(); i++)
+        {
+            // reject rectangles that are malformed compared to the expected aspect ratio of 5.5/2.0
+            double aspectRatio = rotatedRects.getAspectRatio(i);
+            if (aspectRatio > 5.0 || aspectRatio < 1.0)
+            {
+                continue;
+            }
+
+            this.rectIndex[count] = i;
+            this.rectX[count] = rotatedRects.getCenterX(i);
+            this.rectY[count] = rotatedRects.getCenterY(i);
+            this.rectAngle[count] = rotatedRects.getAngle(i);
+            maxY = Math.max(maxY, this.rectY[count]);
+            count++;
+        }
+
+        this.groupBufferedRows(count, maxY);
+        return count;
+    }
+
+    /**
+     * Group the rectangles in the buffers into rows.  Each rectangle joins the earliest row whose first rectangle is
+     * within RowHeight of it vertically, found by bucketing the rows by Y.
+     * @param count the number of well-formed rectangles in the buffers
+     * @param maxY the largest center Y of the rectangles in the buffers (or 0.0, if larger)
+     */
+    private void groupBufferedRows(int count, double maxY)
+    {
+        // the first and last buckets stay empty, so that the buckets on either side of any rectangle's bucket always exist
+        int bucketCount = (int)(maxY / VisionCalculations.RowHeight) + 3;
+        if (this.bucketFirstRow.length < bucketCount)
+        {
+            this.bucketFirstRow = new int[bucketCount * 2];
+        }
+
+        Arrays.fill(this.bucketFirstRow, 0, bucketCount, -1);
+
+        int rowCount = 0;
+        for (int i = 0; i < count; i++)
+        {
+            double y = this.rectY[i];
+            int bucket = this.getBucket(y);
+
+            int row = -1;
+            for (int nearbyBucket = bucket - 1; nearbyBucket <= bucket + 1; nearbyBucket++)
+            {
+                for (int nearbyRow = this.bucketFirstRow[nearbyBucket]; nearbyRow != -1; nearbyRow = this.rowNextInBucket[nearbyRow])
+                {
+                    if ((row == -1 || nearbyRow < row) &&
+                        Math.abs(y - this.rowY[nearbyRow]) < VisionCalculations.RowHeight)
+                    {
+                        row = nearbyRow;
+                    }
+                }
+            }
+
+            if (row == -1)
+            {
+                // no row exists, create a new row
+                row = rowCount++;
+                this.rowY[row] = y;
+                this.rowNextInBucket[row] = this.bucketFirstRow[bucket];
+                this.bucketFirstRow[bucket] = row;
+            }
+
+            this.rectRow[i] = row;
+        }
+    }
+
+    private int getBucket(double y)
+    {
+        return (int)(Math.max(0.0, y) / VisionCalculations.RowHeight) + 1;
+    }
+
+    private void ensureCapacity(int count)
+    {
+        if (this.rectIndex != null && this.rectIndex.length >= count)
+        {
+            return;
+        }
+
+        int capacity = Math.max(count, this.rectIndex == null ? 0 : this.rectIndex.length * 2);
+        this.rectIndex = new int[capacity];
+        this.rectX = new double[capacity];
+        this.rectY = new double[capacity];
+        this.rectAngle = new double[capacity];
+        this.rectRow = new int[capacity];
+        this.rowY = new double[capacity];
+        this.rowNextInBucket = new int[capacity];
+        this.sortKeys = new long[capacity];
     }
 
     public VisionResult determineVisionResult(GamePiece gamePiece, VisionProcessingState processingState)
@@ -84,7 +400,7 @@ public class VisionCalculations
             Set<IRotatedRect> lowestRow = null;
             for (Set<IRotatedRect> row : rows)
             {
-                IRotatedRect rect = row.stream().findFirst().get();
+                IRotatedRect rect = row.iterator().next();
                 if (rect.getCenter().getY() < lowestY)
                 {
                     lowestY = rect.getCenter().getY();
@@ -100,7 +416,7 @@ public class VisionCalculations
             Set<IRotatedRect> highestRow = null;
             for (Set<IRotatedRect> row : rows)
             {
-                IRotatedRect rect = row.stream().findFirst().get();
+                IRotatedRect rect = row.iterator().next();
                 if (rect.getCenter().getY() > highestY)
                 {
                     highestY = rect.getCenter().getY();
@@ -114,7 +430,11 @@ public class VisionCalculations
 
     boolean isLeft(IRotatedRect rect)
     {
-        double rectAngle = rect.getAngle();
+        return this.isLeft(rect.getAngle());
+    }
+
+    private boolean isLeft(double rectAngle)
+    {
         if (rectAngle < -45.0 && rectAngle > -90.0)
         {
             return true;
@@ -267,12 +587,22 @@ public class VisionCalculations
 
     public double getDistanceFromCamera(RectanglePair pair)
     {
-        return (VisionConstants.DOCKING_CAMERA_MOUNTING_HEIGHT - VisionConstants.ROCKET_TO_GROUND_TAPE_HEIGHT)/(Math.tan((VisionConstants.DOCKING_CAMERA_VERTICAL_MOUNTING_ANGLE - pair.getMeasuredAngleY()) * VisionConstants.ANGLE_TO_RADIANS));
+        return this.getDistanceFromCamera(pair.getMeasuredAngleY());
     }
 
     public double getDistanceFromRobot(RectanglePair pair)
     {
-        return this.getDistanceFromCamera(pair) * Math.cos(pair.getMeasuredAngleX() * VisionConstants.ANGLE_TO_RADIANS) - VisionConstants.DOCKING_CAMERA_MOUNTING_DISTANCE;    
+        return this.getDistanceFromRobot(pair.getMeasuredAngleX(), pair.getMeasuredAngleY());
+    }
+
+    private double getDistanceFromCamera(double measuredAngleY)
+    {
+        return (VisionConstants.DOCKING_CAMERA_MOUNTING_HEIGHT - VisionConstants.ROCKET_TO_GROUND_TAPE_HEIGHT)/(Math.tan((VisionConstants.DOCKING_CAMERA_VERTICAL_MOUNTING_ANGLE - measuredAngleY) * VisionConstants.ANGLE_TO_RADIANS));
+    }
+
+    private double getDistanceFromRobot(double measuredAngleX, double measuredAngleY)
+    {
+        return this.getDistanceFromCamera(measuredAngleY) * Math.cos(measuredAngleX * VisionConstants.ANGLE_TO_RADIANS) - VisionConstants.DOCKING_CAMERA_MOUNTING_DISTANCE;
     }
 
     public double getDesiredAngleX(RectanglePair pair)
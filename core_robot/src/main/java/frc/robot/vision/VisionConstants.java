@@ -14,6 +14,7 @@ public class VisionConstants
     public static final boolean DEBUG_OUTPUT_FRAMES = false;
     public static final boolean DEBUG_SAVE_FRAMES = false;
     public static final int DEBUG_FRAME_OUTPUT_GAP = 20; // the number of frames to wait between saving debug image output
+    public static final int DEBUG_SAVE_FRAMES_QUEUE_LENGTH = 4; // the number of saved frames that can be waiting to be written before the oldest is dropped
     public static final String DEBUG_OUTPUT_FOLDER = "/home/lvuser/vision/";
     public static final String BASE_PATH = "C:\\Users\\james\\IdeaProjects2018\\irs1318_2019\\";
     public static final String REPO_PATH = "fauxbot\\src\\test\\resources\\frc.robot.vision.pipelines\\";
@@ -59,6 +60,28 @@ public class VisionConstants
     // Contour filtering constants
     public static final double CONTOUR_MIN_AREA = 0.0;
 
+    // Region-of-interest tracking constants
+    public static final boolean ROI_TRACKING_ENABLED = true;
+    public static final int ROI_ACQUISITION_DOWNSCALE = 2; // factor to shrink the frame by when searching the whole frame for targets (1 to search at full resolution)
+    public static final int ROI_MARGIN = 24; // pixels to add around the last detected targets
+    public static final int ROI_LOST_EXPANSION = 32; // pixels to grow each side of the region by for each frame where the targets were lost
+    public static final int ROI_MAX_LOST_FRAMES = 5; // frames without targets before falling back to searching the whole frame
+
+    // Pipelined processing constants
+    public static final boolean PIPELINED_VISION_ENABLED = true; // run thresholding and geometry on their own threads, separate from capture
+    public static final int PIPELINED_VISION_FRAME_BUFFERS = 3; // captured frames that can be in flight at once (capturing, queued and thresholding)
+
+    // Frame rate governor constants
+    public static final boolean FPS_GOVERNOR_ENABLED = true; // pick the camera frame rate based on how vision is being used and the load on the robot
+    public static final int[] FPS_GOVERNOR_LEVELS = new int[] { 5, 10, 15, 20, 30 }; // frame rates supported by the LifeCam, lowest to highest
+    public static final int FPS_GOVERNOR_IDLE_FPS = 10; // only streaming frames to the operator
+    public static final int FPS_GOVERNOR_STANDBY_FPS = 15; // processing frames, but no task is using the results
+    public static final int FPS_GOVERNOR_ACTIVE_FPS = VisionConstants.LIFECAM_CAMERA_FPS; // a task is using the results (e.g. docking)
+    public static final double FPS_GOVERNOR_EVALUATION_PERIOD = 1.0; // seconds between checks of loop overruns and pipeline throughput
+    public static final int FPS_GOVERNOR_OVERRUN_THRESHOLD = 2; // control loop overruns per period above which the frame rate is stepped down
+    public static final double FPS_GOVERNOR_THROUGHPUT_HEADROOM = 2.0; // frames per second that the pipeline can fall behind the camera before the frame rate is stepped down
+    public static final int FPS_GOVERNOR_RECOVERY_PERIODS = 3; // calm periods in a row before the frame rate is stepped back up
+
     // Real measurements
     public static final double DOCKING_RETROREFLECTIVE_TAPE_HEIGHT = 5.875; // 5.5 inches tall
     public static final double DOCKING_RETROREFLECTIVE_TAPE_HEIGHT_STRAIGHT = 5.5;
@@ -0,0 +1,187 @@
+package frc.robot.vision;
+
+/**
+ * Picks the frame rate for the camera to capture at, so that vision only uses as much CPU as it needs to.
+ *
+ * The desired rate depends on what vision is being used for: idle (only streaming to the operator), standby (active,
+ * but nothing is consuming the results) or active (a task is using the results).  Once per evaluation period, the
+ * rate is stepped down one level if the control loop overran its budget too often or if the pipeline couldn't keep
+ * up with the frames it was given.  After enough calm periods in a row it is stepped back up, one level at a time.
+ *
+ * Rates are always chosen from the provided levels, as cameras only support a few specific frame rates.
+ */
+public class VisionFrameRateGovernor
+{
+    private final int[] fpsLevels;
+    private final int idleLevel;
+    private final int standbyLevel;
+    private final int activeLevel;
+    private final double evaluationPeriod;
+    private final int overrunThreshold;
+    private final double throughputHeadroom;
+    private final int recoveryPeriods;
+
+    private int desiredLevel;
+    private int currentLevel;
+    private int throttleLevels;
+    private int calmPeriods;
+
+    private double periodStartTime;
+    private long periodStartFrameCount;
+    private int periodStartOverrunCount;
+    private double lastThroughput;
+
+    /**
+     * Initializes a new VisionFrameRateGovernor
+     * @param fpsLevels the frame rates that the camera supports, from lowest to highest
+     * @param idleFps to use when vision processing is disabled
+     * @param standbyFps to use when vision processing is active but nothing is using the results
+     * @param activeFps to use when a task is using the results
+     * @param evaluationPeriod the time in seconds between evaluations of loop overruns and pipeline throughput
+     * @param overrunThreshold the number of control loop overruns in a period above which the rate is stepped down
+     * @param throughputHeadroom how far below the capture rate the pipeline throughput can be before the rate is stepped down
+     * @param recoveryPeriods the number of calm periods in a row before the rate is stepped back up
+     */
+    public VisionFrameRateGovernor(
+        int[] fpsLevels,
+        int idleFps,
+        int standbyFps,
+        int activeFps,
+        double evaluationPeriod,
+        int overrunThreshold,
+        double throughputHeadroom,
+        int recoveryPeriods)
+    {
+        this.fpsLevels = fpsLevels;
+        this.idleLevel = this.getLevel(idleFps);
+        this.standbyLevel = this.getLevel(standbyFps);
+        this.activeLevel = this.getLevel(activeFps);
+        this.evaluationPeriod = evaluationPeriod;
+        this.overrunThreshold = overrunThreshold;
+        this.throughputHeadroom = throughputHeadroom;
+        this.recoveryPeriods = recoveryPeriods;
+
+        this.reset();
+    }
+
+    /**
+     * Forget any throttling, and go back to the idle rate
+     */
+    public void reset()
+    {
+        this.desiredLevel = this.idleLevel;
+        this.currentLevel = this.idleLevel;
+        this.throttleLevels = 0;
+        this.calmPeriods = 0;
+
+        this.periodStartTime = -1.0;
+        this.periodStartFrameCount = 0;
+        this.periodStartOverrunCount = 0;
+        this.lastThroughput = 0.0;
+    }
+
+    /**
+     * Update the frame rate based on the current usage of vision and the load on the robot
+     * @param isProcessing whether the vision pipeline is processing frames (rather than just streaming them)
+     * @param hasConsumer whether a task is currently using the vision results
+     * @param processedFrameCount the total number of frames that the pipeline has finished processing
+     * @param overrunCount the total number of control loops that have exceeded the loop budget
+     * @param now the current time in seconds
+     * @return the frame rate that the camera should capture at
+     */
+    public int update(boolean isProcessing, boolean hasConsumer, long processedFrameCount, int overrunCount, double now)
+    {
+        int desiredLevel = this.idleLevel;
+        if (hasConsumer)
+        {
+            desiredLevel = this.activeLevel;
+        }
+        else if (isProcessing)
+        {
+            desiredLevel = this.standbyLevel;
+        }
+
+        if (desiredLevel != this.desiredLevel || this.periodStartTime < 0.0)
+        {
+            // start over from the desired rate, as the last period's measurements were for a different rate
+            this.desiredLevel = desiredLevel;
+            this.currentLevel = Math.max(0, desiredLevel - this.throttleLevels);
+            this.startPeriod(processedFrameCount, overrunCount, now);
+            return this.getFps();
+        }
+
+        double elapsedTime = now - this.periodStartTime;
+        if (elapsedTime < this.evaluationPeriod)
+        {
+            return this.getFps();
+        }
+
+        int overruns = overrunCount - this.periodStartOverrunCount;
+        this.lastThroughput = (processedFrameCount - this.periodStartFrameCount) / elapsedTime;
+
+        boolean overloaded = overruns > this.overrunThreshold;
+        boolean fallingBehind = isProcessing && this.lastThroughput < this.fpsLevels[this.currentLevel] - this.throughputHeadroom;
+        if (overloaded || fallingBehind)
+        {
+            this.calmPeriods = 0;
+            if (this.currentLevel > 0)
+            {
+                this.currentLevel--;
+                this.throttleLevels = this.desiredLevel - this.currentLevel;
+            }
+        }
+        else if (this.currentLevel < this.desiredLevel && ++this.calmPeriods >= this.recoveryPeriods)
+        {
+            this.calmPeriods = 0;
+            this.currentLevel++;
+            this.throttleLevels = this.desiredLevel - this.currentLevel;
+        }
+
+        this.startPeriod(processedFrameCount, overrunCount, now);
+        return this.getFps();
+    }
+
+    /**
+     * Gets the frame rate that the camera should capture at
+     * @return the frame rate
+     */
+    public int getFps()
+    {
+        return this.fpsLevels[this.currentLevel];
+    }
+
+    /**
+     * Gets the rate at which the pipeline finished frames during the last evaluation period
+     * @return the throughput in frames per second
+     */
+    public double getLastThroughput()
+    {
+        return this.lastThroughput;
+    }
+
+    private void startPeriod(long processedFrameCount, int overrunCount, double now)
+    {
+        this.periodStartTime = now;
+        this.periodStartFrameCount = processedFrameCount;
+        this.periodStartOverrunCount = overrunCount;
+    }
+
+    /**
+     * Gets the highest level whose frame rate is no more than the provided rate
+     * @param fps the frame rate
+     * @return the level
+     */
+    private int getLevel(int fps)
+    {
+        int level = 0;
+        for (int i = 0; i < this.fpsLevels.length; i++)
+        {
+            if (this.fpsLevels[i] <= fps)
+            {
+                level = i;
+            }
+        }
+
+        return level;
+    }
+}
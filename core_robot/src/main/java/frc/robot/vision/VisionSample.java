@@ -0,0 +1,106 @@
+package frc.robot.vision;
+
+import frc.robot.common.robotprovider.IPoint;
+
+/**
+ * An immutable snapshot of the outputs of the vision pipeline for a single frame.
+ *
+ * Samples are published from the vision thread as a single reference, so that a reader always sees a set of
+ * outputs that were all calculated from the same frame.
+ *
+ */
+public class VisionSample
+{
+    public static final VisionSample Empty = new VisionSample(0.0, 0.0, null, null, null, null, 0.0, 0);
+
+    private final double captureTime;
+    private final double publishTime;
+
+    private final IPoint center;
+    private final Double measuredAngleX;
+    private final Double desiredAngleX;
+    private final Double distanceFromRobot;
+
+    private final double fps;
+    private final int processedPixelCount;
+
+    /**
+     * Initializes a new VisionSample
+     * @param captureTime the time when the frame was captured
+     * @param publishTime the time when the outputs for the frame were published
+     * @param center of the target, or null if no target was found
+     * @param measuredAngleX to the target, or null if no target was found
+     * @param desiredAngleX to the target, or null if no target was found
+     * @param distanceFromRobot to the target, or null if no target was found
+     * @param fps that the pipeline was processing frames at
+     * @param processedPixelCount the number of pixels that were color filtered for the frame
+     */
+    public VisionSample(
+        double captureTime,
+        double publishTime,
+        IPoint center,
+        Double measuredAngleX,
+        Double desiredAngleX,
+        Double distanceFromRobot,
+        double fps,
+        int processedPixelCount)
+    {
+        this.captureTime = captureTime;
+        this.publishTime = publishTime;
+        this.center = center;
+        this.measuredAngleX = measuredAngleX;
+        this.desiredAngleX = desiredAngleX;
+        this.distanceFromRobot = distanceFromRobot;
+        this.fps = fps;
+        this.processedPixelCount = processedPixelCount;
+    }
+
+    public double getCaptureTime()
+    {
+        return this.captureTime;
+    }
+
+    public double getPublishTime()
+    {
+        return this.publishTime;
+    }
+
+    /**
+     * Gets the time between when the frame was captured and when its outputs were published
+     * @return the latency in seconds
+     */
+    public double getLatency()
+    {
+        return this.publishTime - this.captureTime;
+    }
+
+    public IPoint getCenter()
+    {
+        return this.center;
+    }
+
+    public Double getMeasuredAngleX()
+    {
+        return this.measuredAngleX;
+    }
+
+    public Double getDesiredAngleX()
+    {
+        return this.desiredAngleX;
+    }
+
+    public Double getDistanceFromRobot()
+    {
+        return this.distanceFromRobot;
+    }
+
+    public double getFps()
+    {
+        return this.fps;
+    }
+
+    public int getProcessedPixelCount()
+    {
+        return this.processedPixelCount;
+    }
+}
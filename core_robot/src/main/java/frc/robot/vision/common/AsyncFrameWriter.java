@@ -0,0 +1,116 @@
+package frc.robot.vision.common;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import frc.robot.common.robotprovider.IMat;
+import frc.robot.common.robotprovider.IOpenCVProvider;
+
+/**
+ * Writes debug frames to disk on a background thread, so that encoding and file I/O don't slow down the vision thread.
+ *
+ * Each frame is cloned when it is queued, and the clone is released once it has been written.  The queue is bounded:
+ * when it is full, the oldest queued frame is dropped to make room for the newest one.
+ */
+public class AsyncFrameWriter
+{
+    private final IOpenCVProvider openCVProvider;
+    private final String outputFolder;
+    private final ArrayBlockingQueue<QueuedFrame> queue;
+    private final AtomicLong droppedWriteCount;
+    private final Thread writerThread;
+
+    /**
+     * Initializes a new AsyncFrameWriter and starts its thread
+     * @param openCVProvider to use to write the frames
+     * @param outputFolder to write the frames into
+     * @param queueLength the number of frames that can be waiting to be written
+     */
+    public AsyncFrameWriter(IOpenCVProvider openCVProvider, String outputFolder, int queueLength)
+    {
+        this.openCVProvider = openCVProvider;
+        this.outputFolder = outputFolder;
+        this.queue = new ArrayBlockingQueue<QueuedFrame>(queueLength);
+        this.droppedWriteCount = new AtomicLong();
+
+        this.writerThread = new Thread(this::run, "VisionFrameWriter");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queue a copy of the frame to be written as (output folder)image(frame number)(suffix)
+     * @param image to write
+     * @param frameNumber of the frame
+     * @param suffix for the file name, including the extension (e.g. "-1.jpg")
+     */
+    public void write(IMat image, long frameNumber, String suffix)
+    {
+        QueuedFrame frame = new QueuedFrame(image.clone(), frameNumber, suffix);
+        while (!this.queue.offer(frame))
+        {
+            QueuedFrame droppedFrame = this.queue.poll();
+            if (droppedFrame != null)
+            {
+                droppedFrame.image.release();
+                this.droppedWriteCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of frames that were dropped because the queue was full
+     * @return the number of dropped frames
+     */
+    public long getDroppedWriteCount()
+    {
+        return this.droppedWriteCount.get();
+    }
+
+    /**
+     * Write loop, run on the writer thread
+     */
+    private void run()
+    {
+        while (true)
+        {
+            QueuedFrame frame;
+            try
+            {
+                frame = this.queue.take();
+            }
+            catch (InterruptedException e)
+            {
+                return;
+            }
+
+            try
+            {
+                this.openCVProvider.imwrite(
+                    String.format("%simage%d%s", this.outputFolder, frame.frameNumber, frame.suffix),
+                    frame.image);
+            }
+            finally
+            {
+                frame.image.release();
+            }
+        }
+    }
+
+    /**
+     * A cloned frame waiting to be written
+     */
+    private static class QueuedFrame
+    {
+        private final IMat image;
+        private final long frameNumber;
+        private final String suffix;
+
+        private QueuedFrame(IMat image, long frameNumber, String suffix)
+        {
+            this.image = image;
+            this.frameNumber = frameNumber;
+            this.suffix = suffix;
+        }
+    }
+}
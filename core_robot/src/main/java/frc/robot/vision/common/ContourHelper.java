@@ -291,6 +291,32 @@ public class ContourHelper
         return largeContours;
     }
 
+    /**
+     * Find the minimum-area rotated rects around the contours in the frame, measuring the contours in one batch
+     * @param frame in which to look for contours
+     * @param minContourArea is the minimum contour area allowable
+     * @param buffer to reuse for the contour measurements (must measure min-area rects)
+     * @return rotated rects of the contours, in the order they were found
+     */
+    public static List<IRotatedRect> getAllRotatedRects(IOpenCVProvider provider, IMat frame, double minContourArea, ContourShapeBuffer buffer)
+    {
+        buffer.find(provider, frame, ContourHelper.IMGPROC_RETR_EXTERNAL, ContourHelper.IMGPROC_CHAIN_APPROX_TC89_KCOS, null, minContourArea);
+        return buffer.toRotatedRects(provider);
+    }
+
+    /**
+     * Find the minimum-area rotated rects around the contours in the frame, without creating a rotated rect for each
+     * @param frame in which to look for contours
+     * @param minContourArea is the minimum contour area allowable
+     * @param buffer to reuse for the contour measurements (must measure min-area rects)
+     * @return values of the rotated rects of the contours, in the order they were found
+     */
+    public static RotatedRectValues getAllMinAreaRects(IOpenCVProvider provider, IMat frame, double minContourArea, ContourShapeBuffer buffer)
+    {
+        buffer.find(provider, frame, ContourHelper.IMGPROC_RETR_EXTERNAL, ContourHelper.IMGPROC_CHAIN_APPROX_TC89_KCOS, null, minContourArea);
+        return buffer.copyMinAreaRects();
+    }
+
     /**
      * Find the center of mass for a contour using Moments.
      * http://docs.opencv.org/3.1.0/d8/d23/classcv_1_1Moments.html
@@ -0,0 +1,141 @@
+package frc.robot.vision.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import frc.robot.common.robotprovider.*;
+
+/**
+ * Reusable buffers for the measurements of the contours found in a frame by IOpenCVProvider.findContourShapes().
+ *
+ * The buffers grow to fit the largest number of contours seen so far, so after the first few frames finding
+ * contours doesn't allocate anything per contour.  An instance must only be used by one thread at a time.
+ */
+public class ContourShapeBuffer
+{
+    private static final int BoundingRectStride = 4;
+    private static final int MinAreaRectStride = RotatedRectValues.Stride;
+
+    private final boolean measureBoundingRects;
+    private final boolean measureMinAreaRects;
+
+    private double[] areas;
+    private double[] boundingRects;
+    private double[] minAreaRects;
+    private int count;
+
+    /**
+     * Initializes a new ContourShapeBuffer
+     * @param initialCapacity the number of contours to allocate room for
+     * @param measureBoundingRects whether to measure the bounding rect of each contour
+     * @param measureMinAreaRects whether to measure the minimum-area rotated rect of each contour
+     */
+    public ContourShapeBuffer(int initialCapacity, boolean measureBoundingRects, boolean measureMinAreaRects)
+    {
+        this.measureBoundingRects = measureBoundingRects;
+        this.measureMinAreaRects = measureMinAreaRects;
+        this.allocate(Math.max(1, initialCapacity));
+        this.count = 0;
+    }
+
+    /**
+     * Find and measure the contours in the frame, replacing the contents of the buffers
+     * @param provider to use to find the contours
+     * @param frame in which to look for contours
+     * @param mode contour retrieval mode (e.g. RETR_EXTERNAL)
+     * @param method contour approximation method (e.g. CHAIN_APPROX_TC89_KCOS)
+     * @param offset to add to every contour point, or null for none
+     * @param minContourArea is the minimum contour area allowable
+     * @return the number of contours found
+     */
+    public int find(IOpenCVProvider provider, IMat frame, int mode, int method, IPoint offset, double minContourArea)
+    {
+        int found = provider.findContourShapes(frame, mode, method, offset, minContourArea, this.areas, this.boundingRects, this.minAreaRects);
+        if (found > this.areas.length)
+        {
+            // more contours than we had room for, so grow and search again (findContours doesn't modify the frame)
+            this.allocate(found);
+            found = provider.findContourShapes(frame, mode, method, offset, minContourArea, this.areas, this.boundingRects, this.minAreaRects);
+        }
+
+        this.count = Math.min(found, this.areas.length);
+        return this.count;
+    }
+
+    public int getCount()
+    {
+        return this.count;
+    }
+
+    public double getArea(int index)
+    {
+        return this.areas[index];
+    }
+
+    public double getBoundingX(int index)
+    {
+        return this.boundingRects[ContourShapeBuffer.BoundingRectStride * index];
+    }
+
+    public double getBoundingY(int index)
+    {
+        return this.boundingRects[ContourShapeBuffer.BoundingRectStride * index + 1];
+    }
+
+    public double getBoundingWidth(int index)
+    {
+        return this.boundingRects[ContourShapeBuffer.BoundingRectStride * index + 2];
+    }
+
+    public double getBoundingHeight(int index)
+    {
+        return this.boundingRects[ContourShapeBuffer.BoundingRectStride * index + 3];
+    }
+
+    /**
+     * Create rotated rects for the minimum-area rects of the contours that were found.  The rects are new objects, so
+     * they can be handed to another thread while the buffer is reused for the next frame.
+     * @param provider to use to create the rotated rects
+     * @return the rotated rects, in the order the contours were found
+     */
+    public List<IRotatedRect> toRotatedRects(IOpenCVProvider provider)
+    {
+        List<IRotatedRect> rotatedRects = new ArrayList<IRotatedRect>(this.count);
+        for (int i = 0; i < this.count; i++)
+        {
+            int start = ContourShapeBuffer.MinAreaRectStride * i;
+            rotatedRects.add(
+                provider.newRotatedRect(
+                    this.minAreaRects[start],
+                    this.minAreaRects[start + 1],
+                    this.minAreaRects[start + 2],
+                    this.minAreaRects[start + 3],
+                    this.minAreaRects[start + 4]));
+        }
+
+        return rotatedRects;
+    }
+
+    /**
+     * Copy the minimum-area rects of the contours that were found.  The values are copied, so they can be handed to
+     * another thread while the buffer is reused for the next frame.
+     * @return the rects' values, in the order the contours were found
+     */
+    public RotatedRectValues copyMinAreaRects()
+    {
+        if (this.count == 0)
+        {
+            return RotatedRectValues.Empty;
+        }
+
+        return new RotatedRectValues(Arrays.copyOf(this.minAreaRects, ContourShapeBuffer.MinAreaRectStride * this.count), this.count);
+    }
+
+    private void allocate(int capacity)
+    {
+        this.areas = new double[capacity];
+        this.boundingRects = this.measureBoundingRects ? new double[ContourShapeBuffer.BoundingRectStride * capacity] : null;
+        this.minAreaRects = this.measureMinAreaRects ? new double[ContourShapeBuffer.MinAreaRectStride * capacity] : null;
+    }
+}
@@ -1,16 +1,23 @@
 package frc.robot.vision.common;
 
 import frc.robot.common.robotprovider.*;
+import frc.robot.vision.VisionConstants;
 
 public class HSVFilter
 {
     private static final int IMGPROC_COLOR_BGR2HSV = 40;
+    private static final int CVTYPE_CV_8UC1 = 0;
+    private static final int CVTYPE_CV_8UC3 = 16;
 
     private final IOpenCVProvider provider;
 
     private final IScalar lowerBound;
     private final IScalar upperBound;
 
+    // scratch buffers, reused for every frame
+    private final IMat hsvFrame;
+    private final IMat filteredFrame;
+
     /**
      * Initializes a new instance of the HSVFilter class.
      * @param lowerBound of HSV to filter
@@ -22,23 +29,23 @@ public class HSVFilter
 
         this.lowerBound = lowerBound;
         this.upperBound = upperBound;
+
+        this.hsvFrame = provider.newMat(VisionConstants.LIFECAM_CAMERA_RESOLUTION_Y, VisionConstants.LIFECAM_CAMERA_RESOLUTION_X, HSVFilter.CVTYPE_CV_8UC3);
+        this.filteredFrame = provider.newMat(VisionConstants.LIFECAM_CAMERA_RESOLUTION_Y, VisionConstants.LIFECAM_CAMERA_RESOLUTION_X, HSVFilter.CVTYPE_CV_8UC1);
     }
 
     /**
      * Filter the provided frame for HSVs within the provider bounds.
+     * The frame is not modified.  The returned matrix is owned by the filter and is overwritten by the next call,
+     * so it must not be released by the caller.
      * @param frame to filter
      * @return a matrix of 1s and 0s based on whether the pixel is within the provided HSV range or not, respectively.
      */
     public IMat filterHSV(IMat frame)
     {
-        IMat sourceBGR = frame.clone();
-        provider.cvtColor(sourceBGR, frame, HSVFilter.IMGPROC_COLOR_BGR2HSV);
-        sourceBGR.release();
-
-        IMat sourceHSV = frame.clone();
-        provider.inRange(sourceHSV, this.lowerBound, this.upperBound, frame);
-        sourceHSV.release();
+        this.provider.cvtColor(frame, this.hsvFrame, HSVFilter.IMGPROC_COLOR_BGR2HSV);
+        this.provider.inRange(this.hsvFrame, this.lowerBound, this.upperBound, this.filteredFrame);
 
-        return frame;
+        return this.filteredFrame;
     }
 }
@@ -0,0 +1,33 @@
+package frc.robot.vision.common;
+
+import frc.robot.common.robotprovider.IMat;
+
+/**
+ * A vision pipeline that is split into stages that can run on separate threads.
+ *
+ * @param <T> the output of the threshold stage, consumed by the geometry stage
+ */
+public interface IPipelinedVisionPipeline<T>
+{
+    /**
+     * Handle a frame as it is captured from the camera (e.g. streaming it), on the capture thread
+     * @param image that was captured, which is only valid for the duration of the call
+     * @return true if the frame should be processed by the following stages
+     */
+    boolean capture(IMat image);
+
+    /**
+     * Color conversion, thresholding and contour finding for a frame, on the threshold thread
+     * @param image to process
+     * @return the output to pass to the geometry stage
+     */
+    T threshold(IMat image);
+
+    /**
+     * Geometry calculations for the output of the threshold stage, on the geometry thread.
+     * Once this returns, the pipeline's results reflect this frame.
+     * @param thresholdOutput from the threshold stage
+     * @param captureTime when the frame was captured
+     */
+    void calculate(T thresholdOutput, double captureTime);
+}
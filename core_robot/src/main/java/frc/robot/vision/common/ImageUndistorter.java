@@ -1,11 +1,13 @@
 package frc.robot.vision.common;
 
 import frc.robot.common.robotprovider.*;
+import frc.robot.vision.VisionConstants;
 
 public class ImageUndistorter
 {
     private static final int IMGPROC_INTER_LINEAR = 1;
     private static final int IMGPROC_WARP_FILL_OUTLIERS = 8;
+    private static final int CVTYPE_CV_8UC3 = 16;
     private static final int CVTYPE_CV_32FC1 = 5;
 
     private final IOpenCVProvider provider;
@@ -13,6 +15,10 @@ public class ImageUndistorter
     private IMat mapX;
     private IMat mapY;
 
+    // scratch buffer and border value, reused for every frame
+    private final IMat undistortedFrame;
+    private final IScalar borderValue;
+
     /**
      * Initializes a new instance of the ImageUndistorter class.
      * For background, see http://docs.opencv.org/3.1.0/d4/d94/tutorial_camera_calibration.html
@@ -46,21 +52,22 @@ public class ImageUndistorter
 
         R.release();
         newCameraMatrix.release();
+
+        this.undistortedFrame = provider.newMat(VisionConstants.LIFECAM_CAMERA_RESOLUTION_Y, VisionConstants.LIFECAM_CAMERA_RESOLUTION_X, ImageUndistorter.CVTYPE_CV_8UC3);
+        this.borderValue = provider.newScalar(0);
     }
 
     /**
-     * Undistort the frame so that straight lines appear straight in the image
+     * Undistort the frame so that straight lines appear straight in the image.
+     * The frame is not modified.  The returned matrix is owned by the undistorter and is overwritten by the next call,
+     * so it must not be released by the caller.
      * @param frame to undistort
      * @return an non-distorted version of the provided frame
      */
     public IMat undistortFrame(IMat frame)
     {
-        IMat source = frame.clone();
-
-        this.provider.remap(source, frame, this.mapX, this.mapY, ImageUndistorter.IMGPROC_INTER_LINEAR, ImageUndistorter.IMGPROC_WARP_FILL_OUTLIERS, provider.newScalar(0));
-        source.release();
-
-        return frame;
+        this.provider.remap(frame, this.undistortedFrame, this.mapX, this.mapY, ImageUndistorter.IMGPROC_INTER_LINEAR, ImageUndistorter.IMGPROC_WARP_FILL_OUTLIERS, this.borderValue);
+        return this.undistortedFrame;
     }
 
     /**
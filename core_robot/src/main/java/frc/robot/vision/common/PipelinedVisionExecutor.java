@@ -0,0 +1,234 @@
+package frc.robot.vision.common;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import frc.robot.common.robotprovider.IMat;
+import frc.robot.common.robotprovider.IOpenCVProvider;
+import frc.robot.common.robotprovider.ITimer;
+import frc.robot.common.robotprovider.IVisionPipeline;
+
+/**
+ * Runs the stages of a pipelined vision pipeline on separate threads, so that the frame rate is bounded by the
+ * slowest stage rather than the sum of all of the stages.
+ *
+ * The camera's vision thread calls process() (the capture stage), which copies the frame into one of a fixed pool
+ * of buffers and hands it to the threshold thread, whose output is handed to the geometry thread.  Each hand-off
+ * holds only the latest item: if the next stage hasn't picked up the previous item yet, it is dropped in favor of
+ * the newer one.  After each frame completes the geometry stage, the result callback is run on the geometry thread.
+ *
+ * @param <T> the output of the threshold stage, consumed by the geometry stage
+ */
+public class PipelinedVisionExecutor<T> implements IVisionPipeline
+{
+    private static final int CVTYPE_CV_8UC3 = 16;
+
+    private final ITimer timer;
+    private final IPipelinedVisionPipeline<T> pipeline;
+    private final Runnable resultCallback;
+
+    private final ArrayBlockingQueue<CapturedFrame> freeFrames;
+    private final ArrayBlockingQueue<CapturedFrame> capturedFrames;
+    private final ArrayBlockingQueue<ThresholdOutput<T>> thresholdOutputs;
+
+    private final Thread thresholdThread;
+    private final Thread geometryThread;
+
+    private volatile boolean running;
+    // incremented by both the camera's vision thread and the threshold thread
+    private final AtomicLong droppedFrameCount;
+
+    /**
+     * Initializes a new PipelinedVisionExecutor
+     * @param timer to use to timestamp captured frames
+     * @param provider to use to allocate the frame buffers
+     * @param pipeline to run
+     * @param resultCallback to run on the geometry thread after each frame is completed
+     * @param frameBufferCount the number of frame buffers to allocate (at least 3: capturing, queued and thresholding)
+     * @param width of the frames
+     * @param height of the frames
+     */
+    public PipelinedVisionExecutor(
+        ITimer timer,
+        IOpenCVProvider provider,
+        IPipelinedVisionPipeline<T> pipeline,
+        Runnable resultCallback,
+        int frameBufferCount,
+        int width,
+        int height)
+    {
+        this.timer = timer;
+        this.pipeline = pipeline;
+        this.resultCallback = resultCallback;
+
+        this.freeFrames = new ArrayBlockingQueue<CapturedFrame>(frameBufferCount);
+        for (int i = 0; i < frameBufferCount; i++)
+        {
+            this.freeFrames.add(new CapturedFrame(provider.newMat(height, width, PipelinedVisionExecutor.CVTYPE_CV_8UC3)));
+        }
+
+        this.capturedFrames = new ArrayBlockingQueue<CapturedFrame>(1);
+        this.thresholdOutputs = new ArrayBlockingQueue<ThresholdOutput<T>>(1);
+
+        this.thresholdThread = new Thread(this::runThreshold, "VisionThreshold");
+        this.thresholdThread.setDaemon(true);
+        this.geometryThread = new Thread(this::runGeometry, "VisionGeometry");
+        this.geometryThread.setDaemon(true);
+
+        this.running = false;
+        this.droppedFrameCount = new AtomicLong();
+    }
+
+    /**
+     * Start the threshold and geometry threads
+     */
+    public void start()
+    {
+        this.running = true;
+        this.thresholdThread.start();
+        this.geometryThread.start();
+    }
+
+    /**
+     * Stop the threshold and geometry threads
+     */
+    public void stop()
+    {
+        this.running = false;
+        this.thresholdThread.interrupt();
+        this.geometryThread.interrupt();
+    }
+
+    /**
+     * Gets the number of frames that were dropped because a later stage was still busy
+     * @return the number of dropped frames
+     */
+    public long getDroppedFrameCount()
+    {
+        return this.droppedFrameCount.get();
+    }
+
+    /**
+     * Capture stage, called by the camera's vision thread for each frame
+     * @param image that was captured
+     */
+    @Override
+    public void process(IMat image)
+    {
+        double captureTime = this.timer.get();
+        if (!this.pipeline.capture(image))
+        {
+            return;
+        }
+
+        CapturedFrame frame = this.freeFrames.poll();
+        if (frame == null)
+        {
+            // every buffer is in use, so the later stages are behind
+            this.droppedFrameCount.incrementAndGet();
+            return;
+        }
+
+        image.copyTo(frame.image);
+        frame.captureTime = captureTime;
+
+        // replace any frame that the threshold thread hasn't picked up yet
+        CapturedFrame staleFrame = this.capturedFrames.poll();
+        if (staleFrame != null)
+        {
+            this.freeFrames.offer(staleFrame);
+            this.droppedFrameCount.incrementAndGet();
+        }
+
+        this.capturedFrames.offer(frame);
+    }
+
+    /**
+     * Threshold stage loop, run on the threshold thread
+     */
+    private void runThreshold()
+    {
+        while (this.running)
+        {
+            CapturedFrame frame;
+            try
+            {
+                frame = this.capturedFrames.take();
+            }
+            catch (InterruptedException e)
+            {
+                return;
+            }
+
+            ThresholdOutput<T> output;
+            try
+            {
+                output = new ThresholdOutput<T>(this.pipeline.threshold(frame.image), frame.captureTime);
+            }
+            finally
+            {
+                this.freeFrames.offer(frame);
+            }
+
+            // replace any output that the geometry thread hasn't picked up yet
+            if (this.thresholdOutputs.poll() != null)
+            {
+                this.droppedFrameCount.incrementAndGet();
+            }
+
+            this.thresholdOutputs.offer(output);
+        }
+    }
+
+    /**
+     * Geometry stage loop, run on the geometry thread
+     */
+    private void runGeometry()
+    {
+        while (this.running)
+        {
+            ThresholdOutput<T> output;
+            try
+            {
+                output = this.thresholdOutputs.take();
+            }
+            catch (InterruptedException e)
+            {
+                return;
+            }
+
+            this.pipeline.calculate(output.value, output.captureTime);
+            this.resultCallback.run();
+        }
+    }
+
+    /**
+     * A preallocated frame buffer, along with when the frame in it was captured
+     */
+    private static class CapturedFrame
+    {
+        private final IMat image;
+        private double captureTime;
+
+        private CapturedFrame(IMat image)
+        {
+            this.image = image;
+            this.captureTime = 0.0;
+        }
+    }
+
+    /**
+     * The output of the threshold stage for a frame, along with when the frame was captured
+     */
+    private static class ThresholdOutput<T>
+    {
+        private final T value;
+        private final double captureTime;
+
+        private ThresholdOutput(T value, double captureTime)
+        {
+            this.value = value;
+            this.captureTime = captureTime;
+        }
+    }
+}
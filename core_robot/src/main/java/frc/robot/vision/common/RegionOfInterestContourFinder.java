@@ -0,0 +1,355 @@
+package frc.robot.vision.common;
+
+import frc.robot.common.robotprovider.*;
+import frc.robot.vision.RectanglePair;
+import frc.robot.vision.VisionConstants;
+
+/**
+ * Fused HSV threshold and contour stage that only processes a region of interest around the last detected targets.
+ *
+ * While tracking, only the region around the last detected RectanglePair is converted, thresholded and searched for
+ * contours.  When the targets are lost the region grows each frame, and after too many lost frames we fall back to
+ * acquisition, where the whole frame is searched (optionally downscaled) to find a new region.
+ *
+ * Frames are expected to be at the LIFECAM resolution from VisionConstants.
+ */
+public class RegionOfInterestContourFinder
+{
+    private static final int IMGPROC_COLOR_BGR2HSV = 40;
+    private static final int IMGPROC_INTER_AREA = 3;
+    private static final int IMGPROC_RETR_EXTERNAL = 0;
+    private static final int IMGPROC_CHAIN_APPROX_TC89_KCOS = 4;
+    private static final int CVTYPE_CV_8UC1 = 0;
+    private static final int CVTYPE_CV_8UC3 = 16;
+
+    private final IOpenCVProvider provider;
+    private final IScalar lowerBound;
+    private final IScalar upperBound;
+    private final double minContourArea;
+    private final int acquisitionScale;
+    private final int margin;
+    private final int lostExpansion;
+    private final int maxLostFrames;
+
+    private final int frameWidth;
+    private final int frameHeight;
+
+    // scratch buffers, reused for every frame
+    private final IMat hsvFrame;
+    private final IMat filteredFrame;
+    private final IMat acquisitionFrame;
+    private final IMat acquisitionHsvFrame;
+    private final IMat acquisitionFilteredFrame;
+    private final ISize acquisitionSize;
+    private final ContourShapeBuffer acquisitionContours;
+    private final ContourShapeBuffer regionContours;
+    private final IScalar zero;
+
+    // current region of interest (right and bottom are exclusive)
+    private boolean isTracking;
+    private int regionLeft;
+    private int regionTop;
+    private int regionRight;
+    private int regionBottom;
+    private int lostFrames;
+
+    private int processedPixelCount;
+
+    /**
+     * Initializes a new instance of the RegionOfInterestContourFinder class.
+     * @param provider to use for OpenCV operations
+     * @param lowerBound of HSV to filter
+     * @param upperBound of HSV to filter
+     * @param minContourArea is the minimum contour area allowable
+     * @param acquisitionScale factor to shrink the frame by while acquiring targets (1 for full resolution)
+     * @param margin in pixels to add around the last detected targets
+     * @param lostExpansion in pixels to grow the region by for each frame where the targets were lost
+     * @param maxLostFrames the number of frames without targets before falling back to acquisition
+     */
+    public RegionOfInterestContourFinder(
+        IOpenCVProvider provider,
+        IScalar lowerBound,
+        IScalar upperBound,
+        double minContourArea,
+        int acquisitionScale,
+        int margin,
+        int lostExpansion,
+        int maxLostFrames)
+    {
+        this.provider = provider;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.minContourArea = minContourArea;
+        this.acquisitionScale = Math.max(1, acquisitionScale);
+        this.margin = margin;
+        this.lostExpansion = lostExpansion;
+        this.maxLostFrames = maxLostFrames;
+
+        this.frameWidth = VisionConstants.LIFECAM_CAMERA_RESOLUTION_X;
+        this.frameHeight = VisionConstants.LIFECAM_CAMERA_RESOLUTION_Y;
+
+        this.hsvFrame = provider.newMat(this.frameHeight, this.frameWidth, RegionOfInterestContourFinder.CVTYPE_CV_8UC3);
+        this.filteredFrame = provider.newMat(this.frameHeight, this.frameWidth, RegionOfInterestContourFinder.CVTYPE_CV_8UC1);
+        if (this.acquisitionScale > 1)
+        {
+            int acquisitionWidth = this.frameWidth / this.acquisitionScale;
+            int acquisitionHeight = this.frameHeight / this.acquisitionScale;
+            this.acquisitionFrame = provider.newMat(acquisitionHeight, acquisitionWidth, RegionOfInterestContourFinder.CVTYPE_CV_8UC3);
+            this.acquisitionHsvFrame = provider.newMat(acquisitionHeight, acquisitionWidth, RegionOfInterestContourFinder.CVTYPE_CV_8UC3);
+            this.acquisitionFilteredFrame = provider.newMat(acquisitionHeight, acquisitionWidth, RegionOfInterestContourFinder.CVTYPE_CV_8UC1);
+            this.acquisitionSize = provider.newSize(acquisitionWidth, acquisitionHeight);
+        }
+        else
+        {
+            this.acquisitionFrame = null;
+            this.acquisitionHsvFrame = null;
+            this.acquisitionFilteredFrame = null;
+            this.acquisitionSize = null;
+        }
+
+        this.acquisitionContours = new ContourShapeBuffer(16, true, false);
+        this.regionContours = new ContourShapeBuffer(16, false, true);
+        this.zero = provider.newScalar(0);
+
+        this.reset();
+    }
+
+    /**
+     * Forget the current region of interest, so that the next frame is acquired from the whole frame
+     */
+    public void reset()
+    {
+        this.isTracking = false;
+        this.lostFrames = 0;
+        this.setRegion(0, 0, this.frameWidth, this.frameHeight);
+        this.processedPixelCount = 0;
+    }
+
+    /**
+     * Find the rotated rectangles around the contours within the HSV bounds, in full-frame coordinates.
+     * The frame is not modified.
+     * @param frame to search, in BGR
+     * @return the values of the rotated rectangles of the contours that were found
+     */
+    public RotatedRectValues findRectangles(IMat frame)
+    {
+        this.processedPixelCount = 0;
+        if (!this.isTracking)
+        {
+            if (this.acquisitionScale > 1)
+            {
+                if (!this.acquire(frame))
+                {
+                    return RotatedRectValues.Empty;
+                }
+            }
+            else
+            {
+                this.setRegion(0, 0, this.frameWidth, this.frameHeight);
+            }
+        }
+
+        return this.findRectanglesInRegion(frame);
+    }
+
+    /**
+     * Update the region of interest based on the targets detected in the last frame
+     * @param pair that was detected, or null if the targets were lost
+     */
+    public void track(RectanglePair pair)
+    {
+        IRotatedRect left = pair != null ? pair.getLeft() : null;
+        IRotatedRect right = pair != null ? pair.getRight() : null;
+        if (left == null && right == null)
+        {
+            if (!this.isTracking)
+            {
+                return;
+            }
+
+            this.lostFrames++;
+            if (this.lostFrames > this.maxLostFrames)
+            {
+                this.isTracking = false;
+                this.lostFrames = 0;
+                return;
+            }
+
+            this.setRegion(
+                this.regionLeft - this.lostExpansion,
+                this.regionTop - this.lostExpansion,
+                this.regionRight + this.lostExpansion,
+                this.regionBottom + this.lostExpansion);
+
+            return;
+        }
+
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (IRotatedRect rect : new IRotatedRect[] { left, right })
+        {
+            if (rect == null)
+            {
+                continue;
+            }
+
+            IRect bounds = rect.boundingRect();
+            minX = Math.min(minX, bounds.getX());
+            minY = Math.min(minY, bounds.getY());
+            maxX = Math.max(maxX, bounds.getX() + bounds.getWidth());
+            maxY = Math.max(maxY, bounds.getY() + bounds.getHeight());
+        }
+
+        this.isTracking = true;
+        this.lostFrames = 0;
+        this.setRegion(
+            (int)Math.floor(minX) - this.margin,
+            (int)Math.floor(minY) - this.margin,
+            (int)Math.ceil(maxX) + this.margin,
+            (int)Math.ceil(maxY) + this.margin);
+    }
+
+    /**
+     * Gets whether we are currently tracking a region of interest (rather than acquiring from the whole frame)
+     * @return true if tracking
+     */
+    public boolean isTracking()
+    {
+        return this.isTracking;
+    }
+
+    /**
+     * Gets the number of pixels that were converted and thresholded for the last frame
+     * @return the number of pixels processed
+     */
+    public int getProcessedPixelCount()
+    {
+        return this.processedPixelCount;
+    }
+
+    /**
+     * Gets the thresholded image from the last frame, with everything outside of the region of interest cleared.
+     * The returned matrix is owned by the finder and is overwritten by the next frame, so it must not be released.
+     * @return the thresholded image
+     */
+    public IMat getFilteredFrame()
+    {
+        return this.filteredFrame;
+    }
+
+    /**
+     * Search the downscaled frame for contours, and set the region of interest to cover all of them
+     * @param frame to search, in BGR
+     * @return true if any contours were found
+     */
+    private boolean acquire(IMat frame)
+    {
+        this.provider.resize(frame, this.acquisitionFrame, this.acquisitionSize, 0.0, 0.0, RegionOfInterestContourFinder.IMGPROC_INTER_AREA);
+        this.provider.cvtColor(this.acquisitionFrame, this.acquisitionHsvFrame, RegionOfInterestContourFinder.IMGPROC_COLOR_BGR2HSV);
+        this.provider.inRange(this.acquisitionHsvFrame, this.lowerBound, this.upperBound, this.acquisitionFilteredFrame);
+        this.processedPixelCount += this.acquisitionFilteredFrame.rows() * this.acquisitionFilteredFrame.cols();
+
+        double scaledMinContourArea = this.minContourArea / (this.acquisitionScale * this.acquisitionScale);
+        int count = this.acquisitionContours.find(
+            this.provider,
+            this.acquisitionFilteredFrame,
+            RegionOfInterestContourFinder.IMGPROC_RETR_EXTERNAL,
+            RegionOfInterestContourFinder.IMGPROC_CHAIN_APPROX_TC89_KCOS,
+            null,
+            scaledMinContourArea);
+
+        if (count == 0)
+        {
+            return false;
+        }
+
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < count; i++)
+        {
+            double x = this.acquisitionContours.getBoundingX(i);
+            double y = this.acquisitionContours.getBoundingY(i);
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x + this.acquisitionContours.getBoundingWidth(i));
+            maxY = Math.max(maxY, y + this.acquisitionContours.getBoundingHeight(i));
+        }
+
+        this.setRegion(
+            (int)minX * this.acquisitionScale - this.margin,
+            (int)minY * this.acquisitionScale - this.margin,
+            (int)maxX * this.acquisitionScale + this.margin,
+            (int)maxY * this.acquisitionScale + this.margin);
+
+        return true;
+    }
+
+    /**
+     * Convert, threshold and search the region of interest of the frame for contours
+     * @param frame to search, in BGR
+     * @return the values of the rotated rectangles of the contours that were found, in full-frame coordinates
+     */
+    private RotatedRectValues findRectanglesInRegion(IMat frame)
+    {
+        int width = this.regionRight - this.regionLeft;
+        int height = this.regionBottom - this.regionTop;
+        boolean isFullFrame = width == this.frameWidth && height == this.frameHeight;
+
+        IMat source;
+        IMat hsv;
+        IMat filtered;
+        if (isFullFrame)
+        {
+            source = frame;
+            hsv = this.hsvFrame;
+            filtered = this.filteredFrame;
+        }
+        else
+        {
+            this.filteredFrame.setTo(this.zero);
+            source = frame.submat(this.regionTop, this.regionBottom, this.regionLeft, this.regionRight);
+            hsv = this.hsvFrame.submat(this.regionTop, this.regionBottom, this.regionLeft, this.regionRight);
+            filtered = this.filteredFrame.submat(this.regionTop, this.regionBottom, this.regionLeft, this.regionRight);
+        }
+
+        this.provider.cvtColor(source, hsv, RegionOfInterestContourFinder.IMGPROC_COLOR_BGR2HSV);
+        this.provider.inRange(hsv, this.lowerBound, this.upperBound, filtered);
+        this.processedPixelCount += width * height;
+
+        this.regionContours.find(
+            this.provider,
+            filtered,
+            RegionOfInterestContourFinder.IMGPROC_RETR_EXTERNAL,
+            RegionOfInterestContourFinder.IMGPROC_CHAIN_APPROX_TC89_KCOS,
+            this.provider.newPoint(this.regionLeft, this.regionTop),
+            this.minContourArea);
+
+        if (!isFullFrame)
+        {
+            source.release();
+            hsv.release();
+            filtered.release();
+        }
+
+        return this.regionContours.copyMinAreaRects();
+    }
+
+    /**
+     * Set the region of interest, clamped to the frame
+     * @param left edge of the region
+     * @param top edge of the region
+     * @param right edge of the region (exclusive)
+     * @param bottom edge of the region (exclusive)
+     */
+    private void setRegion(int left, int top, int right, int bottom)
+    {
+        this.regionLeft = Math.min(this.frameWidth - 1, Math.max(0, left));
+        this.regionTop = Math.min(this.frameHeight - 1, Math.max(0, top));
+        this.regionRight = Math.min(this.frameWidth, Math.max(this.regionLeft + 1, right));
+        this.regionBottom = Math.min(this.frameHeight, Math.max(this.regionTop + 1, bottom));
+    }
+}
@@ -0,0 +1,92 @@
+package frc.robot.vision.common;
+
+import frc.robot.common.robotprovider.*;
+
+/**
+ * The minimum-area rotated rects of the contours found in a frame, packed as [centerX, centerY, width, height, angle]
+ * for each rect, so that they can be handed from one pipeline stage to the next without creating a rotated rect
+ * object per contour.  The values are not modified once created.
+ */
+public class RotatedRectValues
+{
+    public static final RotatedRectValues Empty = new RotatedRectValues(new double[0], 0);
+
+    static final int Stride = 5;
+
+    private final double[] values;
+    private final int count;
+
+    /**
+     * Initializes a new RotatedRectValues
+     * @param values of the rects, 5 for each rect: centerX, centerY, width, height, angle
+     * @param count of rects
+     */
+    public RotatedRectValues(double[] values, int count)
+    {
+        this.values = values;
+        this.count = count;
+    }
+
+    public int getCount()
+    {
+        return this.count;
+    }
+
+    public double getCenterX(int index)
+    {
+        return this.values[RotatedRectValues.Stride * index];
+    }
+
+    public double getCenterY(int index)
+    {
+        return this.values[RotatedRectValues.Stride * index + 1];
+    }
+
+    public double getWidth(int index)
+    {
+        return this.values[RotatedRectValues.Stride * index + 2];
+    }
+
+    public double getHeight(int index)
+    {
+        return this.values[RotatedRectValues.Stride * index + 3];
+    }
+
+    public double getAngle(int index)
+    {
+        return this.values[RotatedRectValues.Stride * index + 4];
+    }
+
+    /**
+     * Gets the aspect ratio of a rect, in the same way as IRotatedRect.getAspectRatio()
+     * @param index of the rect
+     * @return the aspect ratio (always at least 1.0), or a large number if either side is close to zero
+     */
+    public double getAspectRatio(int index)
+    {
+        double width = this.getWidth(index);
+        double height = this.getHeight(index);
+        if (Math.abs(height) < 0.1 || Math.abs(width) < 0.1)
+        {
+            return 10000.0;
+        }
+
+        return height > width ? height / width : width / height;
+    }
+
+    /**
+     * Create a rotated rect for one of the rects
+     * @param provider to use to create the rotated rect
+     * @param index of the rect
+     * @return the rotated rect
+     */
+    public IRotatedRect toRotatedRect(IOpenCVProvider provider, int index)
+    {
+        return provider.newRotatedRect(
+            this.getCenterX(index),
+            this.getCenterY(index),
+            this.getWidth(index),
+            this.getHeight(index),
+            this.getAngle(index));
+    }
+}
@@ -3,6 +3,7 @@ package frc.robot.vision.pipelines;
 import frc.robot.GamePiece;
 import frc.robot.common.robotprovider.*;
 import frc.robot.vision.VisionConstants;
+import frc.robot.vision.common.AsyncFrameWriter;
 import frc.robot.vision.common.ContourHelper;
 import frc.robot.vision.common.HSVFilter;
 import frc.robot.vision.common.ImageUndistorter;
@@ -18,6 +19,7 @@ public class HSVCenterPipeline implements ICentroidVisionPipeline
 
     private final IVideoStream frameInput;
     private final IVideoStream hsvOutput;
+    private final AsyncFrameWriter frameWriter;
 
     // measured values
     private IPoint largestCenter;
@@ -25,8 +27,10 @@ public class HSVCenterPipeline implements ICentroidVisionPipeline
 
     // FPS Measurement
     private long analyzedFrameCount;
+    private double captureTime;
     private double lastMeasuredTime;
     private double lastFpsMeasurement;
+    private int processedPixelCount;
 
     // active status
     private volatile VisionProcessingState processingState;
@@ -70,6 +74,16 @@ public class HSVCenterPipeline implements ICentroidVisionPipeline
         {
             this.hsvOutput = null;
         }
+
+        if (VisionConstants.DEBUG &&
+            VisionConstants.DEBUG_SAVE_FRAMES)
+        {
+            this.frameWriter = new AsyncFrameWriter(this.openCVProvider, VisionConstants.DEBUG_OUTPUT_FOLDER, VisionConstants.DEBUG_SAVE_FRAMES_QUEUE_LENGTH);
+        }
+        else
+        {
+            this.frameWriter = null;
+        }
     }
 
     /**
@@ -79,14 +93,14 @@ public class HSVCenterPipeline implements ICentroidVisionPipeline
     @Override
     public void process(IMat image)
     {
+        this.captureTime = this.timer.get();
+
         if (VisionConstants.DEBUG)
         {
             if (VisionConstants.DEBUG_SAVE_FRAMES &&
                 this.analyzedFrameCount % VisionConstants.DEBUG_FRAME_OUTPUT_GAP == 0)
             {
-                this.openCVProvider.imwrite(
-                    String.format("%simage%d-1.jpg", VisionConstants.DEBUG_OUTPUT_FOLDER, this.analyzedFrameCount),
-                    image);
+                this.frameWriter.write(image, this.analyzedFrameCount, "-1.jpg");
             }
         }
 
@@ -102,6 +116,7 @@ public class HSVCenterPipeline implements ICentroidVisionPipeline
         }
 
         this.analyzedFrameCount++;
+        this.processedPixelCount = image.rows() * image.cols();
         if (VisionConstants.DEBUG &&
             VisionConstants.DEBUG_PRINT_OUTPUT &&
             this.analyzedFrameCount % VisionConstants.DEBUG_FPS_AVERAGING_INTERVAL == 0)
@@ -114,22 +129,11 @@ public class HSVCenterPipeline implements ICentroidVisionPipeline
         }
 
         // first, undistort the image.
-        IMat undistortedImage;
         if (this.shouldUndistort)
         {
             image = this.undistorter.undistortFrame(image);
         }
 
-        // save the undistorted image for possible output later...
-        if (this.shouldUndistort)
-        {
-            undistortedImage = image.clone();
-        }
-        else
-        {
-            undistortedImage = image;
-        }
-
         // second, filter HSV
         image = this.hsvFilter.filterHSV(image);
         if (VisionConstants.DEBUG)
@@ -137,9 +141,7 @@ public class HSVCenterPipeline implements ICentroidVisionPipeline
             if (VisionConstants.DEBUG_SAVE_FRAMES &&
                 this.analyzedFrameCount % VisionConstants.DEBUG_FRAME_OUTPUT_GAP == 0)
             {
-                this.openCVProvider.imwrite(
-                    String.format("%simage%d-2.hsvfiltered.jpg", VisionConstants.DEBUG_OUTPUT_FOLDER, this.analyzedFrameCount),
-                    image);
+                this.frameWriter.write(image, this.analyzedFrameCount, "-2.hsvfiltered.jpg");
             }
 
             if (VisionConstants.DEBUG_OUTPUT_FRAMES)
@@ -188,8 +190,6 @@ public class HSVCenterPipeline implements ICentroidVisionPipeline
         // finally, record the centers of mass
         this.largestCenter = largestCenterOfMass;
 
-        undistortedImage.release();
-
         if (this.largestCenter != null)
         {
             double xOffsetMeasured = this.largestCenter.getX() - VisionConstants.LIFECAM_CAMERA_CENTER_WIDTH;
@@ -240,8 +240,23 @@ public class HSVCenterPipeline implements ICentroidVisionPipeline
         return null;
     }
 
+    public double getCaptureTime()
+    {
+        return this.captureTime;
+    }
+
     public double getFps()
     {
         return this.lastFpsMeasurement;
     }
+
+    public int getProcessedPixelCount()
+    {
+        return this.processedPixelCount;
+    }
+
+    public long getDroppedFrameWriteCount()
+    {
+        return this.frameWriter != null ? this.frameWriter.getDroppedWriteCount() : 0L;
+    }
 }
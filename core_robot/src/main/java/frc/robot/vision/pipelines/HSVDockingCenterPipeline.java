@@ -17,6 +17,7 @@ public class HSVDockingCenterPipeline implements ICentroidVisionPipeline
 
     private final IVideoStream frameInput;
     private final IVideoStream hsvOutput;
+    private final AsyncFrameWriter frameWriter;
 
     // measured values
     private IPoint dockingMarkerCenter;
@@ -28,8 +29,10 @@ public class HSVDockingCenterPipeline implements ICentroidVisionPipeline
 
     // FPS Measurement
     private long analyzedFrameCount;
+    private double captureTime;
     private double lastMeasuredTime;
     private double lastFpsMeasurement;
+    private int processedPixelCount;
 
     // active status
     private volatile VisionProcessingState processingState;
@@ -78,6 +81,16 @@ public class HSVDockingCenterPipeline implements ICentroidVisionPipeline
         {
             this.hsvOutput = null;
         }
+
+        if (VisionConstants.DEBUG &&
+            VisionConstants.DEBUG_SAVE_FRAMES)
+        {
+            this.frameWriter = new AsyncFrameWriter(this.openCVProvider, VisionConstants.DEBUG_OUTPUT_FOLDER, VisionConstants.DEBUG_SAVE_FRAMES_QUEUE_LENGTH);
+        }
+        else
+        {
+            this.frameWriter = null;
+        }
     }
 
     /**
@@ -86,14 +99,14 @@ public class HSVDockingCenterPipeline implements ICentroidVisionPipeline
     @Override
     public void process(IMat image)
     {
+        this.captureTime = this.timer.get();
+
         if (VisionConstants.DEBUG)
         {
             if (VisionConstants.DEBUG_SAVE_FRAMES &&
                 this.analyzedFrameCount % VisionConstants.DEBUG_FRAME_OUTPUT_GAP == 0)
             {
-                this.openCVProvider.imwrite(
-                    String.format("%simage%d-1.jpg", VisionConstants.DEBUG_OUTPUT_FOLDER, this.analyzedFrameCount),
-                    image);
+                this.frameWriter.write(image, this.analyzedFrameCount, "-1.jpg");
             }
         }
 
@@ -109,6 +122,7 @@ public class HSVDockingCenterPipeline implements ICentroidVisionPipeline
         }
 
         this.analyzedFrameCount++;
+        this.processedPixelCount = image.rows() * image.cols();
         if (VisionConstants.DEBUG &&
             VisionConstants.DEBUG_PRINT_OUTPUT &&
             this.analyzedFrameCount % VisionConstants.DEBUG_FPS_AVERAGING_INTERVAL == 0)
@@ -133,9 +147,7 @@ public class HSVDockingCenterPipeline implements ICentroidVisionPipeline
             if (VisionConstants.DEBUG_SAVE_FRAMES &&
                 this.analyzedFrameCount % VisionConstants.DEBUG_FRAME_OUTPUT_GAP == 0)
             {
-                this.openCVProvider.imwrite(
-                    String.format("%simage%d-2.hsvfiltered.jpg", VisionConstants.DEBUG_OUTPUT_FOLDER, this.analyzedFrameCount),
-                    image);
+                this.frameWriter.write(image, this.analyzedFrameCount, "-2.hsvfiltered.jpg");
             }
 
             if (VisionConstants.DEBUG_OUTPUT_FRAMES)
@@ -292,8 +304,23 @@ public class HSVDockingCenterPipeline implements ICentroidVisionPipeline
         return this.distanceFromRobot;
     }
 
+    public double getCaptureTime()
+    {
+        return this.captureTime;
+    }
+
     public double getFps()
     {
         return this.lastFpsMeasurement;
     }
+
+    public int getProcessedPixelCount()
+    {
+        return this.processedPixelCount;
+    }
+
+    public long getDroppedFrameWriteCount()
+    {
+        return this.frameWriter != null ? this.frameWriter.getDroppedWriteCount() : 0L;
+    }
 }
\ No newline at end of file
@@ -6,18 +6,27 @@ import frc.robot.vision.*;
 import frc.robot.vision.common.*;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
-public class HSVDockingCenterRectanglePipeline implements ICentroidVisionPipeline
+public class HSVDockingCenterRectanglePipeline implements ICentroidVisionPipeline, IPipelinedVisionPipeline<RotatedRectValues>
 {
+    // passed back from the geometry stage when no pair of targets was found
+    private static final RectanglePair LostPair = new RectanglePair(null, null);
+
     private final ITimer timer;
     private final VisionCalculations calc;
     private final IOpenCVProvider openCVProvider;
     private final boolean shouldUndistort;
     private final ImageUndistorter undistorter;
     private final HSVFilter hsvFilter;
+    private final RegionOfInterestContourFinder contourFinder;
+    private final ContourShapeBuffer contourShapes;
+    private final AtomicReference<RectanglePair> trackedPair;
+    private volatile boolean resetContourFinder;
 
     private final IVideoStream frameInput;
     private final IVideoStream hsvOutput;
+    private final AsyncFrameWriter frameWriter;
 
     // measured values
     private IPoint dockingMarkerCenter;
@@ -28,9 +37,11 @@ public class HSVDockingCenterRectanglePipeline implements ICentroidVisionPipelin
     private Double distanceFromRobot;
 
     // FPS Measurement
-    private long analyzedFrameCount;
+    private volatile long analyzedFrameCount;
+    private double captureTime;
     private double lastMeasuredTime;
-    private double lastFpsMeasurement;
+    private volatile double lastFpsMeasurement;
+    private volatile int processedPixelCount;
 
     // active status
     private volatile VisionProcessingState processingState;
@@ -55,6 +66,27 @@ public class HSVDockingCenterRectanglePipeline implements ICentroidVisionPipelin
         IScalar lowFilter = this.openCVProvider.newScalar(VisionConstants.LIFECAM_HSV_FILTER_LOW_V0, VisionConstants.LIFECAM_HSV_FILTER_LOW_V1, VisionConstants.LIFECAM_HSV_FILTER_LOW_V2);
         IScalar highFilter = this.openCVProvider.newScalar(VisionConstants.LIFECAM_HSV_FILTER_HIGH_V0, VisionConstants.LIFECAM_HSV_FILTER_HIGH_V1, VisionConstants.LIFECAM_HSV_FILTER_HIGH_V2);
         this.hsvFilter = new HSVFilter(this.openCVProvider, lowFilter, highFilter);
+        if (VisionConstants.ROI_TRACKING_ENABLED)
+        {
+            this.contourFinder = new RegionOfInterestContourFinder(
+                this.openCVProvider,
+                lowFilter,
+                highFilter,
+                VisionConstants.CONTOUR_MIN_AREA,
+                VisionConstants.ROI_ACQUISITION_DOWNSCALE,
+                VisionConstants.ROI_MARGIN,
+                VisionConstants.ROI_LOST_EXPANSION,
+                VisionConstants.ROI_MAX_LOST_FRAMES);
+        }
+        else
+        {
+            this.contourFinder = null;
+        }
+
+        this.contourShapes = new ContourShapeBuffer(16, false, true);
+
+        this.trackedPair = new AtomicReference<RectanglePair>();
+        this.resetContourFinder = false;
 
         this.dockingMarkerCenter = null;
 
@@ -80,6 +112,16 @@ public class HSVDockingCenterRectanglePipeline implements ICentroidVisionPipelin
         {
             this.hsvOutput = null;
         }
+
+        if (VisionConstants.DEBUG &&
+            VisionConstants.DEBUG_SAVE_FRAMES)
+        {
+            this.frameWriter = new AsyncFrameWriter(this.openCVProvider, VisionConstants.DEBUG_OUTPUT_FOLDER, VisionConstants.DEBUG_SAVE_FRAMES_QUEUE_LENGTH);
+        }
+        else
+        {
+            this.frameWriter = null;
+        }
     }
 
     /**
@@ -87,27 +129,44 @@ public class HSVDockingCenterRectanglePipeline implements ICentroidVisionPipelin
      */
     @Override
     public void process(IMat image)
+    {
+        double captureTime = this.timer.get();
+        if (!this.capture(image))
+        {
+            return;
+        }
+
+        this.calculate(this.threshold(image), captureTime);
+    }
+
+    /**
+     * Stream the captured frame and check whether it should be processed
+     * @param image that was captured
+     * @return true if the frame should be processed
+     */
+    @Override
+    public boolean capture(IMat image)
     {
         if (VisionConstants.DEBUG)
         {
             if (VisionConstants.DEBUG_SAVE_FRAMES &&
                 this.analyzedFrameCount % VisionConstants.DEBUG_FRAME_OUTPUT_GAP == 0)
             {
-                this.openCVProvider.imwrite(
-                    String.format("%simage%d-1.jpg", VisionConstants.DEBUG_OUTPUT_FOLDER, this.analyzedFrameCount),
-                    image);
+                this.frameWriter.write(image, this.analyzedFrameCount, "-1.jpg");
             }
         }
 
-        if (this.getStreamMode() ||
+        if (this.streamEnabled ||
             (VisionConstants.DEBUG && VisionConstants.DEBUG_OUTPUT_FRAMES))
         {
             this.frameInput.putFrame(image);
         }
 
-        if (this.getMode() == VisionProcessingState.Disabled)
+        if (this.processingState == VisionProcessingState.Disabled)
         {
-            return;
+            // the contour finder belongs to the threshold stage, so let it reset itself
+            this.resetContourFinder = true;
+            return false;
         }
 
         this.analyzedFrameCount++;
@@ -122,48 +181,93 @@ public class HSVDockingCenterRectanglePipeline implements ICentroidVisionPipelin
             this.lastMeasuredTime = this.timer.get();
         }
 
+        return true;
+    }
+
+    /**
+     * Undistort the frame, filter HSV and find the target rectangles
+     * @param image to process
+     * @return the values of the rectangles that were found
+     */
+    @Override
+    public RotatedRectValues threshold(IMat image)
+    {
         // first, undistort the image.
         if (this.shouldUndistort)
         {
             image = this.undistorter.undistortFrame(image);
         }
 
-        // second, filter HSV
-        image = this.hsvFilter.filterHSV(image);
+        // second, filter HSV and find the contours (within the region of interest, when tracking)
+        RotatedRectValues rectangles;
+        IMat filteredImage;
+        if (this.contourFinder != null)
+        {
+            if (this.resetContourFinder)
+            {
+                this.resetContourFinder = false;
+                this.trackedPair.set(null);
+                this.contourFinder.reset();
+            }
+
+            // apply the latest result from the geometry stage, if there is a new one
+            RectanglePair trackedPair = this.trackedPair.getAndSet(null);
+            if (trackedPair != null)
+            {
+                this.contourFinder.track(trackedPair);
+            }
+
+            rectangles = this.contourFinder.findRectangles(image);
+            filteredImage = this.contourFinder.getFilteredFrame();
+            this.processedPixelCount = this.contourFinder.getProcessedPixelCount();
+        }
+        else
+        {
+            filteredImage = this.hsvFilter.filterHSV(image);
+            rectangles = this.findRectangles(filteredImage);
+            this.processedPixelCount = image.rows() * image.cols();
+        }
+
         if (VisionConstants.DEBUG)
         {
             if (VisionConstants.DEBUG_SAVE_FRAMES &&
                 this.analyzedFrameCount % VisionConstants.DEBUG_FRAME_OUTPUT_GAP == 0)
             {
-                this.openCVProvider.imwrite(
-                    String.format("%simage%d-2.hsvfiltered.jpg", VisionConstants.DEBUG_OUTPUT_FOLDER, this.analyzedFrameCount),
-                    image);
+                this.frameWriter.write(filteredImage, this.analyzedFrameCount, "-2.hsvfiltered.jpg");
             }
 
             if (VisionConstants.DEBUG_OUTPUT_FRAMES)
             {
-                this.hsvOutput.putFrame(image);
+                this.hsvOutput.putFrame(filteredImage);
             }
         }
 
-        List<IRotatedRect> rectangles = findRectangles(image);
-        image.release();
+        return rectangles;
+    }
+
+    /**
+     * Pick the preferred pair of target rectangles and calculate the docking values from it
+     * @param rectangles the values of the rectangles that were found
+     * @param captureTime when the frame was captured
+     */
+    @Override
+    public void calculate(RotatedRectValues rectangles, double captureTime)
+    {
+        this.captureTime = captureTime;
+
         if (VisionConstants.DEBUG &&
             VisionConstants.DEBUG_PRINT_OUTPUT &&
             VisionConstants.DEBUG_PRINT_ANALYZER_DATA)
         {
-            for (int i = 0; i < rectangles.size(); i++)
+            List<IRotatedRect> rectangleList = new ArrayList<IRotatedRect>();
+            for (int i = 0; i < rectangles.getCount(); i++)
             {
-                IRotatedRect rectangle = rectangles.get(i);
+                IRotatedRect rectangle = rectangles.toRotatedRect(this.openCVProvider, i);
+                rectangleList.add(rectangle);
                 System.out.println("R_" + i + " : " + Arrays.toString(rectangle.getRawValues()));
             }
-        }
 
-        List<Set<IRotatedRect>> groupedRects = calc.groupRotatedRect(rectangles);
-        if (VisionConstants.DEBUG &&
-            VisionConstants.DEBUG_PRINT_OUTPUT &&
-            VisionConstants.DEBUG_PRINT_ANALYZER_DATA)
-        {
+            List<Set<IRotatedRect>> groupedRects = this.calc.groupRotatedRect(rectangleList);
             int setNum = 0;
             for (Set<IRotatedRect> group : groupedRects)
             {
@@ -179,9 +283,11 @@ public class HSVDockingCenterRectanglePipeline implements ICentroidVisionPipelin
             }
         }
 
-        Set<IRotatedRect> row = this.calc.pickRow(groupedRects, VisionResult.LOW_TARGET);
-        List<RectanglePair> pairs = this.calc.pairRectangles(row);
-        RectanglePair pair = this.calc.pickPreferredPair(pairs, VisionConstants.LIFECAM_CAMERA_CENTER_WIDTH, VisionConstants.VISION_CONSIDERATION_DISTANCE_RANGE);
+        RectanglePair pair = this.calc.findPreferredPair(this.openCVProvider, rectangles, VisionResult.LOW_TARGET, VisionConstants.LIFECAM_CAMERA_CENTER_WIDTH, VisionConstants.VISION_CONSIDERATION_DISTANCE_RANGE);
+        if (this.contourFinder != null)
+        {
+            this.trackedPair.set(pair != null ? pair : HSVDockingCenterRectanglePipeline.LostPair);
+        }
 
         // Docking Calculations
         if (pair == null)
@@ -201,23 +307,14 @@ public class HSVDockingCenterRectanglePipeline implements ICentroidVisionPipelin
         this.desiredAngleX = this.calc.getDesiredAngleX(pair);
     }
 
-    public List<IRotatedRect> findRectangles(IMat image)
+    public RotatedRectValues findRectangles(IMat image)
     {
-        List<IMatOfPoint> contours = ContourHelper.getAllContours(openCVProvider, image, VisionConstants.CONTOUR_MIN_AREA);
-
-        List<IRotatedRect> rotatedRect = new ArrayList<IRotatedRect>(contours.size());
-        for (IMatOfPoint contour : contours)
-        {
-            rotatedRect.add(this.openCVProvider.minAreaRect(this.openCVProvider.convertToMatOfPoints2f(contour)));
-            contour.release();
-        }
-
-        return rotatedRect;
+        return ContourHelper.getAllMinAreaRects(this.openCVProvider, image, VisionConstants.CONTOUR_MIN_AREA, this.contourShapes);
     }
 
     public boolean isActive()
     {
-        return this.getMode() != VisionProcessingState.Disabled;
+        return this.processingState != VisionProcessingState.Disabled;
     }
 
     public IPoint getCenter()
@@ -240,56 +337,38 @@ public class HSVDockingCenterRectanglePipeline implements ICentroidVisionPipelin
         return this.distanceFromRobot;
     }
 
-    public double getFps()
+    public double getCaptureTime()
     {
-        return this.lastFpsMeasurement;
+        return this.captureTime;
     }
 
-    public void setMode(VisionProcessingState state)
+    public double getFps()
     {
-        synchronized (this)
-        {
-            this.processingState = state;
-        }
+        return this.lastFpsMeasurement;
     }
 
-    public void setGamePiece(GamePiece gamePiece)
+    public int getProcessedPixelCount()
     {
-        synchronized (this)
-        {
-            this.gamePiece = gamePiece;
-        }
-	}
+        return this.processedPixelCount;
+    }
 
-    public void setStreamMode(boolean isEnabled)
+    public long getDroppedFrameWriteCount()
     {
-        synchronized (this)
-        {
-            this.streamEnabled = isEnabled;
-        }
+        return this.frameWriter != null ? this.frameWriter.getDroppedWriteCount() : 0L;
     }
 
-    protected boolean getStreamMode()
+    public void setMode(VisionProcessingState state)
     {
-        synchronized (this)
-        {
-            return this.streamEnabled;
-        }
+        this.processingState = state;
     }
 
-    protected VisionProcessingState getMode()
+    public void setGamePiece(GamePiece gamePiece)
     {
-        synchronized (this)
-        {
-            return this.processingState;
-        }
+        this.gamePiece = gamePiece;
     }
 
-    protected GamePiece setGamePiece()
+    public void setStreamMode(boolean isEnabled)
     {
-        synchronized (this)
-        {
-            return this.gamePiece;
-        }
-	}
-}
\ No newline at end of file
+        this.streamEnabled = isEnabled;
+    }
+}
@@ -14,5 +14,8 @@ public interface ICentroidVisionPipeline extends IVisionPipeline
     Double getDesiredAngleX();
     Double getMeasuredAngleX();
     Double getRobotDistance();
+    double getCaptureTime();
     double getFps();
+    int getProcessedPixelCount();
+    long getDroppedFrameWriteCount();
 }
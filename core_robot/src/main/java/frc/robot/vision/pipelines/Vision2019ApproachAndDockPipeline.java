@@ -14,9 +14,11 @@ public class Vision2019ApproachAndDockPipeline implements ICentroidVisionPipelin
     private final boolean shouldUndistort;
     private final ImageUndistorter undistorter;
     private final HSVFilter hsvFilter;
+    private final ContourShapeBuffer contourShapes;
 
     private final IVideoStream frameInput;
     private final IVideoStream hsvOutput;
+    private final AsyncFrameWriter frameWriter;
 
     // measured values
     private IPoint dockingMarkerCenter;
@@ -41,8 +43,10 @@ public class Vision2019ApproachAndDockPipeline implements ICentroidVisionPipelin
 
     // FPS Measurement
     private long analyzedFrameCount;
+    private double captureTime;
     private double lastMeasuredTime;
     private double lastFpsMeasurement;
+    private int processedPixelCount;
 
     // active status
     private volatile GamePiece gamePiece;
@@ -67,6 +71,7 @@ public class Vision2019ApproachAndDockPipeline implements ICentroidVisionPipelin
         IScalar lowFilter = this.openCVProvider.newScalar(VisionConstants.LIFECAM_HSV_FILTER_LOW_V0, VisionConstants.LIFECAM_HSV_FILTER_LOW_V1, VisionConstants.LIFECAM_HSV_FILTER_LOW_V2);
         IScalar highFilter = this.openCVProvider.newScalar(VisionConstants.LIFECAM_HSV_FILTER_HIGH_V0, VisionConstants.LIFECAM_HSV_FILTER_HIGH_V1, VisionConstants.LIFECAM_HSV_FILTER_HIGH_V2);
         this.hsvFilter = new HSVFilter(this.openCVProvider, lowFilter, highFilter);
+        this.contourShapes = new ContourShapeBuffer(16, false, true);
 
         this.dockingMarkerCenter = null;
 
@@ -100,6 +105,13 @@ public class Vision2019ApproachAndDockPipeline implements ICentroidVisionPipelin
         } else {
             this.hsvOutput = null;
         }
+
+        if (VisionConstants.DEBUG &&
+                VisionConstants.DEBUG_SAVE_FRAMES) {
+            this.frameWriter = new AsyncFrameWriter(this.openCVProvider, VisionConstants.DEBUG_OUTPUT_FOLDER, VisionConstants.DEBUG_SAVE_FRAMES_QUEUE_LENGTH);
+        } else {
+            this.frameWriter = null;
+        }
     }
 
     /**
@@ -107,12 +119,12 @@ public class Vision2019ApproachAndDockPipeline implements ICentroidVisionPipelin
      */
     @Override
     public void process(IMat image) {
+        this.captureTime = this.timer.get();
+
         if (VisionConstants.DEBUG) {
             if (VisionConstants.DEBUG_SAVE_FRAMES &&
                     this.analyzedFrameCount % VisionConstants.DEBUG_FRAME_OUTPUT_GAP == 0) {
-                this.openCVProvider.imwrite(
-                        String.format("%simage%d-1.jpg", VisionConstants.DEBUG_OUTPUT_FOLDER, this.analyzedFrameCount),
-                        image);
+                this.frameWriter.write(image, this.analyzedFrameCount, "-1.jpg");
             }
         }
 
@@ -126,6 +138,7 @@ public class Vision2019ApproachAndDockPipeline implements ICentroidVisionPipelin
         }
 
         this.analyzedFrameCount++;
+        this.processedPixelCount = image.rows() * image.cols();
         if (VisionConstants.DEBUG &&
                 VisionConstants.DEBUG_PRINT_OUTPUT &&
                 this.analyzedFrameCount % VisionConstants.DEBUG_FPS_AVERAGING_INTERVAL == 0) {
@@ -146,9 +159,7 @@ public class Vision2019ApproachAndDockPipeline implements ICentroidVisionPipelin
         if (VisionConstants.DEBUG) {
             if (VisionConstants.DEBUG_SAVE_FRAMES &&
                     this.analyzedFrameCount % VisionConstants.DEBUG_FRAME_OUTPUT_GAP == 0) {
-                this.openCVProvider.imwrite(
-                        String.format("%simage%d-2.hsvfiltered.jpg", VisionConstants.DEBUG_OUTPUT_FOLDER, this.analyzedFrameCount),
-                        image);
+                this.frameWriter.write(image, this.analyzedFrameCount, "-2.hsvfiltered.jpg");
             }
 
             if (VisionConstants.DEBUG_OUTPUT_FRAMES) {
@@ -157,7 +168,6 @@ public class Vision2019ApproachAndDockPipeline implements ICentroidVisionPipelin
         }
 
         List<IRotatedRect> rectangles = findRectangles(image);
-        image.release();
         if (VisionConstants.DEBUG &&
                 VisionConstants.DEBUG_PRINT_OUTPUT &&
                 VisionConstants.DEBUG_PRINT_ANALYZER_DATA) {
@@ -217,15 +227,7 @@ public class Vision2019ApproachAndDockPipeline implements ICentroidVisionPipelin
     }
 
     public List<IRotatedRect> findRectangles(IMat image) {
-        List<IMatOfPoint> contours = ContourHelper.getAllContours(openCVProvider, image, VisionConstants.CONTOUR_MIN_AREA);
-
-        List<IRotatedRect> rotatedRect = new ArrayList<IRotatedRect>(contours.size());
-        for (IMatOfPoint contour : contours) {
-            rotatedRect.add(openCVProvider.minAreaRect(openCVProvider.convertToMatOfPoints2f(contour)));
-            contour.release();
-        }
-
-        return rotatedRect;
+        return ContourHelper.getAllRotatedRects(this.openCVProvider, image, VisionConstants.CONTOUR_MIN_AREA, this.contourShapes);
     }
 
     public void setMode(VisionProcessingState processingState) {
@@ -284,7 +286,19 @@ public class Vision2019ApproachAndDockPipeline implements ICentroidVisionPipelin
         return this.distanceFromRobot;
     }
 
+    public double getCaptureTime() {
+        return this.captureTime;
+    }
+
     public double getFps() {
         return this.lastFpsMeasurement;
     }
+
+    public int getProcessedPixelCount() {
+        return this.processedPixelCount;
+    }
+
+    public long getDroppedFrameWriteCount() {
+        return this.frameWriter != null ? this.frameWriter.getDroppedWriteCount() : 0L;
+    }
 }
\ No newline at end of file
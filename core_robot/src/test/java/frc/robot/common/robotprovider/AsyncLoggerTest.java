@@ -0,0 +1,181 @@
+package frc.robot.common.robotprovider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+public class AsyncLoggerTest
+{
+    private static final long TimeoutMillis = 5000L;
+
+    @Test
+    public void testFlush_HandsOffFramesInOrder()
+    {
+        RecordingLogger recorder = new RecordingLogger();
+        AsyncLogger logger = new AsyncLogger(recorder);
+        ILogChannel channel = logger.getChannel("dt", "x");
+
+        channel.logNumber(1.0);
+        logger.logString("auto", "state", "start");
+        logger.flush();
+
+        channel.logNumber(2.0);
+        logger.flush();
+
+        // only the value that was logged last before a flush is handed off
+        logger.logInteger("dt", "loops", 1);
+        logger.logInteger("dt", "loops", 2);
+        logger.flush();
+
+        logger.close();
+
+        assertEquals(
+            Arrays.asList(
+                "dt.x=1.0", "auto.state=start", "|",
+                "dt.x=2.0", "|",
+                "dt.loops=2", "|"),
+            recorder.getEntries());
+        assertEquals(0, logger.getDroppedFrameCount());
+    }
+
+    @Test
+    public void testFlush_DropsFramesWhenRingIsFull() throws InterruptedException
+    {
+        RecordingLogger recorder = new RecordingLogger();
+        recorder.blockFlushes();
+        AsyncLogger logger = new AsyncLogger(recorder, 2);
+
+        // the writer holds on to the first frame until its flush is released, so only two frames fit in the ring
+        for (int i = 0; i < 5; i++)
+        {
+            logger.logInteger("dt", "loop", i);
+            logger.flush();
+        }
+
+        assertEquals(3, logger.getDroppedFrameCount());
+
+        recorder.releaseFlushes();
+        assertTrue(recorder.awaitFlushes(2), "writer didn't write the queued frames");
+
+        logger.logInteger("dt", "loop", 5);
+        logger.flush();
+        logger.close();
+
+        assertEquals(3, logger.getDroppedFrameCount());
+        assertEquals(
+            Arrays.asList(
+                "dt.loop=0", "|",
+                "dt.loop=1", "|",
+                "dt.loop=5", "al.droppedFrames=3", "|"),
+            recorder.getEntries());
+    }
+
+    @Test
+    public void testClose_DrainsRing()
+    {
+        RecordingLogger recorder = new RecordingLogger();
+        AsyncLogger logger = new AsyncLogger(recorder, 100);
+
+        List<String> expected = new ArrayList<String>();
+        for (int i = 0; i < 100; i++)
+        {
+            logger.logInteger("dt", "loop", i);
+            logger.flush();
+            expected.add("dt.loop=" + i);
+            expected.add("|");
+        }
+
+        logger.close();
+
+        assertEquals(0, logger.getDroppedFrameCount());
+        assertEquals(expected, recorder.getEntries());
+    }
+
+    /**
+     * Logger that records each value as "component.key=value", and each flush as "|"
+     */
+    private static class RecordingLogger extends StringLogger
+    {
+        private final List<String> entries;
+        private volatile CountDownLatch release;
+        private int flushCount;
+
+        RecordingLogger()
+        {
+            this.entries = new ArrayList<String>();
+            this.release = null;
+            this.flushCount = 0;
+        }
+
+        @Override
+        public synchronized void logString(String component, String key, String value)
+        {
+            this.entries.add(component + "." + key + "=" + value);
+        }
+
+        @Override
+        public void flush()
+        {
+            CountDownLatch release = this.release;
+            if (release != null)
+            {
+                try
+                {
+                    release.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            synchronized (this)
+            {
+                this.entries.add("|");
+                this.flushCount++;
+                this.notifyAll();
+            }
+        }
+
+        /**
+         * Make flushes wait until releaseFlushes() is called
+         */
+        void blockFlushes()
+        {
+            this.release = new CountDownLatch(1);
+        }
+
+        void releaseFlushes()
+        {
+            this.release.countDown();
+        }
+
+        synchronized List<String> getEntries()
+        {
+            return new ArrayList<String>(this.entries);
+        }
+
+        synchronized boolean awaitFlushes(int count) throws InterruptedException
+        {
+            long deadline = System.currentTimeMillis() + AsyncLoggerTest.TimeoutMillis;
+            while (this.flushCount < count)
+            {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0)
+                {
+                    return false;
+                }
+
+                this.wait(remaining);
+            }
+
+            return true;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package frc.robot.mechanisms;
 
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -11,7 +12,9 @@ import frc.robot.ElectronicsConstants;
 import frc.robot.HardwareConstants;
 import frc.robot.TestProvider;
 import frc.robot.TuningConstants;
+import frc.robot.TuningParameters;
 import frc.robot.common.robotprovider.IDashboardLogger;
+import frc.robot.common.robotprovider.ILogChannel;
 import frc.robot.common.robotprovider.ITalonSRX;
 import frc.robot.common.robotprovider.ITimer;
 import frc.robot.common.robotprovider.TalonSRXControlMode;
@@ -28,6 +31,7 @@ public class DriveTrainMechanismTest
     public void testSetPower_Zero()
     {
         IDashboardLogger logger = mock(IDashboardLogger.class);
+        doReturn(mock(ILogChannel.class)).when(logger).getChannel(anyString(), anyString());
         ITimer timer = mock(ITimer.class);
         TestProvider testProvider = new TestProvider();
         ITalonSRX leftMotor = testProvider.getTalonSRX(ElectronicsConstants.DRIVETRAIN_LEFT_MASTER_CAN_ID);
@@ -55,7 +59,7 @@ public class DriveTrainMechanismTest
         doReturn(0.0).when(rightMotor).getVelocity();
         doReturn(0).when(rightMotor).getPosition();
 
-        DriveTrainMechanism driveTrainMechanism = new DriveTrainMechanism(logger, testProvider, timer);
+        DriveTrainMechanism driveTrainMechanism = new DriveTrainMechanism(logger, testProvider, timer, new TuningParameters());
         driveTrainMechanism.setDriver(driver);
         driveTrainMechanism.readSensors();
         driveTrainMechanism.update();
@@ -134,6 +138,7 @@ public class DriveTrainMechanismTest
     public void testStop()
     {
         IDashboardLogger logger = mock(IDashboardLogger.class);
+        doReturn(mock(ILogChannel.class)).when(logger).getChannel(anyString(), anyString());
         ITimer timer = mock(ITimer.class);
         TestProvider testProvider = new TestProvider();
         ITalonSRX leftMotor = testProvider.getTalonSRX(ElectronicsConstants.DRIVETRAIN_LEFT_MASTER_CAN_ID);
@@ -161,7 +166,7 @@ public class DriveTrainMechanismTest
         doReturn(0.0).when(rightMotor).getVelocity();
         doReturn(0).when(rightMotor).getPosition();
 
-        DriveTrainMechanism driveTrainMechanism = new DriveTrainMechanism(logger, testProvider, timer);
+        DriveTrainMechanism driveTrainMechanism = new DriveTrainMechanism(logger, testProvider, timer, new TuningParameters());
         driveTrainMechanism.setDriver(driver);
         driveTrainMechanism.stop();
 
@@ -0,0 +1,430 @@
+package frc.robot.vision;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import frc.robot.common.robotprovider.IOpenCVProvider;
+import frc.robot.common.robotprovider.IPoint;
+import frc.robot.common.robotprovider.IRect;
+import frc.robot.common.robotprovider.IRotatedRect;
+import frc.robot.common.robotprovider.ISize;
+import frc.robot.vision.common.RotatedRectValues;
+import frc.robot.vision.common.VisionResult;
+
+public class VisionCalculationsPairingTest
+{
+    private static final double LeftAngle = -75.0;
+    private static final double RightAngle = -15.0;
+    private static final double CenterWidth = 160.0;
+
+    @Test
+    public void testFindPreferredPair_TwoRows()
+    {
+        List<IRotatedRect> rects = Arrays.asList(
+            VisionCalculationsPairingTest.rect(100.0, 50.0, VisionCalculationsPairingTest.LeftAngle),
+            VisionCalculationsPairingTest.rect(130.0, 52.0, VisionCalculationsPairingTest.RightAngle),
+            VisionCalculationsPairingTest.rect(150.0, 150.0, VisionCalculationsPairingTest.LeftAngle),
+            VisionCalculationsPairingTest.rect(180.0, 148.0, VisionCalculationsPairingTest.RightAngle),
+            VisionCalculationsPairingTest.rect(300.0, 151.0, VisionCalculationsPairingTest.LeftAngle));
+
+        VisionCalculations calc = new VisionCalculations();
+        RectanglePair highPair = calc.findPreferredPair(rects, VisionResult.HIGH_TARGET, VisionCalculationsPairingTest.CenterWidth, Double.MAX_VALUE);
+        assertNotNull(highPair);
+        assertSame(rects.get(0), highPair.getLeft());
+        assertSame(rects.get(1), highPair.getRight());
+
+        RectanglePair lowPair = calc.findPreferredPair(rects, VisionResult.LOW_TARGET, VisionCalculationsPairingTest.CenterWidth, Double.MAX_VALUE);
+        assertNotNull(lowPair);
+        assertSame(rects.get(2), lowPair.getLeft());
+        assertSame(rects.get(3), lowPair.getRight());
+
+        VisionCalculationsPairingTest.assertMatchesReference(calc, rects);
+    }
+
+    @Test
+    public void testFindPreferredPair_NegativeY()
+    {
+        VisionCalculations calc = new VisionCalculations();
+
+        // a single row with negative Y is still picked
+        List<IRotatedRect> singleRow = Arrays.asList(
+            VisionCalculationsPairingTest.rect(140.0, -20.0, VisionCalculationsPairingTest.LeftAngle),
+            VisionCalculationsPairingTest.rect(170.0, -25.0, VisionCalculationsPairingTest.RightAngle));
+        assertEquals(1, calc.groupRotatedRect(singleRow).size());
+        VisionCalculationsPairingTest.assertMatchesReference(calc, singleRow);
+
+        // when every row has negative Y, pickRow() finds no low row
+        List<IRotatedRect> negativeRows = Arrays.asList(
+            VisionCalculationsPairingTest.rect(140.0, -80.0, VisionCalculationsPairingTest.LeftAngle),
+            VisionCalculationsPairingTest.rect(170.0, -78.0, VisionCalculationsPairingTest.RightAngle),
+            VisionCalculationsPairingTest.rect(140.0, -10.0, VisionCalculationsPairingTest.LeftAngle),
+            VisionCalculationsPairingTest.rect(170.0, -12.0, VisionCalculationsPairingTest.RightAngle));
+        assertEquals(2, calc.groupRotatedRect(negativeRows).size());
+        assertNull(calc.findPreferredPair(negativeRows, VisionResult.LOW_TARGET, VisionCalculationsPairingTest.CenterWidth, Double.MAX_VALUE));
+        VisionCalculationsPairingTest.assertMatchesReference(calc, negativeRows);
+
+        // rows on either side of zero
+        List<IRotatedRect> mixedRows = Arrays.asList(
+            VisionCalculationsPairingTest.rect(140.0, -29.0, VisionCalculationsPairingTest.LeftAngle),
+            VisionCalculationsPairingTest.rect(150.0, 0.0, VisionCalculationsPairingTest.RightAngle),
+            VisionCalculationsPairingTest.rect(155.0, 25.0, VisionCalculationsPairingTest.RightAngle),
+            VisionCalculationsPairingTest.rect(165.0, -45.0, VisionCalculationsPairingTest.LeftAngle));
+        VisionCalculationsPairingTest.assertMatchesReference(calc, mixedRows);
+    }
+
+    @Test
+    public void testFindPreferredPair_TiesInX()
+    {
+        VisionCalculations calc = new VisionCalculations();
+
+        // rectangles with the same center X keep the order in which they were found
+        List<IRotatedRect> rects = Arrays.asList(
+            VisionCalculationsPairingTest.rect(160.0, 100.0, VisionCalculationsPairingTest.RightAngle),
+            VisionCalculationsPairingTest.rect(160.0, 101.0, VisionCalculationsPairingTest.LeftAngle),
+            VisionCalculationsPairingTest.rect(160.0, 102.0, VisionCalculationsPairingTest.LeftAngle),
+            VisionCalculationsPairingTest.rect(160.0, 103.0, VisionCalculationsPairingTest.RightAngle),
+            VisionCalculationsPairingTest.rect(120.0, 104.0, VisionCalculationsPairingTest.LeftAngle),
+            VisionCalculationsPairingTest.rect(200.0, 105.0, VisionCalculationsPairingTest.LeftAngle));
+        VisionCalculationsPairingTest.assertMatchesReference(calc, rects);
+
+        List<IRotatedRect> reversed = new ArrayList<IRotatedRect>(rects);
+        Collections.reverse(reversed);
+        VisionCalculationsPairingTest.assertMatchesReference(calc, reversed);
+    }
+
+    @Test
+    public void testFindPreferredPair_RowsThirtyPixelsApart()
+    {
+        VisionCalculations calc = new VisionCalculations();
+
+        // rectangles exactly 30 pixels from the first rectangle of every row start a new row, while rectangles just
+        // within 30 pixels join the earliest row
+        List<IRotatedRect> rects = Arrays.asList(
+            VisionCalculationsPairingTest.rect(140.0, 60.0, VisionCalculationsPairingTest.LeftAngle),
+            VisionCalculationsPairingTest.rect(170.0, 90.0, VisionCalculationsPairingTest.RightAngle),
+            VisionCalculationsPairingTest.rect(150.0, 120.0, VisionCalculationsPairingTest.LeftAngle),
+            VisionCalculationsPairingTest.rect(180.0, 89.9, VisionCalculationsPairingTest.RightAngle),
+            VisionCalculationsPairingTest.rect(130.0, 30.0, VisionCalculationsPairingTest.LeftAngle),
+            VisionCalculationsPairingTest.rect(190.0, 30.1, VisionCalculationsPairingTest.RightAngle));
+        List<Set<IRotatedRect>> rows = calc.groupRotatedRect(rects);
+        assertEquals(4, rows.size());
+        assertEquals(Arrays.asList(rects.get(0), rects.get(3), rects.get(5)), new ArrayList<IRotatedRect>(rows.get(0)));
+        assertEquals(Arrays.asList(rects.get(1)), new ArrayList<IRotatedRect>(rows.get(1)));
+        assertEquals(Arrays.asList(rects.get(2)), new ArrayList<IRotatedRect>(rows.get(2)));
+        assertEquals(Arrays.asList(rects.get(4)), new ArrayList<IRotatedRect>(rows.get(3)));
+        VisionCalculationsPairingTest.assertMatchesReference(calc, rects);
+    }
+
+    @Test
+    public void testFindPreferredPair_Random()
+    {
+        double[] xs = new double[] { 20.0, 80.5, 140.0, 159.75, 160.0, 160.25, 200.0, 290.0 };
+        double[] angles = new double[] { VisionCalculationsPairingTest.LeftAngle, VisionCalculationsPairingTest.RightAngle, -45.0, -90.0, -0.0, -60.0, -30.0 };
+
+        Random random = new Random(1318);
+        VisionCalculations calc = new VisionCalculations();
+        for (int i = 0; i < 2000; i++)
+        {
+            int count = random.nextInt(12);
+            List<IRotatedRect> rects = new ArrayList<IRotatedRect>();
+            for (int j = 0; j < count; j++)
+            {
+                // Y values on whole multiples of 15 pixels make rows exactly 30 pixels apart common
+                double y = random.nextBoolean() ? 15.0 * (random.nextInt(14) - 4) : random.nextDouble() * 300.0 - 60.0;
+                double x = xs[random.nextInt(xs.length)];
+                double angle = angles[random.nextInt(angles.length)];
+                double height = random.nextInt(8) == 0 ? 1.0 : 11.0;
+                rects.add(new StubRotatedRect(x, y, 4.0, height, angle));
+            }
+
+            VisionCalculationsPairingTest.assertMatchesReference(calc, rects);
+        }
+    }
+
+    /**
+     * Check that findPreferredPair() picks the same pair as groupRotatedRect(), pickRow(), pairRectangles() and
+     * pickPreferredPair() in sequence (for both the rotated rects and their packed values), and that
+     * groupRotatedRect() groups rows as a simple scan would
+     * @param calc to check
+     * @param rects the rectangles found in the frame
+     */
+    private static void assertMatchesReference(VisionCalculations calc, List<IRotatedRect> rects)
+    {
+        List<Set<IRotatedRect>> rows = calc.groupRotatedRect(rects);
+        List<Set<IRotatedRect>> expectedRows = VisionCalculationsPairingTest.groupRowsByScan(rects);
+        assertEquals(expectedRows.size(), rows.size());
+        for (int i = 0; i < rows.size(); i++)
+        {
+            assertEquals(new ArrayList<IRotatedRect>(expectedRows.get(i)), new ArrayList<IRotatedRect>(rows.get(i)));
+        }
+
+        IOpenCVProvider provider = mock(IOpenCVProvider.class);
+        doAnswer(invocation -> new StubRotatedRect(
+            (double)invocation.getArguments()[0],
+            (double)invocation.getArguments()[1],
+            (double)invocation.getArguments()[2],
+            (double)invocation.getArguments()[3],
+            (double)invocation.getArguments()[4])).when(provider).newRotatedRect(anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyDouble());
+
+        double[] values = new double[5 * rects.size()];
+        for (int i = 0; i < rects.size(); i++)
+        {
+            System.arraycopy(rects.get(i).getRawValues(), 0, values, 5 * i, 5);
+        }
+
+        RotatedRectValues rectValues = new RotatedRectValues(values, rects.size());
+
+        for (VisionResult visionResult : VisionResult.values())
+        {
+            for (double maxDistance : new double[] { Double.MAX_VALUE, 40.0, 0.0 })
+            {
+                RectanglePair expected = calc.pickPreferredPair(
+                    calc.pairRectangles(calc.pickRow(calc.groupRotatedRect(rects), visionResult)),
+                    VisionCalculationsPairingTest.CenterWidth,
+                    maxDistance);
+
+                RectanglePair actual = calc.findPreferredPair(rects, visionResult, VisionCalculationsPairingTest.CenterWidth, maxDistance);
+                RectanglePair actualFromValues = calc.findPreferredPair(provider, rectValues, visionResult, VisionCalculationsPairingTest.CenterWidth, maxDistance);
+                if (expected == null)
+                {
+                    assertNull(actual);
+                    assertNull(actualFromValues);
+                }
+                else
+                {
+                    assertNotNull(actual);
+                    assertSame(expected.getLeft(), actual.getLeft());
+                    assertSame(expected.getRight(), actual.getRight());
+
+                    assertNotNull(actualFromValues);
+                    VisionCalculationsPairingTest.assertSameValues(expected.getLeft(), actualFromValues.getLeft());
+                    VisionCalculationsPairingTest.assertSameValues(expected.getRight(), actualFromValues.getRight());
+                }
+            }
+        }
+    }
+
+    private static void assertSameValues(IRotatedRect expected, IRotatedRect actual)
+    {
+        if (expected == null)
+        {
+            assertNull(actual);
+        }
+        else
+        {
+            assertNotNull(actual);
+            assertArrayEquals(expected.getRawValues(), actual.getRawValues());
+        }
+    }
+
+    /**
+     * Group the well-formed rectangles into rows by comparing each one to the first rectangle of every existing row
+     * @param rects the rectangles found in the frame
+     * @return the rows of rectangles
+     */
+    private static List<Set<IRotatedRect>> groupRowsByScan(List<IRotatedRect> rects)
+    {
+        List<Set<IRotatedRect>> rows = new ArrayList<Set<IRotatedRect>>();
+        for (IRotatedRect rect : rects)
+        {
+            if (rect.getAspectRatio() > 5.0 || rect.getAspectRatio() < 1.0)
+            {
+                continue;
+            }
+
+            Set<IRotatedRect> matchingRow = null;
+            for (Set<IRotatedRect> row : rows)
+            {
+                if (Math.abs(rect.getCenter().getY() - row.iterator().next().getCenter().getY()) < 30.0)
+                {
+                    matchingRow = row;
+                    break;
+                }
+            }
+
+            if (matchingRow == null)
+            {
+                matchingRow = new LinkedHashSet<IRotatedRect>();
+                rows.add(matchingRow);
+            }
+
+            matchingRow.add(rect);
+        }
+
+        return rows;
+    }
+
+    private static IRotatedRect rect(double x, double y, double angle)
+    {
+        return new StubRotatedRect(x, y, 4.0, 11.0, angle);
+    }
+
+    /**
+     * A rotated rectangle that doesn't depend on OpenCV, with raw values of [centerX, centerY, width, height, angle]
+     */
+    private static class StubRotatedRect implements IRotatedRect
+    {
+        private final double[] vals;
+
+        private StubRotatedRect(double x, double y, double width, double height, double angle)
+        {
+            this.vals = new double[] { x, y, width, height, angle };
+        }
+
+        @Override
+        public ISize getSize()
+        {
+            return new StubSize(this.vals[2], this.vals[3]);
+        }
+
+        @Override
+        public IPoint getCenter()
+        {
+            return new StubPoint(this.vals[0], this.vals[1]);
+        }
+
+        @Override
+        public double getAngle()
+        {
+            return this.vals[4];
+        }
+
+        @Override
+        public double getAspectRatio()
+        {
+            double width = this.vals[2];
+            double height = this.vals[3];
+            return height > width ? height / width : width / height;
+        }
+
+        @Override
+        public void set(double[] vals)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public IRect boundingRect()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public IRotatedRect clone()
+        {
+            return new StubRotatedRect(this.vals[0], this.vals[1], this.vals[2], this.vals[3], this.vals[4]);
+        }
+
+        @Override
+        public double[] getRawValues()
+        {
+            return this.vals;
+        }
+    }
+
+    private static class StubPoint implements IPoint
+    {
+        private final double x;
+        private final double y;
+
+        private StubPoint(double x, double y)
+        {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public double getX()
+        {
+            return this.x;
+        }
+
+        @Override
+        public double getY()
+        {
+            return this.y;
+        }
+
+        @Override
+        public void set(double[] vals)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public IPoint clone()
+        {
+            return new StubPoint(this.x, this.y);
+        }
+
+        @Override
+        public double dot(IPoint p)
+        {
+            return this.x * p.getX() + this.y * p.getY();
+        }
+
+        @Override
+        public boolean inside(IRect r)
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class StubSize implements ISize
+    {
+        private final double width;
+        private final double height;
+
+        private StubSize(double width, double height)
+        {
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public double getWidth()
+        {
+            return this.width;
+        }
+
+        @Override
+        public double getHeight()
+        {
+            return this.height;
+        }
+
+        @Override
+        public void set(double[] vals)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public double area()
+        {
+            return this.width * this.height;
+        }
+
+        @Override
+        public ISize clone()
+        {
+            return new StubSize(this.width, this.height);
+        }
+    }
+}
@@ -119,7 +119,7 @@ public class FauxbotApplication extends Application
         this.robot = new CoreRobot<FauxbotModule>(desiredModule);
 
         this.simulator = this.robot.getInjector().getInstance(IRealWorldSimulator.class);
-        this.runner = new FauxbotRunner(this.robot, this);
+        this.runner = new FauxbotRunner(this.robot, this, this.robot.getInjector().getInstance(SimulationClock.class), true);
         this.runnerThread = new Thread(this.runner);
         this.robot.robotInit();
 
@@ -224,7 +224,7 @@ public class FauxbotApplication extends Application
 
                     if (joystickPort != -1)
                     {
-                        final FauxbotJoystick joystick = FauxbotJoystickManager.get(joystickPort);
+                        final FauxbotJoystick joystick = this.robot.getInjector().getInstance(FauxbotJoystickManager.class).get(joystickPort);
                         if (joystick != null)
                         {
                             int thisRowIndex = rowCount;
@@ -276,10 +276,11 @@ public class FauxbotApplication extends Application
             }
         }
 
+        FauxbotSensorManager sensorManager = this.robot.getInjector().getInstance(FauxbotSensorManager.class);
         boolean firstSensor = true;
-        for (FauxbotSensorConnection connection : FauxbotSensorManager.sensorMap.keySet())
+        for (FauxbotSensorConnection connection : sensorManager.getConnections())
         {
-            FauxbotSensorBase sensor = FauxbotSensorManager.get(connection);
+            FauxbotSensorBase sensor = sensorManager.get(connection);
             if (sensor != null)
             {
                 if (firstSensor)
@@ -330,6 +331,19 @@ public class FauxbotApplication extends Application
                     grid.add(sensorSlider, 1, thisRowIndex);
                     Bindings.bindBidirectional(((FauxbotEncoder)sensor).getProperty(), sensorSlider.valueProperty());
                 }
+                else if (sensor instanceof FauxbotNavx)
+                {
+                    // driven by the simulator, so only displayed
+                    Label sensorValueLabel = new Label();
+                    grid.add(sensorValueLabel, 1, thisRowIndex);
+                    sensorValueLabel.textProperty().bind(((FauxbotNavx)sensor).getProperty().asString("%.1f"));
+                }
+                else if (sensor instanceof FauxbotPowerDistributionPanel)
+                {
+                    Label sensorValueLabel = new Label();
+                    grid.add(sensorValueLabel, 1, thisRowIndex);
+                    sensorValueLabel.textProperty().bind(((FauxbotPowerDistributionPanel)sensor).getProperty().asString("%.2f"));
+                }
             }
         }
 
@@ -339,10 +353,11 @@ public class FauxbotApplication extends Application
             rowCount++;
         }
 
+        FauxbotActuatorManager actuatorManager = this.robot.getInjector().getInstance(FauxbotActuatorManager.class);
         boolean firstActuator = true;
-        for (FauxbotActuatorConnection connection : FauxbotActuatorManager.actuatorMap.keySet())
+        for (FauxbotActuatorConnection connection : actuatorManager.getConnections())
         {
-            FauxbotActuatorBase actuator = FauxbotActuatorManager.get(connection);
+            FauxbotActuatorBase actuator = actuatorManager.get(connection);
             if (actuator != null)
             {
                 if (firstActuator)
@@ -462,7 +477,7 @@ public class FauxbotApplication extends Application
 
         if (joystickPort != -1)
         {
-            final FauxbotJoystick joystick = FauxbotJoystickManager.get(joystickPort);
+            final FauxbotJoystick joystick = this.robot.getInjector().getInstance(FauxbotJoystickManager.class).get(joystickPort);
             if (joystick != null)
             {
                 int thisRowIndex = rowCount;
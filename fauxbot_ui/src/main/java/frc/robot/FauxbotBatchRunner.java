@@ -0,0 +1,98 @@
+package frc.robot;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import frc.robot.TuningParameters.Parameter;
+import frc.robot.driver.AutonomousRoutineSelector.AutoRoutine;
+import frc.robot.driver.AutonomousRoutineSelector.StartPosition;
+
+/**
+ * Headless batch runner for the Fauxbot simulation.
+ *
+ * Runs each autonomous routine from each start position on a fresh robot without the Fauxbot UI, advancing the
+ * simulation clock by one tick after each loop as fast as the CPU allows.  For each run it reports the final pose,
+ * the simulated time and the cost of the robot's loops, and then the totals across all of the runs.
+ *
+ * The robot sees simulated vision targets (see SimulatedVisionManager) in place of camera frames, and runs that are
+ * canceled because a vision task lost its target are counted separately in the totals.
+ *
+ * Run with: gradlew :fauxbot_ui:fauxbotBatch -Plength=(seconds of autonomous) -Prepeats=(runs per routine and position)
+ */
+public class FauxbotBatchRunner
+{
+    private static final double DefaultLength = 15.0;
+    private static final int DefaultRepeats = 1;
+    private static final double NanosPerMicro = 1000.0;
+    private static final double NanosPerSecond = 1000000000.0;
+
+    public static void main(String[] args)
+    {
+        double length = args.length > 0 ? Double.parseDouble(args[0]) : FauxbotBatchRunner.DefaultLength;
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : FauxbotBatchRunner.DefaultRepeats;
+
+        PrintStream out = System.out;
+        List<SimulatedAutonomousRun> runs = new ArrayList<SimulatedAutonomousRun>();
+
+        long start = System.nanoTime();
+        for (int repeat = 0; repeat < repeats; repeat++)
+        {
+            for (AutoRoutine routine : AutoRoutine.values())
+            {
+                for (StartPosition position : StartPosition.values())
+                {
+                    SimulatedAutonomousRun run = new SimulatedAutonomousRun(routine, position, Collections.<Parameter, Double>emptyMap(), length);
+                    run.run();
+                    out.println(run);
+                    runs.add(run);
+                }
+            }
+        }
+
+        FauxbotBatchRunner.printTotals(out, runs, System.nanoTime() - start);
+    }
+
+    /**
+     * Print the totals across all of the runs
+     * @param out to print to
+     * @param runs that were performed
+     * @param wallNanos the wall time taken by all of the runs, in nanoseconds
+     */
+    public static void printTotals(PrintStream out, List<SimulatedAutonomousRun> runs, long wallNanos)
+    {
+        double simulatedTime = 0.0;
+        long loops = 0L;
+        long loopNanos = 0L;
+        int completedCount = 0;
+        int visionCanceledCount = 0;
+        for (SimulatedAutonomousRun run : runs)
+        {
+            simulatedTime += run.getSimulatedTime();
+            loops += run.getLoopCount();
+            loopNanos += run.getTotalLoopNanos();
+            if (run.hasCompleted())
+            {
+                completedCount++;
+            }
+            else if (run.wasCanceledWaitingForVision())
+            {
+                visionCanceledCount++;
+            }
+        }
+
+        double wallTime = wallNanos / FauxbotBatchRunner.NanosPerSecond;
+        out.println(
+            String.format(
+                "total: runs=%d completed=%d no-target=%d sim=%.2fs loops=%d mean=%.1fus wall=%.3fs speedup=%.1fx",
+                runs.size(),
+                completedCount,
+                visionCanceledCount,
+                simulatedTime,
+                loops,
+                loops > 0 ? loopNanos / (double)loops / FauxbotBatchRunner.NanosPerMicro : 0.0,
+                wallTime,
+                simulatedTime / wallTime));
+    }
+}
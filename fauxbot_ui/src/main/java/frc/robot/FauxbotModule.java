@@ -17,27 +17,42 @@ public abstract class FauxbotModule extends AbstractModule
     protected void configure()
     {
         this.bind(IRobotProvider.class).to(FauxbotProvider.class);
+        // all time in the simulation comes from the shared SimulationClock, which the runner advances after each loop
+        this.bind(SimulationClock.class).in(Singleton.class);
+        // each robot has its own registries of simulated devices, so that several robots can be simulated at once
+        this.bind(FauxbotSensorManager.class).in(Singleton.class);
+        this.bind(FauxbotActuatorManager.class).in(Singleton.class);
+        this.bind(FauxbotJoystickManager.class).in(Singleton.class);
         this.bind(ITimer.class).to(FauxbotTimer.class);
         this.bind(IButtonMap.class).to(ButtonMap.class);
     }
 
     @Singleton
     @Provides
-    public MechanismManager getMechanismManager(Injector injector)
+    public MechanismManager getMechanismManager(Injector injector, LoopProfiler profiler)
     {
-        return new MechanismManager(TuningConstants.GetActiveMechanisms(injector));
+        return new MechanismManager(TuningConstants.GetActiveMechanisms(injector), profiler);
     }
 
     @Singleton
     @Provides
     public IDashboardLogger getLogger()
     {
-        IDashboardLogger logger = new ConsoleDashboardLogger();
+        return this.createLogger();
+    }
+
+    /**
+     * Create the logger for the robot (overridable, as Guice doesn't allow overriding @Provides methods)
+     * @return the logger
+     */
+    protected IDashboardLogger createLogger()
+    {
+        IDashboardLogger logger = new AsyncLogger(new ConsoleDashboardLogger());
         //        try
         //        {
-        //            String fileName = String.format("/home/lvuser/%1$d.csv", Calendar.getInstance().getTime().getTime());
-        //            IDashboardLogger csvLogger = new CSVLogger(fileName, new String[] { "r.time", "vision.mAngle", "vision.dist" });
-        //            logger = new MultiLogger(logger, csvLogger);
+        //            String fileName = String.format("/home/lvuser/%1$d.bin", Calendar.getInstance().getTime().getTime());
+        //            IDashboardLogger binaryLogger = new BinaryLogger(fileName);
+        //            logger = new MultiLogger(logger, binaryLogger);
         //        }
         //        catch (IOException e)
         //        {
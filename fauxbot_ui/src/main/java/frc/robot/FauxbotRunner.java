@@ -1,19 +1,40 @@
 package frc.robot;
 
+import frc.robot.common.robotprovider.SimulationClock;
+
+/**
+ * Runs the robot's loops, advancing the simulation clock by one tick after each loop.
+ *
+ * In real time the runner waits for the wall clock to catch up to the simulation clock between loops, so that the
+ * simulation can be driven interactively.  Otherwise the loops run back to back, as fast as the CPU allows.
+ */
 public class FauxbotRunner implements Runnable
 {
+    private static final long NanosPerMillisecond = 1000000L;
+
     private final Object locker;
     private final CoreRobot<FauxbotModule> robot;
     private final FauxbotApplication fauxbot;
+    private final SimulationClock clock;
+    private final boolean realTime;
 
-    private boolean stop;
+    private volatile boolean stop;
     private RobotMode mode;
 
-    public FauxbotRunner(CoreRobot<FauxbotModule> robot, FauxbotApplication fauxbot)
+    /**
+     * Initializes a new FauxbotRunner
+     * @param robot to run
+     * @param fauxbot application to refresh after each loop
+     * @param clock to advance after each loop
+     * @param realTime whether to keep the simulation clock in step with the wall clock
+     */
+    public FauxbotRunner(CoreRobot<FauxbotModule> robot, FauxbotApplication fauxbot, SimulationClock clock, boolean realTime)
     {
         this.locker = new Object();
         this.robot = robot;
         this.fauxbot = fauxbot;
+        this.clock = clock;
+        this.realTime = realTime;
         this.stop = false;
         this.mode = RobotMode.Disabled;
     }
@@ -21,6 +42,10 @@ public class FauxbotRunner implements Runnable
     @Override
     public void run()
     {
+        long tickNanos = (long)(this.clock.getTickLength() * 1000.0 * FauxbotRunner.NanosPerMillisecond);
+        long startNanos = System.nanoTime();
+        long startTick = this.clock.getTickCount();
+
         RobotMode currentMode = RobotMode.Disabled;
         while (!this.stop)
         {
@@ -66,14 +91,23 @@ public class FauxbotRunner implements Runnable
             }
 
             this.fauxbot.refresh();
+            this.clock.tick();
 
-            try
+            if (this.realTime)
             {
-                Thread.sleep(20);
-            }
-            catch (InterruptedException e)
-            {
-                e.printStackTrace();
+                long wallNanos = startNanos + (this.clock.getTickCount() - startTick) * tickNanos;
+                long sleepMillis = (wallNanos - System.nanoTime()) / FauxbotRunner.NanosPerMillisecond;
+                if (sleepMillis > 0)
+                {
+                    try
+                    {
+                        Thread.sleep(sleepMillis);
+                    }
+                    catch (InterruptedException e)
+                    {
+                        e.printStackTrace();
+                    }
+                }
             }
         }
     }
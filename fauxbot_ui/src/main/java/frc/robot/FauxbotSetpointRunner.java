@@ -0,0 +1,223 @@
+package frc.robot;
+
+import java.io.PrintStream;
+
+import frc.robot.common.robotprovider.*;
+import frc.robot.driver.DigitalOperation;
+import frc.robot.driver.common.Driver;
+import frc.robot.driver.common.IButtonMap;
+import frc.robot.driver.common.states.DigitalOperationState;
+import frc.robot.mechanisms.ClimberMechanism;
+import frc.robot.mechanisms.ElevatorMechanism;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+/**
+ * Headless setpoint runner for the elevator and climber in the Fauxbot simulation.
+ *
+ * Steps each of the elevator's and climber's setpoint operations on a fresh robot, starting from the bottom (or from
+ * the top, for the setpoints at the bottom), and measures how the mechanism responds under its simulated load: the
+ * time it takes to settle within 2% of the step, how far it overshoots the setpoint, and the error left at the end.
+ *
+ * Run with: gradlew :fauxbot_ui:fauxbotSetpoints -Plength=(seconds for each step)
+ */
+public class FauxbotSetpointRunner
+{
+    private static final double DefaultLength = 5.0;
+    private static final double SettleFraction = 0.02;
+
+    private static final SetpointStep[] Steps = new SetpointStep[]
+    {
+        new SetpointStep(Axis.Elevator, null, DigitalOperation.ElevatorCargo1Position),
+        new SetpointStep(Axis.Elevator, null, DigitalOperation.ElevatorCamReturnPosition),
+        new SetpointStep(Axis.Elevator, null, DigitalOperation.ElevatorHatch2Position),
+        new SetpointStep(Axis.Elevator, null, DigitalOperation.ElevatorCargoLoadPosition),
+        new SetpointStep(Axis.Elevator, null, DigitalOperation.ElevatorCargo2Position),
+        new SetpointStep(Axis.Elevator, null, DigitalOperation.ElevatorHatch3Position),
+        new SetpointStep(Axis.Elevator, null, DigitalOperation.ElevatorCargo3Position),
+        new SetpointStep(Axis.Elevator, DigitalOperation.ElevatorCargo3Position, DigitalOperation.ElevatorBottomPosition),
+        new SetpointStep(Axis.ClimberArms, null, DigitalOperation.ClimberArmsPrepClimbPosition),
+        new SetpointStep(Axis.ClimberArms, null, DigitalOperation.ClimberArmsHighClimbPosition),
+        new SetpointStep(Axis.ClimberArms, DigitalOperation.ClimberArmsPrepClimbPosition, DigitalOperation.ClimberArmsRetractedPosition),
+        new SetpointStep(Axis.ClimberCam, null, DigitalOperation.ClimberCamLowClimbPosition),
+        new SetpointStep(Axis.ClimberCam, null, DigitalOperation.ClimberCamHighClimbPosition),
+        new SetpointStep(Axis.ClimberCam, null, DigitalOperation.ClimberCamOutOfWayPosition),
+        new SetpointStep(Axis.ClimberCam, DigitalOperation.ClimberCamOutOfWayPosition, DigitalOperation.ClimberCamStoredPosition),
+    };
+
+    public static void main(String[] args)
+    {
+        double length = args.length > 0 ? Double.parseDouble(args[0]) : FauxbotSetpointRunner.DefaultLength;
+
+        PrintStream out = System.out;
+        for (SetpointStep step : FauxbotSetpointRunner.Steps)
+        {
+            step.run(length);
+            out.println(step);
+        }
+    }
+
+    /**
+     * The mechanism that a setpoint belongs to, and how to read its position and desired position
+     */
+    private enum Axis
+    {
+        Elevator,
+        ClimberArms,
+        ClimberCam;
+
+        double getPosition(ElevatorMechanism elevator, ClimberMechanism climber)
+        {
+            switch (this)
+            {
+                case Elevator:
+                    return elevator.getHeight();
+
+                case ClimberArms:
+                    return climber.getArmsPosition();
+
+                default:
+                    return climber.getCamPosition();
+            }
+        }
+
+        double getDesiredPosition(ElevatorMechanism elevator, ClimberMechanism climber)
+        {
+            switch (this)
+            {
+                case Elevator:
+                    return elevator.getDesiredHeight();
+
+                case ClimberArms:
+                    return climber.getArmsDesiredPosition();
+
+                default:
+                    return climber.getCamDesiredPosition();
+            }
+        }
+    }
+
+    /**
+     * One step of a mechanism to a setpoint on a fresh robot, holding a starting setpoint first if there is one
+     */
+    private static class SetpointStep
+    {
+        private final Axis axis;
+        private final DigitalOperation from;
+        private final DigitalOperation to;
+
+        private double start;
+        private double target;
+        private double settleTime;
+        private double overshoot;
+        private double finalError;
+
+        SetpointStep(Axis axis, DigitalOperation from, DigitalOperation to)
+        {
+            this.axis = axis;
+            this.from = from;
+            this.to = to;
+        }
+
+        void run(double length)
+        {
+            Injector injector = Guice.createInjector(new HeadlessFauxbotModule());
+            SimulationClock clock = injector.getInstance(SimulationClock.class);
+            IRealWorldSimulator simulator = injector.getInstance(IRealWorldSimulator.class);
+            SetpointDriver driver = new SetpointDriver(
+                injector.getInstance(IDashboardLogger.class),
+                injector,
+                injector.getInstance(IButtonMap.class),
+                injector.getInstance(IRobotProvider.class));
+
+            ElevatorMechanism elevator = injector.getInstance(ElevatorMechanism.class);
+            ClimberMechanism climber = injector.getInstance(ClimberMechanism.class);
+            elevator.setDriver(driver);
+            climber.setDriver(driver);
+            elevator.readSensors();
+            climber.readSensors();
+
+            int loopCount = (int)Math.round(length / clock.getTickLength());
+            if (this.from != null)
+            {
+                driver.press(this.from, true);
+                for (int loop = 0; loop < loopCount; loop++)
+                {
+                    this.loop(elevator, climber, simulator, clock);
+                }
+
+                driver.press(this.from, false);
+            }
+
+            driver.press(this.to, true);
+            double startTime = clock.getTime();
+            this.start = this.axis.getPosition(elevator, climber);
+            this.target = Double.NaN;
+            this.settleTime = 0.0;
+            this.overshoot = 0.0;
+            for (int loop = 0; loop < loopCount; loop++)
+            {
+                this.loop(elevator, climber, simulator, clock);
+                if (Double.isNaN(this.target))
+                {
+                    this.target = this.axis.getDesiredPosition(elevator, climber);
+                }
+
+                double position = this.axis.getPosition(elevator, climber);
+                double error = position - this.target;
+                if (Math.abs(error) > FauxbotSetpointRunner.SettleFraction * Math.abs(this.target - this.start))
+                {
+                    this.settleTime = clock.getTime() - startTime;
+                }
+
+                this.overshoot = Math.max(this.overshoot, error * Math.signum(this.target - this.start));
+                this.finalError = error;
+            }
+        }
+
+        private void loop(ElevatorMechanism elevator, ClimberMechanism climber, IRealWorldSimulator simulator, SimulationClock clock)
+        {
+            elevator.update();
+            climber.update();
+            simulator.update();
+            clock.tick();
+
+            elevator.readSensors();
+            climber.readSensors();
+        }
+
+        @Override
+        public String toString()
+        {
+            double step = Math.abs(this.target - this.start);
+            return String.format(
+                "%-28s from=%8.1f to=%8.1f settle=%5.2fs overshoot=%7.1f (%5.1f%%) error=%7.1f",
+                this.to,
+                this.start,
+                this.target,
+                this.settleTime,
+                this.overshoot,
+                step > 0.0 ? 100.0 * this.overshoot / step : 0.0,
+                this.finalError);
+        }
+    }
+
+    /**
+     * Driver that holds down digital operations on behalf of the runner, rather than reading the joysticks
+     */
+    private static class SetpointDriver extends Driver
+    {
+        SetpointDriver(IDashboardLogger logger, Injector injector, IButtonMap buttonMap, IRobotProvider provider)
+        {
+            super(logger, injector, buttonMap, provider);
+        }
+
+        void press(DigitalOperation operation, boolean pressed)
+        {
+            DigitalOperationState state = this.operationStates.getDigitalState(operation);
+            state.setIsInterrupted(true);
+            state.setInterruptState(pressed);
+        }
+    }
+}
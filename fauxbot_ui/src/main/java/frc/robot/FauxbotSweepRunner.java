@@ -0,0 +1,268 @@
+package frc.robot;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import frc.robot.TuningParameters.Parameter;
+import frc.robot.driver.AutonomousRoutineSelector.AutoRoutine;
+import frc.robot.driver.AutonomousRoutineSelector.StartPosition;
+
+/**
+ * Headless sweep over tuning parameters for the Fauxbot simulation.
+ *
+ * Runs every combination of the provided parameter values for each of the selected autonomous routines and start
+ * positions, each on its own robot, spread across a ForkJoinPool with one thread per core.  The runs are then ranked:
+ * runs whose routine completed come first, fastest first, followed by the runs that ran out of time or were canceled,
+ * those that kept going for longest first.  Runs that were canceled because a vision task lost its target come last.
+ *
+ * The robot sees simulated vision targets (see SimulatedVisionManager), which are placed a fixed distance ahead of it
+ * whenever vision is enabled, so the vision steps of the routines exercise the centering and advancing gains but are
+ * not a model of where the real targets are on the field.
+ *
+ * Arguments are of the form NAME=value1,value2,... where NAME is a TuningParameters.Parameter (e.g. NAVX_TURN_PID_KP),
+ * or one of routine, position, length (seconds), threads, or top (the number of ranked runs to print).
+ *
+ * Run with: gradlew :fauxbot_ui:fauxbotSweep -Psweep="NAVX_TURN_PID_KP=0.01,0.025,0.04 routine=DeliverTwoLeft"
+ */
+public class FauxbotSweepRunner
+{
+    private static final double DefaultLength = 30.0; // long enough for the two-piece routines to complete
+    private static final int DefaultTop = 20;
+
+    private static final Comparator<SimulatedAutonomousRun> Ranking =
+        Comparator.comparing(SimulatedAutonomousRun::wasCanceledWaitingForVision)
+            .thenComparing((SimulatedAutonomousRun run) -> !run.hasCompleted())
+            .thenComparingDouble(run -> run.hasCompleted() ? run.getCompletionTime() : -run.getSimulatedTime());
+
+    private final List<AutoRoutine> routines;
+    private final List<StartPosition> positions;
+    private final Map<Parameter, double[]> parameterValues;
+
+    private double length;
+    private int threads;
+    private int top;
+
+    /**
+     * Initializes a new FauxbotSweepRunner that runs each routine other than None from each start position
+     */
+    public FauxbotSweepRunner()
+    {
+        this.routines = new ArrayList<AutoRoutine>();
+        this.positions = new ArrayList<StartPosition>();
+        this.parameterValues = new EnumMap<Parameter, double[]>(Parameter.class);
+
+        this.length = FauxbotSweepRunner.DefaultLength;
+        this.threads = Runtime.getRuntime().availableProcessors();
+        this.top = FauxbotSweepRunner.DefaultTop;
+    }
+
+    public static void main(String[] args)
+    {
+        FauxbotSweepRunner sweep = new FauxbotSweepRunner();
+        for (String arg : args)
+        {
+            sweep.parseArgument(arg);
+        }
+
+        PrintStream out = System.out;
+        List<SimulatedAutonomousRun> runs = sweep.createRuns();
+        out.println(String.format("sweep: %d runs on %d threads", runs.size(), sweep.threads));
+
+        long start = System.nanoTime();
+        sweep.runAll(runs);
+        long wallNanos = System.nanoTime() - start;
+
+        runs.sort(FauxbotSweepRunner.Ranking);
+        for (int i = 0; i < runs.size() && i < sweep.top; i++)
+        {
+            SimulatedAutonomousRun run = runs.get(i);
+            out.println(String.format("#%-4d %s", i + 1, run.getParameters()));
+            out.println(String.format("      %s", run));
+        }
+
+        FauxbotBatchRunner.printTotals(out, runs, wallNanos);
+
+        int completedCount = 0;
+        int visionCanceledCount = 0;
+        for (SimulatedAutonomousRun run : runs)
+        {
+            if (run.hasCompleted())
+            {
+                completedCount++;
+            }
+            else if (run.wasCanceledWaitingForVision())
+            {
+                visionCanceledCount++;
+            }
+        }
+
+        if (completedCount == 0 && !runs.isEmpty())
+        {
+            out.println(
+                String.format(
+                    "warning: none of the %d runs completed within %.1fs, so they are only ranked by how long they kept going; try a longer length",
+                    runs.size(),
+                    sweep.length));
+        }
+
+        if (visionCanceledCount > 0)
+        {
+            out.println(
+                String.format(
+                    "warning: %d of %d runs were canceled because a vision task lost its target",
+                    visionCanceledCount,
+                    runs.size()));
+        }
+    }
+
+    /**
+     * Apply an argument of the form NAME=value1,value2,...
+     * @param arg to apply
+     */
+    public void parseArgument(String arg)
+    {
+        int separator = arg.indexOf('=');
+        if (separator <= 0)
+        {
+            throw new IllegalArgumentException("expected NAME=value1,value2,... but got " + arg);
+        }
+
+        String name = arg.substring(0, separator);
+        String[] values = arg.substring(separator + 1).split(",");
+        switch (name)
+        {
+            case "routine":
+                for (String value : values)
+                {
+                    this.routines.add(AutoRoutine.valueOf(value));
+                }
+
+                break;
+
+            case "position":
+                for (String value : values)
+                {
+                    this.positions.add(StartPosition.valueOf(value));
+                }
+
+                break;
+
+            case "length":
+                this.length = Double.parseDouble(values[0]);
+                break;
+
+            case "threads":
+                this.threads = Integer.parseInt(values[0]);
+                break;
+
+            case "top":
+                this.top = Integer.parseInt(values[0]);
+                break;
+
+            default:
+                double[] parsedValues = new double[values.length];
+                for (int i = 0; i < values.length; i++)
+                {
+                    parsedValues[i] = Double.parseDouble(values[i]);
+                }
+
+                this.parameterValues.put(Parameter.valueOf(name), parsedValues);
+                break;
+        }
+    }
+
+    /**
+     * Create a run for every combination of routine, start position and parameter values
+     * @return the runs
+     */
+    public List<SimulatedAutonomousRun> createRuns()
+    {
+        List<AutoRoutine> routines = this.routines;
+        if (routines.isEmpty())
+        {
+            routines = new ArrayList<AutoRoutine>();
+            for (AutoRoutine routine : AutoRoutine.values())
+            {
+                if (routine != AutoRoutine.None)
+                {
+                    routines.add(routine);
+                }
+            }
+        }
+
+        List<StartPosition> positions = this.positions;
+        if (positions.isEmpty())
+        {
+            positions = new ArrayList<StartPosition>();
+            for (StartPosition position : StartPosition.values())
+            {
+                positions.add(position);
+            }
+        }
+
+        // expand the parameter values into every combination, one parameter at a time
+        List<Map<Parameter, Double>> combinations = new ArrayList<Map<Parameter, Double>>();
+        combinations.add(new EnumMap<Parameter, Double>(Parameter.class));
+        for (Map.Entry<Parameter, double[]> parameter : this.parameterValues.entrySet())
+        {
+            List<Map<Parameter, Double>> expanded = new ArrayList<Map<Parameter, Double>>(combinations.size() * parameter.getValue().length);
+            for (Map<Parameter, Double> combination : combinations)
+            {
+                for (double value : parameter.getValue())
+                {
+                    Map<Parameter, Double> newCombination = new EnumMap<Parameter, Double>(combination);
+                    newCombination.put(parameter.getKey(), value);
+                    expanded.add(newCombination);
+                }
+            }
+
+            combinations = expanded;
+        }
+
+        List<SimulatedAutonomousRun> runs = new ArrayList<SimulatedAutonomousRun>();
+        for (Map<Parameter, Double> combination : combinations)
+        {
+            for (AutoRoutine routine : routines)
+            {
+                for (StartPosition position : positions)
+                {
+                    runs.add(new SimulatedAutonomousRun(routine, position, combination, this.length));
+                }
+            }
+        }
+
+        return runs;
+    }
+
+    /**
+     * Perform all of the runs in parallel, each on its own robot
+     * @param runs to perform
+     */
+    public void runAll(List<SimulatedAutonomousRun> runs)
+    {
+        ForkJoinPool pool = new ForkJoinPool(this.threads);
+        try
+        {
+            List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>(runs.size());
+            for (SimulatedAutonomousRun run : runs)
+            {
+                tasks.add(pool.submit(run::run));
+            }
+
+            for (ForkJoinTask<?> task : tasks)
+            {
+                task.join();
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package frc.robot;
+
+import frc.robot.common.robotprovider.*;
+import frc.robot.mechanisms.VisionManager;
+import frc.robot.simulation.SimulatedVisionManager;
+
+/**
+ * Simulation module for running the robot without the Fauxbot UI, discarding everything that is logged.  Vision sees
+ * simulated targets, as there are no camera frames to process.
+ */
+public class HeadlessFauxbotModule extends SimulationFauxbotModule
+{
+    @Override
+    protected void configure()
+    {
+        super.configure();
+
+        this.bind(VisionManager.class).to(SimulatedVisionManager.class);
+    }
+
+    @Override
+    protected IDashboardLogger createLogger()
+    {
+        return new NullDashboardLogger();
+    }
+}
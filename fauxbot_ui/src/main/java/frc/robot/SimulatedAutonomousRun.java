@@ -0,0 +1,272 @@
+package frc.robot;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Map;
+
+import frc.robot.TuningParameters.Parameter;
+import frc.robot.common.robotprovider.*;
+import frc.robot.driver.DigitalOperation;
+import frc.robot.driver.AutonomousRoutineSelector.AutoRoutine;
+import frc.robot.driver.AutonomousRoutineSelector.StartPosition;
+import frc.robot.driver.common.Driver;
+import frc.robot.mechanisms.PositionManager;
+import frc.robot.mechanisms.VisionManager;
+
+import com.google.inject.Injector;
+
+/**
+ * One autonomous routine run on a fresh headless robot, advancing the simulation clock by one tick after each loop as
+ * fast as the CPU allows until the routine completes or the time runs out.
+ *
+ * Each run has its own injector, and so its own clock, device registries and tuning parameters, which means that
+ * different runs can happen on different threads at the same time.
+ *
+ * The robot sees simulated vision targets, which it can lose if it turns too far away from them.  Runs that are
+ * canceled because a vision task had no target are flagged as canceled waiting for vision.
+ */
+public class SimulatedAutonomousRun
+{
+    private static final double NanosPerMicro = 1000.0;
+    private static final double NanosPerSecond = 1000000000.0;
+
+    private final AutoRoutine routine;
+    private final StartPosition position;
+    private final Map<Parameter, Double> parameters;
+    private final double length;
+
+    private double x;
+    private double y;
+    private double angle;
+    private double navxAngle;
+    private double simulatedTime;
+    private double endTime;
+    private boolean completed;
+    private boolean canceledWaitingForVision;
+
+    private int loopCount;
+    private long totalLoopNanos;
+    private long p99LoopNanos;
+    private long maxLoopNanos;
+    private long cpuNanos;
+    private long wallNanos;
+
+    /**
+     * Initializes a new SimulatedAutonomousRun
+     * @param routine to select
+     * @param position to start from
+     * @param parameters to change from their TuningConstants values for this run
+     * @param length the longest time to simulate, in seconds
+     */
+    public SimulatedAutonomousRun(AutoRoutine routine, StartPosition position, Map<Parameter, Double> parameters, double length)
+    {
+        this.routine = routine;
+        this.position = position;
+        this.parameters = parameters;
+        this.length = length;
+
+        this.endTime = Double.NaN;
+        this.completed = false;
+        this.canceledWaitingForVision = false;
+    }
+
+    /**
+     * Create the robot and run the autonomous routine
+     */
+    public void run()
+    {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        long wallStart = System.nanoTime();
+
+        CoreRobot<FauxbotModule> robot = new CoreRobot<FauxbotModule>(new HeadlessFauxbotModule());
+        Injector injector = robot.getInjector();
+        SimulationClock clock = injector.getInstance(SimulationClock.class);
+        IRealWorldSimulator simulator = injector.getInstance(IRealWorldSimulator.class);
+        VisionManager visionManager = injector.getInstance(VisionManager.class);
+        FauxbotProvider provider = injector.getInstance(FauxbotProvider.class);
+
+        // parameters must be set before robotInit, as some of them are read when the mechanisms are created
+        TuningParameters tuningParameters = injector.getInstance(TuningParameters.class);
+        for (Map.Entry<Parameter, Double> parameter : this.parameters.entrySet())
+        {
+            tuningParameters.set(parameter.getKey(), parameter.getValue());
+        }
+
+        robot.robotInit();
+        for (FauxbotSendableChooser<?> chooser : provider.getSendableChoosers())
+        {
+            // each option only exists in one of the choosers
+            chooser.selectValue(this.routine);
+            chooser.selectValue(this.position);
+        }
+
+        robot.disabledInit();
+        robot.autonomousInit();
+
+        double startTime = clock.getTime();
+        int maxLoopCount = (int)Math.round(this.length / clock.getTickLength());
+        long[] loopNanos = new long[maxLoopCount];
+        long cpuStart = threadBean.getCurrentThreadCpuTime();
+
+        Driver driver = robot.getDriver();
+        boolean waitingForVision = false;
+        int loop = 0;
+        while (loop < maxLoopCount)
+        {
+            long loopStart = System.nanoTime();
+            robot.autonomousPeriodic();
+            simulator.update();
+            loopNanos[loop++] = System.nanoTime() - loopStart;
+
+            clock.tick();
+            if (!driver.isAutonomousRoutineActive())
+            {
+                // the routine either completed or was canceled by one of its tasks
+                this.endTime = clock.getTime() - startTime;
+                this.completed = driver.hasAutonomousRoutineCompleted();
+                this.canceledWaitingForVision = !this.completed && waitingForVision;
+                break;
+            }
+
+            // a canceled vision task disables vision as it ends, so remember whether it was waiting when it was last enabled
+            if (driver.getDigital(DigitalOperation.VisionEnableCargoShip) || driver.getDigital(DigitalOperation.VisionEnableRocket))
+            {
+                waitingForVision = visionManager.getCenter() == null;
+            }
+        }
+
+        this.cpuNanos = threadBean.getCurrentThreadCpuTime() - cpuStart;
+        this.simulatedTime = clock.getTime() - startTime;
+
+        // read the pose before disabling the robot, as stopping the position manager resets it to the origin
+        PositionManager positionManager = injector.getInstance(PositionManager.class);
+        this.x = positionManager.getOdometryX();
+        this.y = positionManager.getOdometryY();
+        this.angle = positionManager.getOdometryAngle();
+        this.navxAngle = positionManager.getNavxAngle();
+
+        robot.disabledInit();
+
+        // the robot is discarded after the run, so don't leave its vision threads waiting for frames
+        visionManager.shutdown();
+
+        this.loopCount = loop;
+        this.totalLoopNanos = 0L;
+        for (int i = 0; i < loop; i++)
+        {
+            this.totalLoopNanos += loopNanos[i];
+        }
+
+        Arrays.sort(loopNanos, 0, loop);
+        this.p99LoopNanos = loop > 0 ? loopNanos[Math.max(0, (int)Math.ceil(0.99 * loop) - 1)] : 0L;
+        this.maxLoopNanos = loop > 0 ? loopNanos[loop - 1] : 0L;
+        this.wallNanos = System.nanoTime() - wallStart;
+    }
+
+    public AutoRoutine getRoutine()
+    {
+        return this.routine;
+    }
+
+    public StartPosition getPosition()
+    {
+        return this.position;
+    }
+
+    public Map<Parameter, Double> getParameters()
+    {
+        return this.parameters;
+    }
+
+    /**
+     * Gets whether the routine ran to completion before the time ran out (rather than being canceled)
+     * @return true if the routine completed
+     */
+    public boolean hasCompleted()
+    {
+        return this.completed;
+    }
+
+    /**
+     * Gets whether the routine was canceled while a task was waiting to see a vision target
+     * @return true if the routine was canceled waiting for vision
+     */
+    public boolean wasCanceledWaitingForVision()
+    {
+        return this.canceledWaitingForVision;
+    }
+
+    /**
+     * Gets the simulated time that the routine took to complete
+     * @return the completion time in seconds, or NaN if it didn't complete
+     */
+    public double getCompletionTime()
+    {
+        return this.completed ? this.endTime : Double.NaN;
+    }
+
+    public double getSimulatedTime()
+    {
+        return this.simulatedTime;
+    }
+
+    public int getLoopCount()
+    {
+        return this.loopCount;
+    }
+
+    public long getTotalLoopNanos()
+    {
+        return this.totalLoopNanos;
+    }
+
+    /**
+     * Gets the mean cost of the robot's loops
+     * @return the mean loop time in microseconds
+     */
+    public double getMeanLoopMicros()
+    {
+        return this.loopCount > 0 ? this.totalLoopNanos / (double)this.loopCount / SimulatedAutonomousRun.NanosPerMicro : 0.0;
+    }
+
+    /**
+     * Gets a one-line summary of the run
+     * @return the summary
+     */
+    @Override
+    public String toString()
+    {
+        return String.format(
+            "%-20s %-7s x=%8.2f y=%8.2f angle=%8.2f navx=%8.2f %s sim=%.2fs loops=%d mean=%.1fus p99=%.1fus max=%.1fus cpu=%.3fs wall=%.3fs",
+            this.routine,
+            this.position,
+            this.x,
+            this.y,
+            this.angle,
+            this.navxAngle,
+            this.getOutcome(),
+            this.simulatedTime,
+            this.loopCount,
+            this.getMeanLoopMicros(),
+            this.p99LoopNanos / SimulatedAutonomousRun.NanosPerMicro,
+            this.maxLoopNanos / SimulatedAutonomousRun.NanosPerMicro,
+            this.cpuNanos / SimulatedAutonomousRun.NanosPerSecond,
+            this.wallNanos / SimulatedAutonomousRun.NanosPerSecond);
+    }
+
+    private String getOutcome()
+    {
+        if (Double.isNaN(this.endTime))
+        {
+            return "done=no";
+        }
+
+        if (this.canceledWaitingForVision)
+        {
+            return String.format("canceled=%.2fs (no target)", this.endTime);
+        }
+
+        return String.format(this.completed ? "done=%.2fs" : "canceled=%.2fs", this.endTime);
+    }
+}
@@ -2,28 +2,53 @@ package frc.robot.common.robotprovider;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Registry of the simulated actuators of one robot, by the connection that each actuator is plugged into.
+ *
+ * There is one registry per injector, so that several simulated robots can exist in the same process.
+ */
+@Singleton
 public class FauxbotActuatorManager
 {
-    public static final Map<FauxbotActuatorConnection, FauxbotActuatorBase> actuatorMap = new HashMap<>();
+    private final Map<FauxbotActuatorConnection, FauxbotActuatorBase> actuatorMap;
+
+    @Inject
+    public FauxbotActuatorManager()
+    {
+        this.actuatorMap = new HashMap<FauxbotActuatorConnection, FauxbotActuatorBase>();
+    }
 
-    public static void set(FauxbotActuatorConnection connection, FauxbotActuatorBase sensor)
+    public void set(FauxbotActuatorConnection connection, FauxbotActuatorBase actuator)
     {
-        if (FauxbotActuatorManager.actuatorMap.containsKey(connection))
+        if (this.actuatorMap.containsKey(connection))
         {
             throw new RuntimeException("Don't expect connection " + connection.toString() + " to be specified multiple times!");
         }
 
-        FauxbotActuatorManager.actuatorMap.put(connection, sensor);
+        this.actuatorMap.put(connection, actuator);
     }
 
-    public static FauxbotActuatorBase get(FauxbotActuatorConnection connection)
+    public FauxbotActuatorBase get(FauxbotActuatorConnection connection)
     {
-        if (!FauxbotActuatorManager.actuatorMap.containsKey(connection))
+        if (!this.actuatorMap.containsKey(connection))
         {
             return null;
         }
 
-        return FauxbotActuatorManager.actuatorMap.get(connection);
+        return this.actuatorMap.get(connection);
+    }
+
+    /**
+     * Gets the connections that have been registered
+     * @return the registered connections
+     */
+    public Set<FauxbotActuatorConnection> getConnections()
+    {
+        return this.actuatorMap.keySet();
     }
 }
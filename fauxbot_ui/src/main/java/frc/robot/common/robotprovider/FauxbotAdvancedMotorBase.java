@@ -3,10 +3,38 @@ package frc.robot.common.robotprovider;
 public abstract class FauxbotAdvancedMotorBase extends FauxbotMotorBase
 {
     protected FauxbotActuatorConnection connection;
+    protected MotorNeutralMode neutralMode;
 
-    protected FauxbotAdvancedMotorBase(int deviceNumber)
+    protected FauxbotAdvancedMotorBase(int deviceNumber, FauxbotActuatorManager actuatorManager)
     {
         this.connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, deviceNumber);
-        FauxbotActuatorManager.set(this.connection, this);
+        this.neutralMode = MotorNeutralMode.Coast;
+        actuatorManager.set(this.connection, this);
+    }
+
+    /**
+     * Gets whether the motor is shorted (brake) or left open (coast) when there is no output
+     * @return the neutral mode
+     */
+    public MotorNeutralMode getNeutralMode()
+    {
+        return this.neutralMode;
+    }
+
+    /**
+     * Copy the output of the master motor to this motor whenever it changes
+     * @param master to follow
+     */
+    protected void followMaster(Object master)
+    {
+        if (!(master instanceof FauxbotAdvancedMotorBase))
+        {
+            throw new RuntimeException("expected a different actuator type " + (master == null ? "null" : master.toString()));
+        }
+
+        FauxbotAdvancedMotorBase advancedMotor = (FauxbotAdvancedMotorBase)master;
+        this.currentPowerProperty.set(advancedMotor.get());
+        advancedMotor.currentPowerProperty.addListener(
+            (observable, oldValue, value) -> { this.currentPowerProperty.set((Double)value); });
     }
 }
@@ -7,10 +7,10 @@ public class FauxbotDigitalInput extends FauxbotSensorBase implements IDigitalIn
 {
     private final BooleanProperty isSetProperty;
 
-    public FauxbotDigitalInput(int port)
+    public FauxbotDigitalInput(int port, FauxbotSensorManager sensorManager)
     {
         this.isSetProperty = new SimpleBooleanProperty();
-        FauxbotSensorManager.set(new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.DigitalInput, port), this);
+        sensorManager.set(new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.DigitalInput, port), this);
     }
 
     /**
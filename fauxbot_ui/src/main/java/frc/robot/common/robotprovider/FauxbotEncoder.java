@@ -12,31 +12,31 @@ public class FauxbotEncoder extends FauxbotSensorBase implements IEncoder
     private int currTicks;
     private double currRate;
 
-    public FauxbotEncoder(int channelA, int channelB)
+    public FauxbotEncoder(int channelA, int channelB, FauxbotSensorManager sensorManager, SimulationClock clock)
     {
         this.valueProperty = new SimpleDoubleProperty(0.0);
-        this.timer = new FauxbotTimer();
+        this.timer = new FauxbotTimer(clock);
         this.timer.start();
         this.distancePerPulse = 1.0;
         this.prevTime = this.timer.get();
         this.currTicks = 0;
         this.currRate = 0.0;
 
-        FauxbotSensorManager.set(new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.DigitalInput, channelA), this);
-        FauxbotSensorManager.set(new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.DigitalInput, channelB), null);
+        sensorManager.set(new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.DigitalInput, channelA), this);
+        sensorManager.set(new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.DigitalInput, channelB), null);
     }
 
-    FauxbotEncoder(FauxbotSensorConnection connection)
+    FauxbotEncoder(FauxbotSensorConnection connection, FauxbotSensorManager sensorManager, SimulationClock clock)
     {
         this.valueProperty = new SimpleDoubleProperty(0.0);
-        this.timer = new FauxbotTimer();
+        this.timer = new FauxbotTimer(clock);
         this.timer.start();
         this.distancePerPulse = 1.0;
         this.prevTime = this.timer.get();
         this.currTicks = 0;
         this.currRate = 0.0;
 
-        FauxbotSensorManager.set(connection, this);
+        sensorManager.set(connection, this);
     }
 
     public double getRate()
@@ -70,13 +70,29 @@ public class FauxbotEncoder extends FauxbotSensorBase implements IEncoder
     {
         double currTime = this.timer.get();
 
-        this.currRate = (value - this.valueProperty.get()) / (currTime - this.prevTime);
+        // simulated time only moves between loops, so the value may be set more than once at the same time
+        if (currTime > this.prevTime)
+        {
+            // (based on the ticks rather than the property, as a bound slider may clamp the property to its range)
+            this.currRate = (value - this.currTicks) / (currTime - this.prevTime);
+        }
+
         this.currTicks = (int)value;
         this.valueProperty.set(value);
 
         this.prevTime = currTime;
     }
 
+    /**
+     * Set the current position, without it being measured as movement
+     * @param value the position in ticks
+     */
+    public void setPosition(int value)
+    {
+        this.currTicks = value;
+        this.valueProperty.set(value);
+    }
+
     public DoubleProperty getProperty()
     {
         return this.valueProperty;
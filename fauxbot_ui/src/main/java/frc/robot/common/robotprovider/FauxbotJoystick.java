@@ -16,13 +16,13 @@ public class FauxbotJoystick implements IJoystick
     private final Map<Integer, DoubleProperty> axes;
     private IntegerProperty povProperty;
 
-    public FauxbotJoystick(int port)
+    public FauxbotJoystick(int port, FauxbotJoystickManager joystickManager)
     {
         this.buttons = new HashMap<Integer, BooleanProperty>();
         this.axes = new HashMap<Integer, DoubleProperty>();
         this.povProperty = new SimpleIntegerProperty();
 
-        FauxbotJoystickManager.set(port, this);
+        joystickManager.set(port, this);
     }
 
     public boolean getRawButton(int buttonNumber)
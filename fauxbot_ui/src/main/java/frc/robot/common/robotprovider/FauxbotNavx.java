@@ -1,9 +1,25 @@
 package frc.robot.common.robotprovider;
 
-public class FauxbotNavx implements INavx
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+
+public class FauxbotNavx extends FauxbotSensorBase implements INavx
 {
-    public FauxbotNavx()
+    private final DoubleProperty angleProperty;
+
+    private double angleOffset;
+    private double displacementX;
+    private double displacementY;
+    private double displacementZ;
+    private double displacementOffsetX;
+    private double displacementOffsetY;
+    private double displacementOffsetZ;
+
+    public FauxbotNavx(FauxbotSensorManager sensorManager)
     {
+        this.angleProperty = new SimpleDoubleProperty(0.0);
+
+        sensorManager.set(new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.NavX, 0), this);
     }
 
     public boolean isConnected()
@@ -13,29 +29,53 @@ public class FauxbotNavx implements INavx
 
     public double getAngle()
     {
-        return 0.0;
+        return this.angleProperty.get() - this.angleOffset;
     }
 
     public double getDisplacementX()
     {
-        return 0.0;
+        return this.displacementX - this.displacementOffsetX;
     }
 
     public double getDisplacementY()
     {
-        return 0.0;
+        return this.displacementY - this.displacementOffsetY;
     }
 
     public double getDisplacementZ()
     {
-        return 0.0;
+        return this.displacementZ - this.displacementOffsetZ;
     }
 
     public void reset()
     {
+        this.angleOffset = this.angleProperty.get();
     }
 
     public void resetDisplacement()
     {
+        this.displacementOffsetX = this.displacementX;
+        this.displacementOffsetY = this.displacementY;
+        this.displacementOffsetZ = this.displacementZ;
+    }
+
+    /**
+     * Set the actual orientation and position of the robot, as measured since the navX was created
+     * @param angle the clockwise angle in degrees
+     * @param displacementX the displacement along the X axis in meters
+     * @param displacementY the displacement along the Y axis in meters
+     * @param displacementZ the displacement along the Z axis in meters
+     */
+    public void set(double angle, double displacementX, double displacementY, double displacementZ)
+    {
+        this.angleProperty.set(angle);
+        this.displacementX = displacementX;
+        this.displacementY = displacementY;
+        this.displacementZ = displacementZ;
+    }
+
+    public DoubleProperty getProperty()
+    {
+        return this.angleProperty;
     }
-}
\ No newline at end of file
+}
@@ -1,22 +1,43 @@
 package frc.robot.common.robotprovider;
 
-public class FauxbotPowerDistributionPanel implements IPowerDistributionPanel
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+
+public class FauxbotPowerDistributionPanel extends FauxbotSensorBase implements IPowerDistributionPanel
 {
-    public FauxbotPowerDistributionPanel()
+    private static final double NominalVoltage = 12.5;
+
+    private final DoubleProperty voltageProperty;
+
+    public FauxbotPowerDistributionPanel(FauxbotSensorManager sensorManager)
     {
+        this(0, sensorManager);
     }
 
-    public FauxbotPowerDistributionPanel(int module)
+    public FauxbotPowerDistributionPanel(int module, FauxbotSensorManager sensorManager)
     {
+        this.voltageProperty = new SimpleDoubleProperty(FauxbotPowerDistributionPanel.NominalVoltage);
+
+        sensorManager.set(new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.PDP, module), this);
     }
 
     public double getBatteryVoltage()
     {
-        return 0.0;
+        return this.voltageProperty.get();
     }
 
     public double getCurrent(int pdpChannel)
     {
         return 0.0;
     }
+
+    public void setBatteryVoltage(double voltage)
+    {
+        this.voltageProperty.set(voltage);
+    }
+
+    public DoubleProperty getProperty()
+    {
+        return this.voltageProperty;
+    }
 }
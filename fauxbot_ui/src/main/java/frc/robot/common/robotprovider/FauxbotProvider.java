@@ -1,5 +1,8 @@
 package frc.robot.common.robotprovider;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import frc.robot.vision.VisionCalculations;
 
 import javax.inject.Inject;
@@ -8,34 +11,54 @@ import javax.inject.Singleton;
 @Singleton
 public class FauxbotProvider implements IRobotProvider
 {
-    @Inject
-    public FauxbotProvider()
+    private final SimulationClock clock;
+    private final FauxbotSensorManager sensorManager;
+    private final FauxbotActuatorManager actuatorManager;
+    private final FauxbotJoystickManager joystickManager;
+    private final List<FauxbotSendableChooser<?>> sendableChoosers;
+
+    static
     {
+        // load the native library once for the process, rather than once per simulated robot
         nu.pattern.OpenCV.loadShared();
     }
 
+    @Inject
+    public FauxbotProvider(
+        SimulationClock clock,
+        FauxbotSensorManager sensorManager,
+        FauxbotActuatorManager actuatorManager,
+        FauxbotJoystickManager joystickManager)
+    {
+        this.clock = clock;
+        this.sensorManager = sensorManager;
+        this.actuatorManager = actuatorManager;
+        this.joystickManager = joystickManager;
+        this.sendableChoosers = new ArrayList<FauxbotSendableChooser<?>>();
+    }
+
     @Override
     public IAnalogInput getAnalogInput(int channel)
     {
-        return new FauxbotAnalogInput(channel);
+        return new FauxbotAnalogInput(channel, this.sensorManager);
     }
 
     @Override
     public ITalonSRX getTalonSRX(int deviceNumber)
     {
-        return new FauxbotTalonSRX(deviceNumber);
+        return new FauxbotTalonSRX(deviceNumber, this.actuatorManager, this.sensorManager, this.clock);
     }
 
     @Override
     public IVictorSPX getVictorSPX(int deviceNumber)
     {
-        return new FauxbotVictorSPX(deviceNumber);
+        return new FauxbotVictorSPX(deviceNumber, this.actuatorManager);
     }
 
     @Override
     public ISparkMax getSparkMax(int deviceID, SparkMaxMotorType motorType)
     {
-        return new FauxbotSparkMax(deviceID, motorType);
+        return new FauxbotSparkMax(deviceID, motorType, this.actuatorManager, this.sensorManager, this.clock);
     }
 
     @Override
@@ -53,43 +76,43 @@ public class FauxbotProvider implements IRobotProvider
     @Override
     public IDigitalInput getDigitalInput(int channel)
     {
-        return new FauxbotDigitalInput(channel);
+        return new FauxbotDigitalInput(channel, this.sensorManager);
     }
 
     @Override
     public IDoubleSolenoid getDoubleSolenoid(int forwardChannel, int reverseChannel)
     {
-        return new FauxbotDoubleSolenoid(forwardChannel, reverseChannel);
+        return new FauxbotDoubleSolenoid(forwardChannel, reverseChannel, this.actuatorManager);
     }
 
     @Override
     public IDoubleSolenoid getDoubleSolenoid(int module, int forwardChannel, int reverseChannel)
     {
-        return new FauxbotDoubleSolenoid(module, forwardChannel, reverseChannel);
+        return new FauxbotDoubleSolenoid(module, forwardChannel, reverseChannel, this.actuatorManager);
     }
 
     @Override
     public IEncoder getEncoder(int channelA, int channelB)
     {
-        return new FauxbotEncoder(channelA, channelB);
+        return new FauxbotEncoder(channelA, channelB, this.sensorManager, this.clock);
     }
 
     @Override
     public IJoystick getJoystick(int port)
     {
-        return new FauxbotJoystick(port);
+        return new FauxbotJoystick(port, this.joystickManager);
     }
 
     @Override
     public IMotor getTalon(int channel)
     {
-        return new FauxbotTalon(channel);
+        return new FauxbotTalon(channel, this.actuatorManager);
     }
 
     @Override
     public IMotor getVictor(int channel)
     {
-        return new FauxbotVictor(channel);
+        return new FauxbotVictor(channel, this.actuatorManager);
     }
 
     @Override
@@ -101,13 +124,13 @@ public class FauxbotProvider implements IRobotProvider
     @Override
     public IPowerDistributionPanel getPDP()
     {
-        return new FauxbotPowerDistributionPanel();
+        return new FauxbotPowerDistributionPanel(this.sensorManager);
     }
 
     @Override
     public IPowerDistributionPanel getPDP(int module)
     {
-        return new FauxbotPowerDistributionPanel(module);
+        return new FauxbotPowerDistributionPanel(module, this.sensorManager);
     }
 
     @Override
@@ -125,19 +148,19 @@ public class FauxbotProvider implements IRobotProvider
     @Override
     public ISolenoid getSolenoid(int channel)
     {
-        return new FauxbotSolenoid(channel);
+        return new FauxbotSolenoid(channel, this.actuatorManager);
     }
 
     @Override
     public ISolenoid getSolenoid(int module, int channel)
     {
-        return new FauxbotSolenoid(module, channel);
+        return new FauxbotSolenoid(module, channel, this.actuatorManager);
     }
 
     @Override
     public INavx getNavx()
     {
-        return new FauxbotNavx();
+        return new FauxbotNavx(this.sensorManager);
     }
 
     @Override
@@ -177,6 +200,17 @@ public class FauxbotProvider implements IRobotProvider
     
     public <V> ISendableChooser<V> getSendableChooser()
     {
-        return new FauxbotSendableChooser<V>();
+        FauxbotSendableChooser<V> chooser = new FauxbotSendableChooser<V>();
+        this.sendableChoosers.add(chooser);
+        return chooser;
+    }
+
+    /**
+     * Gets the choosers that have been created, so that their options can be selected without a dashboard
+     * @return the choosers, in the order they were created
+     */
+    public List<FauxbotSendableChooser<?>> getSendableChoosers()
+    {
+        return this.sendableChoosers;
     }
 }
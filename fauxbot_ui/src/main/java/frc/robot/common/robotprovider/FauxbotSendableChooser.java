@@ -1,24 +1,97 @@
 package frc.robot.common.robotprovider;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chooser whose selection is made in code, as there is no dashboard for it in the simulator.
+ */
 public class FauxbotSendableChooser<V> implements ISendableChooser<V>
 {
+    private final Map<String, V> options;
+
+    private String defaultName;
+    private String selectedName;
+
     public FauxbotSendableChooser()
     {
+        this.options = new LinkedHashMap<String, V>();
+        this.defaultName = null;
+        this.selectedName = null;
     }
 
     @Override
     public void addDefault(String name, V object) 
     {
+        this.options.put(name, object);
+        this.defaultName = name;
     }
 
     @Override
     public void addObject(String name, V object) 
     {
+        this.options.put(name, object);
     }
 
     @Override
     public V getSelected()
     {
+        if (this.selectedName != null)
+        {
+            return this.options.get(this.selectedName);
+        }
+
+        if (this.defaultName != null)
+        {
+            return this.options.get(this.defaultName);
+        }
+
         return (V)null;
     }
+
+    /**
+     * Gets the names of the options, in the order they were added
+     * @return the option names
+     */
+    public List<String> getNames()
+    {
+        return new ArrayList<String>(this.options.keySet());
+    }
+
+    /**
+     * Select the option with the provided name
+     * @param name of the option to select
+     * @return true if the chooser has an option with that name
+     */
+    public boolean select(String name)
+    {
+        if (!this.options.containsKey(name))
+        {
+            return false;
+        }
+
+        this.selectedName = name;
+        return true;
+    }
+
+    /**
+     * Select the first option whose value equals the provided value
+     * @param value of the option to select
+     * @return true if the chooser has an option with that value
+     */
+    public boolean selectValue(Object value)
+    {
+        for (Map.Entry<String, V> option : this.options.entrySet())
+        {
+            if (option.getValue() == value || (option.getValue() != null && option.getValue().equals(value)))
+            {
+                this.selectedName = option.getKey();
+                return true;
+            }
+        }
+
+        return false;
+    }
 }
@@ -6,7 +6,9 @@ public class FauxbotSensorConnection
     {
         DigitalInput,
         AnalogInput,
-        CAN;
+        CAN,
+        NavX,
+        PDP;
     }
 
     private final SensorConnector connector;
@@ -2,28 +2,53 @@ package frc.robot.common.robotprovider;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Registry of the simulated sensors of one robot, by the connection that each sensor is plugged into.
+ *
+ * There is one registry per injector, so that several simulated robots can exist in the same process.
+ */
+@Singleton
 public class FauxbotSensorManager
 {
-    public static final Map<FauxbotSensorConnection, FauxbotSensorBase> sensorMap = new HashMap<>();
+    private final Map<FauxbotSensorConnection, FauxbotSensorBase> sensorMap;
+
+    @Inject
+    public FauxbotSensorManager()
+    {
+        this.sensorMap = new HashMap<FauxbotSensorConnection, FauxbotSensorBase>();
+    }
 
-    public static void set(FauxbotSensorConnection connection, FauxbotSensorBase sensor)
+    public void set(FauxbotSensorConnection connection, FauxbotSensorBase sensor)
     {
-        if (FauxbotSensorManager.sensorMap.containsKey(connection))
+        if (this.sensorMap.containsKey(connection))
         {
             throw new RuntimeException("Don't expect port " + connection.toString() + " to be specified multiple times!");
         }
 
-        FauxbotSensorManager.sensorMap.put(connection, sensor);
+        this.sensorMap.put(connection, sensor);
     }
 
-    public static FauxbotSensorBase get(FauxbotSensorConnection connection)
+    public FauxbotSensorBase get(FauxbotSensorConnection connection)
     {
-        if (!FauxbotSensorManager.sensorMap.containsKey(connection))
+        if (!this.sensorMap.containsKey(connection))
         {
             return null;
         }
 
-        return FauxbotSensorManager.sensorMap.get(connection);
+        return this.sensorMap.get(connection);
+    }
+
+    /**
+     * Gets the connections that have been registered
+     * @return the registered connections
+     */
+    public Set<FauxbotSensorConnection> getConnections()
+    {
+        return this.sensorMap.keySet();
     }
 }
@@ -4,9 +4,9 @@ public abstract class FauxbotSimpleMotorBase extends FauxbotMotorBase
 {
     protected FauxbotActuatorConnection connection;
 
-    protected FauxbotSimpleMotorBase(int port)
+    protected FauxbotSimpleMotorBase(int port, FauxbotActuatorManager actuatorManager)
     {
         this.connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.PWM, port);
-        FauxbotActuatorManager.set(this.connection, this);
+        actuatorManager.set(this.connection, this);
     }
 }
@@ -7,14 +7,14 @@ public class FauxbotSolenoid extends FauxbotActuatorBase implements ISolenoid
 {
     private DoubleProperty currentValueProperty;
 
-    public FauxbotSolenoid(int port)
+    public FauxbotSolenoid(int port, FauxbotActuatorManager actuatorManager)
     {
-        this(0, port);
+        this(0, port, actuatorManager);
     }
 
-    public FauxbotSolenoid(int moduleNumber, int port)
+    public FauxbotSolenoid(int moduleNumber, int port, FauxbotActuatorManager actuatorManager)
     {
-        FauxbotActuatorManager.set(new FauxbotActuatorConnection(this.getModule(moduleNumber), port), this);
+        actuatorManager.set(new FauxbotActuatorConnection(this.getModule(moduleNumber), port), this);
 
         this.currentValueProperty = new SimpleDoubleProperty();
         this.currentValueProperty.set(0.0);
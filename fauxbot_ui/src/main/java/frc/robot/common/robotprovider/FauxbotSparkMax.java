@@ -4,6 +4,8 @@ import frc.robot.common.PIDHandler;
 
 public class FauxbotSparkMax extends FauxbotAdvancedMotorBase implements ISparkMax
 {
+    private final SimulationClock clock;
+
     private FauxbotEncoder innerEncoder;
     private PIDHandler pidHandler;
 
@@ -15,14 +17,15 @@ public class FauxbotSparkMax extends FauxbotAdvancedMotorBase implements ISparkM
     private SparkMaxMotorType motorType;
     private int currentSlot;
 
-    public FauxbotSparkMax(int deviceID, SparkMaxMotorType motorType)
+    public FauxbotSparkMax(int deviceID, SparkMaxMotorType motorType, FauxbotActuatorManager actuatorManager, FauxbotSensorManager sensorManager, SimulationClock clock)
     {
-        super(deviceID);
+        super(deviceID, actuatorManager);
 
+        this.clock = clock;
         this.currentMode = SparkMaxControlMode.PercentOutput;
         this.currentSlot = 0;
         this.motorType = motorType;
-        this.innerEncoder = new FauxbotEncoder(new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, this.connection.getPort()));
+        this.innerEncoder = new FauxbotEncoder(new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, this.connection.getPort()), sensorManager, this.clock);
     }
 
     public void setControlMode(SparkMaxControlMode mode)
@@ -150,7 +153,7 @@ public class FauxbotSparkMax extends FauxbotAdvancedMotorBase implements ISparkM
         if (this.currentMode == SparkMaxControlMode.Position ||
             this.currentMode == SparkMaxControlMode.Velocity)
         {
-            ITimer timer = new FauxbotTimer();
+            ITimer timer = new FauxbotTimer(this.clock);
             timer.start();
             this.pidHandler = new PIDHandler(this.kp, this.ki, this.kd, this.kf, 1.0, -4096.0, 4096.0, timer);
         }
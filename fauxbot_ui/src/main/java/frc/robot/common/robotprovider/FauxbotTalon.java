@@ -2,8 +2,8 @@ package frc.robot.common.robotprovider;
 
 public class FauxbotTalon extends FauxbotSimpleMotorBase
 {
-    public FauxbotTalon(int port)
+    public FauxbotTalon(int port, FauxbotActuatorManager actuatorManager)
     {
-        super(port);
+        super(port, actuatorManager);
     }
 }
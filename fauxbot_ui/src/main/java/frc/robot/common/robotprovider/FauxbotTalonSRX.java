@@ -4,6 +4,14 @@ import frc.robot.common.PIDHandler;
 
 public class FauxbotTalonSRX extends FauxbotAdvancedMotorBase implements ITalonSRX
 {
+    // the closed-loop modes work in the Talon's native units: output out of 1023, and velocity in ticks per 100ms
+    private static final double MaxClosedLoopOutput = 1023.0;
+    private static final double VelocityPeriodsPerSecond = 10.0;
+
+    private final FauxbotActuatorManager actuatorManager;
+    private final FauxbotSensorManager sensorManager;
+    private final SimulationClock clock;
+
     private FauxbotEncoder innerEncoder;
     private PIDHandler pidHandler;
 
@@ -12,33 +20,57 @@ public class FauxbotTalonSRX extends FauxbotAdvancedMotorBase implements ITalonS
     private double ki;
     private double kd;
     private double kf;
-
-    public FauxbotTalonSRX(int deviceNumber)
+    private double allowableError;
+    private double closedLoopError;
+
+    // motion magic follows a trapezoidal profile towards the target, limited by the cruise velocity and acceleration
+    private double cruiseVelocity;
+    private double acceleration;
+    private boolean profileStarted;
+    private double profilePosition;
+    private double profileVelocity;
+    private double profileTime;
+
+    private boolean forwardLimitSwitchEnabled;
+    private boolean reverseLimitSwitchEnabled;
+    private boolean forwardLimitSwitchClosed;
+    private boolean reverseLimitSwitchClosed;
+
+    public FauxbotTalonSRX(int deviceNumber, FauxbotActuatorManager actuatorManager, FauxbotSensorManager sensorManager, SimulationClock clock)
     {
-        super(deviceNumber);
+        super(deviceNumber, actuatorManager);
 
+        this.actuatorManager = actuatorManager;
+        this.sensorManager = sensorManager;
+        this.clock = clock;
         this.currentMode = TalonSRXControlMode.PercentOutput;
     }
 
     public void follow(ITalonSRX talonSRX)
     {
+        this.followMaster(talonSRX);
     }
 
     public void follow(IVictorSPX victorSPX)
     {
+        this.followMaster(victorSPX);
     }
 
     public void setControlMode(TalonSRXControlMode mode)
     {
-        this.currentMode = mode;
-        this.resetPID();
+        // mechanisms set their control mode every loop, which shouldn't reset the closed loop
+        if (this.currentMode != mode)
+        {
+            this.currentMode = mode;
+            this.resetPID();
+        }
     }
 
     public void setSensorType(TalonSRXFeedbackDevice feedbackDevice)
     {
         if (feedbackDevice == TalonSRXFeedbackDevice.QuadEncoder)
         {
-            this.innerEncoder = new FauxbotEncoder(new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, this.connection.getPort()));
+            this.innerEncoder = new FauxbotEncoder(new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, this.connection.getPort()), this.sensorManager, this.clock);
         }
     }
 
@@ -56,6 +88,7 @@ public class FauxbotTalonSRX extends FauxbotAdvancedMotorBase implements ITalonS
 
     public void configureAllowableClosedloopError(int slotId, int error)
     {
+        this.allowableError = error;
     }
 
     public void setSelectedSlot(int slotId)
@@ -73,6 +106,13 @@ public class FauxbotTalonSRX extends FauxbotAdvancedMotorBase implements ITalonS
 
     public void setMotionMagicPIDF(double p, double i, double d, double f, int velocity, int acceleration, int slotId)
     {
+        this.kp = p;
+        this.ki = i;
+        this.kd = d;
+        this.kf = f;
+        this.cruiseVelocity = velocity;
+        this.acceleration = acceleration;
+        this.resetPID();
     }
 
     public void setPIDF(double p, double i, double d, double f, int izone, double closeLoopRampRate, int slotId)
@@ -89,38 +129,48 @@ public class FauxbotTalonSRX extends FauxbotAdvancedMotorBase implements ITalonS
     {
         if (this.currentMode == TalonSRXControlMode.Follower)
         {
-            FauxbotActuatorBase actuator = FauxbotActuatorManager.get(new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, (int)newValue));
-            if (actuator != null && actuator instanceof FauxbotAdvancedMotorBase)
-            {
-                FauxbotAdvancedMotorBase advancedMotor = (FauxbotAdvancedMotorBase)actuator;
-                advancedMotor.currentPowerProperty.addListener(
-                    (observable, oldValue, value) -> { this.currentPowerProperty.set((Double)value); });
-            }
-            else
-            {
-                throw new RuntimeException("expected a different actuator type " + actuator == null ? "null" : actuator.toString());
-            }
+            this.followMaster(this.actuatorManager.get(new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, (int)newValue)));
         }
         else if (this.currentMode == TalonSRXControlMode.Velocity)
         {
-            super.set(this.pidHandler.calculateVelocity(newValue, this.innerEncoder.getRate()));
+            double velocity = this.getVelocity();
+            this.closedLoopError = newValue - velocity;
+            this.setLimited(this.pidHandler.calculateVelocity(newValue, velocity) / FauxbotTalonSRX.MaxClosedLoopOutput);
         }
         else if (this.currentMode == TalonSRXControlMode.Position)
         {
-            super.set(this.pidHandler.calculatePosition(newValue, this.innerEncoder.get()));
+            this.setLimited(this.calculatePosition(newValue, 0.0) / FauxbotTalonSRX.MaxClosedLoopOutput);
+        }
+        else if (this.currentMode == TalonSRXControlMode.MotionMagicPosition)
+        {
+            this.updateProfile(newValue);
+            this.setLimited(this.calculatePosition(this.profilePosition, this.kf * this.profileVelocity) / FauxbotTalonSRX.MaxClosedLoopOutput);
         }
         else
         {
-            super.set(newValue);
+            this.setLimited(newValue);
         }
     }
 
     public void setForwardLimitSwitch(boolean enabled, boolean normallyOpen)
     {
+        this.forwardLimitSwitchEnabled = enabled;
     }
 
     public void setReverseLimitSwitch(boolean enabled, boolean normallyOpen)
     {
+        this.reverseLimitSwitchEnabled = enabled;
+    }
+
+    /**
+     * Set whether the limit switches are closed (pressed), as the simulator sees them
+     * @param forwardClosed whether the forward limit switch is closed
+     * @param reverseClosed whether the reverse limit switch is closed
+     */
+    public void setLimitSwitchStatus(boolean forwardClosed, boolean reverseClosed)
+    {
+        this.forwardLimitSwitchClosed = forwardClosed;
+        this.reverseLimitSwitchClosed = reverseClosed;
     }
 
     public void setInvertOutput(boolean flip)
@@ -133,6 +183,7 @@ public class FauxbotTalonSRX extends FauxbotAdvancedMotorBase implements ITalonS
 
     public void setNeutralMode(MotorNeutralMode neutralMode)
     {
+        this.neutralMode = neutralMode;
     }
 
     public void setVoltageCompensation(boolean enabled, double maxVoltage)
@@ -141,14 +192,23 @@ public class FauxbotTalonSRX extends FauxbotAdvancedMotorBase implements ITalonS
 
     public void stop()
     {
+        super.set(0.0);
     }
 
     public void setPosition(int position)
     {
+        if (this.innerEncoder != null)
+        {
+            this.innerEncoder.setPosition(position);
+        }
     }
 
     public void reset()
     {
+        if (this.innerEncoder != null)
+        {
+            this.innerEncoder.reset();
+        }
     }
 
     public int getPosition()
@@ -158,27 +218,111 @@ public class FauxbotTalonSRX extends FauxbotAdvancedMotorBase implements ITalonS
 
     public double getVelocity()
     {
-        return (double)this.innerEncoder.getRate();
+        return this.innerEncoder.getRate() / FauxbotTalonSRX.VelocityPeriodsPerSecond;
     }
 
     public double getError()
     {
-        return 0.0;
+        return this.closedLoopError;
     }
 
     public TalonSRXLimitSwitchStatus getLimitSwitchStatus()
     {
-        return new TalonSRXLimitSwitchStatus(false, false);
+        return new TalonSRXLimitSwitchStatus(this.forwardLimitSwitchClosed, this.reverseLimitSwitchClosed);
+    }
+
+    /**
+     * Set the output, unless an enabled limit switch is closed in the direction of the output
+     * @param newValue the output, between -1.0 and 1.0
+     */
+    private void setLimited(double newValue)
+    {
+        if ((newValue > 0.0 && this.forwardLimitSwitchEnabled && this.forwardLimitSwitchClosed) ||
+            (newValue < 0.0 && this.reverseLimitSwitchEnabled && this.reverseLimitSwitchClosed))
+        {
+            newValue = 0.0;
+        }
+
+        super.set(newValue);
+    }
+
+    /**
+     * Calculate the closed-loop output for a position, treating errors within the allowable error as no error
+     * @param setpoint position in ticks
+     * @param feedForward to add to the output
+     * @return the output in the Talon's native units
+     */
+    private double calculatePosition(double setpoint, double feedForward)
+    {
+        int position = this.innerEncoder.get();
+        this.closedLoopError = setpoint - position;
+        double measuredValue = Math.abs(this.closedLoopError) <= this.allowableError ? setpoint : position;
+
+        double output = this.pidHandler.calculatePosition(setpoint, measuredValue) + feedForward;
+        return Math.max(-FauxbotTalonSRX.MaxClosedLoopOutput, Math.min(FauxbotTalonSRX.MaxClosedLoopOutput, output));
+    }
+
+    /**
+     * Advance the motion magic profile to the current time, heading towards the target
+     * @param target position in ticks
+     */
+    private void updateProfile(double target)
+    {
+        double time = this.clock.getTime();
+        if (!this.profileStarted)
+        {
+            // start from wherever the mechanism currently is
+            this.profileStarted = true;
+            this.profilePosition = this.innerEncoder.get();
+            this.profileVelocity = this.getVelocity();
+            this.profileTime = time;
+        }
+
+        double dt = time - this.profileTime;
+        this.profileTime = time;
+
+        // the profile works in ticks per 100ms, like the Talon
+        double distance = (target - this.profilePosition) / FauxbotTalonSRX.VelocityPeriodsPerSecond;
+        double velocityChange = this.acceleration * dt;
+        double stoppingDistance = this.profileVelocity * this.profileVelocity / (2.0 * this.acceleration);
+        if (Math.abs(distance) <= velocityChange * dt && Math.abs(this.profileVelocity) <= velocityChange)
+        {
+            this.profilePosition = target;
+            this.profileVelocity = 0.0;
+            return;
+        }
+
+        if (this.profileVelocity * distance < 0.0 || Math.abs(distance) > stoppingDistance)
+        {
+            // speed up towards the target (or slow down, if heading away from it)
+            this.profileVelocity += Math.signum(distance) * velocityChange;
+            this.profileVelocity = Math.max(-this.cruiseVelocity, Math.min(this.cruiseVelocity, this.profileVelocity));
+        }
+        else
+        {
+            // slow down so as to stop at the target
+            this.profileVelocity -= Math.signum(this.profileVelocity) * Math.min(velocityChange, Math.abs(this.profileVelocity));
+        }
+
+        this.profilePosition += this.profileVelocity * FauxbotTalonSRX.VelocityPeriodsPerSecond * dt;
     }
 
     private void resetPID()
     {
+        this.profileStarted = false;
         if (this.currentMode == TalonSRXControlMode.Position ||
             this.currentMode == TalonSRXControlMode.Velocity)
         {
-            ITimer timer = new FauxbotTimer();
+            ITimer timer = new FauxbotTimer(this.clock);
+            timer.start();
+            this.pidHandler = new PIDHandler(this.kp, this.ki, this.kd, this.kf, 1.0, -FauxbotTalonSRX.MaxClosedLoopOutput, FauxbotTalonSRX.MaxClosedLoopOutput, timer);
+        }
+        else if (this.currentMode == TalonSRXControlMode.MotionMagicPosition)
+        {
+            // the feed-forward is applied to the profile's velocity rather than the position
+            ITimer timer = new FauxbotTimer(this.clock);
             timer.start();
-            this.pidHandler = new PIDHandler(this.kp, this.ki, this.kd, this.kf, 1.0, -4096.0, 4096.0, timer);
+            this.pidHandler = new PIDHandler(this.kp, this.ki, this.kd, 0.0, 1.0, -FauxbotTalonSRX.MaxClosedLoopOutput, FauxbotTalonSRX.MaxClosedLoopOutput, timer);
         }
         else
         {
@@ -1,17 +1,21 @@
 package frc.robot.common.robotprovider;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.Calendar;
 
 @Singleton
 public class FauxbotTimer implements ITimer
 {
+    private final SimulationClock clock;
+
     private boolean isRunning;
     private double startTime;
     private double accumulatedTime;
 
-    public FauxbotTimer()
+    @Inject
+    public FauxbotTimer(SimulationClock clock)
     {
+        this.clock = clock;
         this.accumulatedTime = 0.0;
         this.isRunning = false;
     }
@@ -19,7 +23,7 @@ public class FauxbotTimer implements ITimer
     public void start()
     {
         this.isRunning = true;
-        this.startTime = Calendar.getInstance().getTime().getTime() / 1000.0;
+        this.startTime = this.clock.getTime();
     }
 
     public double get()
@@ -29,7 +33,7 @@ public class FauxbotTimer implements ITimer
             return this.accumulatedTime;
         }
 
-        double currentTime = Calendar.getInstance().getTime().getTime() / 1000.0;
+        double currentTime = this.clock.getTime();
         return this.accumulatedTime + (currentTime - this.startTime);
     }
 
@@ -42,6 +46,6 @@ public class FauxbotTimer implements ITimer
     public void reset()
     {
         this.accumulatedTime = 0.0;
-        this.startTime = Calendar.getInstance().getTime().getTime() / 1000.0;
+        this.startTime = this.clock.getTime();
     }
 }
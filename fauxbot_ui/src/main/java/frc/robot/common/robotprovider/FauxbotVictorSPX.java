@@ -2,17 +2,19 @@ package frc.robot.common.robotprovider;
 
 public class FauxbotVictorSPX extends FauxbotAdvancedMotorBase implements IVictorSPX
 {
-    public FauxbotVictorSPX(int deviceNumber)
+    public FauxbotVictorSPX(int deviceNumber, FauxbotActuatorManager actuatorManager)
     {
-        super(deviceNumber);
+        super(deviceNumber, actuatorManager);
     }
 
     public void follow(ITalonSRX talonSRX)
     {
+        this.followMaster(talonSRX);
     }
 
     public void follow(IVictorSPX victorSPX)
     {
+        this.followMaster(victorSPX);
     }
 
     public void setControlMode(TalonSRXControlMode mode)
@@ -21,6 +23,7 @@ public class FauxbotVictorSPX extends FauxbotAdvancedMotorBase implements IVicto
 
     public void setNeutralMode(MotorNeutralMode neutralMode)
     {
+        this.neutralMode = neutralMode;
     }
 
     public void setInvertOutput(boolean invert)
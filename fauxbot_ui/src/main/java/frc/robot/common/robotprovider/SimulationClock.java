@@ -0,0 +1,63 @@
+package frc.robot.common.robotprovider;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * The source of time for the simulated robot.
+ *
+ * Time only moves forward when the runner ticks the clock, in fixed steps, so a simulation produces the same results
+ * no matter how quickly the robot's loops actually run.  Time is kept as a count of ticks, so that it doesn't drift
+ * from repeatedly adding the tick length.
+ */
+@Singleton
+public class SimulationClock
+{
+    private static final double DefaultTickLength = 0.02; // matches the 20ms TimedRobot period
+
+    private final double tickLength;
+    private volatile long tickCount;
+
+    @Inject
+    public SimulationClock()
+    {
+        this(SimulationClock.DefaultTickLength);
+    }
+
+    /**
+     * Initializes a new SimulationClock
+     * @param tickLength the time in seconds that each tick advances the clock by
+     */
+    public SimulationClock(double tickLength)
+    {
+        this.tickLength = tickLength;
+        this.tickCount = 0;
+    }
+
+    /**
+     * Advance the clock by one tick.  This should only be called by the runner, between robot loops.
+     */
+    public void tick()
+    {
+        this.tickCount = this.tickCount + 1;
+    }
+
+    /**
+     * Gets the current simulated time
+     * @return the time in seconds since the clock was created
+     */
+    public double getTime()
+    {
+        return this.tickCount * this.tickLength;
+    }
+
+    public long getTickCount()
+    {
+        return this.tickCount;
+    }
+
+    public double getTickLength()
+    {
+        return this.tickLength;
+    }
+}
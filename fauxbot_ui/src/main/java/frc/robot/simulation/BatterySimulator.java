@@ -0,0 +1,71 @@
+package frc.robot.simulation;
+
+/**
+ * Model of the robot's battery, whose voltage sags with the current drawn through its internal resistance.
+ *
+ * Each tick, the simulated mechanisms add the loads of their motors, and then the voltage is solved for.  A motor
+ * controller only connects its motor to the battery for the fraction of the time given by its output, so a motor's
+ * battery current depends on the battery voltage itself.  As the loads are linear in the voltage, the voltage can be
+ * solved for directly rather than lagging a tick behind the current (which would oscillate under heavy loads).
+ */
+public class BatterySimulator
+{
+    private static final double OpenCircuitVoltage = 12.7;
+    private static final double InternalResistance = 0.02; // including the main breaker and wiring
+    private static final double BaseCurrent = 2.5; // roboRIO, radio, VRM and PCM
+
+    private double loadConductance;
+    private double loadBackEmfCurrent;
+
+    private double voltage;
+    private double current;
+
+    public BatterySimulator()
+    {
+        this.loadConductance = 0.0;
+        this.loadBackEmfCurrent = 0.0;
+
+        this.voltage = BatterySimulator.OpenCircuitVoltage;
+        this.current = 0.0;
+    }
+
+    /**
+     * Add the load of a motor for this tick
+     * @param motor model of the motor
+     * @param output the fraction of the battery voltage applied to the motor, between -1.0 and 1.0
+     * @param speed of the motor in radians per second
+     */
+    public void addMotorLoad(MotorModel motor, double output, double speed)
+    {
+        // battery current = output * (output * voltage - back-EMF) / resistance
+        this.loadConductance += output * output / motor.getResistance();
+        this.loadBackEmfCurrent += output * motor.getBackEmfConstant() * speed / motor.getResistance();
+    }
+
+    /**
+     * Solve for the voltage under the loads added since the last update, and clear them for the next tick
+     * @return the battery voltage
+     */
+    public double update()
+    {
+        // voltage = open circuit voltage - resistance * (base current + voltage * conductance - back-EMF current)
+        this.voltage =
+            (BatterySimulator.OpenCircuitVoltage - BatterySimulator.InternalResistance * (BatterySimulator.BaseCurrent - this.loadBackEmfCurrent))
+                / (1.0 + BatterySimulator.InternalResistance * this.loadConductance);
+        this.current = BatterySimulator.BaseCurrent + this.voltage * this.loadConductance - this.loadBackEmfCurrent;
+
+        this.loadConductance = 0.0;
+        this.loadBackEmfCurrent = 0.0;
+        return this.voltage;
+    }
+
+    public double getVoltage()
+    {
+        return this.voltage;
+    }
+
+    public double getCurrent()
+    {
+        return this.current;
+    }
+}
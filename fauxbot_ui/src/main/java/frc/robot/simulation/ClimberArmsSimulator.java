@@ -0,0 +1,71 @@
+package frc.robot.simulation;
+
+import frc.robot.ElectronicsConstants;
+import frc.robot.TuningConstants;
+import frc.robot.common.robotprovider.*;
+
+/**
+ * Physics model of the climber's arms, with two 775pros swinging the arms forward from where they are stowed.
+ *
+ * The arms start standing upright, so their weight pulls them further whichever way they lean.  Past the prep climb
+ * position the arms are pushing on the platform, so they also carry about half of the weight of the robot.  The arms
+ * stop hard when fully retracted and at their furthest position, where the limit switches are closed.
+ */
+public class ClimberArmsSimulator extends MechanismSimulator
+{
+    private static final FauxbotActuatorConnection[] MotorChannels = new FauxbotActuatorConnection[]
+    {
+        new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.CLIMBER_ARMS_MOTOR_MASTER_CAN_ID),
+        new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.CLIMBER_ARMS_MOTOR_FOLLOWER_CAN_ID),
+    };
+
+    private static final double GearRatio = 180.0; // so that full power roughly matches the max velocity assumed by KF
+    private static final double GearboxEfficiency = 0.8;
+    private static final double ArmMass = 3.0; // of both arms, in kg
+    private static final double ArmLength = 0.5; // in meters
+    private static final double FrictionTorque = 2.0; // in newton-meters
+    private static final double LimitSwitchRange = 20.0; // in ticks
+
+    private static final double RobotMass = 63.0; // including the battery and bumpers, in kg
+    private static final double ClimbingLeverArm = 0.4; // from the pivot to where the arms push on the platform, in meters
+    private static final double ClimbingContactRange = 150.0; // over which the load of the robot builds up, in ticks
+
+    private static final double ArmWeightTorque = ClimberArmsSimulator.ArmMass * MechanismSimulator.Gravity * ClimberArmsSimulator.ArmLength / 2.0;
+    private static final double ClimbingTorque = ClimberArmsSimulator.RobotMass / 2.0 * MechanismSimulator.Gravity * ClimberArmsSimulator.ClimbingLeverArm;
+
+    /**
+     * Initializes a new ClimberArmsSimulator
+     * @param actuatorManager to find the climber arm motors in
+     * @param sensorManager to find the climber arm encoder in
+     */
+    public ClimberArmsSimulator(FauxbotActuatorManager actuatorManager, FauxbotSensorManager sensorManager)
+    {
+        super(
+            actuatorManager,
+            sensorManager,
+            ClimberArmsSimulator.MotorChannels,
+            MotorModel.Pro775,
+            ClimberArmsSimulator.GearRatio,
+            ClimberArmsSimulator.GearboxEfficiency,
+            ClimberArmsSimulator.ArmMass * ClimberArmsSimulator.ArmLength * ClimberArmsSimulator.ArmLength / 3.0,
+            ClimberArmsSimulator.FrictionTorque,
+            TuningConstants.CLIMBER_ARMS_RETRACTED_POSITION,
+            TuningConstants.CLIMBER_ARMS_POSITION_MAX,
+            ClimberArmsSimulator.LimitSwitchRange);
+    }
+
+    @Override
+    protected double getLoadTorque(double position)
+    {
+        double torque = ClimberArmsSimulator.ArmWeightTorque * Math.sin(position * MechanismSimulator.RadiansPerTick);
+
+        // the platform pushes back on the arms once they reach it
+        double contact = (position - TuningConstants.CLIMBER_ARMS_PREP_CLIMB_POSITION) / ClimberArmsSimulator.ClimbingContactRange;
+        if (contact > 0.0)
+        {
+            torque -= ClimberArmsSimulator.ClimbingTorque * Math.min(1.0, contact);
+        }
+
+        return torque;
+    }
+}
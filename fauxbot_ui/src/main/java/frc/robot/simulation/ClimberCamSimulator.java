@@ -0,0 +1,80 @@
+package frc.robot.simulation;
+
+import frc.robot.ElectronicsConstants;
+import frc.robot.TuningConstants;
+import frc.robot.common.robotprovider.*;
+
+/**
+ * Physics model of the climber's cam, with two 775pros turning the cam continuously in either direction.
+ *
+ * The cam's weight is off-center, so gravity pulls it back towards where it is stored.  Its limit switch (on a
+ * digital input, which reads false when pressed) is pressed whenever the cam is close to the stored position.
+ */
+public class ClimberCamSimulator extends MechanismSimulator
+{
+    private static final FauxbotActuatorConnection[] MotorChannels = new FauxbotActuatorConnection[]
+    {
+        new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.CLIMBER_CAM_MOTOR_MASTER_CAN_ID),
+        new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.CLIMBER_CAM_MOTOR_FOLLOWER_CAN_ID),
+    };
+
+    private static final FauxbotSensorConnection LimitSwitchChannel = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.DigitalInput, ElectronicsConstants.CLIMBER_CAM_LIMIT_SWITCH_DIGITAL_CHANNEL);
+
+    private static final double GearRatio = 250.0; // so that full power roughly matches the max velocity assumed by KF
+    private static final double GearboxEfficiency = 0.8;
+    private static final double CamMass = 2.0; // in kg
+    private static final double CamCenterOfMass = 0.05; // from the axle, in meters
+    private static final double CamInertia = 0.01; // in kg*m^2
+    private static final double FrictionTorque = 1.0; // in newton-meters
+    private static final double LimitSwitchRange = 60.0; // in ticks
+
+    private static final double WeightTorque = ClimberCamSimulator.CamMass * MechanismSimulator.Gravity * ClimberCamSimulator.CamCenterOfMass;
+
+    private final FauxbotSensorManager sensorManager;
+
+    private FauxbotDigitalInput limitSwitch;
+
+    /**
+     * Initializes a new ClimberCamSimulator
+     * @param actuatorManager to find the climber cam motors in
+     * @param sensorManager to find the climber cam encoder and limit switch in
+     */
+    public ClimberCamSimulator(FauxbotActuatorManager actuatorManager, FauxbotSensorManager sensorManager)
+    {
+        super(
+            actuatorManager,
+            sensorManager,
+            ClimberCamSimulator.MotorChannels,
+            MotorModel.Pro775,
+            ClimberCamSimulator.GearRatio,
+            ClimberCamSimulator.GearboxEfficiency,
+            ClimberCamSimulator.CamInertia,
+            ClimberCamSimulator.FrictionTorque,
+            Double.NEGATIVE_INFINITY,
+            Double.POSITIVE_INFINITY,
+            0.0);
+
+        this.sensorManager = sensorManager;
+    }
+
+    @Override
+    protected double getLoadTorque(double position)
+    {
+        return -ClimberCamSimulator.WeightTorque * Math.sin(position * MechanismSimulator.RadiansPerTick);
+    }
+
+    @Override
+    protected void writeSensors(long position)
+    {
+        if (this.limitSwitch == null)
+        {
+            this.limitSwitch = (FauxbotDigitalInput)this.sensorManager.get(ClimberCamSimulator.LimitSwitchChannel);
+        }
+
+        if (this.limitSwitch != null)
+        {
+            double offset = Math.IEEEremainder(position - TuningConstants.CLIMBER_CAM_STORED_POSITION, TuningConstants.CLIMBER_CAM_FULL_ROTATION);
+            this.limitSwitch.set(Math.abs(offset) > ClimberCamSimulator.LimitSwitchRange);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package frc.robot.simulation;
+
+import frc.robot.ElectronicsConstants;
+import frc.robot.HardwareConstants;
+import frc.robot.common.robotprovider.*;
+
+/**
+ * Physics model of the robot's differential drive, with three CIMs on each side.
+ *
+ * The motors of each side turn the wheels through a single reduction, with their torque coming from the voltage
+ * applied to them less their back-EMF.  The wheels push the robot with a traction force that grows with the slip
+ * between the wheels and the carpet until it reaches the limit of friction, so the wheels spin if they are given more
+ * power than the carpet can take.  The forces of the two sides move and turn the robot, less rolling resistance and
+ * the scrub of the wheels when turning.
+ *
+ * The encoders measure the turning of the wheels (so they include any slip), while the navX measures the actual
+ * movement of the robot.  As wheel slip is stiff, each tick is integrated in several small steps.
+ */
+public class DriveTrainSimulator
+{
+    private static final FauxbotActuatorConnection[] LeftMotorChannels = new FauxbotActuatorConnection[]
+    {
+        new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.DRIVETRAIN_LEFT_MASTER_CAN_ID),
+        new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.DRIVETRAIN_LEFT_FOLLOWER1_CAN_ID),
+        new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.DRIVETRAIN_LEFT_FOLLOWER2_CAN_ID),
+    };
+
+    private static final FauxbotActuatorConnection[] RightMotorChannels = new FauxbotActuatorConnection[]
+    {
+        new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.DRIVETRAIN_RIGHT_MASTER_CAN_ID),
+        new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.DRIVETRAIN_RIGHT_FOLLOWER1_CAN_ID),
+        new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.DRIVETRAIN_RIGHT_FOLLOWER2_CAN_ID),
+    };
+
+    private static final FauxbotSensorConnection LeftEncoderChannel = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, ElectronicsConstants.DRIVETRAIN_LEFT_MASTER_CAN_ID);
+    private static final FauxbotSensorConnection RightEncoderChannel = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, ElectronicsConstants.DRIVETRAIN_RIGHT_MASTER_CAN_ID);
+    private static final FauxbotSensorConnection NavxChannel = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.NavX, 0);
+
+    private static final double MetersPerInch = 0.0254;
+    private static final double Gravity = 9.81;
+
+    private static final MotorModel Motor = MotorModel.Cim;
+    private static final double GearRatio = 8.2; // so that full power at 12V roughly matches the max velocity assumed by the velocity PID's KF
+    private static final double GearboxEfficiency = 0.9;
+    private static final double WheelInertia = 0.001; // of the wheels and gears of one side, in kg*m^2
+    private static final double WheelRadius = HardwareConstants.DRIVETRAIN_LEFT_WHEEL_DIAMETER * DriveTrainSimulator.MetersPerInch / 2.0;
+    private static final double HalfTrackWidth = HardwareConstants.DRIVETRAIN_WHEEL_SEPARATION_DISTANCE * DriveTrainSimulator.MetersPerInch / 2.0;
+
+    private static final double RobotMass = 63.0; // including the battery and bumpers, in kg
+    private static final double RobotMomentOfInertia = 5.5; // about the center of the robot, in kg*m^2
+    private static final double TractionCoefficient = 1.1;
+    private static final double FullTractionSlip = 0.25; // the slip at which the wheels reach the limit of friction, in m/s
+    private static final double RollingResistanceCoefficient = 0.03;
+    private static final double ScrubCoefficient = 0.15;
+    private static final double StictionSpeed = 0.01; // below which friction fades out, to avoid chattering around zero
+
+    private static final double MaxTractionForce = DriveTrainSimulator.TractionCoefficient * DriveTrainSimulator.RobotMass * DriveTrainSimulator.Gravity / 2.0;
+    private static final double RollingResistanceForce = DriveTrainSimulator.RollingResistanceCoefficient * DriveTrainSimulator.RobotMass * DriveTrainSimulator.Gravity;
+    private static final double ScrubTorque = DriveTrainSimulator.ScrubCoefficient * DriveTrainSimulator.RobotMass * DriveTrainSimulator.Gravity * DriveTrainSimulator.HalfTrackWidth;
+    private static final double StepLength = 0.0005;
+
+    private final FauxbotActuatorManager actuatorManager;
+    private final FauxbotSensorManager sensorManager;
+
+    private final DriveSide left;
+    private final DriveSide right;
+    private FauxbotNavx navx;
+
+    private double speed;
+    private double angularSpeed;
+    private volatile double x;
+    private volatile double y;
+    private volatile double heading;
+
+    /**
+     * Initializes a new DriveTrainSimulator
+     * @param actuatorManager to find the drive motors in
+     * @param sensorManager to find the encoders and navX in
+     */
+    public DriveTrainSimulator(FauxbotActuatorManager actuatorManager, FauxbotSensorManager sensorManager)
+    {
+        this.actuatorManager = actuatorManager;
+        this.sensorManager = sensorManager;
+
+        this.left = new DriveSide(DriveTrainSimulator.LeftMotorChannels, DriveTrainSimulator.LeftEncoderChannel, HardwareConstants.DRIVETRAIN_LEFT_TICKS_PER_INCH);
+        this.right = new DriveSide(DriveTrainSimulator.RightMotorChannels, DriveTrainSimulator.RightEncoderChannel, HardwareConstants.DRIVETRAIN_RIGHT_TICKS_PER_INCH);
+
+        this.speed = 0.0;
+        this.angularSpeed = 0.0;
+        this.x = 0.0;
+        this.y = 0.0;
+        this.heading = 0.0;
+    }
+
+    /**
+     * Read the outputs of the motors for this tick, and add their loads to the battery
+     * @param battery to add the loads to
+     */
+    public void addLoads(BatterySimulator battery)
+    {
+        this.left.readOutputs(this.actuatorManager, this.sensorManager);
+        this.right.readOutputs(this.actuatorManager, this.sensorManager);
+        this.left.addLoads(battery);
+        this.right.addLoads(battery);
+    }
+
+    /**
+     * Advance the drivetrain by one tick, and write the resulting positions to the encoders and the navX
+     * @param tickLength the length of the tick in seconds
+     * @param voltage of the battery during the tick
+     */
+    public void update(double tickLength, double voltage)
+    {
+        int steps = (int)Math.ceil(tickLength / DriveTrainSimulator.StepLength);
+        double dt = tickLength / steps;
+
+        double x = this.x;
+        double y = this.y;
+        double heading = this.heading;
+        for (int i = 0; i < steps; i++)
+        {
+            // the ground under each side moves with the robot, which turns clockwise when the left side is faster
+            double leftTraction = this.left.step(dt, voltage, this.speed + this.angularSpeed * DriveTrainSimulator.HalfTrackWidth);
+            double rightTraction = this.right.step(dt, voltage, this.speed - this.angularSpeed * DriveTrainSimulator.HalfTrackWidth);
+
+            double force = leftTraction + rightTraction
+                - DriveTrainSimulator.RollingResistanceForce * this.speed / (Math.abs(this.speed) + DriveTrainSimulator.StictionSpeed);
+            double torque = (leftTraction - rightTraction) * DriveTrainSimulator.HalfTrackWidth
+                - DriveTrainSimulator.ScrubTorque * this.angularSpeed / (Math.abs(this.angularSpeed) + DriveTrainSimulator.StictionSpeed);
+
+            this.speed += force / DriveTrainSimulator.RobotMass * dt;
+            this.angularSpeed += torque / DriveTrainSimulator.RobotMomentOfInertia * dt;
+
+            heading += this.angularSpeed * dt;
+            x += this.speed * Math.cos(heading) * dt;
+            y += this.speed * Math.sin(heading) * dt;
+        }
+
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+
+        this.left.writeEncoder();
+        this.right.writeEncoder();
+
+        if (this.navx == null)
+        {
+            this.navx = (FauxbotNavx)this.sensorManager.get(DriveTrainSimulator.NavxChannel);
+        }
+
+        if (this.navx != null)
+        {
+            this.navx.set(Math.toDegrees(heading), x, y, 0.0);
+        }
+    }
+
+    /**
+     * Gets the distance the robot has moved forward from where it started
+     * @return the distance in meters
+     */
+    public double getX()
+    {
+        return this.x;
+    }
+
+    /**
+     * Gets the distance the robot has moved to the right from where it started
+     * @return the distance in meters
+     */
+    public double getY()
+    {
+        return this.y;
+    }
+
+    /**
+     * Gets the clockwise angle the robot has turned from where it started
+     * @return the angle in radians
+     */
+    public double getHeading()
+    {
+        return this.heading;
+    }
+
+    /**
+     * One side of the drivetrain, with its motors, wheels and encoder
+     */
+    private static class DriveSide
+    {
+        private static final double WheelEffectiveMass =
+            (DriveTrainSimulator.Motor.getRotorInertia() * DriveTrainSimulator.GearRatio * DriveTrainSimulator.GearRatio * DriveTrainSimulator.LeftMotorChannels.length + DriveTrainSimulator.WheelInertia)
+                / (DriveTrainSimulator.WheelRadius * DriveTrainSimulator.WheelRadius);
+
+        private final FauxbotActuatorConnection[] motorChannels;
+        private final FauxbotSensorConnection encoderChannel;
+        private final double ticksPerMeter;
+
+        private final FauxbotAdvancedMotorBase[] motors;
+        private final double[] outputs;
+        private final boolean[] brakes;
+        private FauxbotEncoder encoder;
+
+        private double wheelSpeed;
+        private double wheelDistance;
+        private long encoderTicks;
+
+        DriveSide(FauxbotActuatorConnection[] motorChannels, FauxbotSensorConnection encoderChannel, double ticksPerInch)
+        {
+            this.motorChannels = motorChannels;
+            this.encoderChannel = encoderChannel;
+            this.ticksPerMeter = ticksPerInch / DriveTrainSimulator.MetersPerInch;
+
+            this.motors = new FauxbotAdvancedMotorBase[motorChannels.length];
+            this.outputs = new double[motorChannels.length];
+            this.brakes = new boolean[motorChannels.length];
+
+            this.wheelSpeed = 0.0;
+            this.wheelDistance = 0.0;
+            this.encoderTicks = 0L;
+        }
+
+        void readOutputs(FauxbotActuatorManager actuatorManager, FauxbotSensorManager sensorManager)
+        {
+            for (int i = 0; i < this.motors.length; i++)
+            {
+                if (this.motors[i] == null)
+                {
+                    // the motors are created along with the mechanisms, after the simulator
+                    this.motors[i] = (FauxbotAdvancedMotorBase)actuatorManager.get(this.motorChannels[i]);
+                }
+
+                FauxbotAdvancedMotorBase motor = this.motors[i];
+                this.outputs[i] = motor == null ? 0.0 : Math.max(-1.0, Math.min(1.0, motor.get()));
+                this.brakes[i] = motor != null && motor.getNeutralMode() == MotorNeutralMode.Brake;
+            }
+
+            if (this.encoder == null)
+            {
+                this.encoder = (FauxbotEncoder)sensorManager.get(this.encoderChannel);
+            }
+        }
+
+        void addLoads(BatterySimulator battery)
+        {
+            double motorSpeed = this.wheelSpeed * DriveTrainSimulator.GearRatio / DriveTrainSimulator.WheelRadius;
+            for (int i = 0; i < this.outputs.length; i++)
+            {
+                battery.addMotorLoad(DriveTrainSimulator.Motor, this.outputs[i], motorSpeed);
+            }
+        }
+
+        /**
+         * Advance the wheels of this side by one step
+         * @param dt the length of the step in seconds
+         * @param voltage of the battery
+         * @param groundSpeed the speed of the robot at this side, in m/s
+         * @return the traction force that the wheels apply to the robot, in newtons
+         */
+        double step(double dt, double voltage, double groundSpeed)
+        {
+            double motorSpeed = this.wheelSpeed * DriveTrainSimulator.GearRatio / DriveTrainSimulator.WheelRadius;
+            double motorTorque = 0.0;
+            for (int i = 0; i < this.outputs.length; i++)
+            {
+                motorTorque += DriveTrainSimulator.Motor.getTorque(this.outputs[i], voltage, motorSpeed, this.brakes[i]);
+            }
+
+            double driveForce = motorTorque * DriveTrainSimulator.GearRatio * DriveTrainSimulator.GearboxEfficiency / DriveTrainSimulator.WheelRadius;
+            double slip = this.wheelSpeed - groundSpeed;
+            double traction = Math.max(
+                -DriveTrainSimulator.MaxTractionForce,
+                Math.min(DriveTrainSimulator.MaxTractionForce, slip * DriveTrainSimulator.MaxTractionForce / DriveTrainSimulator.FullTractionSlip));
+
+            this.wheelSpeed += (driveForce - traction) / DriveSide.WheelEffectiveMass * dt;
+            this.wheelDistance += this.wheelSpeed * dt;
+            return traction;
+        }
+
+        void writeEncoder()
+        {
+            // add the change in ticks rather than setting them, so that resetting the encoder keeps working
+            long ticks = Math.round(this.wheelDistance * this.ticksPerMeter);
+            if (this.encoder != null)
+            {
+                this.encoder.set(this.encoder.get() + (int)(ticks - this.encoderTicks));
+            }
+
+            this.encoderTicks = ticks;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package frc.robot.simulation;
+
+import frc.robot.ElectronicsConstants;
+import frc.robot.HardwareConstants;
+import frc.robot.common.robotprovider.*;
+
+/**
+ * Physics model of the elevator, with two 775pros winding the carriage up on a drum.
+ *
+ * The weight of the carriage always pulls it down, and the carriage stops hard at the bottom and the top of its
+ * travel, where the limit switches are closed.
+ */
+public class ElevatorSimulator extends MechanismSimulator
+{
+    private static final FauxbotActuatorConnection[] MotorChannels = new FauxbotActuatorConnection[]
+    {
+        new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.ELEVATOR_MOTOR_MASTER_CAN_ID),
+        new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.ELEVATOR_MOTOR_FOLLOWER_CAN_ID),
+    };
+
+    private static final double MetersPerInch = 0.0254;
+
+    private static final double GearRatio = 40.0; // so that full power roughly matches the max velocity assumed by KF
+    private static final double GearboxEfficiency = 0.85;
+    private static final double CarriageMass = 8.0; // including the intake, in kg
+    private static final double FrictionForce = 20.0; // of the carriage on its bearings, in newtons
+    private static final double LimitSwitchRange = 0.5; // in inches
+
+    // one rotation of the drum raises the carriage by a full rotation's worth of encoder ticks
+    private static final double DrumRadius =
+        MechanismSimulator.TicksPerRevolution * HardwareConstants.ELEVATOR_PULSE_DISTANCE * ElevatorSimulator.MetersPerInch / (2.0 * Math.PI);
+
+    private static final double WeightTorque = ElevatorSimulator.CarriageMass * MechanismSimulator.Gravity * ElevatorSimulator.DrumRadius;
+
+    /**
+     * Initializes a new ElevatorSimulator
+     * @param actuatorManager to find the elevator motors in
+     * @param sensorManager to find the elevator encoder in
+     */
+    public ElevatorSimulator(FauxbotActuatorManager actuatorManager, FauxbotSensorManager sensorManager)
+    {
+        super(
+            actuatorManager,
+            sensorManager,
+            ElevatorSimulator.MotorChannels,
+            MotorModel.Pro775,
+            ElevatorSimulator.GearRatio,
+            ElevatorSimulator.GearboxEfficiency,
+            ElevatorSimulator.CarriageMass * ElevatorSimulator.DrumRadius * ElevatorSimulator.DrumRadius,
+            ElevatorSimulator.FrictionForce * ElevatorSimulator.DrumRadius,
+            0.0,
+            HardwareConstants.ELEVATOR_MAX_HEIGHT,
+            ElevatorSimulator.LimitSwitchRange / HardwareConstants.ELEVATOR_PULSE_DISTANCE);
+    }
+
+    /**
+     * Gets the height of the carriage above the bottom of its travel
+     * @return the height in inches
+     */
+    public double getHeight()
+    {
+        return this.getPosition() * HardwareConstants.ELEVATOR_PULSE_DISTANCE;
+    }
+
+    @Override
+    protected double getLoadTorque(double position)
+    {
+        return -ElevatorSimulator.WeightTorque;
+    }
+}
@@ -0,0 +1,219 @@
+package frc.robot.simulation;
+
+import frc.robot.common.robotprovider.*;
+
+/**
+ * Physics model of a mechanism that turns about a single axis, driven by a Talon SRX (and its followers) with a quad
+ * encoder on the output of the gearbox.
+ *
+ * The motors turn the output through a single reduction against the load of the mechanism (such as gravity) and some
+ * friction, and the output stops hard at the ends of its travel, where the limit switches (if any) are closed.  Each
+ * tick is integrated in several small steps, and the resulting position is written to the master's encoder.
+ */
+public abstract class MechanismSimulator
+{
+    protected static final double Gravity = 9.81;
+    protected static final double TicksPerRevolution = 4096.0;
+    protected static final double RadiansPerTick = 2.0 * Math.PI / MechanismSimulator.TicksPerRevolution;
+
+    private static final double StictionSpeed = 0.05; // below which friction fades out, to avoid chattering around zero
+    private static final double StepLength = 0.001;
+
+    private final FauxbotActuatorManager actuatorManager;
+    private final FauxbotSensorManager sensorManager;
+    private final FauxbotActuatorConnection[] motorChannels;
+    private final FauxbotSensorConnection encoderChannel;
+
+    private final MotorModel motor;
+    private final double gearRatio;
+    private final double gearboxEfficiency;
+    private final double inertia;
+    private final double frictionTorque;
+    private final double minAngle;
+    private final double maxAngle;
+    private final double limitSwitchRange;
+
+    private final FauxbotAdvancedMotorBase[] motors;
+    private final double[] outputs;
+    private final boolean[] brakes;
+    private FauxbotEncoder encoder;
+
+    private volatile double angle;
+    private double speed;
+    private long encoderTicks;
+
+    /**
+     * Initializes a new MechanismSimulator
+     * @param actuatorManager to find the motors in
+     * @param sensorManager to find the encoder in
+     * @param motorChannels of the motors, starting with the Talon SRX master that has the encoder
+     * @param motor model of each of the motors
+     * @param gearRatio of the reduction between the motors and the output
+     * @param gearboxEfficiency of the reduction
+     * @param mechanismInertia of the mechanism about the output, in kg*m^2
+     * @param frictionTorque at the output, in newton-meters
+     * @param minPosition of the hard stop at the bottom of the travel, in ticks (or negative infinity for none)
+     * @param maxPosition of the hard stop at the top of the travel, in ticks (or positive infinity for none)
+     * @param limitSwitchRange from each hard stop within which its limit switch is closed, in ticks
+     */
+    protected MechanismSimulator(
+        FauxbotActuatorManager actuatorManager,
+        FauxbotSensorManager sensorManager,
+        FauxbotActuatorConnection[] motorChannels,
+        MotorModel motor,
+        double gearRatio,
+        double gearboxEfficiency,
+        double mechanismInertia,
+        double frictionTorque,
+        double minPosition,
+        double maxPosition,
+        double limitSwitchRange)
+    {
+        this.actuatorManager = actuatorManager;
+        this.sensorManager = sensorManager;
+        this.motorChannels = motorChannels;
+        this.encoderChannel = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, motorChannels[0].getPort());
+
+        this.motor = motor;
+        this.gearRatio = gearRatio;
+        this.gearboxEfficiency = gearboxEfficiency;
+        this.inertia = mechanismInertia + motor.getRotorInertia() * gearRatio * gearRatio * motorChannels.length;
+        this.frictionTorque = frictionTorque;
+        this.minAngle = minPosition * MechanismSimulator.RadiansPerTick;
+        this.maxAngle = maxPosition * MechanismSimulator.RadiansPerTick;
+        this.limitSwitchRange = limitSwitchRange * MechanismSimulator.RadiansPerTick;
+
+        this.motors = new FauxbotAdvancedMotorBase[motorChannels.length];
+        this.outputs = new double[motorChannels.length];
+        this.brakes = new boolean[motorChannels.length];
+
+        this.angle = 0.0;
+        this.speed = 0.0;
+        this.encoderTicks = 0L;
+    }
+
+    /**
+     * Read the outputs of the motors for this tick, and add their loads to the battery
+     * @param battery to add the loads to
+     */
+    public void addLoads(BatterySimulator battery)
+    {
+        for (int i = 0; i < this.motors.length; i++)
+        {
+            if (this.motors[i] == null)
+            {
+                // the motors are created along with the mechanisms, after the simulator
+                this.motors[i] = (FauxbotAdvancedMotorBase)this.actuatorManager.get(this.motorChannels[i]);
+            }
+
+            FauxbotAdvancedMotorBase motor = this.motors[i];
+            this.outputs[i] = motor == null ? 0.0 : Math.max(-1.0, Math.min(1.0, motor.get()));
+            this.brakes[i] = motor != null && motor.getNeutralMode() == MotorNeutralMode.Brake;
+        }
+
+        if (this.encoder == null)
+        {
+            this.encoder = (FauxbotEncoder)this.sensorManager.get(this.encoderChannel);
+        }
+
+        double motorSpeed = this.speed * this.gearRatio;
+        for (int i = 0; i < this.outputs.length; i++)
+        {
+            battery.addMotorLoad(this.motor, this.outputs[i], motorSpeed);
+        }
+    }
+
+    /**
+     * Advance the mechanism by one tick, and write the resulting position to the encoder and the limit switches
+     * @param tickLength the length of the tick in seconds
+     * @param voltage of the battery during the tick
+     */
+    public void update(double tickLength, double voltage)
+    {
+        int steps = (int)Math.ceil(tickLength / MechanismSimulator.StepLength);
+        double dt = tickLength / steps;
+
+        double angle = this.angle;
+        for (int i = 0; i < steps; i++)
+        {
+            double motorSpeed = this.speed * this.gearRatio;
+            double motorTorque = 0.0;
+            for (int j = 0; j < this.outputs.length; j++)
+            {
+                motorTorque += this.motor.getTorque(this.outputs[j], voltage, motorSpeed, this.brakes[j]);
+            }
+
+            double torque = motorTorque * this.gearRatio * this.gearboxEfficiency
+                + this.getLoadTorque(angle / MechanismSimulator.RadiansPerTick)
+                - this.frictionTorque * this.speed / (Math.abs(this.speed) + MechanismSimulator.StictionSpeed);
+
+            this.speed += torque / this.inertia * dt;
+            angle += this.speed * dt;
+
+            // the hard stops absorb all of the mechanism's momentum
+            if (angle < this.minAngle)
+            {
+                angle = this.minAngle;
+                this.speed = Math.max(0.0, this.speed);
+            }
+            else if (angle > this.maxAngle)
+            {
+                angle = this.maxAngle;
+                this.speed = Math.min(0.0, this.speed);
+            }
+        }
+
+        this.angle = angle;
+
+        // add the change in ticks rather than setting them, so that resetting the encoder keeps working
+        long ticks = Math.round(angle / MechanismSimulator.RadiansPerTick);
+        if (this.encoder != null)
+        {
+            this.encoder.set(this.encoder.get() + (int)(ticks - this.encoderTicks));
+        }
+
+        this.encoderTicks = ticks;
+
+        if (this.motors[0] instanceof FauxbotTalonSRX)
+        {
+            ((FauxbotTalonSRX)this.motors[0]).setLimitSwitchStatus(
+                angle >= this.maxAngle - this.limitSwitchRange,
+                angle <= this.minAngle + this.limitSwitchRange);
+        }
+
+        this.writeSensors(ticks);
+    }
+
+    /**
+     * Gets the position of the mechanism, measured from where it started
+     * @return the position in ticks
+     */
+    public double getPosition()
+    {
+        return this.angle / MechanismSimulator.RadiansPerTick;
+    }
+
+    /**
+     * Gets the angle that the output has turned from where it started
+     * @return the angle in radians
+     */
+    public double getAngle()
+    {
+        return this.angle;
+    }
+
+    /**
+     * Calculate the torque that the mechanism's load applies to the output
+     * @param position of the mechanism in ticks
+     * @return the torque in newton-meters, positive in the forward direction
+     */
+    protected abstract double getLoadTorque(double position);
+
+    /**
+     * Write any other sensors of the mechanism after each tick
+     * @param position of the mechanism in ticks
+     */
+    protected void writeSensors(long position)
+    {
+    }
+}
@@ -0,0 +1,96 @@
+package frc.robot.simulation;
+
+/**
+ * Model of a brushed DC motor, based on the values from its datasheet at 12V.
+ *
+ * The current through the motor comes from the voltage applied to it less its back-EMF, and its torque is
+ * proportional to that current.  When there is no output, a motor in brake mode has its leads shorted (so the back-EMF
+ * drives a current that slows it down), while a motor in coast mode has no current at all.
+ */
+public class MotorModel
+{
+    private static final double DatasheetVoltage = 12.0;
+    private static final double RpmToRadiansPerSecond = 2.0 * Math.PI / 60.0;
+
+    public static final MotorModel Cim = new MotorModel(2.42, 133.0, 5310.0, 2.7, 7.75E-5);
+    public static final MotorModel Pro775 = new MotorModel(0.71, 134.0, 18730.0, 0.7, 2.0E-5);
+
+    private final double resistance;
+    private final double torqueConstant;
+    private final double backEmfConstant;
+    private final double rotorInertia;
+
+    /**
+     * Initializes a new MotorModel
+     * @param stallTorque the torque at stall, in newton-meters
+     * @param stallCurrent the current at stall, in amps
+     * @param freeSpeed the speed with no load, in RPM
+     * @param freeCurrent the current with no load, in amps
+     * @param rotorInertia the moment of inertia of the rotor, in kg*m^2
+     */
+    public MotorModel(double stallTorque, double stallCurrent, double freeSpeed, double freeCurrent, double rotorInertia)
+    {
+        this.resistance = MotorModel.DatasheetVoltage / stallCurrent;
+        this.torqueConstant = stallTorque / stallCurrent;
+        this.backEmfConstant = (MotorModel.DatasheetVoltage - this.resistance * freeCurrent) / (freeSpeed * MotorModel.RpmToRadiansPerSecond);
+        this.rotorInertia = rotorInertia;
+    }
+
+    /**
+     * Gets the resistance of the motor's windings
+     * @return the resistance in ohms
+     */
+    public double getResistance()
+    {
+        return this.resistance;
+    }
+
+    /**
+     * Gets the back-EMF of the motor per unit of speed
+     * @return the back-EMF constant in volts per radian per second
+     */
+    public double getBackEmfConstant()
+    {
+        return this.backEmfConstant;
+    }
+
+    /**
+     * Gets the moment of inertia of the motor's rotor
+     * @return the moment of inertia in kg*m^2
+     */
+    public double getRotorInertia()
+    {
+        return this.rotorInertia;
+    }
+
+    /**
+     * Calculate the current through the motor
+     * @param output the fraction of the battery voltage applied to the motor, between -1.0 and 1.0
+     * @param voltage of the battery
+     * @param speed of the motor in radians per second
+     * @param brake whether the motor's leads are shorted when there is no output
+     * @return the current in amps
+     */
+    public double getCurrent(double output, double voltage, double speed, boolean brake)
+    {
+        if (output == 0.0 && !brake)
+        {
+            return 0.0;
+        }
+
+        return (output * voltage - this.backEmfConstant * speed) / this.resistance;
+    }
+
+    /**
+     * Calculate the torque produced by the motor
+     * @param output the fraction of the battery voltage applied to the motor, between -1.0 and 1.0
+     * @param voltage of the battery
+     * @param speed of the motor in radians per second
+     * @param brake whether the motor's leads are shorted when there is no output
+     * @return the torque in newton-meters
+     */
+    public double getTorque(double output, double voltage, double speed, boolean brake)
+    {
+        return this.torqueConstant * this.getCurrent(output, voltage, speed, brake);
+    }
+}
@@ -4,14 +4,24 @@ import java.util.HashMap;
 import java.util.Map;
 
 import frc.robot.ElectronicsConstants;
+import frc.robot.HardwareConstants;
 import frc.robot.IRealWorldSimulator;
+import frc.robot.TuningConstants;
 import frc.robot.common.robotprovider.*;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
 
+/**
+ * Simulator for the robot, which models the physics of its mechanisms and the battery that powers them.
+ *
+ * After each loop of the robot, the simulator reads the outputs of the motors and advances the models by one tick of
+ * the simulation clock, writing the results back to the simulated sensors for the next loop to read.
+ */
 @Singleton
 public class RobotSimulator implements IRealWorldSimulator
 {
@@ -21,9 +31,26 @@ public class RobotSimulator implements IRealWorldSimulator
     private static final FauxbotActuatorConnection DriveRightMasterChannel = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.DRIVETRAIN_RIGHT_MASTER_CAN_ID);
     private static final FauxbotActuatorConnection DriveRightFollower1Channel = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.DRIVETRAIN_RIGHT_FOLLOWER1_CAN_ID);
     private static final FauxbotActuatorConnection DriveRightFollower2Channel = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.DRIVETRAIN_RIGHT_FOLLOWER2_CAN_ID);
+    private static final FauxbotActuatorConnection ElevatorMasterChannel = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.ELEVATOR_MOTOR_MASTER_CAN_ID);
+    private static final FauxbotActuatorConnection ElevatorFollowerChannel = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.ELEVATOR_MOTOR_FOLLOWER_CAN_ID);
+    private static final FauxbotActuatorConnection ClimberArmsMasterChannel = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.CLIMBER_ARMS_MOTOR_MASTER_CAN_ID);
+    private static final FauxbotActuatorConnection ClimberArmsFollowerChannel = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.CLIMBER_ARMS_MOTOR_FOLLOWER_CAN_ID);
+    private static final FauxbotActuatorConnection ClimberCamMasterChannel = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.CLIMBER_CAM_MOTOR_MASTER_CAN_ID);
+    private static final FauxbotActuatorConnection ClimberCamFollowerChannel = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, ElectronicsConstants.CLIMBER_CAM_MOTOR_FOLLOWER_CAN_ID);
 
     private static final FauxbotSensorConnection DriveLeftEncoderChannel = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, RobotSimulator.DriveLeftMasterChannel.getPort());
     private static final FauxbotSensorConnection DriveRightEncoderChannel = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, RobotSimulator.DriveRightMasterChannel.getPort());
+    private static final FauxbotSensorConnection ElevatorEncoderChannel = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, RobotSimulator.ElevatorMasterChannel.getPort());
+    private static final FauxbotSensorConnection ClimberArmsEncoderChannel = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, RobotSimulator.ClimberArmsMasterChannel.getPort());
+    private static final FauxbotSensorConnection ClimberCamEncoderChannel = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, RobotSimulator.ClimberCamMasterChannel.getPort());
+    private static final FauxbotSensorConnection ClimberCamLimitSwitchChannel = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.DigitalInput, ElectronicsConstants.CLIMBER_CAM_LIMIT_SWITCH_DIGITAL_CHANNEL);
+    private static final FauxbotSensorConnection NavxChannel = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.NavX, 0);
+    private static final FauxbotSensorConnection PdpChannel = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.PDP, 0);
+
+    private static final double PixelsPerMeter = 20.0;
+    private static final double RobotLength = 0.9; // in meters, including bumpers
+    private static final double RobotWidth = 0.8;
+    private static final double MechanismPixels = 120.0; // for the full height of the elevator and the length of the arms
 
     @SuppressWarnings("serial")
     private final Map<FauxbotSensorConnection, String> sensorNameMap = new HashMap<FauxbotSensorConnection, String>()
@@ -31,6 +58,12 @@ public class RobotSimulator implements IRealWorldSimulator
         {
             this.put(RobotSimulator.DriveLeftEncoderChannel, "DriveTrain Left encoder");
             this.put(RobotSimulator.DriveRightEncoderChannel, "DriveTrain Right encoder");
+            this.put(RobotSimulator.ElevatorEncoderChannel, "Elevator encoder");
+            this.put(RobotSimulator.ClimberArmsEncoderChannel, "Climber Arms encoder");
+            this.put(RobotSimulator.ClimberCamEncoderChannel, "Climber Cam encoder");
+            this.put(RobotSimulator.ClimberCamLimitSwitchChannel, "Climber Cam limit switch");
+            this.put(RobotSimulator.NavxChannel, "NavX angle");
+            this.put(RobotSimulator.PdpChannel, "Battery voltage");
         }
     };
 
@@ -44,12 +77,35 @@ public class RobotSimulator implements IRealWorldSimulator
             this.put(RobotSimulator.DriveRightMasterChannel, "DriveTrain Right motor (master)");
             this.put(RobotSimulator.DriveRightFollower1Channel, "DriveTrain Right motor (follower 1)");
             this.put(RobotSimulator.DriveRightFollower2Channel, "DriveTrain Right motor (follower 2)");
+            this.put(RobotSimulator.ElevatorMasterChannel, "Elevator motor (master)");
+            this.put(RobotSimulator.ElevatorFollowerChannel, "Elevator motor (follower)");
+            this.put(RobotSimulator.ClimberArmsMasterChannel, "Climber Arms motor (master)");
+            this.put(RobotSimulator.ClimberArmsFollowerChannel, "Climber Arms motor (follower)");
+            this.put(RobotSimulator.ClimberCamMasterChannel, "Climber Cam motor (master)");
+            this.put(RobotSimulator.ClimberCamFollowerChannel, "Climber Cam motor (follower)");
         }
     };
 
+    private final FauxbotSensorManager sensorManager;
+    private final SimulationClock clock;
+    private final BatterySimulator battery;
+    private final DriveTrainSimulator driveTrain;
+    private final ElevatorSimulator elevator;
+    private final ClimberArmsSimulator climberArms;
+    private final ClimberCamSimulator climberCam;
+
+    private FauxbotPowerDistributionPanel pdp;
+
     @Inject
-    public RobotSimulator()
+    public RobotSimulator(FauxbotSensorManager sensorManager, FauxbotActuatorManager actuatorManager, SimulationClock clock)
     {
+        this.sensorManager = sensorManager;
+        this.clock = clock;
+        this.battery = new BatterySimulator();
+        this.driveTrain = new DriveTrainSimulator(actuatorManager, sensorManager);
+        this.elevator = new ElevatorSimulator(actuatorManager, sensorManager);
+        this.climberArms = new ClimberArmsSimulator(actuatorManager, sensorManager);
+        this.climberCam = new ClimberCamSimulator(actuatorManager, sensorManager);
     }
 
     public String getSensorName(FauxbotSensorConnection connection)
@@ -67,7 +123,18 @@ public class RobotSimulator implements IRealWorldSimulator
         if (connection.equals(RobotSimulator.DriveLeftEncoderChannel) ||
             connection.equals(RobotSimulator.DriveRightEncoderChannel))
         {
-            return -5000.0;
+            return -200000.0;
+        }
+
+        if (connection.equals(RobotSimulator.ElevatorEncoderChannel) ||
+            connection.equals(RobotSimulator.ClimberArmsEncoderChannel))
+        {
+            return 0.0;
+        }
+
+        if (connection.equals(RobotSimulator.ClimberCamEncoderChannel))
+        {
+            return -2.0 * TuningConstants.CLIMBER_CAM_FULL_ROTATION;
         }
 
         return 0;
@@ -78,7 +145,22 @@ public class RobotSimulator implements IRealWorldSimulator
         if (connection.equals(RobotSimulator.DriveLeftEncoderChannel) ||
             connection.equals(RobotSimulator.DriveRightEncoderChannel))
         {
-            return 5000.0;
+            return 200000.0;
+        }
+
+        if (connection.equals(RobotSimulator.ElevatorEncoderChannel))
+        {
+            return HardwareConstants.ELEVATOR_MAX_HEIGHT;
+        }
+
+        if (connection.equals(RobotSimulator.ClimberArmsEncoderChannel))
+        {
+            return TuningConstants.CLIMBER_ARMS_POSITION_MAX;
+        }
+
+        if (connection.equals(RobotSimulator.ClimberCamEncoderChannel))
+        {
+            return 2.0 * TuningConstants.CLIMBER_CAM_FULL_ROTATION;
         }
 
         return 0;
@@ -103,7 +185,7 @@ public class RobotSimulator implements IRealWorldSimulator
             connection.equals(RobotSimulator.DriveRightFollower1Channel) ||
             connection.equals(RobotSimulator.DriveRightFollower2Channel))
         {
-            return -1600.0;
+            return -1.0;
         }
 
         return -1.0;
@@ -118,17 +200,101 @@ public class RobotSimulator implements IRealWorldSimulator
             connection.equals(RobotSimulator.DriveRightFollower1Channel) ||
             connection.equals(RobotSimulator.DriveRightFollower2Channel))
         {
-            return 1600.0;
+            return 1.0;
         }
 
         return 1.0;
     }
 
+    /**
+     * Gets the model of the drivetrain, for where the robot has moved
+     * @return the drivetrain simulator
+     */
+    public DriveTrainSimulator getDriveTrain()
+    {
+        return this.driveTrain;
+    }
+
     public void update()
     {
+        // the outputs were just set by the robot's loop, and apply until the next loop after the clock ticks
+        this.driveTrain.addLoads(this.battery);
+        this.elevator.addLoads(this.battery);
+        this.climberArms.addLoads(this.battery);
+        this.climberCam.addLoads(this.battery);
+
+        double voltage = this.battery.update();
+        double tickLength = this.clock.getTickLength();
+        this.driveTrain.update(tickLength, voltage);
+        this.elevator.update(tickLength, voltage);
+        this.climberArms.update(tickLength, voltage);
+        this.climberCam.update(tickLength, voltage);
+
+        if (this.pdp == null)
+        {
+            this.pdp = (FauxbotPowerDistributionPanel)this.sensorManager.get(RobotSimulator.PdpChannel);
+        }
+
+        if (this.pdp != null)
+        {
+            this.pdp.setBatteryVoltage(voltage);
+        }
     }
 
     public void draw(Canvas canvas)
     {
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0.0, 0.0, width, height);
+
+        // one meter grid, with the robot starting at the middle of the left side facing to the right
+        double originX = RobotSimulator.RobotLength * RobotSimulator.PixelsPerMeter;
+        double originY = height / 2.0;
+        gc.setStroke(Color.LIGHTGRAY);
+        gc.setLineWidth(1.0);
+        for (double gridX = originX % RobotSimulator.PixelsPerMeter; gridX < width; gridX += RobotSimulator.PixelsPerMeter)
+        {
+            gc.strokeLine(gridX, 0.0, gridX, height);
+        }
+
+        for (double gridY = originY % RobotSimulator.PixelsPerMeter; gridY < height; gridY += RobotSimulator.PixelsPerMeter)
+        {
+            gc.strokeLine(0.0, gridY, width, gridY);
+        }
+
+        // positive angles are clockwise, as they are on the canvas
+        double robotLength = RobotSimulator.RobotLength * RobotSimulator.PixelsPerMeter;
+        double robotWidth = RobotSimulator.RobotWidth * RobotSimulator.PixelsPerMeter;
+        gc.save();
+        gc.translate(originX + this.driveTrain.getX() * RobotSimulator.PixelsPerMeter, originY + this.driveTrain.getY() * RobotSimulator.PixelsPerMeter);
+        gc.rotate(Math.toDegrees(this.driveTrain.getHeading()));
+        gc.setFill(Color.STEELBLUE);
+        gc.fillRect(-robotLength / 2.0, -robotWidth / 2.0, robotLength, robotWidth);
+        gc.setStroke(Color.ORANGE);
+        gc.setLineWidth(2.0);
+        gc.strokeLine(0.0, 0.0, robotLength / 2.0, 0.0);
+        gc.restore();
+
+        // side view of the elevator and climber in the bottom right corner, with the front of the robot to the right
+        double baseX = width - RobotSimulator.MechanismPixels;
+        double baseY = height - RobotSimulator.MechanismPixels / 4.0;
+        double elevatorHeight = this.elevator.getPosition() / HardwareConstants.ELEVATOR_MAX_HEIGHT * RobotSimulator.MechanismPixels * 0.75;
+        gc.setStroke(Color.GRAY);
+        gc.setLineWidth(4.0);
+        gc.strokeLine(baseX, baseY, baseX, baseY - RobotSimulator.MechanismPixels * 0.75);
+        gc.setFill(Color.ORANGE);
+        gc.fillRect(baseX, baseY - elevatorHeight - 6.0, 20.0, 6.0);
+
+        double armsAngle = this.climberArms.getAngle();
+        double armsLength = RobotSimulator.MechanismPixels * 0.4;
+        gc.setStroke(Color.STEELBLUE);
+        gc.strokeLine(baseX - 40.0, baseY, baseX - 40.0 - armsLength * Math.sin(armsAngle), baseY - armsLength * Math.cos(armsAngle));
+
+        double camAngle = this.climberCam.getAngle();
+        double camLength = RobotSimulator.MechanismPixels * 0.15;
+        gc.setStroke(Color.DARKRED);
+        gc.strokeLine(baseX + 50.0, baseY, baseX + 50.0 + camLength * Math.sin(camAngle), baseY - camLength * Math.cos(camAngle));
     }
 }
@@ -0,0 +1,158 @@
+package frc.robot.simulation;
+
+import frc.robot.common.LoopProfiler;
+import frc.robot.common.robotprovider.*;
+import frc.robot.mechanisms.GrabberMechanism;
+import frc.robot.mechanisms.PositionManager;
+import frc.robot.mechanisms.VisionManager;
+import frc.robot.vision.VisionConstants;
+import frc.robot.vision.common.VisionProcessingState;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Vision manager for the headless simulation, which sees a simulated vision target instead of processing camera
+ * frames (the simulated camera doesn't provide any).
+ *
+ * There is no model of the field, so whenever vision is enabled a target is placed a fixed distance ahead of the
+ * robot and a little to its right, and it stays there until vision is disabled.  The measurements of the target come
+ * from where the drivetrain model has moved the robot, as seen by a camera at the center of the robot that is
+ * centered when the target is straight ahead, so the centering and advancing tasks of the real routines can be run
+ * and their gains tuned.  The target is lost if it leaves the camera's field of view.
+ */
+@Singleton
+public class SimulatedVisionManager extends VisionManager
+{
+    private static final double MetersPerInch = 0.0254;
+    private static final double TargetDistance = 72.0; // ahead of the robot when vision is enabled, in inches
+    private static final double TargetOffset = 6.0; // to the right of the robot when vision is enabled, in inches
+
+    private final IOpenCVProvider openCVProvider;
+    private final DriveTrainSimulator driveTrain;
+
+    private boolean hasTarget;
+    private double targetX;
+    private double targetY;
+
+    private IPoint center;
+    private Double measuredAngle;
+    private Double measuredDistance;
+
+    /**
+     * Initializes a new SimulatedVisionManager
+     * @param logger to use
+     * @param timer to use
+     * @param provider for obtaining electronics objects
+     * @param grabberMechanism for grabber reference
+     * @param positionManager for projecting vision measurements forward to the current time
+     * @param profiler for checking whether the control loop is overrunning its budget
+     * @param simulator for where the robot has moved
+     */
+    @Inject
+    public SimulatedVisionManager(
+        IDashboardLogger logger,
+        ITimer timer,
+        IRobotProvider provider,
+        GrabberMechanism grabberMechanism,
+        PositionManager positionManager,
+        LoopProfiler profiler,
+        RobotSimulator simulator)
+    {
+        super(logger, timer, provider, grabberMechanism, positionManager, profiler);
+
+        this.openCVProvider = provider.getOpenCVProvider();
+        this.driveTrain = simulator.getDriveTrain();
+
+        this.hasTarget = false;
+        this.center = null;
+        this.measuredAngle = null;
+        this.measuredDistance = null;
+    }
+
+    @Override
+    public IPoint getCenter()
+    {
+        return this.center;
+    }
+
+    @Override
+    public Double getMeasuredAngle()
+    {
+        return this.measuredAngle;
+    }
+
+    @Override
+    public Double getDesiredAngle()
+    {
+        return this.center != null ? 0.0 : null;
+    }
+
+    @Override
+    public Double getMeasuredDistance()
+    {
+        return this.measuredDistance;
+    }
+
+    @Override
+    public void readSensors()
+    {
+        super.readSensors();
+
+        this.center = null;
+        this.measuredAngle = null;
+        this.measuredDistance = null;
+        if (!this.hasTarget)
+        {
+            return;
+        }
+
+        // the drivetrain's heading is clockwise, with y to the right of where the robot started
+        double heading = this.driveTrain.getHeading();
+        double xOffset = this.targetX - this.driveTrain.getX() / SimulatedVisionManager.MetersPerInch;
+        double yOffset = this.targetY - this.driveTrain.getY() / SimulatedVisionManager.MetersPerInch;
+        double forward = xOffset * Math.cos(heading) + yOffset * Math.sin(heading);
+        double right = yOffset * Math.cos(heading) - xOffset * Math.sin(heading);
+
+        double angle = Math.toDegrees(Math.atan2(right, forward));
+        if (forward <= 0.0 || Math.abs(angle) > VisionConstants.LIFECAM_CAMERA_FIELD_OF_VIEW_X / 2.0)
+        {
+            return;
+        }
+
+        this.center = this.openCVProvider.newPoint(
+            VisionConstants.LIFECAM_CAMERA_CENTER_WIDTH + VisionConstants.LIFECAM_CAMERA_FOCAL_LENGTH_X * right / forward,
+            VisionConstants.LIFECAM_CAMERA_CENTER_HEIGHT);
+        this.measuredAngle = angle;
+        this.measuredDistance = forward;
+    }
+
+    @Override
+    public void update()
+    {
+        super.update();
+
+        boolean enabled = this.getState() != VisionProcessingState.Disabled;
+        if (enabled && !this.hasTarget)
+        {
+            double heading = this.driveTrain.getHeading();
+            double x = this.driveTrain.getX() / SimulatedVisionManager.MetersPerInch;
+            double y = this.driveTrain.getY() / SimulatedVisionManager.MetersPerInch;
+            this.targetX = x + SimulatedVisionManager.TargetDistance * Math.cos(heading) - SimulatedVisionManager.TargetOffset * Math.sin(heading);
+            this.targetY = y + SimulatedVisionManager.TargetDistance * Math.sin(heading) + SimulatedVisionManager.TargetOffset * Math.cos(heading);
+        }
+
+        this.hasTarget = enabled;
+    }
+
+    @Override
+    public void stop()
+    {
+        super.stop();
+
+        this.hasTarget = false;
+        this.center = null;
+        this.measuredAngle = null;
+        this.measuredDistance = null;
+    }
+}
@@ -41,7 +41,7 @@ public class HSVDockingCenterPipelineTest
         System.out.println(imagePath);
         Mat mat = Imgcodecs.imread(imagePath);
         MatWrapper wrapper = new MatWrapper(mat);
-        HSVDockingCenterPipeline pipeline = new HSVDockingCenterPipeline(new FauxbotTimer(), new FauxbotProvider(), true);
+        HSVDockingCenterPipeline pipeline = new HSVDockingCenterPipeline(new FauxbotTimer(new SimulationClock()), new FauxbotProvider(new SimulationClock(), new FauxbotSensorManager(), new FauxbotActuatorManager(), new FauxbotJoystickManager()), true);
         pipeline.setMode(VisionProcessingState.ActiveCargoShip);
         pipeline.process(wrapper);
         assertNotNull(pipeline.getCenter());
@@ -52,8 +52,8 @@ public class Vision2019ApproachAndDockPipelineTest
         MatWrapper wrapper = new MatWrapper(mat);
         Vision2019ApproachAndDockPipeline pipeline =
                 new Vision2019ApproachAndDockPipeline(
-                        new FauxbotTimer(),
-                        new FauxbotProvider(),
+                        new FauxbotTimer(new SimulationClock()),
+                        new FauxbotProvider(new SimulationClock(), new FauxbotSensorManager(), new FauxbotActuatorManager(), new FauxbotJoystickManager()),
                         true);
         pipeline.setGamePiece(gamePiece);
         pipeline.setMode(mode);
@@ -67,7 +67,7 @@ public class Vision2019ApproachAndDockPipelineTest
         Mat mat = Imgcodecs.imread(imagePath);
         MatWrapper wrapper = new MatWrapper(mat);
         Vision2019ApproachAndDockPipeline pipeline =
-                new Vision2019ApproachAndDockPipeline(new FauxbotTimer(), new FauxbotProvider(), true);
+                new Vision2019ApproachAndDockPipeline(new FauxbotTimer(new SimulationClock()), new FauxbotProvider(new SimulationClock(), new FauxbotSensorManager(), new FauxbotActuatorManager(), new FauxbotJoystickManager()), true);
 
         pipeline.setGamePiece(GamePiece.Cargo);
         pipeline.setMode(VisionProcessingState.ActiveRocket);
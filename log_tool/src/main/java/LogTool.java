@@ -0,0 +1,112 @@
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import frc.robot.logtool.*;
+
+/**
+ * Decodes binary telemetry logs (from BinaryLogger) and exports them to CSV or columnar files.
+ *
+ * Usage: LogTool [log file] [--filter dt,pos,vision.dist] [--resample periodMs] [--csv out.csv | --columns outDir]
+ *
+ * Without --csv or --columns, CSV is written to standard output.
+ */
+public class LogTool
+{
+    public static void main(String[] args) throws IOException
+    {
+        Path inputPath = null;
+        Path csvPath = null;
+        Path columnsPath = null;
+        List<String> filterTerms = new ArrayList<String>();
+        double resamplePeriod = 0.0;
+
+        for (int i = 0; i < args.length; i++)
+        {
+            String arg = args[i];
+            if ("--filter".equals(arg) && i + 1 < args.length)
+            {
+                filterTerms.addAll(Arrays.asList(args[++i].split(",")));
+            }
+            else if ("--resample".equals(arg) && i + 1 < args.length)
+            {
+                resamplePeriod = Double.parseDouble(args[++i]) / 1000.0;
+            }
+            else if ("--csv".equals(arg) && i + 1 < args.length)
+            {
+                csvPath = Paths.get(args[++i]);
+            }
+            else if ("--columns".equals(arg) && i + 1 < args.length)
+            {
+                columnsPath = Paths.get(args[++i]);
+            }
+            else if (inputPath == null && !arg.startsWith("--"))
+            {
+                inputPath = Paths.get(arg);
+            }
+            else
+            {
+                LogTool.printUsage();
+                return;
+            }
+        }
+
+        if (inputPath == null)
+        {
+            LogTool.printUsage();
+            return;
+        }
+
+        BinaryLogReader reader = new BinaryLogReader(inputPath);
+
+        // first pass: determine which columns we are exporting
+        LogSchema schema = new LogSchema(new SignalFilter(filterTerms));
+        reader.read(schema);
+
+        Writer csvWriter = null;
+        IRowSink sink;
+        if (columnsPath != null)
+        {
+            sink = new ColumnarRowSink(columnsPath);
+        }
+        else
+        {
+            csvWriter = csvPath != null ? Files.newBufferedWriter(csvPath) : new OutputStreamWriter(System.out);
+            sink = new CsvRowSink(csvWriter);
+        }
+
+        if (resamplePeriod > 0.0)
+        {
+            sink = new ResamplingRowSink(sink, resamplePeriod);
+        }
+
+        // second pass: export the values
+        sink.start(schema.getColumnNames());
+        try
+        {
+            reader.read(new RowAssembler(schema, sink));
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+
+        sink.finish();
+        if (csvPath != null)
+        {
+            csvWriter.close();
+        }
+    }
+
+    private static void printUsage()
+    {
+        System.out.println("Usage: LogTool [log file] [--filter dt,pos,vision.dist] [--resample periodMs] [--csv out.csv | --columns outDir]");
+    }
+}
@@ -0,0 +1,293 @@
+package frc.robot.logtool;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import frc.robot.common.robotprovider.BinaryLogFormat;
+
+/**
+ * Streaming decoder for the binary telemetry logs written by BinaryLogger.
+ *
+ * The file is memory-mapped in fixed-size windows and decoded record-by-record, so only the window being read
+ * needs to be resident regardless of the size of the log.  A truncated final record (e.g. from the robot losing
+ * power mid-write) is treated as the end of the log.
+ *
+ */
+public class BinaryLogReader
+{
+    private static final long DefaultWindowSize = 16L * 1024L * 1024L;
+
+    private final Path path;
+    private final long windowSize;
+
+    private char[] stringScratch;
+
+    /**
+     * Initializes a new instance of the BinaryLogReader class.
+     * @param path of the log to read
+     */
+    public BinaryLogReader(Path path)
+    {
+        this(path, BinaryLogReader.DefaultWindowSize);
+    }
+
+    /**
+     * Initializes a new instance of the BinaryLogReader class.
+     * @param path of the log to read
+     * @param windowSize the number of bytes to map at a time
+     */
+    public BinaryLogReader(Path path, long windowSize)
+    {
+        this.path = path;
+        this.windowSize = windowSize;
+        this.stringScratch = new char[256];
+    }
+
+    /**
+     * Decode the entire log, passing each record to the visitor
+     * @param visitor to receive the decoded records
+     * @throws IOException if the file can't be read or isn't a binary telemetry log
+     */
+    public void read(IBinaryLogVisitor visitor) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ))
+        {
+            long fileSize = channel.size();
+            if (fileSize < BinaryLogFormat.HEADER_SIZE)
+            {
+                throw new IOException("Not a binary telemetry log: " + this.path);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(fileSize, this.windowSize));
+            if (buffer.getInt() != BinaryLogFormat.MAGIC)
+            {
+                throw new IOException("Not a binary telemetry log: " + this.path);
+            }
+
+            short version = buffer.getShort();
+            if (version != BinaryLogFormat.VERSION)
+            {
+                throw new IOException("Unsupported binary telemetry log version " + version + ": " + this.path);
+            }
+
+            long windowStart = 0;
+            long windowSize = this.windowSize;
+            while (windowStart + buffer.position() < fileSize)
+            {
+                if (!buffer.hasRemaining())
+                {
+                    // the last record ended exactly at the end of the current window, so map the next one
+                    windowStart += buffer.position();
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(fileSize - windowStart, windowSize));
+                    continue;
+                }
+
+                int recordSize = BinaryLogReader.measureRecord(buffer);
+                if (recordSize < 0)
+                {
+                    long recordStart = windowStart + buffer.position();
+                    if (windowStart + buffer.limit() >= fileSize)
+                    {
+                        // truncated final record
+                        return;
+                    }
+
+                    // the record straddles the end of the current window, so remap starting at the record (growing
+                    // the window if this record is bigger than the whole window)
+                    if (buffer.position() == 0)
+                    {
+                        windowSize *= 2;
+                    }
+
+                    windowStart = recordStart;
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(fileSize - windowStart, windowSize));
+                    continue;
+                }
+
+                this.readRecord(buffer, visitor);
+            }
+        }
+    }
+
+    /**
+     * Determine the size of the record at the current position, without moving the position
+     * @param buffer to read from
+     * @return size of the record in bytes, or -1 if the record extends past the end of the buffer
+     * @throws IOException if the record type isn't recognized
+     */
+    private static int measureRecord(MappedByteBuffer buffer) throws IOException
+    {
+        int start = buffer.position();
+        int limit = buffer.limit();
+        int position = start;
+        try
+        {
+            byte recordType = buffer.get(position);
+            position += 1;
+            switch (recordType)
+            {
+                case BinaryLogFormat.RECORD_SCHEMA:
+                    position += 2;
+                    position += 2 + 2 * (buffer.getShort(position) & 0xFFFF);
+                    position += 2 + 2 * (buffer.getShort(position) & 0xFFFF);
+                    break;
+
+                case BinaryLogFormat.RECORD_FRAME:
+                    position += 8;
+                    int entryCount = buffer.getShort(position) & 0xFFFF;
+                    position += 2;
+                    for (int i = 0; i < entryCount; i++)
+                    {
+                        byte valueType = buffer.get(position + 2);
+                        position += BinaryLogFormat.ENTRY_HEADER_SIZE;
+                        switch (valueType)
+                        {
+                            case BinaryLogFormat.VALUE_NULL:
+                                break;
+
+                            case BinaryLogFormat.VALUE_BOOLEAN:
+                                position += 1;
+                                break;
+
+                            case BinaryLogFormat.VALUE_DOUBLE:
+                                position += 8;
+                                break;
+
+                            case BinaryLogFormat.VALUE_INTEGER:
+                                position += 4;
+                                break;
+
+                            case BinaryLogFormat.VALUE_STRING:
+                                position += 2 + 2 * (buffer.getShort(position) & 0xFFFF);
+                                break;
+
+                            case BinaryLogFormat.VALUE_POINT:
+                                position += 16;
+                                break;
+
+                            default:
+                                throw new IOException("Unknown value type " + valueType);
+                        }
+                    }
+
+                    break;
+
+                default:
+                    throw new IOException("Unknown record type " + recordType);
+            }
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            return -1;
+        }
+
+        if (position > limit)
+        {
+            return -1;
+        }
+
+        return position - start;
+    }
+
+    /**
+     * Decode a single record
+     * @param buffer to read from
+     * @param visitor to receive the decoded record
+     * @throws IOException if the record type isn't recognized
+     */
+    private void readRecord(MappedByteBuffer buffer, IBinaryLogVisitor visitor) throws IOException
+    {
+        byte recordType = buffer.get();
+        switch (recordType)
+        {
+            case BinaryLogFormat.RECORD_SCHEMA:
+                int schemaSlot = buffer.getShort() & 0xFFFF;
+                String component = this.getString(buffer);
+                String key = this.getString(buffer);
+                visitor.onSchema(schemaSlot, component, key);
+                break;
+
+            case BinaryLogFormat.RECORD_FRAME:
+                long timestamp = buffer.getLong();
+                int entryCount = buffer.getShort() & 0xFFFF;
+                visitor.onFrameStart(timestamp);
+                for (int i = 0; i < entryCount; i++)
+                {
+                    this.readEntry(buffer, visitor);
+                }
+
+                visitor.onFrameEnd();
+                break;
+
+            default:
+                throw new IOException("Unknown record type " + recordType + " in " + this.path);
+        }
+    }
+
+    /**
+     * Decode a single frame entry
+     * @param buffer to read from
+     * @param visitor to receive the decoded value
+     * @throws IOException if the value type isn't recognized
+     */
+    private void readEntry(MappedByteBuffer buffer, IBinaryLogVisitor visitor) throws IOException
+    {
+        int slot = buffer.getShort() & 0xFFFF;
+        byte valueType = buffer.get();
+        switch (valueType)
+        {
+            case BinaryLogFormat.VALUE_NULL:
+                visitor.onNull(slot);
+                break;
+
+            case BinaryLogFormat.VALUE_BOOLEAN:
+                visitor.onBoolean(slot, buffer.get() != 0);
+                break;
+
+            case BinaryLogFormat.VALUE_DOUBLE:
+                visitor.onDouble(slot, buffer.getDouble());
+                break;
+
+            case BinaryLogFormat.VALUE_INTEGER:
+                visitor.onInteger(slot, buffer.getInt());
+                break;
+
+            case BinaryLogFormat.VALUE_STRING:
+                visitor.onString(slot, this.getString(buffer));
+                break;
+
+            case BinaryLogFormat.VALUE_POINT:
+                double x = buffer.getDouble();
+                double y = buffer.getDouble();
+                visitor.onPoint(slot, x, y);
+                break;
+
+            default:
+                throw new IOException("Unknown value type " + valueType + " in " + this.path);
+        }
+    }
+
+    /**
+     * Decode a string written as a length followed by its UTF-16 code units
+     * @param buffer to read from
+     * @return the decoded string
+     */
+    private String getString(MappedByteBuffer buffer)
+    {
+        int length = buffer.getShort() & 0xFFFF;
+        if (length > this.stringScratch.length)
+        {
+            this.stringScratch = new char[length];
+        }
+
+        for (int i = 0; i < length; i++)
+        {
+            this.stringScratch[i] = buffer.getChar();
+        }
+
+        return new String(this.stringScratch, 0, length);
+    }
+}
@@ -0,0 +1,123 @@
+package frc.robot.logtool;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes rows as columns - a directory with one file of big-endian doubles per column ("time.bin" and then
+ * "[component].[key].bin"), plus an "index.txt" listing the column files in order.  Text values are written as NaN.
+ *
+ * Values are buffered per column in fixed-size chunks and appended to each column file when a chunk fills up, so
+ * memory use is bounded by the number of columns rather than the length of the log.
+ *
+ */
+public class ColumnarRowSink implements IRowSink
+{
+    private static final int DefaultChunkSize = 4096;
+
+    private final Path directory;
+    private final int chunkSize;
+
+    private DataOutputStream[] outputs;
+    private double[][] chunks;
+    private int chunkRowCount;
+
+    /**
+     * Initializes a new instance of the ColumnarRowSink class.
+     * @param directory to write the column files into
+     */
+    public ColumnarRowSink(Path directory)
+    {
+        this(directory, ColumnarRowSink.DefaultChunkSize);
+    }
+
+    /**
+     * Initializes a new instance of the ColumnarRowSink class.
+     * @param directory to write the column files into
+     * @param chunkSize the number of rows to buffer for each column before writing
+     */
+    public ColumnarRowSink(Path directory, int chunkSize)
+    {
+        this.directory = directory;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void start(String[] columnNames) throws IOException
+    {
+        Files.createDirectories(this.directory);
+
+        String[] fileNames = new String[columnNames.length + 1];
+        fileNames[0] = "time.bin";
+        for (int i = 0; i < columnNames.length; i++)
+        {
+            fileNames[i + 1] = columnNames[i].replaceAll("[^A-Za-z0-9._-]", "_") + ".bin";
+        }
+
+        try (PrintWriter indexWriter = new PrintWriter(Files.newBufferedWriter(this.directory.resolve("index.txt"))))
+        {
+            for (String fileName : fileNames)
+            {
+                indexWriter.println(fileName);
+            }
+        }
+
+        this.outputs = new DataOutputStream[fileNames.length];
+        this.chunks = new double[fileNames.length][this.chunkSize];
+        for (int i = 0; i < fileNames.length; i++)
+        {
+            this.outputs[i] = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.directory.resolve(fileNames[i]).toFile())));
+        }
+
+        this.chunkRowCount = 0;
+    }
+
+    @Override
+    public void writeRow(double time, double[] numbers, String[] texts) throws IOException
+    {
+        this.chunks[0][this.chunkRowCount] = time;
+        for (int i = 0; i < numbers.length; i++)
+        {
+            this.chunks[i + 1][this.chunkRowCount] = numbers[i];
+        }
+
+        if (++this.chunkRowCount >= this.chunkSize)
+        {
+            this.writeChunk();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException
+    {
+        this.writeChunk();
+        for (DataOutputStream output : this.outputs)
+        {
+            output.close();
+        }
+    }
+
+    /**
+     * Append the buffered chunk of each column to its file
+     * @throws IOException
+     */
+    private void writeChunk() throws IOException
+    {
+        for (int i = 0; i < this.outputs.length; i++)
+        {
+            DataOutputStream output = this.outputs[i];
+            double[] chunk = this.chunks[i];
+            for (int row = 0; row < this.chunkRowCount; row++)
+            {
+                output.writeDouble(chunk[row]);
+            }
+        }
+
+        this.chunkRowCount = 0;
+    }
+}
@@ -0,0 +1,81 @@
+package frc.robot.logtool;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes rows as CSV, with a "time" column followed by each selected column.
+ *
+ */
+public class CsvRowSink implements IRowSink
+{
+    private final BufferedWriter writer;
+
+    /**
+     * Initializes a new instance of the CsvRowSink class.
+     * @param writer to write to
+     */
+    public CsvRowSink(Writer writer)
+    {
+        this.writer = new BufferedWriter(writer);
+    }
+
+    @Override
+    public void start(String[] columnNames) throws IOException
+    {
+        this.writer.append("time");
+        for (String columnName : columnNames)
+        {
+            this.writer.append(',');
+            this.writer.append(columnName);
+        }
+
+        this.writer.append("\r\n"); // file will be read in windows
+    }
+
+    @Override
+    public void writeRow(double time, double[] numbers, String[] texts) throws IOException
+    {
+        this.writer.append(Double.toString(time));
+        for (int i = 0; i < numbers.length; i++)
+        {
+            this.writer.append(',');
+            if (texts[i] != null)
+            {
+                CsvRowSink.appendText(this.writer, texts[i]);
+            }
+            else if (!Double.isNaN(numbers[i]))
+            {
+                this.writer.append(Double.toString(numbers[i]));
+            }
+        }
+
+        this.writer.append("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException
+    {
+        this.writer.flush();
+    }
+
+    /**
+     * Append text, quoting it if it contains anything that would break the CSV structure
+     * @param writer to append to
+     * @param text to append
+     * @throws IOException
+     */
+    private static void appendText(Writer writer, String text) throws IOException
+    {
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0)
+        {
+            writer.append(text);
+            return;
+        }
+
+        writer.append('"');
+        writer.append(text.replace("\"", "\"\""));
+        writer.append('"');
+    }
+}
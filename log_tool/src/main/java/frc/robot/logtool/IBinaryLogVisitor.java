@@ -0,0 +1,69 @@
+package frc.robot.logtool;
+
+/**
+ * Receives the contents of a binary telemetry log as it is decoded by BinaryLogReader.
+ *
+ */
+public interface IBinaryLogVisitor
+{
+    /**
+     * A new component/key pair has been assigned to a slot
+     * @param slot index used by later values
+     * @param component that was logged for
+     * @param key that was written to
+     */
+    void onSchema(int slot, String component, String key);
+
+    /**
+     * A new frame (loop) is starting
+     * @param timestamp in nanoseconds since the log was opened
+     */
+    void onFrameStart(long timestamp);
+
+    /**
+     * A frame (loop) has finished
+     */
+    void onFrameEnd();
+
+    /**
+     * A null value (e.g. a missing Double or IPoint) was logged
+     * @param slot that was written to
+     */
+    void onNull(int slot);
+
+    /**
+     * A boolean value was logged
+     * @param slot that was written to
+     * @param value that was logged
+     */
+    void onBoolean(int slot, boolean value);
+
+    /**
+     * A double value was logged
+     * @param slot that was written to
+     * @param value that was logged
+     */
+    void onDouble(int slot, double value);
+
+    /**
+     * An integer value was logged
+     * @param slot that was written to
+     * @param value that was logged
+     */
+    void onInteger(int slot, int value);
+
+    /**
+     * A string value was logged
+     * @param slot that was written to
+     * @param value that was logged
+     */
+    void onString(int slot, String value);
+
+    /**
+     * A point value was logged
+     * @param slot that was written to
+     * @param x value of the point
+     * @param y value of the point
+     */
+    void onPoint(int slot, double x, double y);
+}
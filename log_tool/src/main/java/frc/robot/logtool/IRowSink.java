@@ -0,0 +1,32 @@
+package frc.robot.logtool;
+
+import java.io.IOException;
+
+/**
+ * Receives the rows produced from a log, one per frame (or per resampled time step).
+ *
+ */
+public interface IRowSink
+{
+    /**
+     * Start the output
+     * @param columnNames of the columns that will be provided in each row
+     * @throws IOException
+     */
+    void start(String[] columnNames) throws IOException;
+
+    /**
+     * Write a row
+     * @param time of the row, in seconds since the log was opened
+     * @param numbers the numeric value of each column (NaN when the column has no numeric value)
+     * @param texts the text value of each column (null when the column has a numeric value or no value)
+     * @throws IOException
+     */
+    void writeRow(double time, double[] numbers, String[] texts) throws IOException;
+
+    /**
+     * Finish the output
+     * @throws IOException
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,114 @@
+package frc.robot.logtool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collects the signals in a log that match a filter, assigning each of them an output column.
+ * Values are ignored, so this is used as a first pass over the log before exporting.
+ *
+ */
+public class LogSchema implements IBinaryLogVisitor
+{
+    private final SignalFilter filter;
+    private final List<String> columnNames;
+
+    private int[] slotColumns;
+
+    /**
+     * Initializes a new instance of the LogSchema class.
+     * @param filter to select signals with
+     */
+    public LogSchema(SignalFilter filter)
+    {
+        this.filter = filter;
+        this.columnNames = new ArrayList<String>();
+        this.slotColumns = new int[0];
+    }
+
+    /**
+     * Gets the names (component.key) of the selected columns
+     * @return column names in order
+     */
+    public String[] getColumnNames()
+    {
+        return this.columnNames.toArray(new String[this.columnNames.size()]);
+    }
+
+    /**
+     * Gets the column for the slot
+     * @param slot from the log
+     * @return column index, or -1 if the slot was not selected
+     */
+    public int getColumn(int slot)
+    {
+        if (slot >= this.slotColumns.length)
+        {
+            return -1;
+        }
+
+        return this.slotColumns[slot];
+    }
+
+    @Override
+    public void onSchema(int slot, String component, String key)
+    {
+        if (slot >= this.slotColumns.length)
+        {
+            int oldLength = this.slotColumns.length;
+            this.slotColumns = Arrays.copyOf(this.slotColumns, Math.max(slot + 1, oldLength * 2));
+            Arrays.fill(this.slotColumns, oldLength, this.slotColumns.length, -1);
+        }
+
+        if (this.filter.matches(component, key))
+        {
+            this.slotColumns[slot] = this.columnNames.size();
+            this.columnNames.add(component + "." + key);
+        }
+        else
+        {
+            this.slotColumns[slot] = -1;
+        }
+    }
+
+    @Override
+    public void onFrameStart(long timestamp)
+    {
+    }
+
+    @Override
+    public void onFrameEnd()
+    {
+    }
+
+    @Override
+    public void onNull(int slot)
+    {
+    }
+
+    @Override
+    public void onBoolean(int slot, boolean value)
+    {
+    }
+
+    @Override
+    public void onDouble(int slot, double value)
+    {
+    }
+
+    @Override
+    public void onInteger(int slot, int value)
+    {
+    }
+
+    @Override
+    public void onString(int slot, String value)
+    {
+    }
+
+    @Override
+    public void onPoint(int slot, double x, double y)
+    {
+    }
+}
@@ -0,0 +1,103 @@
+package frc.robot.logtool;
+
+import java.io.IOException;
+
+/**
+ * Resamples rows onto a common, fixed timebase before passing them on to another sink.
+ *
+ * Numeric values are linearly interpolated between the surrounding rows (unless either side is missing), and text
+ * values are held from the previous row.
+ *
+ */
+public class ResamplingRowSink implements IRowSink
+{
+    private final IRowSink sink;
+    private final double period;
+
+    private double[] previousNumbers;
+    private String[] previousTexts;
+    private double[] resampledNumbers;
+    private String[] resampledTexts;
+    private double previousTime;
+    private double nextTime;
+    private boolean hasPrevious;
+
+    /**
+     * Initializes a new instance of the ResamplingRowSink class.
+     * @param sink to write resampled rows to
+     * @param period of the timebase, in seconds
+     */
+    public ResamplingRowSink(IRowSink sink, double period)
+    {
+        this.sink = sink;
+        this.period = period;
+    }
+
+    @Override
+    public void start(String[] columnNames) throws IOException
+    {
+        this.previousNumbers = new double[columnNames.length];
+        this.previousTexts = new String[columnNames.length];
+        this.resampledNumbers = new double[columnNames.length];
+        this.resampledTexts = new String[columnNames.length];
+        this.hasPrevious = false;
+
+        this.sink.start(columnNames);
+    }
+
+    @Override
+    public void writeRow(double time, double[] numbers, String[] texts) throws IOException
+    {
+        if (!this.hasPrevious)
+        {
+            this.nextTime = Math.ceil(time / this.period) * this.period;
+        }
+        else
+        {
+            double span = time - this.previousTime;
+            while (this.nextTime < time)
+            {
+                double ratio = span > 0.0 ? (this.nextTime - this.previousTime) / span : 0.0;
+                for (int i = 0; i < numbers.length; i++)
+                {
+                    this.resampledNumbers[i] = this.previousNumbers[i] + ratio * (numbers[i] - this.previousNumbers[i]);
+                    if (Double.isNaN(this.resampledNumbers[i]))
+                    {
+                        this.resampledNumbers[i] = this.previousNumbers[i];
+                    }
+
+                    this.resampledTexts[i] = this.previousTexts[i];
+                }
+
+                this.sink.writeRow(this.nextTime, this.resampledNumbers, this.resampledTexts);
+                this.nextTime = this.nextStep();
+            }
+        }
+
+        if (this.nextTime == time)
+        {
+            this.sink.writeRow(time, numbers, texts);
+            this.nextTime = this.nextStep();
+        }
+
+        System.arraycopy(numbers, 0, this.previousNumbers, 0, numbers.length);
+        System.arraycopy(texts, 0, this.previousTexts, 0, texts.length);
+        this.previousTime = time;
+        this.hasPrevious = true;
+    }
+
+    @Override
+    public void finish() throws IOException
+    {
+        this.sink.finish();
+    }
+
+    /**
+     * Calculate the time step after nextTime, avoiding accumulating floating-point error
+     * @return the next time step
+     */
+    private double nextStep()
+    {
+        return (Math.round(this.nextTime / this.period) + 1) * this.period;
+    }
+}
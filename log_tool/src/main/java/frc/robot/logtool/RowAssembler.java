@@ -0,0 +1,112 @@
+package frc.robot.logtool;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Assembles the decoded values of each frame into a row for the selected columns, carrying forward the most
+ * recent value of any column that wasn't logged during a frame.
+ *
+ * Numbers, integers and booleans (as 0/1) are provided as numeric values, while strings and points are provided
+ * as text.
+ *
+ */
+public class RowAssembler implements IBinaryLogVisitor
+{
+    private static final double NanosPerSecond = 1000000000.0;
+
+    private final LogSchema schema;
+    private final IRowSink sink;
+
+    private final double[] numbers;
+    private final String[] texts;
+
+    private double time;
+
+    /**
+     * Initializes a new instance of the RowAssembler class.
+     * @param schema describing the selected columns (from a previous pass over the log)
+     * @param sink to write rows to
+     */
+    public RowAssembler(LogSchema schema, IRowSink sink)
+    {
+        this.schema = schema;
+        this.sink = sink;
+
+        int columnCount = schema.getColumnNames().length;
+        this.numbers = new double[columnCount];
+        this.texts = new String[columnCount];
+        Arrays.fill(this.numbers, Double.NaN);
+    }
+
+    @Override
+    public void onSchema(int slot, String component, String key)
+    {
+    }
+
+    @Override
+    public void onFrameStart(long timestamp)
+    {
+        this.time = timestamp / RowAssembler.NanosPerSecond;
+    }
+
+    @Override
+    public void onFrameEnd()
+    {
+        try
+        {
+            this.sink.writeRow(this.time, this.numbers, this.texts);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onNull(int slot)
+    {
+        this.set(slot, Double.NaN, null);
+    }
+
+    @Override
+    public void onBoolean(int slot, boolean value)
+    {
+        this.set(slot, value ? 1.0 : 0.0, null);
+    }
+
+    @Override
+    public void onDouble(int slot, double value)
+    {
+        this.set(slot, value, null);
+    }
+
+    @Override
+    public void onInteger(int slot, int value)
+    {
+        this.set(slot, value, null);
+    }
+
+    @Override
+    public void onString(int slot, String value)
+    {
+        this.set(slot, Double.NaN, value);
+    }
+
+    @Override
+    public void onPoint(int slot, double x, double y)
+    {
+        this.set(slot, Double.NaN, String.format("(%f, %f)", x, y));
+    }
+
+    private void set(int slot, double number, String text)
+    {
+        int column = this.schema.getColumn(slot);
+        if (column >= 0)
+        {
+            this.numbers[column] = number;
+            this.texts[column] = text;
+        }
+    }
+}
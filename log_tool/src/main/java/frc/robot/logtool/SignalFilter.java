@@ -0,0 +1,49 @@
+package frc.robot.logtool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects the signals to export, based on the component and key they were logged with.
+ *
+ * Each term matches a component (e.g. "dt"), a key (e.g. "pos") or a specific component.key (e.g. "vision.dist").
+ * A filter with no terms matches everything.
+ *
+ */
+public class SignalFilter
+{
+    private final List<String> terms;
+
+    /**
+     * Initializes a new instance of the SignalFilter class.
+     * @param terms to match against
+     */
+    public SignalFilter(List<String> terms)
+    {
+        this.terms = new ArrayList<String>(terms);
+    }
+
+    /**
+     * Check whether the component/key pair should be included
+     * @param component that was logged for
+     * @param key that was written to
+     * @return true if the signal matches the filter
+     */
+    public boolean matches(String component, String key)
+    {
+        if (this.terms.isEmpty())
+        {
+            return true;
+        }
+
+        for (String term : this.terms)
+        {
+            if (term.equals(component) || term.equals(key) || term.equals(component + "." + key))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,120 @@
+package frc.robot.logtool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import frc.robot.common.robotprovider.BinaryLogFormat;
+import frc.robot.common.robotprovider.BinaryLogger;
+
+public class BinaryLogReaderTest
+{
+    @Test
+    public void testRoundTrip() throws IOException
+    {
+        File logFile = File.createTempFile("BinaryLogReaderTest", ".bin");
+        logFile.deleteOnExit();
+
+        BinaryLogger logger = new BinaryLogger(logFile.getPath());
+        for (int i = 0; i < 100; i++)
+        {
+            logger.logNumber("dt", "pos", i * 0.5);
+            logger.logInteger("dt", "ticks", i);
+            logger.logBoolean("vision", "found", i % 2 == 0);
+            if (i % 10 == 0)
+            {
+                logger.logString("r", "state", "Teleop, " + i);
+            }
+
+            logger.flush();
+        }
+
+        logger.close();
+
+        // use a tiny window to ensure that records straddling windows are remapped correctly
+        BinaryLogReader reader = new BinaryLogReader(logFile.toPath(), 64);
+        LogSchema schema = new LogSchema(new SignalFilter(Arrays.asList("dt", "state")));
+        reader.read(schema);
+
+        assertEquals(3, schema.getColumnNames().length);
+        assertEquals("dt.pos", schema.getColumnNames()[0]);
+        assertEquals("dt.ticks", schema.getColumnNames()[1]);
+        assertEquals("r.state", schema.getColumnNames()[2]);
+
+        StringWriter writer = new StringWriter();
+        IRowSink sink = new CsvRowSink(writer);
+        sink.start(schema.getColumnNames());
+        reader.read(new RowAssembler(schema, sink));
+        sink.finish();
+
+        String[] lines = writer.toString().split("\r\n");
+        assertEquals(101, lines.length);
+        assertEquals("time,dt.pos,dt.ticks,r.state", lines[0]);
+
+        ArrayList<String> lastLine = new ArrayList<String>(Arrays.asList(lines[100].split(",", 2)[1].split(",", 3)));
+        assertEquals("49.5", lastLine.get(0));
+        assertEquals("99.0", lastLine.get(1));
+        assertEquals("\"Teleop, 90\"", lastLine.get(2));
+    }
+
+    @Test
+    public void testWindowSizes() throws IOException
+    {
+        File logFile = File.createTempFile("BinaryLogReaderTest", ".bin");
+        logFile.deleteOnExit();
+
+        // every frame has the same entries, so every frame record has the same length
+        BinaryLogger logger = new BinaryLogger(logFile.getPath());
+        for (int i = 0; i < 100; i++)
+        {
+            logger.logNumber("dt", "pos", i * 0.5);
+            logger.logInteger("dt", "ticks", i);
+            logger.logBoolean("vision", "found", i % 2 == 0);
+            logger.flush();
+        }
+
+        logger.close();
+
+        long fileSize = logFile.length();
+        int frameSize = BinaryLogFormat.FRAME_HEADER_SIZE + 3 * BinaryLogFormat.ENTRY_HEADER_SIZE + 8 + 4 + 1;
+
+        // include windows that end exactly at the end of a record, as well as ones that end in the middle of a record
+        ArrayList<Long> windowSizes = new ArrayList<Long>();
+        for (long windowSize = BinaryLogFormat.HEADER_SIZE; windowSize <= 4 * frameSize + 1; windowSize++)
+        {
+            windowSizes.add(windowSize);
+        }
+
+        for (int multiple = 5; multiple <= 100; multiple++)
+        {
+            windowSizes.add((long)(multiple * frameSize));
+        }
+
+        windowSizes.add(fileSize - 1);
+        windowSizes.add(fileSize);
+        windowSizes.add(fileSize + 1);
+
+        for (long windowSize : windowSizes)
+        {
+            BinaryLogReader reader = new BinaryLogReader(logFile.toPath(), windowSize);
+            LogSchema schema = new LogSchema(new SignalFilter(Arrays.asList("dt")));
+            reader.read(schema);
+
+            StringWriter writer = new StringWriter();
+            IRowSink sink = new CsvRowSink(writer);
+            sink.start(schema.getColumnNames());
+            reader.read(new RowAssembler(schema, sink));
+            sink.finish();
+
+            String[] lines = writer.toString().split("\r\n");
+            assertEquals(101, lines.length, "window size " + windowSize);
+            assertEquals("49.5,99.0", lines[100].split(",", 2)[1], "window size " + windowSize);
+        }
+    }
+}
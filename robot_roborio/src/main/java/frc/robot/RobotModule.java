@@ -2,6 +2,7 @@ package frc.robot;
 
 import javax.inject.Singleton;
 
+import frc.robot.common.LoopProfiler;
 import frc.robot.common.MechanismManager;
 import frc.robot.common.robotprovider.*;
 import frc.robot.driver.*;
@@ -23,21 +24,28 @@ public class RobotModule extends AbstractModule
 
     @Singleton
     @Provides
-    public MechanismManager getMechanismManager(Injector injector)
+    public MechanismManager getMechanismManager(Injector injector, LoopProfiler profiler)
     {
-        return new MechanismManager(TuningConstants.GetActiveMechanisms(injector));
+        return new MechanismManager(TuningConstants.GetActiveMechanisms(injector), profiler);
     }
 
     @Singleton
     @Provides
     public IDashboardLogger getLogger()
     {
-        IDashboardLogger logger = new SmartDashboardLogger();
+        SmartDashboardLogger smartDashboardLogger = new SmartDashboardLogger();
+        smartDashboardLogger.setPublishOptions(
+            "vision",
+            "fps",
+            TuningConstants.SMARTDASHBOARD_VISION_FPS_PUBLISH_PERIOD,
+            TuningConstants.SMARTDASHBOARD_VISION_FPS_DEADBAND);
+
+        IDashboardLogger logger = smartDashboardLogger;
         //        try
         //        {
-        //            String fileName = String.format("/home/lvuser/%1$d.csv", Calendar.getInstance().getTime().getTime());
-        //            IDashboardLogger csvLogger = new CSVLogger(fileName, new String[] { "r.time", "vision.mAngle", "vision.dist" });
-        //            logger = new MultiLogger(logger, csvLogger);
+        //            String fileName = String.format("/home/lvuser/%1$d.bin", Calendar.getInstance().getTime().getTime());
+        //            IDashboardLogger binaryLogger = new BinaryLogger(fileName);
+        //            logger = new MultiLogger(logger, binaryLogger);
         //        }
         //        catch (IOException e)
         //        {
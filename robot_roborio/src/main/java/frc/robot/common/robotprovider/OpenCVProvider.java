@@ -105,6 +105,97 @@ public class OpenCVProvider implements IOpenCVProvider
     }
   }
 
+  @Override
+  public void findContours(IMat image, List<IMatOfPoint> contours, IMat hierarchy, int mode, int method, IPoint offset)
+  {
+    List<MatOfPoint> unwrappedContours = new ArrayList<MatOfPoint>(contours.size());
+    for (IMatOfPoint contour : contours)
+    {
+      unwrappedContours.add(OpenCVProvider.unwrap(contour));
+    }
+
+    Imgproc.findContours(OpenCVProvider.unwrap(image), unwrappedContours, OpenCVProvider.unwrap(hierarchy), mode, method, OpenCVProvider.unwrap(offset));
+
+    for (int i = 0; i < unwrappedContours.size(); i++)
+    {
+      contours.add(i, new MatOfPointWrapper(unwrappedContours.get(i)));
+    }
+  }
+
+  @Override
+  public int findContourShapes(IMat image, int mode, int method, IPoint offset, double minContourArea, double[] areas, double[] boundingRects, double[] minAreaRects)
+  {
+    List<MatOfPoint> contours = new ArrayList<MatOfPoint>();
+    Mat hierarchy = new Mat();
+    if (offset == null)
+    {
+      Imgproc.findContours(OpenCVProvider.unwrap(image), contours, hierarchy, mode, method);
+    }
+    else
+    {
+      Imgproc.findContours(OpenCVProvider.unwrap(image), contours, hierarchy, mode, method, OpenCVProvider.unwrap(offset));
+    }
+
+    hierarchy.release();
+
+    // a single float copy of the points is reused for every contour
+    MatOfPoint2f points = minAreaRects != null ? new MatOfPoint2f() : null;
+    int count = 0;
+    for (MatOfPoint contour : contours)
+    {
+      double area = Imgproc.contourArea(contour);
+      if (area >= minContourArea)
+      {
+        if (count < areas.length)
+        {
+          areas[count] = area;
+          if (boundingRects != null)
+          {
+            Rect rect = Imgproc.boundingRect(contour);
+            boundingRects[4 * count] = rect.x;
+            boundingRects[4 * count + 1] = rect.y;
+            boundingRects[4 * count + 2] = rect.width;
+            boundingRects[4 * count + 3] = rect.height;
+          }
+
+          if (minAreaRects != null)
+          {
+            contour.convertTo(points, CvType.CV_32FC2);
+            RotatedRect rect = Imgproc.minAreaRect(points);
+            minAreaRects[5 * count] = rect.center.x;
+            minAreaRects[5 * count + 1] = rect.center.y;
+            minAreaRects[5 * count + 2] = rect.size.width;
+            minAreaRects[5 * count + 3] = rect.size.height;
+            minAreaRects[5 * count + 4] = rect.angle;
+          }
+        }
+
+        count++;
+      }
+
+      contour.release();
+    }
+
+    if (points != null)
+    {
+      points.release();
+    }
+
+    return count;
+  }
+
+  @Override
+  public IRotatedRect newRotatedRect(double centerX, double centerY, double width, double height, double angle)
+  {
+    return new RotatedRectWrapper(new RotatedRect(new Point(centerX, centerY), new Size(width, height), angle));
+  }
+
+  @Override
+  public void resize(IMat src, IMat dst, ISize dsize, double fx, double fy, int interpolation)
+  {
+    Imgproc.resize(OpenCVProvider.unwrap(src), OpenCVProvider.unwrap(dst), OpenCVProvider.unwrap(dsize), fx, fy, interpolation);
+  }
+
   @Override
   public void cvtColor(IMat src, IMat dst, int code)
   {
@@ -1,13 +1,78 @@
 package frc.robot.common.robotprovider;
 
+import java.util.Arrays;
+import java.util.HashMap;
+
+import frc.robot.TuningConstants;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 
 /**
  * Logger that logs current values to a dashboard.
  *
+ * Values are written into a local shadow cache of the last published value for each key, and only the entries
+ * that have changed (beyond their deadband) are published to NetworkTables, in one batch during flush().  Each key
+ * can also be limited to publishing at most once every N flushes.
+ *
  */
 public class SmartDashboardLogger implements IDashboardLogger
 {
+    private static final int KindNone = 0;
+    private static final int KindBoolean = 1;
+    private static final int KindNumber = 2;
+    private static final int KindNullableNumber = 3;
+    private static final int KindPoint = 4;
+    private static final int KindString = 5;
+
+    private final HashMap<String, HashMap<String, SmartDashboardEntry>> entries;
+    private final int defaultPublishPeriod;
+    private final double defaultDeadband;
+
+    private SmartDashboardEntry[] pending;
+    private int pendingCount;
+    private int entryCount;
+    private long flushCount;
+
+    /**
+     * Initializes a new SmartDashboardLogger
+     */
+    public SmartDashboardLogger()
+    {
+        this(TuningConstants.SMARTDASHBOARD_DEFAULT_PUBLISH_PERIOD, TuningConstants.SMARTDASHBOARD_DEFAULT_DEADBAND);
+    }
+
+    /**
+     * Initializes a new SmartDashboardLogger
+     * @param defaultPublishPeriod the minimum number of flushes between publishes of each key
+     * @param defaultDeadband the minimum change in a number before it is published again
+     */
+    public SmartDashboardLogger(int defaultPublishPeriod, double defaultDeadband)
+    {
+        this.entries = new HashMap<String, HashMap<String, SmartDashboardEntry>>();
+        this.defaultPublishPeriod = defaultPublishPeriod;
+        this.defaultDeadband = defaultDeadband;
+
+        this.pending = new SmartDashboardEntry[64];
+        this.pendingCount = 0;
+        this.entryCount = 0;
+        this.flushCount = 0;
+    }
+
+    /**
+     * Set the publish rate and deadband to use for a specific component/key
+     * @param component to log for
+     * @param key to write to
+     * @param publishPeriod the minimum number of flushes between publishes of this key
+     * @param deadband the minimum change in a number before it is published again
+     */
+    public void setPublishOptions(String component, String key, int publishPeriod, double deadband)
+    {
+        SmartDashboardEntry entry = this.getEntry(component, key);
+        entry.publishPeriod = publishPeriod;
+        entry.deadband = deadband;
+    }
+
     /**
      * Write a boolean to the smart dashboard
      * @param component to log for
@@ -17,11 +82,7 @@ public class SmartDashboardLogger implements IDashboardLogger
     @Override
     public void logBoolean(String component, String key, boolean value)
     {
-        String logKey = String.format("%s.%s", component, key);
-        if (SmartDashboard.getBoolean(logKey, !value) != value)
-        {
-            SmartDashboard.putBoolean(logKey, value);
-        }
+        this.getEntry(component, key).logBoolean(value);
     }
 
     /**
@@ -33,11 +94,7 @@ public class SmartDashboardLogger implements IDashboardLogger
     @Override
     public void logNumber(String component, String key, double value)
     {
-        String logKey = String.format("%s.%s", component, key);
-        if (SmartDashboard.getNumber(logKey, value + 0.5) != value)
-        {
-            SmartDashboard.putNumber(logKey, value);
-        }
+        this.getEntry(component, key).logNumber(value);
     }
 
     /**
@@ -49,14 +106,7 @@ public class SmartDashboardLogger implements IDashboardLogger
     @Override
     public void logNumber(String component, String key, Double value)
     {
-        String logKey = String.format("%s.%s", component, key);
-        String valueString = "N/A";
-        if (value != null)
-        {
-            valueString = "" + value;
-        }
-
-        SmartDashboard.putString(logKey, valueString);
+        this.getEntry(component, key).logNumber(value);
     }
 
     /**
@@ -81,11 +131,7 @@ public class SmartDashboardLogger implements IDashboardLogger
     @Override
     public void logInteger(String component, String key, int value, String formatString)
     {
-        String logKey = String.format("%s.%s", component, key);
-        if (SmartDashboard.getNumber(logKey, value + 0.5) != value)
-        {
-            SmartDashboard.putNumber(logKey, value);
-        }
+        this.getEntry(component, key).logInteger(value);
     }
 
     /**
@@ -97,13 +143,7 @@ public class SmartDashboardLogger implements IDashboardLogger
     @Override
     public void logPoint(String component, String key, IPoint value)
     {
-        String valueString = "N/A";
-        if (value != null)
-        {
-            valueString = String.format("(%f, %f)", value.getX(), value.getY());
-        }
-
-        this.logString(component, key, valueString);
+        this.getEntry(component, key).logPoint(value);
     }
 
     /**
@@ -115,19 +155,56 @@ public class SmartDashboardLogger implements IDashboardLogger
     @Override
     public void logString(String component, String key, String value)
     {
-        String logKey = String.format("%s.%s", component, key);
-        if (SmartDashboard.getString(logKey, null) != value)
-        {
-            SmartDashboard.putString(logKey, value);
-        }
+        this.getEntry(component, key).logString(value);
     }
 
     /**
-     * Flush the output stream, if appropriate..
+     * Get a channel for repeatedly logging to the same component/key, looking up its shadow cache entry once
+     * @param component to log for
+     * @param key to write to
+     * @return channel for logging values
+     */
+    @Override
+    public ILogChannel getChannel(String component, String key)
+    {
+        return this.getEntry(component, key);
+    }
+
+    /**
+     * Publish all entries that have changed since they were last published, respecting their publish rates
      */
     @Override
     public void flush()
     {
+        this.flushCount++;
+
+        int remaining = 0;
+        for (int i = 0; i < this.pendingCount; i++)
+        {
+            SmartDashboardEntry entry = this.pending[i];
+            if (!entry.hasChanged())
+            {
+                entry.queued = false;
+            }
+            else if (this.flushCount - entry.lastPublishedFlush >= entry.publishPeriod)
+            {
+                entry.publish();
+                entry.lastPublishedFlush = this.flushCount;
+                entry.queued = false;
+            }
+            else
+            {
+                // rate-limited, so keep it queued until its next publish window
+                this.pending[remaining++] = entry;
+            }
+        }
+
+        for (int i = remaining; i < this.pendingCount; i++)
+        {
+            this.pending[i] = null;
+        }
+
+        this.pendingCount = remaining;
     }
 
     /**
@@ -139,4 +216,258 @@ public class SmartDashboardLogger implements IDashboardLogger
         SendableChooserWrapper<V> wrappedChooser = (SendableChooserWrapper<V>)chooser;
         SmartDashboard.putData(name, wrappedChooser.wrappedObject);
     }
+
+    /**
+     * Get (or create) the shadow cache entry for a component/key
+     * @param component to log for
+     * @param key to write to
+     * @return the entry for the component/key
+     */
+    private SmartDashboardEntry getEntry(String component, String key)
+    {
+        HashMap<String, SmartDashboardEntry> componentEntries = this.entries.get(component);
+        if (componentEntries == null)
+        {
+            componentEntries = new HashMap<String, SmartDashboardEntry>();
+            this.entries.put(component, componentEntries);
+        }
+
+        SmartDashboardEntry entry = componentEntries.get(key);
+        if (entry == null)
+        {
+            entry = new SmartDashboardEntry(this, String.format("%s.%s", component, key), this.defaultPublishPeriod, this.defaultDeadband);
+            componentEntries.put(key, entry);
+
+            // each entry is queued at most once, so the queue never needs to grow while logging
+            this.entryCount++;
+            if (this.entryCount > this.pending.length)
+            {
+                this.pending = Arrays.copyOf(this.pending, this.pending.length * 2);
+            }
+        }
+
+        return entry;
+    }
+
+    /**
+     * Queue an entry to be checked during the next flush
+     * @param entry that has been written to
+     */
+    private void enqueue(SmartDashboardEntry entry)
+    {
+        if (!entry.queued)
+        {
+            entry.queued = true;
+            this.pending[this.pendingCount++] = entry;
+        }
+    }
+
+    /**
+     * Shadow cache entry holding both the latest logged value and the last published value for a single key
+     */
+    private static class SmartDashboardEntry implements ILogChannel
+    {
+        private final SmartDashboardLogger logger;
+        private final String logKey;
+
+        private NetworkTableEntry networkTableEntry;
+        private int publishPeriod;
+        private double deadband;
+        private long lastPublishedFlush;
+        private boolean queued;
+
+        private int kind;
+        private boolean booleanValue;
+        private double numberValue;
+        private double secondNumberValue;
+        private boolean isNull;
+        private String stringValue;
+
+        private int publishedKind;
+        private boolean publishedBooleanValue;
+        private double publishedNumberValue;
+        private double publishedSecondNumberValue;
+        private boolean publishedIsNull;
+        private String publishedStringValue;
+
+        SmartDashboardEntry(SmartDashboardLogger logger, String logKey, int publishPeriod, double deadband)
+        {
+            this.logger = logger;
+            this.logKey = logKey;
+            this.networkTableEntry = null;
+            this.publishPeriod = publishPeriod;
+            this.deadband = deadband;
+            this.lastPublishedFlush = Long.MIN_VALUE / 2;
+            this.queued = false;
+
+            this.kind = SmartDashboardLogger.KindNone;
+            this.publishedKind = SmartDashboardLogger.KindNone;
+        }
+
+        @Override
+        public void logBoolean(boolean value)
+        {
+            this.kind = SmartDashboardLogger.KindBoolean;
+            this.booleanValue = value;
+            this.logger.enqueue(this);
+        }
+
+        @Override
+        public void logNumber(double value)
+        {
+            this.kind = SmartDashboardLogger.KindNumber;
+            this.numberValue = value;
+            this.logger.enqueue(this);
+        }
+
+        @Override
+        public void logNumber(Double value)
+        {
+            this.kind = SmartDashboardLogger.KindNullableNumber;
+            this.isNull = value == null;
+            if (!this.isNull)
+            {
+                this.numberValue = value;
+            }
+
+            this.logger.enqueue(this);
+        }
+
+        @Override
+        public void logInteger(int value)
+        {
+            this.logNumber((double)value);
+        }
+
+        @Override
+        public void logPoint(IPoint value)
+        {
+            this.kind = SmartDashboardLogger.KindPoint;
+            this.isNull = value == null;
+            if (!this.isNull)
+            {
+                this.numberValue = value.getX();
+                this.secondNumberValue = value.getY();
+            }
+
+            this.logger.enqueue(this);
+        }
+
+        @Override
+        public void logString(String value)
+        {
+            this.kind = SmartDashboardLogger.KindString;
+            this.stringValue = value;
+            this.logger.enqueue(this);
+        }
+
+        /**
+         * Check whether the latest logged value differs from the last published value
+         * @return true if the value should be published
+         */
+        private boolean hasChanged()
+        {
+            if (this.kind != this.publishedKind)
+            {
+                return true;
+            }
+
+            switch (this.kind)
+            {
+                case SmartDashboardLogger.KindBoolean:
+                    return this.booleanValue != this.publishedBooleanValue;
+
+                case SmartDashboardLogger.KindNumber:
+                    return this.numberChanged(this.numberValue, this.publishedNumberValue);
+
+                case SmartDashboardLogger.KindNullableNumber:
+                    if (this.isNull || this.publishedIsNull)
+                    {
+                        return this.isNull != this.publishedIsNull;
+                    }
+
+                    return this.numberChanged(this.numberValue, this.publishedNumberValue);
+
+                case SmartDashboardLogger.KindPoint:
+                    if (this.isNull || this.publishedIsNull)
+                    {
+                        return this.isNull != this.publishedIsNull;
+                    }
+
+                    return this.numberChanged(this.numberValue, this.publishedNumberValue)
+                        || this.numberChanged(this.secondNumberValue, this.publishedSecondNumberValue);
+
+                case SmartDashboardLogger.KindString:
+                    if (this.stringValue == null)
+                    {
+                        return this.publishedStringValue != null;
+                    }
+
+                    return !this.stringValue.equals(this.publishedStringValue);
+
+                default:
+                    return false;
+            }
+        }
+
+        private boolean numberChanged(double value, double publishedValue)
+        {
+            if (Double.isNaN(value) || Double.isNaN(publishedValue))
+            {
+                return Double.isNaN(value) != Double.isNaN(publishedValue);
+            }
+
+            if (this.deadband <= 0.0)
+            {
+                return value != publishedValue;
+            }
+
+            return Math.abs(value - publishedValue) >= this.deadband;
+        }
+
+        /**
+         * Write the latest logged value to NetworkTables and remember it as the last published value
+         */
+        private void publish()
+        {
+            if (this.networkTableEntry == null)
+            {
+                this.networkTableEntry = SmartDashboard.getEntry(this.logKey);
+            }
+
+            switch (this.kind)
+            {
+                case SmartDashboardLogger.KindBoolean:
+                    this.networkTableEntry.setBoolean(this.booleanValue);
+                    break;
+
+                case SmartDashboardLogger.KindNumber:
+                    this.networkTableEntry.setDouble(this.numberValue);
+                    break;
+
+                case SmartDashboardLogger.KindNullableNumber:
+                    this.networkTableEntry.setString(this.isNull ? "N/A" : "" + this.numberValue);
+                    break;
+
+                case SmartDashboardLogger.KindPoint:
+                    this.networkTableEntry.setString(this.isNull ? "N/A" : String.format("(%f, %f)", this.numberValue, this.secondNumberValue));
+                    break;
+
+                case SmartDashboardLogger.KindString:
+                    if (this.stringValue != null)
+                    {
+                        this.networkTableEntry.setString(this.stringValue);
+                    }
+
+                    break;
+            }
+
+            this.publishedKind = this.kind;
+            this.publishedBooleanValue = this.booleanValue;
+            this.publishedNumberValue = this.numberValue;
+            this.publishedSecondNumberValue = this.secondNumberValue;
+            this.publishedIsNull = this.isNull;
+            this.publishedStringValue = this.stringValue;
+        }
+    }
 }